@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.coordination;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.persistence.exceptions.CommunicationException;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.internal.sessions.coordination.tcp.TCPRemoteConnection;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Propagates commands between several sessions of the same JVM over loopback.
+ */
+public class TCPTransportManagerTest {
+
+    private static final Map<String, List<Integer>> RECEIVED = new ConcurrentHashMap<>();
+    private static volatile CountDownLatch blocked = new CountDownLatch(0);
+    private static volatile CountDownLatch release = new CountDownLatch(0);
+
+    /**
+     * Records the commands received by each session.
+     */
+    public static class RecordCommand extends Command {
+        private static final long serialVersionUID = 1L;
+        private final int sequence;
+        private final byte[] payload;
+
+        public RecordCommand(int sequence) {
+            this(sequence, 0);
+        }
+
+        public RecordCommand(int sequence, int payloadSize) {
+            this.sequence = sequence;
+            this.payload = new byte[payloadSize];
+        }
+
+        @Override
+        public void executeWithSession(AbstractSession session) {
+            RECEIVED.computeIfAbsent(session.getName(), name -> Collections.synchronizedList(new ArrayList<>())).add(this.sequence);
+        }
+    }
+
+    /**
+     * Blocks the processing of the received commands until released.
+     */
+    public static class BlockCommand extends Command {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void executeWithSession(AbstractSession session) {
+            blocked.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final List<RemoteCommandManager> managers = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        for (RemoteCommandManager rcm : this.managers) {
+            rcm.shutdown();
+        }
+        RECEIVED.clear();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private RemoteCommandManager buildManager(String name, int port, String peers) {
+        DatabaseSession session = new Project(new DatabaseLogin()).createDatabaseSession();
+        session.setName(name);
+        RemoteCommandManager rcm = new RemoteCommandManager((AbstractSession)session);
+        TCPTransportManager transport = new TCPTransportManager(rcm);
+        transport.setPeers(peers);
+        transport.setReconnectDelay(20);
+        rcm.setUrl("tcp://localhost:" + port);
+        this.managers.add(rcm);
+        return rcm;
+    }
+
+    private static List<Integer> awaitReceived(String name, int count) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < end) {
+            List<Integer> received = RECEIVED.get(name);
+            if ((received != null) && (received.size() >= count)) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        List<Integer> received = RECEIVED.getOrDefault(name, Collections.emptyList());
+        synchronized (received) {
+            return new ArrayList<>(received);
+        }
+    }
+
+    private static List<Integer> sequence(int count) {
+        List<Integer> sequence = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            sequence.add(index);
+        }
+        return sequence;
+    }
+
+    @Test
+    public void testCommandsReceivedInOrder() throws Exception {
+        int[] ports = { freePort(), freePort(), freePort() };
+        String peers = "tcp://localhost:" + ports[0] + ", tcp://localhost:" + ports[1] + ", tcp://localhost:" + ports[2];
+        for (int index = 0; index < ports.length; index++) {
+            buildManager("node" + index, ports[index], peers).initialize();
+        }
+        RemoteCommandManager sender = this.managers.get(0);
+        assertEquals(ports[0], ((TCPTransportManager)sender.getTransportManager()).getLocalPort());
+        // The own URL is not a peer.
+        assertEquals(2, sender.getTransportManager().getConnectionsToExternalServices().size());
+
+        int count = 500;
+        for (int index = 0; index < count; index++) {
+            sender.propagateCommand(new RecordCommand(index));
+        }
+        assertEquals(sequence(count), awaitReceived("node1", count));
+        assertEquals(sequence(count), awaitReceived("node2", count));
+        assertNull(RECEIVED.get("node0"));
+
+        for (RemoteConnection connection : sender.getTransportManager().getConnectionsToExternalServices().values()) {
+            TCPRemoteConnection tcpConnection = (TCPRemoteConnection)connection;
+            assertEquals(count, tcpConnection.getCommandsSent());
+            // The commands propagated within the coalesce delay are sent together.
+            assertTrue(tcpConnection.getFramesSent() + " frames", tcpConnection.getFramesSent() < count);
+        }
+    }
+
+    @Test
+    public void testCommandsQueuedUntilConnected() throws Exception {
+        int[] ports = { freePort(), freePort() };
+        String peers = "tcp://localhost:" + ports[0] + ",tcp://localhost:" + ports[1];
+        RemoteCommandManager sender = buildManager("node0", ports[0], peers);
+        sender.initialize();
+        int count = 10;
+        for (int index = 0; index < count; index++) {
+            sender.propagateCommand(new RecordCommand(index));
+        }
+        // The peer starts listening after the commands were propagated.
+        Thread.sleep(100);
+        buildManager("node1", ports[1], peers).initialize();
+        assertEquals(sequence(count), awaitReceived("node1", count));
+    }
+
+    @Test
+    public void testInvalidFrameClosesOnlyItsConnection() throws Exception {
+        int[] ports = { freePort(), freePort() };
+        String peers = "tcp://localhost:" + ports[0] + ",tcp://localhost:" + ports[1];
+        RemoteCommandManager sender = buildManager("node0", ports[0], peers);
+        sender.initialize();
+        buildManager("node1", ports[1], peers).initialize();
+        // A command longer than its frame, and a negative count of commands.
+        int[][] frames = { { 8, 1, 100 }, { 4, -1 } };
+        for (int[] frame : frames) {
+            try (Socket socket = new Socket("localhost", ports[1])) {
+                socket.setSoTimeout(10000);
+                DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+                for (int value : frame) {
+                    output.writeInt(value);
+                }
+                output.flush();
+                // The receiver closes the connection of the invalid frame.
+                assertEquals(-1, socket.getInputStream().read());
+            }
+        }
+        int count = 10;
+        for (int index = 0; index < count; index++) {
+            sender.propagateCommand(new RecordCommand(index));
+        }
+        assertEquals(sequence(count), awaitReceived("node1", count));
+    }
+
+    @Test
+    public void testSlowServiceAppliesBackPressure() throws Exception {
+        int[] ports = { freePort(), freePort() };
+        String peers = "tcp://localhost:" + ports[0] + ",tcp://localhost:" + ports[1];
+        RemoteCommandManager sender = buildManager("node0", ports[0], peers);
+        ((TCPTransportManager)sender.getTransportManager()).setMaxPendingBytes(64 * 1024);
+        ((TCPTransportManager)sender.getTransportManager()).setSendTimeout(30000);
+        RemoteCommandManager receiver = buildManager("node1", ports[1], peers);
+        ((TCPTransportManager)receiver.getTransportManager()).setMaxPendingBytes(64 * 1024);
+        sender.initialize();
+        receiver.initialize();
+        blocked = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        sender.propagateCommand(new BlockCommand());
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        // Far more than the socket buffers can hold, the propagating thread must wait for the receiver.
+        int count = 2000;
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> propagating = executorService.submit(() -> {
+                for (int index = 0; index < count; index++) {
+                    sender.propagateCommand(new RecordCommand(index, 16 * 1024));
+                }
+            });
+            try {
+                propagating.get(1, TimeUnit.SECONDS);
+                fail("The propagating thread did not wait for the blocked receiver");
+            } catch (TimeoutException expected) {
+                // Back-pressure.
+            }
+            // The selector of the receiver is not blocked by the processing, it still sends commands.
+            receiver.propagateCommand(new RecordCommand(0));
+            assertEquals(sequence(1), awaitReceived("node0", 1));
+            assertFalse(propagating.isDone());
+
+            release.countDown();
+            propagating.get(30, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(sequence(count), awaitReceived("node1", count));
+    }
+
+    @Test
+    public void testSendTimeout() throws Exception {
+        // A peer accepting the connection but never reading.
+        try (ServerSocket peer = new ServerSocket()) {
+            peer.setReceiveBufferSize(4096);
+            peer.bind(null);
+            int port = freePort();
+            RemoteCommandManager sender = buildManager("node0", port, "tcp://localhost:" + peer.getLocalPort());
+            TCPTransportManager transport = (TCPTransportManager)sender.getTransportManager();
+            transport.setMaxPendingBytes(64 * 1024);
+            transport.setSendTimeout(200);
+            sender.initialize();
+            TCPRemoteConnection connection = (TCPRemoteConnection)transport.getConnectionsToExternalServices().values().iterator().next();
+            long end = System.currentTimeMillis() + 10000;
+            while (connection.isConnecting() && (System.currentTimeMillis() < end)) {
+                Thread.sleep(10);
+            }
+            assertFalse(connection.isConnecting());
+
+            byte[] command = new byte[16 * 1024];
+            long start = 0;
+            try {
+                for (int index = 0; index < 10000; index++) {
+                    start = System.currentTimeMillis();
+                    connection.executeCommand(command);
+                }
+                fail("The commands were sent to a peer not reading");
+            } catch (CommunicationException expected) {
+                assertTrue(expected.getCause() instanceof TimeoutException);
+                assertTrue((System.currentTimeMillis() - start) >= 200);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.databaseaccess;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.internal.databaseaccess.ParameterizedSQLBatchWritingMechanism;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.Call;
+import org.eclipse.persistence.queries.DataModifyQuery;
+import org.eclipse.persistence.queries.SQLCall;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the grouping of the parameterized batch writing statements by their SQL
+ * ("eclipselink.jdbc.batch-writing.group-statements").
+ */
+public class GroupedBatchWritingTest {
+
+    private static final String INSERT_ORDER = "INSERT INTO ORDERS (ID) VALUES (?)";
+    private static final String INSERT_LINE = "INSERT INTO ORDER_LINE (ID, ORDER_ID) VALUES (?, ?)";
+    private static final String UPDATE_ORDER = "UPDATE ORDERS SET TOTAL = ? WHERE ID = ?";
+
+    private AbstractSession session;
+    private RecordingAccessor accessor;
+    private ParameterizedSQLBatchWritingMechanism mechanism;
+
+    @Before
+    public void setup() {
+        DatabaseLogin login = new DatabaseLogin();
+        session = (AbstractSession) new Project(login).createDatabaseSession();
+        accessor = new RecordingAccessor(login);
+        mechanism = new ParameterizedSQLBatchWritingMechanism(accessor);
+    }
+
+    @Test
+    public void testConsecutiveBatching() {
+        appendAlternatingInserts(3);
+        mechanism.executeBatchedStatements(session);
+        // Without grouping every alternation executes the pending statement.
+        assertEquals(Arrays.asList(
+                "1 " + INSERT_ORDER, "1 " + INSERT_LINE, "1 " + INSERT_ORDER,
+                "1 " + INSERT_LINE, "1 " + INSERT_ORDER, "1 " + INSERT_LINE), accessor.executions);
+    }
+
+    @Test
+    public void testGroupedBatching() {
+        session.getPlatform().setUsesGroupedBatchWriting(true);
+        appendAlternatingInserts(3);
+        assertEquals(0, accessor.executions.size());
+        mechanism.executeBatchedStatements(session);
+        assertEquals(Arrays.asList("3 " + INSERT_ORDER, "3 " + INSERT_LINE), accessor.executions);
+    }
+
+    @Test
+    public void testGroupedBatchingKeepsStatementTypeOrder() {
+        session.getPlatform().setUsesGroupedBatchWriting(true);
+        appendAlternatingInserts(2);
+        mechanism.appendCall(session, buildCall(UPDATE_ORDER, 10, 1));
+        // An insert after the update must not be moved before it.
+        appendAlternatingInserts(1);
+        mechanism.appendCall(session, buildCall(UPDATE_ORDER, 20, 2));
+        mechanism.executeBatchedStatements(session);
+        assertEquals(Arrays.asList(
+                "2 " + INSERT_ORDER, "2 " + INSERT_LINE, "1 " + UPDATE_ORDER,
+                "1 " + INSERT_ORDER, "1 " + INSERT_LINE, "1 " + UPDATE_ORDER), accessor.executions);
+    }
+
+    @Test
+    public void testGroupedBatchingMaxBatchSize() {
+        session.getPlatform().setUsesGroupedBatchWriting(true);
+        mechanism.setMaxBatchSize(2);
+        appendAlternatingInserts(3);
+        mechanism.executeBatchedStatements(session);
+        // A full batch executes all pending batches in their order.
+        assertEquals(Arrays.asList(
+                "2 " + INSERT_ORDER, "2 " + INSERT_LINE, "1 " + INSERT_ORDER, "1 " + INSERT_LINE), accessor.executions);
+    }
+
+    private void appendAlternatingInserts(int count) {
+        for (int i = 0; i < count; i++) {
+            mechanism.appendCall(session, buildCall(INSERT_ORDER, i));
+            mechanism.appendCall(session, buildCall(INSERT_LINE, i, i));
+        }
+    }
+
+    private static DatabaseCall buildCall(String sql, Object... parameters) {
+        SQLCall call = new SQLCall(sql);
+        call.setQuery(new DataModifyQuery());
+        call.getParameters().addAll(Arrays.asList(parameters));
+        return call;
+    }
+
+    /**
+     * Records the executed statements as the number of batched statements and the SQL.
+     */
+    private static class RecordingAccessor extends DatabaseAccessor {
+        final List<String> executions = new ArrayList<>();
+        private int batchedStatements;
+
+        RecordingAccessor(DatabaseLogin login) {
+            super();
+            setLogin(login);
+        }
+
+        @Override
+        public Object basicExecuteCall(Call call, AbstractRecord translationRow, AbstractSession session, boolean batch) {
+            executions.add("1 " + ((DatabaseCall) call).getSQLString());
+            return 1;
+        }
+
+        @Override
+        public void incrementCallCount(AbstractSession session) {
+        }
+
+        @Override
+        public Statement prepareStatement(DatabaseCall call, AbstractSession session, boolean unwrapConnection) {
+            batchedStatements = 0;
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("addBatch")) {
+                            batchedStatements++;
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        protected int executeJDK12BatchStatement(Statement statement, DatabaseCall dbCall, AbstractSession session, boolean isStatementPrepared) {
+            executions.add(batchedStatements + " " + dbCall.getSQLString());
+            return batchedStatements;
+        }
+    }
+}
@@ -49,6 +49,10 @@ public EmulatedConnection(EmulatedDriver driver) {
         this.driver = driver;
     }
 
+    public EmulatedDriver getDriver() {
+        return this.driver;
+    }
+
     @Override
     public Statement createStatement() {
         return new EmulatedStatement(this);
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.failover.emulateddriver;
+
+import java.util.HashMap;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.internal.databaseaccess.DatasourceCall;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.server.ServerSession;
+
+/**
+ * Builds the sessions of the tests connecting through the emulated driver, and the rows it returns.
+ */
+public final class EmulatedDriverHelper {
+
+    private EmulatedDriverHelper() {
+    }
+
+    /**
+     * Return a login connecting directly through the emulated driver.
+     */
+    public static DatabaseLogin buildLogin() {
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        return login;
+    }
+
+    /**
+     * Create and log in a server session of the project with one read and one write connection,
+     * only warnings are logged.
+     */
+    public static ServerSession loginServerSession(Project project) {
+        ServerSession session = (ServerSession) project.createServerSession(1, 1);
+        session.setLogLevel(SessionLog.WARNING);
+        session.login();
+        return session;
+    }
+
+    /**
+     * Create and log in a database session of the project, only warnings are logged.
+     */
+    public static DatabaseSessionImpl loginDatabaseSession(Project project) {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) project.createDatabaseSession();
+        session.setLogLevel(SessionLog.WARNING);
+        session.login();
+        return session;
+    }
+
+    /**
+     * Return the rows of the function for the SQL of each select of the session.
+     * The emulated driver does not filter or project the rows, the function must match on the SQL
+     * where the results depend on it. A null result returns no rows.
+     */
+    public static void setRows(DatabaseSessionImpl session, Function<String, Vector<? extends AbstractRecord>> rows) {
+        HashMap<Object, Object> rowsBySQL = new HashMap<Object, Object>() {
+            @Override
+            public Object get(Object sql) {
+                return rows.apply((String) sql);
+            }
+        };
+        if (session.isServerSession()) {
+            ServerSession serverSession = (ServerSession) session;
+            Accessor accessor = serverSession.getReadConnectionPool().acquireConnection();
+            ((EmulatedConnection) accessor.getConnection()).getDriver().setRows(rowsBySQL);
+            serverSession.getReadConnectionPool().releaseConnection(accessor);
+        } else {
+            ((EmulatedConnection) session.getAccessor().getConnection()).getDriver().setRows(rowsBySQL);
+        }
+    }
+
+    /**
+     * Return the row of the values in the order of the fields of the descriptor,
+     * the values are given in the order of the columns.
+     */
+    public static ArrayRecord buildRow(ClassDescriptor descriptor, String[] columns, Object... values) {
+        Vector<DatabaseField> fields = descriptor.getAllFields();
+        Object[] row = new Object[fields.size()];
+        for (int index = 0; index < columns.length; index++) {
+            row[fields.indexOf(new DatabaseField(descriptor.getTableName() + "." + columns[index]))] = values[index];
+        }
+        return new ArrayRecord(fields, fields.toArray(new DatabaseField[0]), row);
+    }
+
+    /**
+     * Return the number of calls returning rows executed by the session from now on.
+     */
+    public static AtomicInteger countSelects(Session session) {
+        AtomicInteger selects = new AtomicInteger();
+        session.getEventManager().addListener(new SessionEventAdapter() {
+            @Override
+            public void preExecuteCall(SessionEvent event) {
+                if (!((DatasourceCall) event.getCall()).isNothingReturned()) {
+                    selects.incrementAndGet();
+                }
+            }
+        });
+        return selects;
+    }
+}
@@ -30,6 +30,9 @@ public EmulatedResultSetMetaData(EmulatedResultSet resultSet) {
 
     @Override
     public int getColumnCount() {
+        if (resultSet.getRows().isEmpty()) {
+            return 0;
+        }
         return ((DatabaseRecord)resultSet.getRows().get(0)).getFields().size();
     }
 
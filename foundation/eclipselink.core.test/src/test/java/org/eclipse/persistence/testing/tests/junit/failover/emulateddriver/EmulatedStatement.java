@@ -37,6 +37,8 @@ public class EmulatedStatement implements PreparedStatement {
 
     protected EmulatedConnection connection;
     protected String sql;
+    /** The update count is -1 after a query, as the result is a result set. */
+    protected int updateCount;
 
     public EmulatedStatement(EmulatedConnection connection) {
         this.connection = connection;
@@ -94,6 +96,7 @@ public boolean execute(String sql, String[] columnNames) throws SQLException {
     @Override
     public ResultSet executeQuery() throws SQLException {
         checkForError();
+        this.updateCount = -1;
         return new EmulatedResultSet(this.connection.getRows(this.sql));
     }
 
@@ -101,6 +104,7 @@ public ResultSet executeQuery() throws SQLException {
     @Override
     public ResultSet executeQuery(String sql) throws SQLException {
         checkForError();
+        this.updateCount = -1;
         return new EmulatedResultSet(this.connection.getRows(sql));
     }
 
@@ -360,7 +364,7 @@ public ResultSet getResultSet() {
 
     @Override
     public int getUpdateCount() {
-        return 0;
+        return this.updateCount;
     }
 
     @Override
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.helper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.exceptions.ConcurrencyException;
+import org.eclipse.persistence.internal.helper.ConcurrencyManager;
+import org.eclipse.persistence.internal.helper.ConcurrencyUtil;
+import org.eclipse.persistence.internal.helper.DeferredLockManager;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrencyManagerLockFreeReadLockTest {
+
+    private static final int NO_OF_THREADS = 16;
+    private static final int NO_OF_ITERATIONS = 20000;
+
+    private boolean originalUseLockFreeReadLock;
+
+    @Before
+    public void setup() {
+        //This kind of setup is for test purpose only. Standard way is via persistence.xml properties or system properties.
+        originalUseLockFreeReadLock = ConcurrencyUtil.SINGLETON.isUseLockFreeReadLock();
+        ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(true);
+    }
+
+    @After
+    public void tearDown() {
+        ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(originalUseLockFreeReadLock);
+    }
+
+    @Test
+    public void testReadLockAcquireRelease() {
+        CacheKey cacheKey = new CacheKey(1);
+        cacheKey.acquireReadLock();
+        cacheKey.acquireReadLock();
+        assertEquals(2, cacheKey.getNumberOfReaders());
+        assertNull(cacheKey.getActiveThread());
+        // Held read locks block the write lock, also for the reading thread.
+        assertFalse(cacheKey.acquireNoWait());
+        cacheKey.releaseReadLock();
+        cacheKey.releaseReadLock();
+        assertEquals(0, cacheKey.getNumberOfReaders());
+        assertTrue(cacheKey.acquireNoWait());
+        assertEquals(Thread.currentThread(), cacheKey.getActiveThread());
+        // Read lock inside of the own write lock.
+        cacheKey.acquireReadLock();
+        cacheKey.releaseReadLock();
+        cacheKey.release();
+        assertNull(cacheKey.getActiveThread());
+        assertFalse(cacheKey.isAcquired());
+    }
+
+    @Test
+    public void testReadLockReleasedInAcquiredMode() {
+        CacheKey lockFreeCacheKey = new CacheKey(1);
+        lockFreeCacheKey.acquireReadLock();
+        // Another persistence unit switching the mode must not change how the held read lock is released.
+        ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(false);
+        CacheKey cacheKey = new CacheKey(2);
+        cacheKey.acquireReadLock();
+        lockFreeCacheKey.releaseReadLock();
+        assertEquals(0, lockFreeCacheKey.getNumberOfReaders());
+        ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(true);
+        cacheKey.releaseReadLock();
+        assertEquals(0, cacheKey.getNumberOfReaders());
+        assertTrue(lockFreeCacheKey.acquireNoWait());
+        lockFreeCacheKey.release();
+        assertTrue(cacheKey.acquireNoWait());
+        cacheKey.release();
+        assertEquals(1, lockFreeCacheKey.getTotalNumberOfKeysAcquiredForReading());
+        assertEquals(1, lockFreeCacheKey.getTotalNumberOfKeysReleasedForReading());
+        assertEquals(1, cacheKey.getTotalNumberOfKeysAcquiredForReading());
+        assertEquals(1, cacheKey.getTotalNumberOfKeysReleasedForReading());
+    }
+
+    @Test(expected = ConcurrencyException.class)
+    public void testReleaseReadLockNotAcquired() {
+        new CacheKey(1).releaseReadLock();
+    }
+
+    @Test
+    public void testReadersExcludeWriters() throws Exception {
+        final ConcurrencyManager manager = new ConcurrencyManager();
+        final AtomicInteger readersInside = new AtomicInteger();
+        final AtomicInteger writersInside = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(NO_OF_THREADS);
+        Future<?>[] futures = new Future<?>[NO_OF_THREADS];
+        for (int i = 0; i < NO_OF_THREADS; i++) {
+            // One writer for every three readers, like a merge running while the cache is read.
+            final boolean writer = (i % 4) == 0;
+            futures[i] = executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < NO_OF_ITERATIONS; j++) {
+                    if (writer) {
+                        manager.acquire();
+                        if ((writersInside.incrementAndGet() != 1) || (readersInside.get() != 0)) {
+                            violations.incrementAndGet();
+                        }
+                        writersInside.decrementAndGet();
+                        manager.release();
+                    } else {
+                        manager.acquireReadLock();
+                        readersInside.incrementAndGet();
+                        if (writersInside.get() != 0) {
+                            violations.incrementAndGet();
+                        }
+                        readersInside.decrementAndGet();
+                        manager.releaseReadLock();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executorService.shutdown();
+        if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
+            executorService.shutdownNow();
+            fail("Readers and writers did not complete, lost wake up of a waiting thread.");
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertEquals(0, violations.get());
+        assertEquals(0, manager.getNumberOfReaders());
+        assertEquals(0, manager.getNumberOfWritersWaiting());
+        assertFalse(manager.isAcquired());
+    }
+
+    @Test
+    public void testDeferredLockOnLockedCacheKey() throws Exception {
+        final CacheKey cacheKey = new CacheKey(1);
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch deferred = new CountDownLatch(1);
+        Thread owner = new Thread(() -> {
+            cacheKey.acquire();
+            locked.countDown();
+            try {
+                deferred.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cacheKey.release();
+            }
+        });
+        owner.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        // A thread building a cyclic object graph must defer instead of waiting on the owner.
+        cacheKey.acquireDeferredLock();
+        DeferredLockManager lockManager = ConcurrencyManager.getDeferredLockManager(Thread.currentThread());
+        assertNotNull(lockManager);
+        assertTrue(lockManager.hasDeferredLock());
+        deferred.countDown();
+        cacheKey.releaseDeferredLock();
+        owner.join(10000);
+        assertNull(ConcurrencyManager.getDeferredLockManager(Thread.currentThread()));
+        assertFalse(cacheKey.isAcquired());
+    }
+}
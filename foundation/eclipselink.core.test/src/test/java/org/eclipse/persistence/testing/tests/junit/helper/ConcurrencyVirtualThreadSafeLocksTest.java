@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.internal.helper.ConcurrencyManager;
+import org.eclipse.persistence.internal.helper.ConcurrencyUtil;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.server.ClientSession;
+import org.eclipse.persistence.sessions.server.ConnectionPolicy;
+import org.eclipse.persistence.sessions.server.ConnectionPool;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Stress test of the "eclipselink.concurrency.manager.virtual.thread.safe.locks" mode.
+ * With JDK 21 or newer the tasks run on virtual threads and the test fails if a carrier thread
+ * was pinned while waiting, as reported by -Djdk.tracePinnedThreads (set by the surefire configuration).
+ * With older JDKs the same tasks run on platform threads.
+ */
+public class ConcurrencyVirtualThreadSafeLocksTest {
+
+    private static final int NO_OF_THREADS = 64;
+    private static final int NO_OF_TASKS = 2000;
+    private static final int NO_OF_CONNECTIONS = 4;
+    // Stack trace marker printed by -Djdk.tracePinnedThreads for a virtual thread parked holding a monitor.
+    private static final String PINNED_MONITOR_MARKER = "<== monitors";
+
+    public static class Item {
+        public long id;
+    }
+
+    private boolean originalUseVirtualThreadSafeLocks;
+    private ServerSession session;
+    private PrintStream originalOut;
+    private ByteArrayOutputStream out;
+
+    @Before
+    public void setup() {
+        //This kind of setup is for test purpose only. Standard way is via persistence.xml properties or system properties.
+        originalUseVirtualThreadSafeLocks = ConcurrencyUtil.SINGLETON.isUseVirtualThreadSafeLocks();
+        ConcurrencyUtil.SINGLETON.setUseVirtualThreadSafeLocks(true);
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        Project project = new Project(login);
+        project.addDescriptor(descriptor);
+        session = (ServerSession) project.createServerSession(NO_OF_CONNECTIONS, NO_OF_CONNECTIONS);
+        session.setLogLevel(SessionLog.WARNING);
+        session.login();
+        originalOut = System.out;
+        out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(originalOut);
+        try {
+            if (session != null && session.isConnected()) {
+                session.logout();
+            }
+        } finally {
+            ConcurrencyUtil.SINGLETON.setUseVirtualThreadSafeLocks(originalUseVirtualThreadSafeLocks);
+        }
+    }
+
+    @Test
+    public void testConnectionPool() throws Exception {
+        final ConnectionPool pool = session.getDefaultConnectionPool();
+        final AtomicInteger connectionsInUse = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        runTasks(() -> {
+            Accessor accessor = pool.acquireConnection();
+            try {
+                if (connectionsInUse.incrementAndGet() > NO_OF_CONNECTIONS) {
+                    violations.incrementAndGet();
+                }
+                Thread.sleep(1);
+                connectionsInUse.decrementAndGet();
+            } finally {
+                pool.releaseConnection(accessor);
+            }
+            return null;
+        });
+        assertEquals(0, violations.get());
+        assertTrue(pool.getTotalNumberOfConnections() <= NO_OF_CONNECTIONS);
+        assertNotPinned();
+    }
+
+    @Test
+    public void testConnectionPoolKeepsLockMode() throws Exception {
+        final ConnectionPool pool = session.getDefaultConnectionPool();
+        final AtomicInteger connectionsInUse = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        final AtomicInteger tasks = new AtomicInteger();
+        runTasks(() -> {
+            // Another persistence unit disables the mode while the pool is used.
+            if (tasks.incrementAndGet() == (NO_OF_TASKS / 2)) {
+                ConcurrencyUtil.SINGLETON.setUseVirtualThreadSafeLocks(false);
+            }
+            Accessor accessor = pool.acquireConnection();
+            try {
+                if (connectionsInUse.incrementAndGet() > NO_OF_CONNECTIONS) {
+                    violations.incrementAndGet();
+                }
+                Thread.sleep(1);
+                connectionsInUse.decrementAndGet();
+            } finally {
+                pool.releaseConnection(accessor);
+            }
+            return null;
+        });
+        assertEquals(0, violations.get());
+        assertTrue(pool.getTotalNumberOfConnections() <= NO_OF_CONNECTIONS);
+    }
+
+    @Test
+    public void testNonPooledConnections() throws Exception {
+        session.setMaxNumberOfNonPooledConnections(NO_OF_CONNECTIONS);
+        final ConnectionPolicy policy = new ConnectionPolicy(session.getDatasourceLogin());
+        // The non pooled connection is acquired with the client session.
+        policy.setIsLazy(false);
+        final AtomicInteger connectionsInUse = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        runTasks(() -> {
+            ClientSession clientSession = session.acquireClientSession(policy);
+            try {
+                if (connectionsInUse.incrementAndGet() > NO_OF_CONNECTIONS) {
+                    violations.incrementAndGet();
+                }
+                Thread.sleep(1);
+                connectionsInUse.decrementAndGet();
+            } finally {
+                clientSession.release();
+            }
+            return null;
+        });
+        assertEquals(0, violations.get());
+        assertEquals(0, session.getNumberOfNonPooledConnectionsUsed());
+        assertNotPinned();
+    }
+
+    @Test
+    public void testReadersExcludeWriters() throws Exception {
+        final ConcurrencyManager manager = new ConcurrencyManager();
+        final AtomicInteger readersInside = new AtomicInteger();
+        final AtomicInteger writersInside = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        final AtomicInteger tasks = new AtomicInteger();
+        runTasks(() -> {
+            // One writer for every three readers, like a merge running while the cache is read.
+            if ((tasks.incrementAndGet() % 4) == 0) {
+                manager.acquire();
+                if ((writersInside.incrementAndGet() != 1) || (readersInside.get() != 0)) {
+                    violations.incrementAndGet();
+                }
+                Thread.sleep(1);
+                writersInside.decrementAndGet();
+                manager.release();
+            } else {
+                manager.acquireReadLock();
+                readersInside.incrementAndGet();
+                if (writersInside.get() != 0) {
+                    violations.incrementAndGet();
+                }
+                readersInside.decrementAndGet();
+                manager.releaseReadLock();
+            }
+            return null;
+        });
+        assertEquals(0, violations.get());
+        assertEquals(0, manager.getNumberOfReaders());
+        assertFalse(manager.isAcquired());
+        assertNotPinned();
+    }
+
+    @Test
+    public void testWaitForObject() throws Exception {
+        final CacheKey cacheKey = new CacheKey(1);
+        final Object object = new Object();
+        final CountDownLatch locked = new CountDownLatch(1);
+        Thread builder = new Thread(() -> {
+            cacheKey.acquire();
+            locked.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cacheKey.setObject(object);
+                cacheKey.release();
+            }
+        });
+        builder.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        // Object built by another thread, wait until the cache key is released.
+        assertEquals(object, cacheKey.waitForObject());
+        cacheKey.waitForRelease(0);
+        assertFalse(cacheKey.isAcquired());
+        builder.join(10000);
+    }
+
+    @Test
+    public void testAcquireLocksForCloneWaitsForRelease() throws Exception {
+        final Item item = new Item();
+        final CacheKey cacheKey = new CacheKey(1L, item, null);
+        final ClassDescriptor descriptor = session.getDescriptor(Item.class);
+        final CountDownLatch locked = new CountDownLatch(1);
+        // The object is locked by a merge, the clone lock waits until it is released.
+        Thread merge = new Thread(() -> {
+            cacheKey.acquire();
+            locked.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cacheKey.release();
+            }
+        });
+        merge.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        ExecutorService executorService = newExecutorService();
+        try {
+            Future<Map> lockedObjects = executorService.submit(() -> {
+                Map acquired = session.getIdentityMapAccessorInstance().getWriteLockManager().acquireLocksForClone(item, descriptor, cacheKey, session);
+                for (Object lockedCacheKey : acquired.values()) {
+                    ((CacheKey) lockedCacheKey).releaseReadLock();
+                }
+                return acquired;
+            });
+            assertEquals(cacheKey, lockedObjects.get(10, TimeUnit.SECONDS).get(item));
+        } finally {
+            executorService.shutdownNow();
+        }
+        merge.join(10000);
+        assertEquals(0, cacheKey.getNumberOfReaders());
+        assertNotPinned();
+    }
+
+    private void runTasks(final Callable<Void> task) throws Exception {
+        ExecutorService executorService = newExecutorService();
+        List<Future<Void>> futures = new ArrayList<>(NO_OF_TASKS);
+        for (int i = 0; i < NO_OF_TASKS; i++) {
+            futures.add(executorService.submit(task));
+        }
+        executorService.shutdown();
+        if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
+            executorService.shutdownNow();
+            fail("Tasks did not complete, lost wake up of a waiting thread.");
+        }
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+
+    private static ExecutorService newExecutorService() {
+        try {
+            // Virtual threads are available since JDK 21.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(NO_OF_THREADS);
+        }
+    }
+
+    private void assertNotPinned() {
+        System.out.flush();
+        String output = out.toString();
+        assertFalse("Carrier thread pinned: " + output, output.contains(PINNED_MONITOR_MARKER));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.helper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentFixedCacheTest {
+
+    private static final int MAX_SIZE = 10;
+    private static final int NO_OF_THREADS = 8;
+    private static final int NO_OF_ITERATIONS = 10000;
+
+    @Test
+    public void testPutGetRemove() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(MAX_SIZE);
+        assertNull(cache.get("a"));
+        cache.put("a", "value");
+        assertEquals("value", cache.get("a"));
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        cache.resetStatistics();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testZeroMaxSize() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(0);
+        cache.put("a", "value");
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testFrequentKeysAreKept() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(MAX_SIZE);
+        // Hot keys, looked up (missed) and put like parsed queries.
+        for (int i = 0; i < MAX_SIZE; i++) {
+            String key = "hot" + i;
+            for (int j = 0; j < 5; j++) {
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+        }
+        // A scan of keys used once must not evict the hot keys.
+        for (int i = 0; i < MAX_SIZE * 10; i++) {
+            String key = "cold" + i;
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        for (int i = 0; i < MAX_SIZE; i++) {
+            assertNotNull(cache.get("hot" + i));
+        }
+        assertEquals(MAX_SIZE, cache.getCache().size());
+        assertEquals(MAX_SIZE * 10, cache.getEvictions());
+    }
+
+    @Test
+    public void testNewFrequentKeyIsAdmitted() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(MAX_SIZE);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            cache.get("old" + i);
+            cache.put("old" + i, "value");
+        }
+        // A key used more often than the eldest key replaces it.
+        for (int j = 0; j < 3; j++) {
+            if (cache.get("new") == null) {
+                cache.put("new", "value");
+            }
+        }
+        assertNotNull(cache.get("new"));
+        // The first put was not admitted and moved the eldest key to the end, the second evicted the next eldest.
+        assertNotNull(cache.getCache().get("old0"));
+        assertNull(cache.getCache().get("old1"));
+        assertEquals(MAX_SIZE, cache.getCache().size());
+    }
+
+    @Test
+    public void testPutWithoutGetIsAdmitted() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(MAX_SIZE);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            cache.put("old" + i, "value");
+        }
+        // Resets the sketch, the cached keys were not used since.
+        cache.setMaxSize(MAX_SIZE);
+        // The put counts as an access, so the key is admitted over the unused eldest key.
+        cache.put("new", "value");
+        assertNotNull(cache.getCache().get("new"));
+        assertNull(cache.getCache().get("old0"));
+        assertEquals(MAX_SIZE, cache.getCache().size());
+    }
+
+    @Test
+    public void testGetsAreCountedByPut() {
+        FrequencyCache cache = new FrequencyCache(MAX_SIZE);
+        cache.put("a", "value");
+        assertEquals(1, cache.getFrequency("a"));
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(cache.get("a"));
+        }
+        // The gets are only recorded in the access buffers.
+        assertEquals(1, cache.getFrequency("a"));
+        cache.put("b", "value");
+        assertEquals(4, cache.getFrequency("a"));
+        assertEquals(1, cache.getFrequency("b"));
+    }
+
+    @Test
+    public void testConcurrentGetsAndPuts() throws Exception {
+        final ConcurrentFixedCache cache = new ConcurrentFixedCache(MAX_SIZE);
+        ExecutorService executorService = Executors.newFixedThreadPool(NO_OF_THREADS);
+        Future<?>[] futures = new Future<?>[NO_OF_THREADS];
+        for (int i = 0; i < NO_OF_THREADS; i++) {
+            final int thread = i;
+            futures[i] = executorService.submit(() -> {
+                for (int j = 0; j < NO_OF_ITERATIONS; j++) {
+                    // Mostly a few hot keys, and some keys used once.
+                    Object key = ((j % 4) == 0) ? (thread + "-" + j) : ("hot" + (j % MAX_SIZE));
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+                return null;
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertTrue(cache.getCache().size() <= MAX_SIZE);
+        assertEquals(NO_OF_THREADS * NO_OF_ITERATIONS, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testMaxSizeAndClear() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(MAX_SIZE);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            cache.put(i, i);
+        }
+        cache.setMaxSize(MAX_SIZE / 2);
+        for (int j = 0; j < 3; j++) {
+            if (cache.get("new") == null) {
+                cache.put("new", "value");
+            }
+        }
+        assertTrue(cache.getCache().size() <= MAX_SIZE / 2);
+        // Clearing the map directly, as done by tests and tools, must not break the eviction.
+        cache.getCache().clear();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(MAX_SIZE / 2, cache.getCache().size());
+    }
+
+    /**
+     * Expose the estimated frequency of a key.
+     */
+    private static class FrequencyCache extends ConcurrentFixedCache {
+
+        FrequencyCache(int maxSize) {
+            super(maxSize);
+        }
+
+        synchronized int getFrequency(Object key) {
+            return frequency(key);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentCacheIdentityMapTest {
+
+    private static final int MAX_SIZE = 100;
+    private static final int NO_OF_THREADS = 16;
+    private static final int NO_OF_ITERATIONS = 20000;
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(MAX_SIZE, null, null, false);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        // Hit the first half, the second half is then the least recently used.
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            assertNotNull(map.getCacheKey(i, false));
+        }
+        for (int i = MAX_SIZE; i < MAX_SIZE + MAX_SIZE / 2; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        assertEquals(MAX_SIZE, map.getSize());
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            assertEquals("object" + i, map.get(i));
+        }
+        for (int i = MAX_SIZE / 2; i < MAX_SIZE; i++) {
+            assertNull(map.get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveAndUpdateMaxSize() {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(MAX_SIZE, null, null, false);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        CacheKey removed = map.getCacheKey(0, false);
+        assertEquals("object0", map.remove(removed));
+        assertEquals(CacheKey.CACHE_KEY_INVALID, removed.getInvalidationState());
+        assertEquals(MAX_SIZE - 1, map.getSize());
+        assertEquals(MAX_SIZE - 1, count(map.lruKeys()));
+
+        map.updateMaxSize(10);
+        assertEquals(10, map.getSize());
+        assertEquals(10, count(map.lruKeys()));
+        // The most recently put objects are kept.
+        assertEquals("object" + (MAX_SIZE - 1), map.get(MAX_SIZE - 1));
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testClone() {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(MAX_SIZE, null, null, false);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        ConcurrentCacheIdentityMap clone = (ConcurrentCacheIdentityMap)map.clone();
+        Iterator<CacheKey> keys = map.lruKeys();
+        Iterator<CacheKey> clonedKeys = clone.lruKeys();
+        while (keys.hasNext()) {
+            CacheKey key = keys.next();
+            CacheKey clonedKey = clonedKeys.next();
+            assertEquals(key.getKey(), clonedKey.getKey());
+            assertSame(key.getObject(), clonedKey.getObject());
+        }
+        assertFalse(clonedKeys.hasNext());
+        // Changes of the clone do not change the receiver.
+        clone.remove(clone.getCacheKey(0, false));
+        assertEquals(10, count(map.lruKeys()));
+        assertEquals(9, count(clone.lruKeys()));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(MAX_SIZE, null, null, false);
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(NO_OF_THREADS);
+        Future<?>[] futures = new Future<?>[NO_OF_THREADS];
+        for (int i = 0; i < NO_OF_THREADS; i++) {
+            futures[i] = executorService.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < NO_OF_ITERATIONS; j++) {
+                    Integer key = random.nextInt(MAX_SIZE * 2);
+                    int operation = random.nextInt(10);
+                    if (operation == 0) {
+                        map.remove(map.getCacheKey(key, false));
+                    } else if ((operation < 4) || (map.getCacheKey(key, false) == null)) {
+                        map.put(key, key, null, 0);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executorService.shutdown();
+        if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
+            executorService.shutdownNow();
+            fail("Concurrent access did not complete.");
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        // The linked list and the map must hold the same cache keys.
+        assertTrue(map.getSize() <= MAX_SIZE);
+        int linked = 0;
+        for (Iterator<CacheKey> keys = map.lruKeys(); keys.hasNext(); linked++) {
+            CacheKey key = keys.next();
+            assertSame(key, map.getCacheKeys().get(key.getKey()));
+        }
+        assertEquals(map.getSize(), linked);
+    }
+
+    private static int count(Iterator<CacheKey> keys) {
+        int count = 0;
+        for (; keys.hasNext(); keys.next()) {
+            count++;
+        }
+        return count;
+    }
+}
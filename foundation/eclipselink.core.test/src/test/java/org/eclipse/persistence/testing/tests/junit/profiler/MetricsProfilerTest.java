@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.profiler;
+
+import java.util.Map;
+
+import org.eclipse.persistence.services.mbean.MBeanRuntimeServices;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.tools.profiler.MetricsProfiler;
+import org.eclipse.persistence.tools.profiler.metrics.MetricsRegistry;
+import org.eclipse.persistence.tools.profiler.metrics.Timer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsProfilerTest {
+
+    @Test
+    public void testSessionProfilerMetersPreRegistered() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertTrue(registry.getCounters().containsKey(SessionProfiler.CacheHits));
+        assertTrue(registry.getTimers().containsKey(SessionProfiler.StatementExecute));
+        assertSame(registry.getTimer(SessionProfiler.StatementExecute), registry.getTimer(SessionProfiler.StatementExecute));
+        // Unused meters are not reported.
+        assertTrue(registry.getMetrics().isEmpty());
+    }
+
+    @Test
+    public void testTimerPercentiles() {
+        Timer timer = new MetricsRegistry().getTimer("Timer:Test");
+        for (long value = 1; value <= 10000; value++) {
+            timer.record(value * 1000);
+        }
+        assertEquals(10000, timer.getCount());
+        assertEquals(10000000, timer.getMaxTime());
+        assertEquals(5000500, timer.getMeanTime());
+        assertWithinBucket(5000000, timer.getPercentile(50));
+        assertWithinBucket(9900000, timer.getPercentile(99));
+        assertEquals(10000000, timer.getPercentile(100));
+        // Small values are recorded exactly.
+        Timer small = new MetricsRegistry().getTimer("Timer:Small");
+        small.record(3);
+        small.record(-1);
+        assertEquals(3, small.getPercentile(100));
+        assertEquals(0, small.getPercentile(50));
+        timer.reset();
+        assertEquals(0, timer.getCount());
+        assertEquals(0, timer.getPercentile(99));
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue("Expected " + expected + " but was " + actual, (actual >= expected) && (actual <= expected + (expected / 16)));
+    }
+
+    @Test
+    public void testProfilerOperations() {
+        MetricsProfiler profiler = new MetricsProfiler();
+        profiler.startOperationProfile(SessionProfiler.SqlPrepare);
+        profiler.endOperationProfile(SessionProfiler.SqlPrepare);
+        // Not started on this thread.
+        profiler.endOperationProfile(SessionProfiler.RowFetch);
+        profiler.occurred(SessionProfiler.CacheHits, null);
+        profiler.occurred(SessionProfiler.CacheHits, null);
+        Map<String, Long> metrics = profiler.getRegistry().getMetrics();
+        assertEquals(Long.valueOf(1), metrics.get(SessionProfiler.SqlPrepare + ".count"));
+        assertFalse(metrics.containsKey(SessionProfiler.RowFetch + ".count"));
+        assertEquals(Long.valueOf(2), metrics.get(SessionProfiler.CacheHits));
+        assertTrue(metrics.containsKey(SessionProfiler.SqlPrepare + ".p99"));
+
+        profiler.setProfileWeight(SessionProfiler.NONE);
+        profiler.occurred(SessionProfiler.CacheHits, null);
+        profiler.startOperationProfile(SessionProfiler.SqlPrepare);
+        profiler.endOperationProfile(SessionProfiler.SqlPrepare);
+        assertEquals(2, profiler.getRegistry().getCounter(SessionProfiler.CacheHits).getCount());
+        assertEquals(1, profiler.getRegistry().getTimer(SessionProfiler.SqlPrepare).getCount());
+    }
+
+    @Test
+    public void testRuntimeServicesMetrics() {
+        DatabaseSession session = new Project(new DatabaseLogin()).createDatabaseSession();
+        MBeanRuntimeServices services = new MBeanRuntimeServices(session);
+        assertTrue(services.getMetrics().isEmpty());
+        services.setProfilingType("Metrics");
+        assertTrue(services.getUsesMetricsProfiling());
+        assertEquals("Metrics", services.getProfilingType());
+        session.getProfiler().occurred(SessionProfiler.UowCommits, null);
+        assertEquals(Long.valueOf(1), services.getMetrics().get(SessionProfiler.UowCommits));
+        services.resetMetrics();
+        assertTrue(services.getMetrics().isEmpty());
+        services.setUseNoProfiling();
+        assertFalse(services.getUsesMetricsProfiling());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.indirection.ValueHolder;
+import org.eclipse.persistence.indirection.ValueHolderInterface;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Loads a lazy relationship of the objects of a unit of work read by different queries
+ * in the same batch queries when it is triggered for one of them.
+ */
+public class AdaptiveBatchFetchTest {
+
+    public static class Employee {
+        public long id;
+        public String name;
+        public ValueHolderInterface<Address> address = new ValueHolder<>();
+    }
+
+    public static class Address {
+        public long id;
+        public String city;
+    }
+
+    private DatabaseSessionImpl session;
+
+    /** The rows returned by each employee select, in order. */
+    private final LinkedList<Vector<ArrayRecord>> employeeResults = new LinkedList<>();
+    private int addressQueries;
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private void login(int adaptiveBatchFetchSize) {
+        RelationalDescriptor employeeDescriptor = new RelationalDescriptor();
+        employeeDescriptor.setJavaClass(Employee.class);
+        employeeDescriptor.setTableName("EMPLOYEE");
+        employeeDescriptor.setPrimaryKeyFieldName("ID");
+        employeeDescriptor.addDirectMapping("id", "ID");
+        employeeDescriptor.addDirectMapping("name", "NAME");
+        OneToOneMapping addressMapping = new OneToOneMapping();
+        addressMapping.setAttributeName("address");
+        addressMapping.setReferenceClass(Address.class);
+        addressMapping.addForeignKeyFieldName("EMPLOYEE.ADDRESS_ID", "ADDRESS.ID");
+        addressMapping.useBasicIndirection();
+        employeeDescriptor.addMapping(addressMapping);
+
+        RelationalDescriptor addressDescriptor = new RelationalDescriptor();
+        addressDescriptor.setJavaClass(Address.class);
+        addressDescriptor.setTableName("ADDRESS");
+        addressDescriptor.setPrimaryKeyFieldName("ID");
+        addressDescriptor.addDirectMapping("id", "ID");
+        addressDescriptor.addDirectMapping("city", "CITY");
+
+        DatabaseLogin login = EmulatedDriverHelper.buildLogin();
+        // The address ids are printed in the SQL of the address selects.
+        login.dontBindAllParameters();
+        Project project = new Project(login);
+        project.addDescriptor(employeeDescriptor);
+        project.addDescriptor(addressDescriptor);
+        project.setAdaptiveBatchFetchSize(adaptiveBatchFetchSize);
+        session = EmulatedDriverHelper.loginDatabaseSession(project);
+
+        // The emulated driver does not filter the rows, return the addresses of the ids in the address selects,
+        // and the next result of the employee selects.
+        EmulatedDriverHelper.setRows(session, sql -> {
+            if (sql.contains("FROM ADDRESS")) {
+                addressQueries++;
+                return buildAddressRows(sql);
+            }
+            return employeeResults.poll();
+        });
+    }
+
+    private Vector<ArrayRecord> buildAddressRows(String sql) {
+        Vector<ArrayRecord> rows = new Vector<>();
+        for (long id = 11; id <= 13; id++) {
+            if (sql.contains(String.valueOf(id))) {
+                rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Address.class), new String[] {"ID", "CITY"}, id, "city" + id));
+            }
+        }
+        return rows;
+    }
+
+
+    /**
+     * Read the employees with a query each in the unit of work.
+     */
+    private List<Employee> readEmployees(UnitOfWork unitOfWork, int numberOfEmployees) {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= numberOfEmployees; id++) {
+            Vector<ArrayRecord> rows = new Vector<>();
+            rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Employee.class), new String[] {"ID", "NAME", "ADDRESS_ID"}, id, "employee" + id, id + 10));
+            employeeResults.add(rows);
+            employees.add((Employee) unitOfWork.readObject(Employee.class, new ExpressionBuilder().get("id").equal(id)));
+        }
+        return employees;
+    }
+
+    private void assertAddresses(List<Employee> employees) {
+        for (Employee employee : employees) {
+            assertEquals(employee.id + 10, employee.address.getValue().id);
+            assertEquals("city" + (employee.id + 10), employee.address.getValue().city);
+        }
+    }
+
+    @Test
+    public void testRelationshipLoadedForUnitOfWork() {
+        login(10);
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 3);
+        assertFalse(employees.get(1).address.isInstantiated());
+
+        assertAddresses(employees);
+        assertEquals(1, addressQueries);
+        assertEquals(1, session.getProject().getAdaptiveBatchFetchQueries());
+        assertEquals(2, session.getProject().getAdaptiveBatchFetchQueriesSaved());
+        unitOfWork.release();
+    }
+
+    @Test
+    public void testRelationshipLoadedInBatches() {
+        login(2);
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 3);
+
+        assertAddresses(employees);
+        assertEquals(2, addressQueries);
+        assertEquals(2, session.getProject().getAdaptiveBatchFetchQueries());
+        assertEquals(1, session.getProject().getAdaptiveBatchFetchQueriesSaved());
+        unitOfWork.release();
+    }
+
+    @Test
+    public void testAdaptiveBatchFetchDisabledByDefault() {
+        login(0);
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 3);
+
+        assertAddresses(employees);
+        assertEquals(3, addressQueries);
+        assertEquals(0, session.getProject().getAdaptiveBatchFetchQueries());
+        unitOfWork.release();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Vector;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayRecordTest {
+
+    private static final DatabaseField ID = new DatabaseField("EMPLOYEE.ID");
+    private static final DatabaseField NAME = new DatabaseField("EMPLOYEE.NAME");
+    private static final DatabaseField CITY = new DatabaseField("ADDRESS.CITY");
+
+    private static ArrayRecord buildRecord() {
+        DatabaseField[] fieldsArray = {ID, NAME, CITY};
+        Vector<DatabaseField> fields = new Vector<>();
+        for (DatabaseField field : fieldsArray) {
+            fields.add(field);
+        }
+        return new ArrayRecord(fields, fieldsArray, new Object[] {1, "Smith", "Ottawa"});
+    }
+
+    @Test
+    public void testGetValueAt() {
+        ArrayRecord record = buildRecord();
+        assertEquals(1, record.getValueAt(0));
+        assertEquals("Ottawa", record.getValueAt(2));
+        // A modified record falls back to the Vector values.
+        record.put(new DatabaseField("EMPLOYEE.SALARY"), 100);
+        assertEquals("Smith", record.getValueAt(1));
+        assertEquals(100, record.getValueAt(3));
+    }
+
+    @Test
+    public void testSubRecord() {
+        ArrayRecord record = buildRecord();
+        AbstractRecord subRecord = record.subRecord(1, 3);
+        assertTrue(subRecord instanceof ArrayRecord);
+        assertEquals(2, subRecord.size());
+        assertEquals("Smith", subRecord.get(NAME));
+        assertEquals("Ottawa", subRecord.get(CITY));
+        assertNull(subRecord.get(ID));
+        assertEquals(2, subRecord.getFields().size());
+        assertEquals(CITY, subRecord.getFields().get(1));
+        // The sub record does not share its values with the record.
+        subRecord.replaceAt("Toronto", 1);
+        assertEquals("Ottawa", record.get(CITY));
+    }
+
+    @Test
+    public void testCursorRowIsArrayRecord() {
+        DatabaseLogin login = new DatabaseLogin();
+        AbstractSession session = (AbstractSession) new Project(login).createDatabaseSession();
+        DatabaseAccessor accessor = new LoginAccessor(login);
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> method.getName().equals("getColumnType") ? Types.VARCHAR : null);
+        int[] rows = {1};
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next": return rows[0]-- > 0;
+                        case "getMetaData": return metaData;
+                        case "wasNull": return false;
+                        case "getString": return "value" + args[0];
+                        default: return null;
+                    }
+                });
+        DatabaseField[] fieldsArray = {new DatabaseField("EMPLOYEE.NAME"), new DatabaseField("ADDRESS.CITY")};
+        Vector<DatabaseField> fields = new Vector<>();
+        fields.add(fieldsArray[0]);
+        fields.add(fieldsArray[1]);
+        AbstractRecord row = accessor.cursorRetrieveNextRow(fields, fieldsArray, resultSet, session);
+        assertTrue(row instanceof ArrayRecord);
+        assertEquals("value1", row.get(NAME));
+        assertEquals("value2", row.getValueAt(1));
+        assertNull(accessor.cursorRetrieveNextRow(fields, fieldsArray, resultSet, session));
+    }
+
+    private static class LoginAccessor extends DatabaseAccessor {
+        LoginAccessor(DatabaseLogin login) {
+            super();
+            setLogin(login);
+            setDatasourcePlatform(login.getPlatform());
+        }
+    }
+}
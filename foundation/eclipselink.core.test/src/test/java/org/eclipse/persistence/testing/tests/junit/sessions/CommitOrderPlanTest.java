@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.CommitOrderPlan;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Orders the commits with the commit plan computed on login.
+ */
+public class CommitOrderPlanTest {
+
+    public static class Node {
+        public long id;
+        public Node parent;
+
+        public Node() {
+        }
+
+        public Node(long id, Node parent) {
+            this.id = id;
+            this.parent = parent;
+        }
+    }
+
+    public static class Owner {
+        public long id;
+        public Node node;
+    }
+
+    private ServerSession session;
+
+    @Before
+    public void setup() {
+        RelationalDescriptor node = new RelationalDescriptor();
+        node.setJavaClass(Node.class);
+        node.setTableName("NODE");
+        node.setPrimaryKeyFieldName("ID");
+        node.addDirectMapping("id", "ID");
+        OneToOneMapping parent = new OneToOneMapping();
+        parent.setAttributeName("parent");
+        parent.setReferenceClass(Node.class);
+        parent.dontUseIndirection();
+        parent.addForeignKeyFieldName("PARENT_ID", "ID");
+        node.addMapping(parent);
+
+        RelationalDescriptor owner = new RelationalDescriptor();
+        owner.setJavaClass(Owner.class);
+        owner.setTableName("OWNER");
+        owner.setPrimaryKeyFieldName("ID");
+        owner.addDirectMapping("id", "ID");
+        OneToOneMapping ownerNode = new OneToOneMapping();
+        ownerNode.setAttributeName("node");
+        ownerNode.setReferenceClass(Node.class);
+        ownerNode.dontUseIndirection();
+        ownerNode.addForeignKeyFieldName("NODE_ID", "ID");
+        owner.addMapping(ownerNode);
+
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        Project project = new Project(login);
+        project.addDescriptor(owner);
+        project.addDescriptor(node);
+        session = (ServerSession) project.createServerSession(1, 1);
+        session.setLogLevel(SessionLog.WARNING);
+        session.login();
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    @Test
+    public void testPlanComputedOnLogin() {
+        CommitOrderPlan plan = session.getCommitManager().getCommitOrderPlan();
+        assertEquals(Arrays.asList(Node.class, Owner.class), plan.getOrderedClasses());
+        assertEquals(0, plan.getIndex(Node.class));
+        assertEquals(1, plan.getIndex(Owner.class));
+        assertEquals(-1, plan.getIndex(String.class));
+        assertTrue(plan.hasSelfReferences(Node.class));
+        assertFalse(plan.hasSelfReferences(Owner.class));
+        assertEquals(Arrays.asList(Node.class, Owner.class),
+                plan.orderClasses(Arrays.asList(Owner.class, String.class), Arrays.asList(Node.class, Owner.class)));
+
+        UnitOfWorkImpl uow = (UnitOfWorkImpl) session.acquireClientSession().acquireUnitOfWork();
+        assertSame(plan, uow.getCommitManager().getCommitOrderPlan());
+        uow.release();
+    }
+
+    @Test
+    public void testNewObjectsOrderedByReference() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        Node root = new Node(1, null);
+        Node child = new Node(2, root);
+        Node grandChild = new Node(3, child);
+        Node other = new Node(4, null);
+        uow.registerNewObject(grandChild);
+        uow.registerNewObject(other);
+        uow.registerNewObject(child);
+        uow.registerNewObject(root);
+        UnitOfWorkChangeSet changes = (UnitOfWorkChangeSet) uow.getCurrentChanges();
+        List<ObjectChangeSet> changeSets = new ArrayList<>();
+        for (Node node : Arrays.asList(grandChild, other, child, root)) {
+            changeSets.add((ObjectChangeSet) changes.getObjectChangeSetForClone(node));
+        }
+
+        List<ObjectChangeSet> ordered = session.getCommitManager().getCommitOrderPlan().orderNewObjects(Node.class, changeSets, (AbstractSession) uow);
+        assertEquals(Arrays.asList(changeSets.get(3), changeSets.get(2), changeSets.get(0), changeSets.get(1)), ordered);
+
+        // A cycle keeps all of the objects.
+        root.parent = grandChild;
+        changes = (UnitOfWorkChangeSet) uow.getCurrentChanges();
+        changeSets.clear();
+        for (Node node : Arrays.asList(grandChild, other, child, root)) {
+            changeSets.add((ObjectChangeSet) changes.getObjectChangeSetForClone(node));
+        }
+        ordered = session.getCommitManager().getCommitOrderPlan().orderNewObjects(Node.class, changeSets, (AbstractSession) uow);
+        assertEquals(4, ordered.size());
+        assertEquals(Arrays.asList(changeSets.get(3), changeSets.get(2), changeSets.get(0), changeSets.get(1)), ordered);
+        uow.release();
+    }
+
+    @Test
+    public void testCommitInsertsReferencedObjectsFirst() {
+        List<Object> inserted = new ArrayList<>();
+        session.getDescriptor(Node.class).getEventManager().addListener(new DescriptorEventAdapter() {
+            @Override
+            public void postInsert(DescriptorEvent event) {
+                inserted.add(((Node) event.getObject()).id);
+            }
+        });
+        session.getDescriptor(Owner.class).getEventManager().addListener(new DescriptorEventAdapter() {
+            @Override
+            public void postInsert(DescriptorEvent event) {
+                inserted.add("owner");
+            }
+        });
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        List<Node> nodes = new ArrayList<>();
+        Node node = null;
+        for (long index = 1; index <= 50; index++) {
+            node = new Node(index, node);
+            nodes.add(0, node);
+        }
+        Owner owner = new Owner();
+        owner.id = 1;
+        owner.node = node;
+        for (Node each : nodes) {
+            uow.registerNewObject(each);
+        }
+        uow.registerNewObject(owner);
+        uow.commit();
+
+        List<Object> expected = new ArrayList<>();
+        for (long index = 1; index <= 50; index++) {
+            expected.add(index);
+        }
+        expected.add("owner");
+        assertEquals(expected, inserted);
+        assertNotNull(session.getIdentityMapAccessor().getFromIdentityMap(node));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.math.BigDecimal;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.serializers.CompactSerializer;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompactSerializerTest {
+
+    public static class Item {
+        public long id;
+        public String name;
+        public BigDecimal price;
+        public long version;
+    }
+
+    private static RelationalDescriptor buildDescriptor(boolean withPrice) {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        if (withPrice) {
+            descriptor.addDirectMapping("price", "PRICE");
+        }
+        descriptor.addDirectMapping("version", "VERSION");
+        descriptor.useVersionLocking("VERSION");
+        return descriptor;
+    }
+
+    private static Session buildSession(boolean withPrice) {
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(buildDescriptor(withPrice));
+        return project.createDatabaseSession();
+    }
+
+    private static MergeChangeSetCommand buildCommand(Session session) {
+        RelationalDescriptor descriptor = (RelationalDescriptor) session.getDescriptor(Item.class);
+        Map<ObjectChangeSet, ObjectChangeSet> changeSets = new IdentityHashMap<>();
+        ObjectChangeSet changeSet = new ObjectChangeSet(123456L, descriptor, null, null, false);
+        changeSet.setInitialWriteLockValue(6L);
+        changeSet.setWriteLockValue(7L);
+        DirectToFieldChangeRecord name = new DirectToFieldChangeRecord(changeSet);
+        name.setAttribute("name");
+        name.setNewValue("Widget");
+        changeSet.getChanges().add(name);
+        DirectToFieldChangeRecord price = new DirectToFieldChangeRecord(changeSet);
+        price.setAttribute("price");
+        price.setNewValue(new BigDecimal("-12.50"));
+        changeSet.getChanges().add(price);
+        changeSets.put(changeSet, changeSet);
+        Map<ObjectChangeSet, ObjectChangeSet> deleted = new IdentityHashMap<>();
+        ObjectChangeSet deletedSet = new ObjectChangeSet(new CacheId(new Object[] {1, "A"}), descriptor, null, null, false);
+        deletedSet.setShouldBeDeleted(true);
+        deleted.put(deletedSet, deletedSet);
+        UnitOfWorkChangeSet unitOfWorkChangeSet = new UnitOfWorkChangeSet();
+        unitOfWorkChangeSet.setAllChangeSets(changeSets);
+        unitOfWorkChangeSet.setDeletedObjects(deleted);
+        MergeChangeSetCommand command = new MergeChangeSetCommand();
+        command.setChangeSet(unitOfWorkChangeSet);
+        command.setServiceId(new ServiceId("channel", "node1", "jms://node1"));
+        return command;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Session session = buildSession(true);
+        CompactSerializer serializer = new CompactSerializer();
+        MergeChangeSetCommand command = buildCommand(session);
+        byte[] bytes = (byte[]) serializer.serialize(command, session);
+        byte[] javaBytes = (byte[]) JavaSerializer.instance.serialize(command, session);
+        assertTrue(bytes.length + " >= " + javaBytes.length, bytes.length * 4 < javaBytes.length);
+
+        MergeChangeSetCommand result = (MergeChangeSetCommand) new CompactSerializer().deserialize(bytes, buildSession(true));
+        assertEquals("node1", result.getServiceId().getId());
+        assertEquals("jms://node1", result.getServiceId().getURL());
+        UnitOfWorkChangeSet changeSet = result.getChangeSet(null);
+        assertEquals(1, changeSet.getAllChangeSets().size());
+        ObjectChangeSet objectChangeSet = changeSet.getAllChangeSets().keySet().iterator().next();
+        assertSame(Item.class, objectChangeSet.getClassType());
+        assertEquals(123456L, objectChangeSet.getId());
+        assertEquals(7L, objectChangeSet.getWriteLockValue());
+        assertEquals(6L, objectChangeSet.getInitialWriteLockValue());
+        assertTrue(objectChangeSet.hasVersionChange());
+        assertFalse(objectChangeSet.isNew());
+        assertEquals(2, objectChangeSet.getChanges().size());
+        DirectToFieldChangeRecord name = (DirectToFieldChangeRecord) objectChangeSet.getChanges().get(0);
+        assertEquals("name", name.getAttribute());
+        assertEquals("Widget", name.getNewValue());
+        assertSame(objectChangeSet, name.getOwner());
+        assertEquals(new BigDecimal("-12.50"), ((DirectToFieldChangeRecord) objectChangeSet.getChanges().get(1)).getNewValue());
+
+        ObjectChangeSet deleted = changeSet.getDeletedObjects().keySet().iterator().next();
+        assertTrue(deleted.shouldBeDeleted());
+        assertEquals(new CacheId(new Object[] {1, "A"}), deleted.getId());
+        assertTrue(deleted.getChanges().isEmpty());
+    }
+
+    @Test
+    public void testOtherChangesUseJavaSerialization() {
+        Session session = buildSession(true);
+        CompactSerializer serializer = new CompactSerializer();
+        MergeChangeSetCommand command = buildCommand(session);
+        ObjectChangeSet changeSet = command.getChangeSet(null).getAllChangeSets().keySet().iterator().next();
+        changeSet.setNewKey("key");
+        byte[] bytes = (byte[]) serializer.serialize(command, session);
+        MergeChangeSetCommand result = (MergeChangeSetCommand) serializer.deserialize(bytes, session);
+        assertEquals("key", result.getChangeSet(null).getAllChangeSets().keySet().iterator().next().getNewKey());
+        assertNull(serializer.deserialize(serializer.serialize(null, session), session));
+    }
+
+    @Test
+    public void testProjectMismatch() {
+        Session session = buildSession(true);
+        byte[] bytes = (byte[]) new CompactSerializer().serialize(buildCommand(session), session);
+        try {
+            new CompactSerializer().deserialize(bytes, buildSession(false));
+            fail("Expected the project mismatch to be detected");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+}
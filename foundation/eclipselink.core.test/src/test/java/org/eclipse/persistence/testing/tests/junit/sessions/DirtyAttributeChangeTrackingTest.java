@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.math.BigDecimal;
+
+import org.eclipse.persistence.config.ReferenceMode;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.descriptors.changetracking.DirtyAttributeChangeTrackingPolicy;
+import org.eclipse.persistence.descriptors.changetracking.DirtyAttributeTracker;
+import org.eclipse.persistence.internal.descriptors.changetracking.AttributeChangeListener;
+import org.eclipse.persistence.internal.descriptors.changetracking.DirtyAttributeChangeListener;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.weaving.PersistenceWeavedChangeTracking;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tracks the changes of the direct attributes in the dirty attributes bit set of the object.
+ */
+public class DirtyAttributeChangeTrackingTest {
+
+    /**
+     * Implements DirtyAttributeTracker as woven with "eclipselink.weaving.changetracking.dirty-attributes".
+     */
+    public static class Item implements DirtyAttributeTracker, PersistenceWeavedChangeTracking {
+        private static final String[] DIRTY_ATTRIBUTE_NAMES = { "name", "price" };
+
+        public long id;
+        public String name;
+        public BigDecimal price;
+        public Item parent;
+        protected transient PropertyChangeListener listener;
+        protected transient long[] dirtyAttributes;
+
+        public Item() {
+        }
+
+        public Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.price = BigDecimal.ONE;
+        }
+
+        public void setName(String name) {
+            if (this.dirtyAttributes != null) {
+                if ((this.dirtyAttributes[0] & 1L) == 0) {
+                    ((DirtyAttributeChangeListener) this.listener).dirtyAttributeChange(0, this.name, name);
+                }
+            } else {
+                propertyChange("name", this.name, name);
+            }
+            this.name = name;
+        }
+
+        public void setPrice(BigDecimal price) {
+            if (this.dirtyAttributes != null) {
+                if ((this.dirtyAttributes[0] & (1L << 1)) == 0) {
+                    ((DirtyAttributeChangeListener) this.listener).dirtyAttributeChange(1, this.price, price);
+                }
+            } else {
+                propertyChange("price", this.price, price);
+            }
+            this.price = price;
+        }
+
+        public void setParent(Item parent) {
+            propertyChange("parent", this.parent, parent);
+            this.parent = parent;
+        }
+
+        private void propertyChange(String attribute, Object oldValue, Object newValue) {
+            if ((this.listener != null) && (oldValue != newValue)) {
+                this.listener.propertyChange(new PropertyChangeEvent(this, attribute, oldValue, newValue));
+            }
+        }
+
+        @Override
+        public PropertyChangeListener _persistence_getPropertyChangeListener() {
+            return this.listener;
+        }
+
+        @Override
+        public void _persistence_setPropertyChangeListener(PropertyChangeListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public long[] _persistence_getDirtyAttributes() {
+            return this.dirtyAttributes;
+        }
+
+        @Override
+        public void _persistence_setDirtyAttributes(long[] dirtyAttributes) {
+            this.dirtyAttributes = dirtyAttributes;
+        }
+
+        @Override
+        public String[] _persistence_getDirtyAttributeNames() {
+            return DIRTY_ATTRIBUTE_NAMES;
+        }
+    }
+
+    private ServerSession session;
+    /** The cache only holds weak references to the items. */
+    private Item cachedParent;
+    private Item cachedItem;
+
+    @Before
+    public void setup() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        descriptor.addDirectMapping("price", "PRICE");
+        descriptor.useVersionLocking("VERSION");
+        OneToOneMapping parent = new OneToOneMapping();
+        parent.setAttributeName("parent");
+        parent.setReferenceClass(Item.class);
+        parent.dontUseIndirection();
+        parent.addForeignKeyFieldName("PARENT_ID", "ID");
+        descriptor.addMapping(parent);
+
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        Project project = new Project(login);
+        project.addDescriptor(descriptor);
+        session = (ServerSession) project.createServerSession(1, 1);
+        session.setLogLevel(SessionLog.WARNING);
+        session.login();
+        cachedParent = new Item(1, "parent");
+        cachedItem = new Item(2, "item");
+        session.getIdentityMapAccessor().putInIdentityMap(cachedParent, 1L, 1L);
+        session.getIdentityMapAccessor().putInIdentityMap(cachedItem, 2L, 1L);
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    @Test
+    public void testPolicyDefaulted() {
+        assertTrue(session.getDescriptor(Item.class).getObjectChangePolicy() instanceof DirtyAttributeChangeTrackingPolicy);
+    }
+
+    @Test
+    public void testDirtyAttributesCommitted() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        Item parent = (Item) uow.registerObject(cachedParent);
+        Item item = (Item) uow.registerObject(cachedItem);
+        assertTrue(item.listener instanceof DirtyAttributeChangeListener);
+        assertNotNull(item.dirtyAttributes);
+        // Registering is not a change.
+        assertEquals(0, item.dirtyAttributes[0]);
+        assertFalse(uow.hasChanges());
+
+        item.setPrice(BigDecimal.TEN);
+        item.setParent(parent);
+        assertEquals(2L, item.dirtyAttributes[0]);
+        // No event for the direct attribute.
+        ObjectChangeSet changeSet = ((DirtyAttributeChangeListener) item.listener).getObjectChangeSet();
+        assertNull(changeSet.getChangesForAttributeNamed("price"));
+        assertNotNull(changeSet.getChangesForAttributeNamed("parent"));
+
+        UnitOfWorkChangeSet changes = (UnitOfWorkChangeSet) uow.getCurrentChanges();
+        ObjectChangeSet itemChanges = changes.getCloneToObjectChangeSet().get(item);
+        DirectToFieldChangeRecord priceChange = (DirectToFieldChangeRecord) itemChanges.getChangesForAttributeNamed("price");
+        assertEquals(BigDecimal.TEN, priceChange.getNewValue());
+        assertEquals(BigDecimal.ONE, priceChange.getOldValue());
+        assertNull(itemChanges.getChangesForAttributeNamed("name"));
+        // The referenced parent is not changed.
+        ObjectChangeSet parentChanges = changes.getCloneToObjectChangeSet().get(parent);
+        assertTrue((parentChanges == null) || !parentChanges.hasChanges());
+
+        uow.commit();
+        assertEquals(BigDecimal.TEN, cachedItem.price);
+        assertEquals("item", cachedItem.name);
+        assertSame(cachedParent, cachedItem.parent);
+        assertEquals(2L, session.getIdentityMapAccessor().getWriteLockValue(cachedItem));
+        // The original in the shared cache is not tracked.
+        assertNull(cachedItem.dirtyAttributes);
+    }
+
+    @Test
+    public void testDirtyAttributesClearedOnCommitAndResume() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        Item item = (Item) uow.registerObject(cachedItem);
+        item.setName("first");
+        uow.commitAndResume();
+        assertEquals(0, item.dirtyAttributes[0]);
+        assertEquals("first", cachedItem.name);
+
+        item.setName("second");
+        uow.commit();
+        assertEquals("second", cachedItem.name);
+        assertEquals(3L, session.getIdentityMapAccessor().getWriteLockValue(cachedItem));
+    }
+
+    @Test
+    public void testUnchangedValuesNotRecorded() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        Item item = (Item) uow.registerObject(cachedItem);
+        // An equal value is not a change.
+        item.setName(new String("item"));
+        assertEquals(0, item.dirtyAttributes[0]);
+        // A value set back to the old value is not a change.
+        item.setPrice(BigDecimal.TEN);
+        item.setPrice(new BigDecimal("1"));
+        assertEquals(2L, item.dirtyAttributes[0]);
+        assertFalse(uow.hasChanges());
+        ObjectChangeSet itemChanges = ((UnitOfWorkChangeSet) uow.getCurrentChanges()).getCloneToObjectChangeSet().get(item);
+        assertTrue((itemChanges == null) || !itemChanges.hasChanges());
+
+        uow.commit();
+        // No update, the version is unchanged.
+        assertEquals(1L, session.getIdentityMapAccessor().getWriteLockValue(cachedItem));
+    }
+
+    @Test
+    public void testEventsWithWeakReferences() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork(ReferenceMode.WEAK);
+        Item item = (Item) uow.registerObject(cachedItem);
+        assertNull(item.dirtyAttributes);
+        item.setName("weak");
+        assertFalse(item.listener instanceof DirtyAttributeChangeListener);
+        ObjectChangeSet changeSet = ((AttributeChangeListener) item.listener).getObjectChangeSet();
+        assertNotNull(changeSet.getChangesForAttributeNamed("name"));
+        uow.commit();
+        assertEquals("weak", cachedItem.name);
+    }
+}
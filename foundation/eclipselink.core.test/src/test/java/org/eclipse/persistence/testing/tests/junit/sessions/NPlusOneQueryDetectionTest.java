@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.indirection.ValueHolder;
+import org.eclipse.persistence.indirection.ValueHolderInterface;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.DefaultSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reports the lazy relationships read with a query for each object of a unit of work (N+1 queries).
+ */
+public class NPlusOneQueryDetectionTest {
+
+    public static class Employee {
+        public long id;
+        public String name;
+        public ValueHolderInterface<Address> address = new ValueHolder<>();
+    }
+
+    public static class Address {
+        public long id;
+        public String city;
+    }
+
+    private DatabaseSessionImpl session;
+
+    /** The rows returned by each employee select, in order. */
+    private final LinkedList<Vector<ArrayRecord>> employeeResults = new LinkedList<>();
+    private int addressQueries;
+    private final StringWriter log = new StringWriter();
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private void login(int nPlusOneQueryThreshold, int adaptiveBatchFetchSize) {
+        RelationalDescriptor employeeDescriptor = new RelationalDescriptor();
+        employeeDescriptor.setJavaClass(Employee.class);
+        employeeDescriptor.setTableName("EMPLOYEE");
+        employeeDescriptor.setPrimaryKeyFieldName("ID");
+        employeeDescriptor.addDirectMapping("id", "ID");
+        employeeDescriptor.addDirectMapping("name", "NAME");
+        OneToOneMapping addressMapping = new OneToOneMapping();
+        addressMapping.setAttributeName("address");
+        addressMapping.setReferenceClass(Address.class);
+        addressMapping.addForeignKeyFieldName("EMPLOYEE.ADDRESS_ID", "ADDRESS.ID");
+        addressMapping.useBasicIndirection();
+        employeeDescriptor.addMapping(addressMapping);
+
+        RelationalDescriptor addressDescriptor = new RelationalDescriptor();
+        addressDescriptor.setJavaClass(Address.class);
+        addressDescriptor.setTableName("ADDRESS");
+        addressDescriptor.setPrimaryKeyFieldName("ID");
+        addressDescriptor.addDirectMapping("id", "ID");
+        addressDescriptor.addDirectMapping("city", "CITY");
+
+        DatabaseLogin login = EmulatedDriverHelper.buildLogin();
+        // The address ids are printed in the SQL of the address selects.
+        login.dontBindAllParameters();
+        Project project = new Project(login);
+        project.addDescriptor(employeeDescriptor);
+        project.addDescriptor(addressDescriptor);
+        project.setNPlusOneQueryThreshold(nPlusOneQueryThreshold);
+        project.setAdaptiveBatchFetchSize(adaptiveBatchFetchSize);
+        session = EmulatedDriverHelper.loginDatabaseSession(project);
+        session.setSessionLog(new DefaultSessionLog(log));
+        session.setLogLevel(SessionLog.WARNING);
+
+        // The emulated driver does not filter the rows, return the addresses of the ids in the address selects,
+        // and the next result of the employee selects.
+        EmulatedDriverHelper.setRows(session, sql -> {
+            if (sql.contains("FROM ADDRESS")) {
+                addressQueries++;
+                return buildAddressRows(sql);
+            }
+            return employeeResults.poll();
+        });
+    }
+
+    private Vector<ArrayRecord> buildAddressRows(String sql) {
+        Vector<ArrayRecord> rows = new Vector<>();
+        for (long id = 11; id <= 14; id++) {
+            if (sql.contains(String.valueOf(id))) {
+                rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Address.class), new String[] {"ID", "CITY"}, id, "city" + id));
+            }
+        }
+        return rows;
+    }
+
+
+    /**
+     * Read the employees with a query each in the unit of work.
+     */
+    private List<Employee> readEmployees(UnitOfWork unitOfWork, int numberOfEmployees) {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= numberOfEmployees; id++) {
+            Vector<ArrayRecord> rows = new Vector<>();
+            rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Employee.class), new String[] {"ID", "NAME", "ADDRESS_ID"}, id, "employee" + id, id + 10));
+            employeeResults.add(rows);
+            employees.add((Employee) unitOfWork.readObject(Employee.class, new ExpressionBuilder().get("id").equal(id)));
+        }
+        return employees;
+    }
+
+    private void assertAddresses(List<Employee> employees) {
+        for (Employee employee : employees) {
+            assertEquals(employee.id + 10, employee.address.getValue().id);
+            assertEquals("city" + (employee.id + 10), employee.address.getValue().city);
+        }
+    }
+
+    @Test
+    public void testNPlusOneQueriesReported() {
+        login(3, 0);
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 4);
+        assertAddresses(employees.subList(0, 2));
+        assertEquals(0, session.getProject().getNPlusOneQueriesDetected());
+
+        // Reported once for the mapping and unit of work, with the stack triggering the relationship.
+        assertAddresses(employees);
+        assertEquals(4, addressQueries);
+        assertEquals(1, session.getProject().getNPlusOneQueriesDetected());
+        String message = log.toString();
+        assertTrue(message, message.contains("[address]"));
+        assertTrue(message, message.contains(Employee.class.getName()));
+        assertTrue(message, message.contains("assertAddresses"));
+        assertEquals(message.indexOf("N+1"), message.lastIndexOf("N+1"));
+        unitOfWork.release();
+
+        // Counted again in another unit of work, reading the relationships again.
+        session.getIdentityMapAccessor().initializeAllIdentityMaps();
+        unitOfWork = session.acquireUnitOfWork();
+        assertAddresses(readEmployees(unitOfWork, 3));
+        assertEquals(2, session.getProject().getNPlusOneQueriesDetected());
+        unitOfWork.release();
+    }
+
+    @Test
+    public void testCachedRelationshipNotReported() {
+        login(2, 0);
+        // The addresses are read in the cache, the relationships are read by primary key from the cache.
+        for (long id = 11; id <= 13; id++) {
+            session.readObject(Address.class, new ExpressionBuilder().get("id").equal(id));
+        }
+        addressQueries = 0;
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 3);
+
+        assertAddresses(employees);
+        assertEquals(0, addressQueries);
+        assertEquals(0, session.getProject().getNPlusOneQueriesDetected());
+        assertFalse(log.toString().contains("N+1"));
+        unitOfWork.release();
+    }
+
+    @Test
+    public void testBatchFetchedRelationshipNotReported() {
+        login(2, 10);
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 3);
+
+        assertAddresses(employees);
+        assertEquals(1, addressQueries);
+        assertEquals(0, session.getProject().getNPlusOneQueriesDetected());
+        unitOfWork.release();
+    }
+
+    @Test
+    public void testNPlusOneQueriesNotDetectedByDefault() {
+        login(0, 0);
+        UnitOfWork unitOfWork = session.acquireUnitOfWork();
+        List<Employee> employees = readEmployees(unitOfWork, 3);
+
+        assertAddresses(employees);
+        assertEquals(3, addressQueries);
+        assertEquals(0, session.getProject().getNPlusOneQueriesDetected());
+        assertFalse(log.toString().contains("N+1"));
+        unitOfWork.release();
+    }
+}
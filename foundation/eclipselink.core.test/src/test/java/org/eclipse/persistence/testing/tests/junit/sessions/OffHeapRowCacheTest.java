@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.identitymaps.OffHeapRowCache;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Rebuilds the objects read by id from the off-heap row cache, without selecting their row again.
+ */
+public class OffHeapRowCacheTest {
+
+    public static class Item {
+        public long id;
+        public String name;
+    }
+
+    private ServerSession session;
+    private AtomicInteger selects;
+
+    @Before
+    public void setup() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        // Do not keep the objects, so every read by id needs the row.
+        descriptor.useNoIdentityMap();
+        descriptor.getQueryManager().checkDatabaseForDoesExist();
+        descriptor.getCachePolicy().setOffHeapCacheSize(1024 * 1024);
+
+        Project project = new Project(EmulatedDriverHelper.buildLogin());
+        project.addDescriptor(descriptor);
+        session = EmulatedDriverHelper.loginServerSession(project);
+        selects = EmulatedDriverHelper.countSelects(session);
+        // Only the item 1 is read.
+        Vector<ArrayRecord> rows = new Vector<>();
+        rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Item.class), new String[] {"ID", "NAME"}, 1L, "item1"));
+        EmulatedDriverHelper.setRows(session, sql -> sql.startsWith("SELECT") && sql.contains("FROM ITEM") ? rows : null);
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private OffHeapRowCache getRowCache() {
+        return session.getIdentityMapAccessorInstance().getIdentityMapManager().getRowCache(session.getDescriptor(Item.class));
+    }
+
+    private Item readItem(Session client, long id) {
+        ReadObjectQuery query = new ReadObjectQuery(Item.class);
+        query.setSelectionId(id);
+        return (Item) client.executeQuery(query);
+    }
+
+    @Test
+    public void testReadFromRowCache() {
+        Session client = session.acquireClientSession();
+        Item item = readItem(client, 1L);
+        assertEquals("item1", item.name);
+        assertEquals(1, selects.get());
+        assertEquals(1, getRowCache().getSize());
+
+        Item cachedItem = readItem(client, 1L);
+        assertNotSame(item, cachedItem);
+        assertEquals(1L, cachedItem.id);
+        assertEquals("item1", cachedItem.name);
+        // Also read by a primary key expression.
+        cachedItem = (Item) client.readObject(Item.class, new ExpressionBuilder().get("id").equal(1L));
+        assertEquals("item1", cachedItem.name);
+        assertEquals(1, selects.get());
+        assertEquals(2, getRowCache().getHitCount());
+        assertEquals(1, getRowCache().getMissCount());
+        assertEquals(2.0 / 3, getRowCache().getHitRatio(), 0.0001);
+        assertTrue(getRowCache().getUsedBytes() > 0);
+    }
+
+    @Test
+    public void testCommitRemovesRow() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        Item item = readItem(uow, 1L);
+        assertEquals(1, getRowCache().getSize());
+        item.name = "changed";
+        uow.commit();
+        assertEquals(0, getRowCache().getSize());
+
+        int selectsBefore = selects.get();
+        readItem(session.acquireClientSession(), 1L);
+        assertEquals(selectsBefore + 1, selects.get());
+        assertEquals(1, getRowCache().getSize());
+    }
+
+    @Test
+    public void testInvalidateRemovesRows() {
+        Session client = session.acquireClientSession();
+        readItem(client, 1L);
+        session.getIdentityMapAccessor().invalidateObject(1L, Item.class);
+        assertEquals(0, getRowCache().getSize());
+
+        readItem(client, 1L);
+        assertEquals(1, getRowCache().getSize());
+        session.getIdentityMapAccessor().invalidateClass(Item.class);
+        assertEquals(0, getRowCache().getSize());
+
+        readItem(client, 1L);
+        session.getIdentityMapAccessor().initializeAllIdentityMaps();
+        assertEquals(0, getRowCache().getSize());
+        assertEquals(3, selects.get());
+    }
+
+    @Test
+    public void testEvictionAndStamps() {
+        ClassDescriptor descriptor = session.getDescriptor(Item.class);
+        OffHeapRowCache rowCache = new OffHeapRowCache(descriptor, 16 * 1024);
+        assertEquals(1024, rowCache.getSegmentSize());
+        assertEquals(16 * 1024, rowCache.getCapacity());
+        assertEquals(0, rowCache.getAllocatedBytes());
+        Vector<DatabaseField> fields = descriptor.getAllFields();
+        StringBuilder name = new StringBuilder();
+        for (int index = 0; index < 300; index++) {
+            name.append('x');
+        }
+        for (long id = 1; id <= 100; id++) {
+            AbstractRecord row = new ArrayRecord(fields, fields.toArray(new DatabaseField[0]), new Object[] { id, name.toString() + id });
+            assertTrue(rowCache.put(id, row, rowCache.getStamp(id)));
+        }
+        assertTrue(rowCache.getEvictionCount() > 0);
+        assertEquals(100, rowCache.getSize() + rowCache.getEvictionCount());
+        assertTrue(rowCache.getUsedBytes() <= rowCache.getCapacity());
+        assertEquals(rowCache.getCapacity(), rowCache.getAllocatedBytes());
+        assertNull(rowCache.get(1L, session));
+        AbstractRecord row = rowCache.get(100L, session);
+        assertNotNull(row);
+        assertEquals(100L, row.get("ID"));
+        assertEquals(name.toString() + 100, row.get("NAME"));
+
+        // A row selected before its object changed is not cached.
+        long stamp = rowCache.getStamp(101L);
+        rowCache.remove(101L);
+        assertFalse(rowCache.put(101L, row, stamp));
+        assertNull(rowCache.get(101L, session));
+        // A row missing a field is not cached.
+        assertFalse(rowCache.put(102L, new ArrayRecord(new Vector<>(fields.subList(0, 1)), new DatabaseField[] { fields.get(0) }, new Object[] { 102L }), rowCache.getStamp(102L)));
+
+        rowCache.clear();
+        assertEquals(0, rowCache.getSize());
+        assertEquals(0, rowCache.getUsedBytes());
+        assertNull(rowCache.get(100L, session));
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.exceptions.IntegrityException;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.AggregateObjectMapping;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Initializes the groups of unrelated descriptors concurrently, with the same result as a sequential initialization.
+ */
+public class ParallelDescriptorInitializationTest {
+
+    public static class Person {
+        public long id;
+        public String name;
+        public Address address;
+    }
+
+    public static class Employee extends Person {
+        public double salary;
+        public Task task;
+    }
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class Task {
+        public long id;
+        public String title;
+    }
+
+    public static class Order {
+        public long id;
+        public Item item;
+    }
+
+    public static class Item {
+        public long id;
+        public String name;
+    }
+
+    public static class Tag {
+        public long id;
+        public String label;
+    }
+
+    public static class Unmapped {
+        public long id;
+    }
+
+    /**
+     * Records the context class loader of the threads initializing the descriptor.
+     */
+    public static class LoaderRecordingDescriptor extends RelationalDescriptor {
+        public final Set<ClassLoader> loaders = ConcurrentHashMap.newKeySet();
+        public final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void postInitialize(AbstractSession session) {
+            this.loaders.add(Thread.currentThread().getContextClassLoader());
+            this.threads.add(Thread.currentThread());
+            super.postInitialize(session);
+        }
+    }
+
+    private static Project buildProject() {
+        RelationalDescriptor person = new RelationalDescriptor();
+        person.setJavaClass(Person.class);
+        person.setTableName("PERSON");
+        person.setPrimaryKeyFieldName("ID");
+        person.addDirectMapping("id", "ID");
+        person.addDirectMapping("name", "NAME");
+        AggregateObjectMapping addressMapping = new AggregateObjectMapping();
+        addressMapping.setAttributeName("address");
+        addressMapping.setReferenceClass(Address.class);
+        person.addMapping(addressMapping);
+        person.getInheritancePolicy().setClassIndicatorFieldName("TYPE");
+        person.getInheritancePolicy().addClassIndicator(Person.class, "P");
+        person.getInheritancePolicy().addClassIndicator(Employee.class, "E");
+
+        RelationalDescriptor employee = new RelationalDescriptor();
+        employee.setJavaClass(Employee.class);
+        employee.getInheritancePolicy().setParentClass(Person.class);
+        employee.addDirectMapping("salary", "SALARY");
+        OneToOneMapping taskMapping = new OneToOneMapping();
+        taskMapping.setAttributeName("task");
+        taskMapping.setReferenceClass(Task.class);
+        taskMapping.setForeignKeyFieldName("TASK_ID");
+        taskMapping.dontUseIndirection();
+        employee.addMapping(taskMapping);
+
+        RelationalDescriptor address = new RelationalDescriptor();
+        address.setJavaClass(Address.class);
+        address.descriptorIsAggregate();
+        address.addDirectMapping("city", "CITY");
+
+        RelationalDescriptor task = new RelationalDescriptor();
+        task.setJavaClass(Task.class);
+        task.setTableName("TASK");
+        task.setPrimaryKeyFieldName("ID");
+        task.addDirectMapping("id", "ID");
+        task.addDirectMapping("title", "TITLE");
+
+        RelationalDescriptor order = new RelationalDescriptor();
+        order.setJavaClass(Order.class);
+        order.setTableName("ORDERS");
+        order.setPrimaryKeyFieldName("ID");
+        order.addDirectMapping("id", "ID");
+        OneToOneMapping itemMapping = new OneToOneMapping();
+        itemMapping.setAttributeName("item");
+        itemMapping.setReferenceClass(Item.class);
+        itemMapping.setForeignKeyFieldName("ITEM_ID");
+        itemMapping.dontUseIndirection();
+        order.addMapping(itemMapping);
+
+        RelationalDescriptor item = new RelationalDescriptor();
+        item.setJavaClass(Item.class);
+        item.setTableName("ITEM");
+        item.setPrimaryKeyFieldName("ID");
+        item.addDirectMapping("id", "ID");
+        item.addDirectMapping("name", "NAME");
+
+        RelationalDescriptor tag = new RelationalDescriptor();
+        tag.setJavaClass(Tag.class);
+        tag.setTableName("TAG");
+        tag.setPrimaryKeyFieldName("ID");
+        tag.addDirectMapping("id", "ID");
+        tag.addDirectMapping("label", "LABEL");
+
+        Project model = new Project(new DatabaseLogin());
+        model.addDescriptor(person);
+        model.addDescriptor(employee);
+        model.addDescriptor(address);
+        model.addDescriptor(task);
+        model.addDescriptor(order);
+        model.addDescriptor(item);
+        model.addDescriptor(tag);
+        return model;
+    }
+
+    private static DatabaseSessionImpl buildSession(Project project, boolean parallel) {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) project.createDatabaseSession();
+        session.setLogLevel(SessionLog.OFF);
+        session.setShouldInitializeDescriptorsInParallel(parallel);
+        return session;
+    }
+
+    private static Set<Set<Class<?>>> toClasses(List<List<ClassDescriptor>> groups) {
+        Set<Set<Class<?>>> classes = new HashSet<>();
+        for (List<ClassDescriptor> group : groups) {
+            Set<Class<?>> groupClasses = new HashSet<>();
+            for (ClassDescriptor descriptor : group) {
+                groupClasses.add(descriptor.getJavaClass());
+            }
+            classes.add(groupClasses);
+        }
+        return classes;
+    }
+
+    /**
+     * Describe what the initialization computed for the descriptor.
+     */
+    private static String describe(ClassDescriptor descriptor) {
+        StringBuilder description = new StringBuilder();
+        description.append(descriptor.getJavaClass().getSimpleName()).append(' ').append(descriptor.isFullyInitialized());
+        description.append(" fields ").append(descriptor.getFields());
+        description.append(" primary key ").append(descriptor.getPrimaryKeyFields());
+        for (DatabaseMapping mapping : descriptor.getMappings()) {
+            description.append(' ').append(mapping.getAttributeName()).append(mapping.getFields());
+        }
+        if (descriptor.hasInheritance()) {
+            List<Class<?>> children = new ArrayList<>();
+            for (ClassDescriptor child : descriptor.getInheritancePolicy().getChildDescriptors()) {
+                children.add(child.getJavaClass());
+            }
+            description.append(" children ").append(children);
+            description.append(" indicators ").append(descriptor.getInheritancePolicy().getClassIndicatorMapping());
+        }
+        description.append(" relationships ").append(descriptor.hasRelationships());
+        return description.toString();
+    }
+
+    @Test
+    public void testIndependentGroups() {
+        Project project = buildProject();
+        DatabaseSessionImpl session = buildSession(project, true);
+        List<List<ClassDescriptor>> groups = session.buildIndependentDescriptorGroups(project.getDescriptors().values());
+        Set<Set<Class<?>>> expected = new HashSet<>();
+        expected.add(new HashSet<>(List.of(Person.class, Employee.class, Address.class, Task.class)));
+        expected.add(new HashSet<>(List.of(Order.class, Item.class)));
+        expected.add(new HashSet<>(List.of(Tag.class)));
+        assertEquals(expected, toClasses(groups));
+    }
+
+    @Test
+    public void testUnknownDependencies() {
+        Project project = buildProject();
+        OneToOneMapping unmappedMapping = new OneToOneMapping();
+        unmappedMapping.setAttributeName("unmapped");
+        unmappedMapping.setReferenceClass(Unmapped.class);
+        unmappedMapping.setForeignKeyFieldName("UNMAPPED_ID");
+        project.getDescriptor(Tag.class).addMapping(unmappedMapping);
+        DatabaseSessionImpl session = buildSession(project, true);
+        assertNull(session.buildIndependentDescriptorGroups(project.getDescriptors().values()));
+    }
+
+    @Test
+    public void testSameResultAsSequential() {
+        DatabaseSessionImpl sequential = buildSession(buildProject(), false);
+        sequential.initializeDescriptors();
+        DatabaseSessionImpl parallel = buildSession(buildProject(), true);
+        parallel.initializeDescriptors();
+
+        for (ClassDescriptor descriptor : sequential.getDescriptors().values()) {
+            assertEquals(describe(descriptor), describe(parallel.getDescriptor(descriptor.getJavaClass())));
+        }
+        assertEquals(sequential.getCommitManager().getCommitOrder(), parallel.getCommitManager().getCommitOrder());
+    }
+
+    private static List<String> initializeWithErrors(boolean parallel) {
+        Project project = buildProject();
+        project.getDescriptor(Tag.class).addDirectMapping("missing", "MISSING");
+        project.getDescriptor(Item.class).addDirectMapping("unknown", "UNKNOWN");
+        DatabaseSessionImpl session = buildSession(project, parallel);
+        try {
+            session.initializeDescriptors();
+            fail("IntegrityException expected");
+        } catch (IntegrityException exception) {
+            List<String> errors = new ArrayList<>();
+            for (Exception error : exception.getIntegrityChecker().getCaughtExceptions()) {
+                errors.add(error.getMessage());
+            }
+            return errors;
+        }
+        return null;
+    }
+
+    @Test
+    public void testErrorsReported() {
+        List<String> sequentialErrors = initializeWithErrors(false);
+        List<String> parallelErrors = initializeWithErrors(true);
+        assertTrue(sequentialErrors.size() > 1);
+        assertEquals(new HashSet<>(sequentialErrors), new HashSet<>(parallelErrors));
+    }
+
+    @Test
+    public void testContextClassLoaderOfTasks() throws Exception {
+        Project project = new Project(new DatabaseLogin());
+        List<LoaderRecordingDescriptor> descriptors = new ArrayList<>();
+        for (Class<?> javaClass : List.of(Task.class, Item.class, Tag.class)) {
+            LoaderRecordingDescriptor descriptor = new LoaderRecordingDescriptor();
+            descriptor.setJavaClass(javaClass);
+            descriptor.setTableName(javaClass.getSimpleName().toUpperCase());
+            descriptor.setPrimaryKeyFieldName("ID");
+            descriptor.addDirectMapping("id", "ID");
+            project.addDescriptor(descriptor);
+            descriptors.add(descriptor);
+        }
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], original)) {
+            Thread.currentThread().setContextClassLoader(loader);
+            try {
+                buildSession(project, true).initializeDescriptors();
+            } finally {
+                Thread.currentThread().setContextClassLoader(original);
+            }
+            for (LoaderRecordingDescriptor descriptor : descriptors) {
+                assertEquals(Set.of(loader), descriptor.loaders);
+                for (Thread thread : descriptor.threads) {
+                    assertTrue(thread instanceof ForkJoinWorkerThread);
+                }
+            }
+        }
+    }
+}
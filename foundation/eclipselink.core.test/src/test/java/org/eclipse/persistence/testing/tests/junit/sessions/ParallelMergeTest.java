@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.MergeManager;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Compares the merge of large commits into the shared cache with and without the parallel merge.
+ */
+public class ParallelMergeTest {
+
+    private static final int NO_OF_ITEMS = 2000;
+
+    public static class Item {
+        public long id;
+        public String name;
+        public BigDecimal price;
+        public Item parent;
+
+        public Item() {
+        }
+
+        public Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.price = BigDecimal.ONE;
+        }
+    }
+
+    private ServerSession session;
+    /** The cache only holds weak references to the items. */
+    private final List<Item> items = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        descriptor.addDirectMapping("price", "PRICE");
+        // The version is stored in the cache.
+        descriptor.useVersionLocking("VERSION");
+        OneToOneMapping parent = new OneToOneMapping();
+        parent.setAttributeName("parent");
+        parent.setReferenceClass(Item.class);
+        parent.dontUseIndirection();
+        parent.addForeignKeyFieldName("PARENT_ID", "ID");
+        descriptor.addMapping(parent);
+
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        Project project = new Project(login);
+        project.addDescriptor(descriptor);
+        session = (ServerSession) project.createServerSession(1, 1);
+        session.setLogLevel(SessionLog.WARNING);
+        session.login();
+        for (int index = 0; index < NO_OF_ITEMS; index++) {
+            Item item = new Item(index, "item" + index);
+            items.add(item);
+            session.getIdentityMapAccessor().putInIdentityMap(item, (long) index, 1L);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private Item getCached(long id) {
+        return (Item) session.getIdentityMapAccessor().getFromIdentityMap(id, Item.class);
+    }
+
+    private void assertUnlocked(long id) {
+        CacheKey cacheKey = session.getIdentityMapAccessorInstance().getCacheKeyForObject(id, Item.class, session.getDescriptor(Item.class), false);
+        assertFalse("Cache key " + id + " is still locked", cacheKey.isAcquired());
+    }
+
+    private void commitAndVerify(int threshold) {
+        session.setParallelMergeThreshold(threshold);
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        // The root is only referenced.
+        Item root = (Item) uow.registerObject(getCached(0));
+        for (int index = 1; index < NO_OF_ITEMS; index++) {
+            Item clone = (Item) uow.registerObject(getCached(index));
+            clone.name = "updated" + index;
+            clone.price = BigDecimal.valueOf(index);
+            if (index % 100 == 1) {
+                // Relationship changes are merged sequentially.
+                clone.parent = root;
+            }
+        }
+        Item newItem = new Item(NO_OF_ITEMS, "new");
+        newItem.parent = root;
+        uow.registerNewObject(newItem);
+        uow.commit();
+
+        Item cachedRoot = getCached(0);
+        assertEquals("item0", cachedRoot.name);
+        for (int index = 1; index < NO_OF_ITEMS; index++) {
+            Item cached = getCached(index);
+            assertEquals("updated" + index, cached.name);
+            assertEquals(BigDecimal.valueOf(index), cached.price);
+            assertEquals(2L, session.getIdentityMapAccessor().getWriteLockValue(cached));
+            if (index % 100 == 1) {
+                assertSame(cachedRoot, cached.parent);
+            } else {
+                assertEquals(null, cached.parent);
+            }
+            assertUnlocked(index);
+        }
+        Item cachedNewItem = getCached(NO_OF_ITEMS);
+        assertNotNull(cachedNewItem);
+        assertSame(cachedRoot, cachedNewItem.parent);
+    }
+
+    @Test
+    public void testSequentialCommitMerge() {
+        commitAndVerify(0);
+    }
+
+    @Test
+    public void testParallelCommitMerge() {
+        commitAndVerify(NO_OF_ITEMS / 2);
+    }
+
+    @Test
+    public void testParallelDistributedMerge() {
+        session.setParallelMergeThreshold(NO_OF_ITEMS / 2);
+        RelationalDescriptor descriptor = (RelationalDescriptor) session.getDescriptor(Item.class);
+        Map<ObjectChangeSet, ObjectChangeSet> changeSets = new IdentityHashMap<>();
+        for (int index = 0; index < NO_OF_ITEMS; index++) {
+            ObjectChangeSet changeSet = new ObjectChangeSet((long) index, descriptor, null, null, false);
+            changeSet.setInitialWriteLockValue(1L);
+            changeSet.setWriteLockValue(2L);
+            DirectToFieldChangeRecord name = new DirectToFieldChangeRecord(changeSet);
+            name.setAttribute("name");
+            name.setNewValue("remote" + index);
+            changeSet.getChanges().add(name);
+            changeSets.put(changeSet, changeSet);
+        }
+        UnitOfWorkChangeSet unitOfWorkChangeSet = new UnitOfWorkChangeSet();
+        unitOfWorkChangeSet.setAllChangeSets(changeSets);
+        MergeManager manager = new MergeManager(session);
+        manager.mergeIntoDistributedCache();
+        manager.mergeChangesFromChangeSet(unitOfWorkChangeSet);
+
+        for (int index = 0; index < NO_OF_ITEMS; index++) {
+            Item cached = getCached(index);
+            assertEquals("remote" + index, cached.name);
+            assertEquals(2L, session.getIdentityMapAccessor().getWriteLockValue(cached));
+            assertUnlocked(index);
+        }
+    }
+}
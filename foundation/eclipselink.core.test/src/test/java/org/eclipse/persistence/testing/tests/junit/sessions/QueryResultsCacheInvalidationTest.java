@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.identitymaps.QueryResultsCacheStatistics;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Only invalidates the cached results of a query the committed changes could affect.
+ */
+public class QueryResultsCacheInvalidationTest {
+
+    public static class Item {
+        public long id;
+        public String name;
+
+        public Item() {
+        }
+
+        public Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private ServerSession session;
+    private AtomicInteger selects;
+
+    @Before
+    public void setup() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+
+        DatabaseLogin login = EmulatedDriverHelper.buildLogin();
+        // The names and ids are printed in the SQL of the selects.
+        login.dontBindAllParameters();
+        Project project = new Project(login);
+        project.addDescriptor(descriptor);
+        session = EmulatedDriverHelper.loginServerSession(project);
+        selects = EmulatedDriverHelper.countSelects(session);
+        // Only the item 1 named "a" is selected from the database.
+        Vector<ArrayRecord> rows = new Vector<>();
+        rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Item.class), new String[] {"ID", "NAME"}, 1L, "a"));
+        EmulatedDriverHelper.setRows(session, sql -> sql.contains("NAME = 'a'") || sql.contains("ID = 1)") ? rows : null);
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private ReadAllQuery buildItemsNamedQuery(String queryName, boolean invalidateByDependency) {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        ReadAllQuery query = new ReadAllQuery(Item.class, builder.get("name").equal(builder.getParameter("NAME")));
+        query.addArgument("NAME");
+        query.setName(queryName);
+        query.cacheQueryResults();
+        query.getQueryResultsCachePolicy().setInvalidateByDependency(invalidateByDependency);
+        return query;
+    }
+
+    private List<?> readItems(ReadAllQuery query, String name) {
+        Vector<Object> arguments = new Vector<>();
+        arguments.add(name);
+        return (List<?>) session.acquireClientSession().executeQuery(query, arguments);
+    }
+
+    private void commit(Item newItem, long changedId, String changedName) {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        if (newItem != null) {
+            uow.registerNewObject(newItem);
+        }
+        if (changedName != null) {
+            ReadObjectQuery query = new ReadObjectQuery(Item.class);
+            query.setSelectionId(changedId);
+            ((Item) uow.executeQuery(query)).name = changedName;
+        }
+        uow.commit();
+    }
+
+    private QueryResultsCacheStatistics getStatistics(String queryName) {
+        return session.getIdentityMapAccessorInstance().getIdentityMapManager().getQueryResultsCacheStatistics(queryName);
+    }
+
+    @Test
+    public void testInvalidateByDependency() {
+        ReadAllQuery query = buildItemsNamedQuery("itemsNamed", true);
+        assertEquals(1, readItems(query, "a").size());
+        assertEquals(1, readItems(query, "a").size());
+        assertEquals(1, selects.get());
+
+        // An item not matching the criteria does not affect the results.
+        commit(new Item(2L, "b"), 0, null);
+        readItems(query, "a");
+        assertEquals(1, selects.get());
+
+        // An item matching the criteria could be part of the results.
+        commit(new Item(3L, "a"), 0, null);
+        readItems(query, "a");
+        assertEquals(2, selects.get());
+
+        // A change to an item of the results affects them.
+        commit(null, 2L, "c");
+        readItems(query, "a");
+        assertEquals(2, selects.get());
+        commit(null, 1L, "d");
+        readItems(query, "a");
+        assertEquals(3, selects.get());
+
+        QueryResultsCacheStatistics statistics = getStatistics("itemsNamed");
+        assertEquals(3, statistics.getHitCount());
+        // The first execution prepares the query and does not look up the cache.
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(3, statistics.getPutCount());
+        assertEquals(2, statistics.getInvalidationCount());
+        assertEquals(0, statistics.getEvictionCount());
+        assertNull(getStatistics("unknown"));
+    }
+
+    @Test
+    public void testInvalidateOnAnyChange() {
+        ReadAllQuery query = buildItemsNamedQuery("itemsNamedByClass", false);
+        readItems(query, "a");
+        readItems(query, "a");
+        assertEquals(1, selects.get());
+
+        commit(new Item(2L, "b"), 0, null);
+        readItems(query, "a");
+        assertEquals(2, selects.get());
+        assertEquals(1, getStatistics("itemsNamedByClass").getInvalidationCount());
+    }
+
+    @Test
+    public void testMaximumCachedObjects() {
+        ReadAllQuery query = buildItemsNamedQuery("itemsNamedBounded", true);
+        query.getQueryResultsCachePolicy().setMaximumCachedObjects(2);
+        readItems(query, "a");
+        readItems(query, "b");
+        readItems(query, "a");
+        readItems(query, "b");
+        assertEquals(2, selects.get());
+
+        // Caching a third result evicts the oldest one.
+        readItems(query, "c");
+        readItems(query, "b");
+        assertEquals(3, selects.get());
+        readItems(query, "a");
+        assertEquals(4, selects.get());
+
+        QueryResultsCacheStatistics statistics = getStatistics("itemsNamedBounded");
+        assertEquals(2, statistics.getEvictionCount());
+        assertEquals(4, statistics.getPutCount());
+    }
+}
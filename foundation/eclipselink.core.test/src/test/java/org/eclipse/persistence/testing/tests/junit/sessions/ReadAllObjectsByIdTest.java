@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+import java.util.regex.Pattern;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reads a list of objects by id, from the cache and in chunks of ids from the database.
+ */
+public class ReadAllObjectsByIdTest {
+
+    public static class Item {
+        public long id;
+        public String name;
+
+        public Item() {
+        }
+
+        public Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private ServerSession session;
+    /** The cache only holds weak references to the items. */
+    private List<Item> cachedItems;
+    /** The id list sizes of the read queries executed. */
+    private List<Integer> queries;
+
+    @Before
+    public void setup() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+
+        DatabaseLogin login = EmulatedDriverHelper.buildLogin();
+        // The ids are printed in the SQL of the selects.
+        login.dontBindAllParameters();
+        Project project = new Project(login);
+        project.addDescriptor(descriptor);
+        session = EmulatedDriverHelper.loginServerSession(project);
+        cachedItems = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Item item = new Item(id, "item" + id);
+            cachedItems.add(item);
+            session.getIdentityMapAccessor().putInIdentityMap(item, id);
+        }
+        queries = new ArrayList<>();
+        session.getEventManager().addListener(new SessionEventAdapter() {
+            @Override
+            public void preExecuteQuery(SessionEvent event) {
+                if (event.getQuery() instanceof ReadAllQuery) {
+                    queries.add(((List<?>) event.getQuery().getArgumentValues().get(0)).size());
+                }
+            }
+        });
+    }
+
+    /**
+     * Return the row of the item 4 for the selects of its id, the items 5 and above do not exist.
+     */
+    private void emulateItemRow() {
+        Vector<ArrayRecord> rows = new Vector<>();
+        rows.add(EmulatedDriverHelper.buildRow(session.getDescriptor(Item.class), new String[] {"ID", "NAME"}, 4L, "item4"));
+        Pattern itemId = Pattern.compile("\\b4\\b");
+        EmulatedDriverHelper.setRows(session, sql -> itemId.matcher(sql).find() ? rows : null);
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    @Test
+    public void testCachedObjectsNotRead() {
+        List<?> items = session.readAllObjectsById(Item.class, Arrays.asList(3L, 1L, 2L));
+        assertEquals(Arrays.asList(cachedItems.get(2), cachedItems.get(0), cachedItems.get(1)), items);
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    public void testMissingObjectsReadInChunks() {
+        emulateItemRow();
+        session.getPlatform().setIdListChunkSize(2);
+        List<?> items = session.acquireClientSession().readAllObjectsById(Item.class, Arrays.asList(4L, 1L, 5L, null, 6L, 7L, 5L, 8L));
+        assertEquals(4L, ((Item) items.get(0)).id);
+        assertEquals(Arrays.asList(items.get(0), cachedItems.get(0), null, null, null, null, null, null), items);
+        // The duplicate id is only read once.
+        assertEquals(Arrays.asList(2, 2, 1), queries);
+    }
+
+    @Test
+    public void testChunkSizeDefault() {
+        DatasourcePlatform platform = session.getPlatform();
+        int limit = platform.getINClauseLimit();
+        assertEquals((limit > 0) ? limit : DatasourcePlatform.DEFAULT_ID_LIST_CHUNK_SIZE, platform.getIdListChunkSize());
+        platform.setIdListChunkSize(10);
+        assertEquals(10, platform.getIdListChunkSize());
+    }
+
+    @Test
+    public void testUnitOfWorkReturnsClones() {
+        UnitOfWork uow = session.acquireClientSession().acquireUnitOfWork();
+        Item newItem = (Item) uow.registerNewObject(new Item(10, "new"));
+        Item deletedItem = (Item) uow.registerObject(cachedItems.get(1));
+        uow.deleteObject(deletedItem);
+        List<?> items = uow.readAllObjectsById(Item.class, Arrays.asList(1L, 10L, 2L));
+        assertNotSame(cachedItems.get(0), items.get(0));
+        assertEquals(1L, ((Item) items.get(0)).id);
+        assertSame(uow.registerObject(cachedItems.get(0)), items.get(0));
+        assertSame(newItem, items.get(1));
+        assertNull(items.get(2));
+        assertTrue(queries.isEmpty());
+        uow.release();
+    }
+
+    @Test
+    public void testEmptyIds() {
+        Session client = session.acquireClientSession();
+        assertEquals(Collections.emptyList(), client.readAllObjectsById(Item.class, Collections.emptyList()));
+        assertTrue(queries.isEmpty());
+    }
+}
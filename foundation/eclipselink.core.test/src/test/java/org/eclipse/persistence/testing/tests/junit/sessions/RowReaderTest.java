@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.internal.databaseaccess.RowReader;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReportQuery;
+import org.eclipse.persistence.queries.ReportQueryResult;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Reads the rows of prepared object and report queries through a row reader compiled on their first execution.
+ */
+public class RowReaderTest {
+
+    public static class Item {
+        public long id;
+        public String name;
+        public int quantity;
+        public double price;
+        public boolean active;
+        public BigDecimal amount;
+        public Timestamp created;
+    }
+
+    private static final String[] COLUMNS = {"ID", "NAME", "QUANTITY", "PRICE", "ACTIVE", "AMOUNT", "CREATED"};
+
+    private static final Timestamp CREATED = Timestamp.valueOf("2021-06-01 10:00:00");
+
+    private DatabaseSessionImpl session;
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private void login(boolean compileRowReaders) {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        descriptor.addDirectMapping("quantity", "QUANTITY");
+        descriptor.addDirectMapping("price", "PRICE");
+        descriptor.addDirectMapping("active", "ACTIVE");
+        descriptor.addDirectMapping("amount", "AMOUNT");
+        descriptor.addDirectMapping("created", "CREATED");
+
+        DatabaseLogin login = EmulatedDriverHelper.buildLogin();
+        login.setShouldCompileRowReaders(compileRowReaders);
+        Project project = new Project(login);
+        project.addDescriptor(descriptor);
+        session = EmulatedDriverHelper.loginDatabaseSession(project);
+
+        // The emulated driver does not project the rows, return the selected columns of the report query,
+        // and all columns of the items otherwise.
+        Vector<ArrayRecord> rows = new Vector<>();
+        rows.add(EmulatedDriverHelper.buildRow(descriptor, COLUMNS, 1L, "a", 2, 3.5d, Boolean.TRUE, new BigDecimal("4.25"), CREATED));
+        rows.add(EmulatedDriverHelper.buildRow(descriptor, COLUMNS, 2L, "b", 5, 6.5d, Boolean.FALSE, new BigDecimal("7.75"), CREATED));
+        Vector<DatabaseField> reportFields = new Vector<>();
+        reportFields.add(new DatabaseField("ITEM.ID"));
+        reportFields.add(new DatabaseField("ITEM.NAME"));
+        DatabaseField[] reportFieldsArray = reportFields.toArray(new DatabaseField[0]);
+        Vector<ArrayRecord> reportRows = new Vector<>();
+        reportRows.add(new ArrayRecord(reportFields, reportFieldsArray, new Object[] {1L, "a"}));
+        reportRows.add(new ArrayRecord(reportFields, reportFieldsArray, new Object[] {2L, "b"}));
+        EmulatedDriverHelper.setRows(session, sql -> sql.startsWith("SELECT ID, NAME FROM ITEM") ? reportRows : rows);
+    }
+
+    private List<?> readItems(ReadAllQuery query) {
+        query.dontMaintainCache();
+        return (List<?>) session.executeQuery(query);
+    }
+
+    private void assertItems(List<?> items) {
+        assertEquals(2, items.size());
+        Item item = (Item) items.get(1);
+        assertEquals(2L, item.id);
+        assertEquals("b", item.name);
+        assertEquals(5, item.quantity);
+        assertEquals(6.5d, item.price, 0d);
+        assertFalse(item.active);
+        assertEquals(new BigDecimal("7.75"), item.amount);
+        assertEquals(CREATED, item.created);
+    }
+
+    @Test
+    public void testRowReaderCompiledOnFirstExecution() {
+        login(true);
+        ReadAllQuery query = new ReadAllQuery(Item.class);
+        assertItems(readItems(query));
+        RowReader rowReader = ((DatabaseCall) query.getCall()).getRowReader();
+        assertNotNull(rowReader);
+
+        // The row reader is shared by the clones of the prepared call.
+        assertItems(readItems(query));
+        assertSame(rowReader, ((DatabaseCall) query.getCall()).getRowReader());
+    }
+
+    @Test
+    public void testReportQueryRowReader() {
+        login(true);
+        ReportQuery query = new ReportQuery(Item.class, new ExpressionBuilder());
+        query.addAttribute("id");
+        query.addAttribute("name");
+        List<?> results = (List<?>) session.executeQuery(query);
+        assertEquals(2, results.size());
+        assertEquals(1L, ((ReportQueryResult) results.get(0)).get("id"));
+        assertEquals("a", ((ReportQueryResult) results.get(0)).get("name"));
+        assertNotNull(((DatabaseCall) query.getCall()).getRowReader());
+    }
+
+    @Test
+    public void testRowReaderDisabledByDefault() {
+        login(false);
+        ReadAllQuery query = new ReadAllQuery(Item.class);
+        assertItems(readItems(query));
+        assertFalse(((DatabaseCall) query.getCall()).usesRowReader());
+        assertNull(((DatabaseCall) query.getCall()).getRowReader());
+    }
+}
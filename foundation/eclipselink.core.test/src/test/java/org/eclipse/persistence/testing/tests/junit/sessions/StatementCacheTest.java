@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Vector;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.queries.SQLCall;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriverHelper;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Caches the least recently used prepared statements of a connection,
+ * and the result set column names of custom SQL for all connections.
+ */
+public class StatementCacheTest {
+
+    private static final String SELECT_ITEMS = "SELECT ID, NAME FROM ITEM";
+
+    private DatabaseSessionImpl session;
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private void login(int statementCacheSize, int resultSetMetadataCacheSize) {
+        DatabaseLogin login = EmulatedDriverHelper.buildLogin();
+        login.cacheAllStatements();
+        login.setStatementCacheSize(statementCacheSize);
+        login.setResultSetMetadataCacheSize(resultSetMetadataCacheSize);
+        session = EmulatedDriverHelper.loginDatabaseSession(new Project(login));
+
+        // Return two columns for the custom select of the items.
+        Vector<DatabaseField> fields = new Vector<>();
+        fields.add(new DatabaseField("ID"));
+        fields.add(new DatabaseField("NAME"));
+        Vector<ArrayRecord> rows = new Vector<>();
+        rows.add(new ArrayRecord(fields, fields.toArray(new DatabaseField[0]), new Object[] { 1L, "a" }));
+        EmulatedDriverHelper.setRows(session, sql -> SELECT_ITEMS.equals(sql) ? rows : null);
+    }
+
+    private DatabaseAccessor getAccessor() {
+        return (DatabaseAccessor) session.getAccessor();
+    }
+
+    private Statement prepareAndRelease(String sql) throws Exception {
+        DatabaseAccessor accessor = getAccessor();
+        accessor.incrementCallCount(session);
+        Statement statement = accessor.prepareStatement(sql, session, false);
+        accessor.releaseStatement(statement, sql, null, session);
+        return statement;
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementEvicted() throws Exception {
+        login(2, 0);
+        Statement first = prepareAndRelease("SELECT 1");
+        prepareAndRelease("SELECT 2");
+        // The first statement becomes the most recently used.
+        assertSame(first, prepareAndRelease("SELECT 1"));
+        // The cache is full, the second statement is the least recently used.
+        prepareAndRelease("SELECT 3");
+        assertSame(first, prepareAndRelease("SELECT 1"));
+        prepareAndRelease("SELECT 2");
+
+        DatabaseAccessor accessor = getAccessor();
+        assertEquals(2, accessor.getStatementCacheHits());
+        assertEquals(4, accessor.getStatementCacheMisses());
+        assertEquals(2, accessor.getStatementCacheEvictions());
+    }
+
+    @Test
+    public void testResultSetMetadataCached() {
+        login(50, 10);
+        List<?> rows = session.executeSelectingCall(new SQLCall(SELECT_ITEMS));
+        DatabaseRecord row = (DatabaseRecord) rows.get(0);
+        assertEquals(2, row.size());
+        assertEquals("a", row.get("C2"));
+        // The fields of a row are not shared with the cache.
+        row.put("EXTRA", "b");
+
+        rows = session.executeSelectingCall(new SQLCall(SELECT_ITEMS));
+        DatabaseRecord cachedRow = (DatabaseRecord) rows.get(0);
+        assertEquals(2, cachedRow.size());
+        assertEquals("a", cachedRow.get("C2"));
+        assertNotSame(row.getFields(), cachedRow.getFields());
+        assertSame(row.getFields().get(0), cachedRow.getFields().get(0));
+
+        ConcurrentFixedCache cache = session.getPlatform().getResultSetMetadataCache();
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testResultSetMetadataNotCachedByDefault() {
+        login(50, 0);
+        session.executeSelectingCall(new SQLCall(SELECT_ITEMS));
+        session.executeSelectingCall(new SQLCall(SELECT_ITEMS));
+
+        ConcurrentFixedCache cache = session.getPlatform().getResultSetMetadataCache();
+        assertEquals(0, cache.getHits() + cache.getMisses());
+        assertNull(cache.get(SELECT_ITEMS));
+    }
+}
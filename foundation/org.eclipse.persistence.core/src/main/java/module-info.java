@@ -110,6 +110,7 @@
     exports org.eclipse.persistence.sessions.coordination.broadcast;
     exports org.eclipse.persistence.sessions.coordination.jms;
     exports org.eclipse.persistence.sessions.coordination.rmi;
+    exports org.eclipse.persistence.sessions.coordination.tcp;
     exports org.eclipse.persistence.sessions.factories;
     exports org.eclipse.persistence.sessions.interceptors;
     exports org.eclipse.persistence.sessions.remote;
@@ -118,6 +119,7 @@
     exports org.eclipse.persistence.sessions.server;
     exports org.eclipse.persistence.tools;
     exports org.eclipse.persistence.tools.profiler;
+    exports org.eclipse.persistence.tools.profiler.metrics;
     exports org.eclipse.persistence.tools.schemaframework;
     exports org.eclipse.persistence.tools.tuning;
     exports org.eclipse.persistence.transaction;
@@ -152,6 +154,7 @@
     exports org.eclipse.persistence.internal.sequencing;
     exports org.eclipse.persistence.internal.sessions.coordination;
     exports org.eclipse.persistence.internal.sessions.coordination.jms;
+    exports org.eclipse.persistence.internal.sessions.coordination.tcp;
     exports org.eclipse.persistence.internal.sessions.factories;
     exports org.eclipse.persistence.internal.sessions.factories.model;
     exports org.eclipse.persistence.internal.sessions.factories.model.property;
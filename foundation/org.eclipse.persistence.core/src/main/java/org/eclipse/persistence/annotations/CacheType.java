@@ -75,6 +75,18 @@ public enum CacheType {
      */
     CACHE,
 
+    /**
+     * Similar to the CACHE identity map, it maintains a fixed number of objects
+     * specified by the application and removes them on an approximate
+     * least-recently-used basis. Cache hits are recorded without a lock
+     * and applied to the LRU order in batches, so concurrent reads do not
+     * contend on the LRU list.
+     * WARNING: Furnishes caching and identity, but does not guarantee
+     * identity.  This cache type should only be used for objects that have
+     * no relationships to them.
+     */
+    CONCURRENT_CACHE,
+
     /**
      * WARNING: Does not preserve object identity and does not cache
      * objects.  This cache type is not recommend and should normally not be used.
@@ -78,6 +78,15 @@ public class CacheType {
      */
     public static final String  Full = "Full";
 
+    /**
+     * A ConcurrentCache holds a fixed size number of objects read by the application,
+     * evicting the least recently used objects (approximately, the cache hits are recorded without a lock).
+     * It allows the evicted objects to be free to garbage collection.
+     * This provides object identity only within the fixed size, and scales with concurrent reads.
+     * <p>WARNING: Lack of object identity can lead to infinite loops for objects that have circular references and no indirection.
+     */
+    public static final String  ConcurrentCache = "ConcurrentCache";
+
     /**
      * NONE does not cache any objects.
      * It allows any un-referenced objects to be free to garbage collection.
@@ -97,6 +97,7 @@
 import org.eclipse.persistence.sessions.factories.SessionManager;
 import org.eclipse.persistence.sessions.remote.RemoteSession;
 import org.eclipse.persistence.sessions.serializers.Serializer;
+import org.eclipse.persistence.tools.profiler.MetricsProfiler;
 import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
 import org.eclipse.persistence.tools.profiler.PerformanceProfiler;
 import org.eclipse.persistence.tools.profiler.QueryMonitor;
@@ -296,6 +297,44 @@ public class PersistenceUnitProperties {
      */
     public static final String JPQL_VALIDATION = "eclipselink.jpql.validation";
 
+    /**
+     * The "<code>eclipselink.jpa.criteria-query-cache.size</code>" property configures the maximum number
+     * of translated criteria queries cached by the structure of their criteria: the roots, joins, fetches,
+     * selection, restrictions, grouping and ordering. A criteria query built again with the same structure
+     * reuses the prepared query instead of being translated and prepared again, the parameters keep their
+     * values, the literals are part of the structure.
+     * Criteria queries using subqueries, treat, join conditions, unnamed parameters, case or coalesce
+     * expressions, mutable literals or tuple results are never cached.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>200</code>" (DEFAULT)
+     * <li>"<code>0</code>" - disable the cache
+     * <li>a positive number of criteria queries, for example "<code>1000</code>"
+     * </ul>
+     * @see org.eclipse.persistence.sessions.Project#setCriteriaQueryCacheMaxSize(int)
+     */
+    public static final String CRITERIA_QUERY_CACHE_SIZE = "eclipselink.jpa.criteria-query-cache.size";
+
+    /**
+     * The "<code>eclipselink.batch.adaptive-size</code>" property configures adaptive batch fetching of lazy
+     * relationships. When a lazy relationship of an entity of a persistence context is loaded outside of a
+     * transaction, it is also loaded for all the other entities of the same class in the persistence context
+     * for which it is not loaded yet, with IN batch queries of this number of entities. This avoids a query
+     * per entity for the entities found or read by different queries, as the "<code>eclipselink.batch</code>"
+     * query hint only batches the relationships of the entities read by the same query.
+     * Only one to one, one to many, many to many and element collection relationships are loaded together.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - disable adaptive batch fetching
+     * <li>a positive number of entities, for example "<code>100</code>"
+     * </ul>
+     * @see org.eclipse.persistence.sessions.Project#setAdaptiveBatchFetchSize(int)
+     * @see QueryHints#BATCH
+     */
+    public static final String ADAPTIVE_BATCH_FETCH_SIZE = "eclipselink.batch.adaptive-size";
+
     /**
      * The "<code>wait</code>" property.<br>
      * This can be append to any connection pool property,
@@ -1131,6 +1170,46 @@ public class PersistenceUnitProperties {
      */
     public static final String CACHE_STATEMENTS = "eclipselink.jdbc.cache-statements";
 
+    /**
+     * The "<code>eclipselink.jdbc.cache-result-set-metadata.size</code>" property
+     * specifies the number of SQL strings of native and custom SQL queries for which
+     * the column names read from the result set metadata are cached. The cached column
+     * names are shared by all connections, so repeated executions of the same SQL do not
+     * process the result set metadata again. Stored procedures are not cached.
+     * The columns returned by a cached SQL must not change, as through DDL.
+     * <p>
+     * Default: 0, the cache is disabled.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>a string containing a zero or greater integer value.
+     * </ul>
+     * <p>
+     * <b>Persistence XML example:</b><pre>
+     * {@code <property name="eclipselink.jdbc.cache-result-set-metadata.size" value="100"/>}</pre>
+     *
+     * @see #CACHE_STATEMENTS
+     */
+    public static final String CACHE_RESULT_SET_METADATA_SIZE = "eclipselink.jdbc.cache-result-set-metadata.size";
+
+    /**
+     * The "<code>eclipselink.jdbc.compile-row-readers</code>" property specifies
+     * whether the rows of prepared object and report queries are read through
+     * row readers. A row reader is compiled on the first execution of a query from
+     * its fields and the result set metadata: the JDBC getter and conversion of each
+     * column are chosen once, instead of for every value of every row.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT) - choose the conversion of each value when it is read.
+     * <li>"<code>true</code>" - read the rows through compiled row readers.
+     * </ul>
+     * <p>
+     * <b>Persistence XML example:</b><pre>
+     * {@code <property name="eclipselink.jdbc.compile-row-readers" value="true"/>}</pre>
+     */
+    public static final String COMPILE_ROW_READERS = "eclipselink.jdbc.compile-row-readers";
+
     // Bean Validation properties
 
     /**
@@ -1310,6 +1389,29 @@ public class PersistenceUnitProperties {
      */
     public static final String CACHE_TYPE_DEFAULT = CACHE_TYPE_ + DEFAULT;
 
+    /**
+     * Property prefix "<code>eclipselink.cache.off-heap-size.</code>" is used to specify the maximum number
+     * of bytes of direct memory used to cache the rows of a specific entity type, off the Java heap.
+     * Objects no longer in the cache are rebuilt from their cached row when read by id, instead of
+     * being selected again. The rows are evicted first in first out when the memory is full.
+     * The prefix must be followed by an entity name, a class name or the {@link #DEFAULT} suffix.
+     * <p>
+     * The default is 0, the rows are not cached off-heap. Entities using inheritance,
+     * multitenancy or an isolated cache do not support the off-heap row cache.
+     *
+     * @see #CACHE_OFF_HEAP_SIZE_DEFAULT
+     * @see org.eclipse.persistence.descriptors.CachePolicy#setOffHeapCacheSize(long)
+     */
+    public static final String CACHE_OFF_HEAP_SIZE_ = "eclipselink.cache.off-heap-size.";
+
+    /**
+     * Default off-heap row cache size, in bytes, applying to all entities.
+     * May be overridden by individual entity property with the same prefix.
+     *
+     * @see #CACHE_OFF_HEAP_SIZE_
+     */
+    public static final String CACHE_OFF_HEAP_SIZE_DEFAULT = CACHE_OFF_HEAP_SIZE_ + DEFAULT;
+
     /**
      * The "<code>eclipselink.cache.extended.logging</code>" property control (enable/disable)
      * usage logging of JPA L2 cache. In case of "<code>true</code>" EclipseLink generates messages into log output
@@ -1559,6 +1661,23 @@ public class PersistenceUnitProperties {
      */
     public static final String CACHE_QUERY_FORCE_DEFERRED_LOCKS = "eclipselink.cache.query-force-deferred-locks";
 
+    /**
+     * The "<code>eclipselink.cache.parallel-merge.threshold</code>" property configures the number of
+     * changed objects from which a commit merges its changes into the shared cache in parallel.
+     * The updates of direct attributes of cached objects are merged by tasks of the common ForkJoinPool,
+     * partitioned by entity, while the commit holds their cache locks, the other changes are merged sequentially.
+     * This also applies to the changes received through cache coordination.
+     * Entities with descriptor event listeners are always merged sequentially.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - always merge sequentially
+     * <li>a positive number of changed objects, for example "<code>10000</code>"
+     * </ul>
+     * @see org.eclipse.persistence.internal.sessions.AbstractSession#setParallelMergeThreshold(int)
+     */
+    public static final String CACHE_PARALLEL_MERGE_THRESHOLD = "eclipselink.cache.parallel-merge.threshold";
+
     // Customizations properties
 
     // Logging properties
@@ -2019,6 +2138,26 @@ public class PersistenceUnitProperties {
      */
     public static final String WEAVING_CHANGE_TRACKING = "eclipselink.weaving.changetracking";
 
+    /**
+     * The "<code>eclipselink.weaving.changetracking.dirty-attributes</code>" property configures
+     * whether the woven setters of the direct attributes record the changes in a bit set of the object
+     * instead of raising PropertyChangeEvents. The changes are calculated only for the attributes with a set bit,
+     * without allocating any event. Only the first change of an attribute records its old value,
+     * an attribute set to an equal value, or back to its old value, is not updated.
+     * <p>
+     * This property will only be considered if weaving of change tracking is enabled.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     *
+     * @see #WEAVING_CHANGE_TRACKING
+     * @see org.eclipse.persistence.descriptors.changetracking.DirtyAttributeChangeTrackingPolicy
+     */
+    public static final String WEAVING_CHANGE_TRACKING_DIRTY_ATTRIBUTES = "eclipselink.weaving.changetracking.dirty-attributes";
+
     /**
      * The "<code>eclipselink.weaving.fetchgroups</code>" property configures
      * whether FetchGroup support should be enabled through weaving. When this
@@ -2429,6 +2568,55 @@ public class PersistenceUnitProperties {
      */
     public static final String SEQUENCING_START_AT_NEXTVAL = "eclipselink.sequencing.start-sequence-at-nextval";
 
+    /**
+     * The "<code>eclipselink.sequencing.async-preallocation</code>" property
+     * configures the preallocated sequence values to be refilled in the background.
+     * When the remaining preallocated values of a sequence drop to the low-water mark, the next block is
+     * allocated by a background thread, so inserting threads do not wait for the allocation under bursty loads.
+     * This is used for sequence objects, and for table sequences using a sequence connection pool
+     * ({@link #JDBC_SEQUENCE_CONNECTION_POOL}), table sequences allocated in the transaction of the
+     * inserting thread always allocate synchronously.
+     * The refill time and the time inserting threads waited for an allocation are reported
+     * to the session profiler as "Timer:SequencePreallocationRefill" and "Timer:SequencePreallocationWait".
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>false</code>" - (DEFAULT) allocate when the preallocated values are exhausted
+     * <li>"<code>true</code>"
+     * </ul>
+     * @see #SEQUENCING_ASYNC_PREALLOCATION_LOW_WATER_MARK
+     * @see #SEQUENCING_ADAPTIVE_PREALLOCATION
+     */
+    public static final String SEQUENCING_ASYNC_PREALLOCATION = "eclipselink.sequencing.async-preallocation";
+
+    /**
+     * The "<code>eclipselink.sequencing.async-preallocation.low-water-mark</code>" property
+     * configures the number of remaining preallocated values triggering the background refill,
+     * in percent of the allocation size.
+     * The default is 50.
+     * @see #SEQUENCING_ASYNC_PREALLOCATION
+     */
+    public static final String SEQUENCING_ASYNC_PREALLOCATION_LOW_WATER_MARK = "eclipselink.sequencing.async-preallocation.low-water-mark";
+
+    /**
+     * The "<code>eclipselink.sequencing.adaptive-preallocation</code>" property
+     * configures the allocation size of table sequences refilled in the background to adapt
+     * to the consumption rate.
+     * Each allocation is sized to last about a second at the rate the previous one was consumed,
+     * in multiples of the allocation size of the generator, up to 16 times the allocation size.
+     * The values not used before shutdown are lost as with any preallocation,
+     * so larger allocations leave larger gaps.
+     * The size of sequence objects is their increment, and is never adapted.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>false</code>" - (DEFAULT) always allocate the allocation size of the generator
+     * <li>"<code>true</code>"
+     * </ul>
+     * @see #SEQUENCING_ASYNC_PREALLOCATION
+     */
+    public static final String SEQUENCING_ADAPTIVE_PREALLOCATION = "eclipselink.sequencing.adaptive-preallocation";
+
     /**
      * The "<code>eclipselink.session.customizer</code>" property configures a
      * {@link SessionCustomizer} used to alter the runtime configuration through
@@ -2538,6 +2726,49 @@ public class PersistenceUnitProperties {
      */
     public static final String BATCH_WRITING_SIZE = "eclipselink.jdbc.batch-writing.size";
 
+    /**
+     * The "<code>eclipselink.jdbc.batch-writing.group-statements</code>" property
+     * configures the grouping of the statements of a commit by their SQL for
+     * parameterized batch writing. By default a batch is executed whenever the
+     * SQL of the next statement differs, so objects writing alternating SQL,
+     * like multiple table objects or updates of different fields, are executed
+     * one by one. With grouping a statement joins the pending batch with the
+     * same SQL, if only statements of the same type (INSERT, UPDATE, DELETE)
+     * were batched since, so one batch per SQL is executed.
+     * <p>
+     * This changes the execution order of the statements of the same type on
+     * different tables, foreign key dependencies are kept, but a commit relying
+     * on other orders (e.g. updates swapping unique values) must not use it.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT) - batch only consecutive statements with the same SQL
+     * <li>"<code>true</code>" - group the statements by their SQL
+     * </ul>
+     *
+     * @see #BATCH_WRITING
+     */
+    public static final String BATCH_WRITING_GROUP_STATEMENTS = "eclipselink.jdbc.batch-writing.group-statements";
+
+    /**
+     * The "<code>eclipselink.jdbc.id-list.chunk-size</code>" property
+     * configures the number of ids selected by one query when reading a list
+     * of objects by id, through <code>JpaEntityManager.findAll</code> or
+     * <code>Session.readAllObjectsById</code>. The ids of the objects not in
+     * the cache are selected with an IN clause, a larger list is read with one
+     * query per chunk of ids.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>a positive integer
+     * <li>"<code>0</code>" (DEFAULT) - the IN clause limit of the database platform,
+     * or 500 if the platform does not limit the IN clause
+     * </ul>
+     *
+     * @see org.eclipse.persistence.sessions.Session#readAllObjectsById(Class, java.util.Collection)
+     */
+    public static final String ID_LIST_CHUNK_SIZE = "eclipselink.jdbc.id-list.chunk-size";
+
     /**
      * The "<code>jakarta.persistence.bean.manager</code>" property is used to set
      * CDI BeanManager when available
@@ -2654,6 +2885,40 @@ public class PersistenceUnitProperties {
      */
     public static final String PROJECT_CACHE_FILE = "eclipselink.project-cache.java-serialization.file-location";
 
+    /**
+     * The "<code>eclipselink.project-cache.validation</code>" property configures how a project
+     * retrieved from the project cache is validated against the persistence unit before being used
+     * instead of processing the metadata.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>none</code>" (DEFAULT) - the cached project is used as is
+     * <li>"<code>hash</code>" - a hash of the classes, mapping files and jar files of the persistence unit
+     * is stored with the project, a cached project stored for another hash is ignored, and replaced once the
+     * metadata has been processed
+     * </ul>
+     * <p>
+     * The project cached by "<code>java-serialization</code>" is also ignored if it was stored
+     * by another version of EclipseLink.
+     *
+     * @see #PROJECT_CACHE
+     * @see #PROJECT_CACHE_FINGERPRINT
+     */
+    public static final String PROJECT_CACHE_VALIDATION = "eclipselink.project-cache.validation";
+
+    /**
+     * The "<code>eclipselink.project-cache.fingerprint</code>" property specifies the string identifying
+     * the metadata of the persistence unit that a cached project must have been stored with to be used,
+     * such as the build number of the application.
+     * <p>
+     * If not specified it is computed when "<code>eclipselink.project-cache.validation</code>" is
+     * "<code>hash</code>". It is passed to the {@code org.eclipse.persistence.jpa.metadata.ProjectCache}
+     * with the other properties.
+     *
+     * @see #PROJECT_CACHE_VALIDATION
+     */
+    public static final String PROJECT_CACHE_FINGERPRINT = "eclipselink.project-cache.fingerprint";
+
     /**
      * The "<code>eclipselink.temporal.mutable</code>" property configures the
      * default for detecting changes to temporal field (Date, Calendar). Default
@@ -2782,6 +3047,24 @@ public class PersistenceUnitProperties {
      */
     public static final String DEPLOY_ON_STARTUP = "eclipselink.deploy-on-startup";
 
+    /**
+     * The "<code>eclipselink.deploy.parallel-descriptor-initialization</code>" property configures
+     * whether the descriptors of the persistence unit are initialized concurrently on login.
+     * The entities related by inheritance, relationships or embeddables are grouped, and the groups
+     * are initialized by the tasks of a ForkJoinPool, each group in the same order as a sequential login.
+     * This can reduce the deployment time of persistence units made of many unrelated groups of entities.
+     * The descriptors are initialized sequentially if the entities related to an entity are not known,
+     * such as with variable one to one mappings.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     * @see org.eclipse.persistence.internal.sessions.DatabaseSessionImpl#setShouldInitializeDescriptorsInParallel(boolean)
+     */
+    public static final String DEPLOY_PARALLEL_DESCRIPTOR_INITIALIZATION = "eclipselink.deploy.parallel-descriptor-initialization";
+
     /**
      * The "<code>eclipselink.validation-only</code>" property validates deployment
      * which includes initializing descriptors but does not connect (no login to the database).
@@ -3149,6 +3432,7 @@ public class PersistenceUnitProperties {
      * <li>"<code>NoProfiler</code>" (DEFAULT)
      * <li>"<code>PerformanceMonitor</code>" - use {@link PerformanceMonitor}
      * <li>"<code>PerformanceProfiler</code>" - use {@link PerformanceProfiler}
+     * <li>"<code>MetricsProfiler</code>" - use {@link MetricsProfiler}, low overhead meters exposed through the RuntimeServices MBean
      * <li>"<code>QueryMonitor</code>" - use {@link QueryMonitor}
      * <li>"<code>DMSProfiler</code>" - use {@code org.eclipse.persistence.tools.profiler.oracle.DMSPerformanceProfiler}
      * <li>the fully qualified name for a class that implements {@link SessionProfiler} interface
@@ -3158,6 +3442,23 @@ public class PersistenceUnitProperties {
      */
     public static final String PROFILER = "eclipselink.profiler";
 
+    /**
+     * The "<code>eclipselink.profiler.n-plus-one-threshold</code>" property configures the detection of
+     * N+1 queries, the lazy relationships read with a query for each entity of a persistence context.
+     * When a lazy relationship is read with a query for this number of entities of the same persistence context,
+     * the relationship, the number of queries and the stack triggering the relationship are logged as a
+     * warning in the "<code>query</code>" category, once for the relationship and persistence context,
+     * and the detection is counted in the profiler and the RuntimeServices MBean.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - disable the detection of N+1 queries
+     * <li>a positive number of queries, for example "<code>10</code>"
+     * </ul>
+     * @see org.eclipse.persistence.sessions.Project#setNPlusOneQueryThreshold(int)
+     */
+    public static final String N_PLUS_ONE_QUERY_THRESHOLD = "eclipselink.profiler.n-plus-one-threshold";
+
     /**
      * The "<code>eclipselink.tuning</code>"property configures the type of
      * tuner to use to configure the persistence unit.
@@ -3413,6 +3714,7 @@ public class PersistenceUnitProperties {
      * <li>"<code>rmi</code>"
      * <li>"<code>rmi-iiop</code>"
      * <li>"<code>jgroups</code>"
+     * <li>"<code>tcp</code>"
      * <li>the fully qualified name for a class that extends {@link TransportManager} abstract class.
      * </ul>
      *
@@ -3437,6 +3739,64 @@ public class PersistenceUnitProperties {
      */
     public static final String COORDINATION_JGROUPS_CONFIG = "eclipselink.cache.coordination.jgroups.config";
 
+    /**
+     * The "<code>eclipselink.cache.coordination.tcp.url</code>" property
+     * configures cache coordination for a clustered environment.
+     * <p>
+     * Only used for TCP coordination.
+     * <p>
+     * Sets the URL ("<code>tcp://host:port</code>") the local service listens on.<br>
+     * Default: "<code>tcp://0.0.0.0:7800</code>".
+     *
+     * @see #COORDINATION_PROTOCOL
+     * @see org.eclipse.persistence.sessions.coordination.RemoteCommandManager#setUrl(String)
+     */
+    public static final String COORDINATION_TCP_URL = "eclipselink.cache.coordination.tcp.url";
+
+    /**
+     * The "<code>eclipselink.cache.coordination.tcp.peers</code>" property
+     * configures cache coordination for a clustered environment.
+     * <p>
+     * Only used for TCP coordination.
+     * <p>
+     * Sets the comma separated URLs ("<code>tcp://host:port</code>") of the cluster members.<br>
+     * The URL of the local service may be part of the list, so all cluster members can share the same value.
+     *
+     * @see #COORDINATION_PROTOCOL
+     * @see org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager#setPeers(String)
+     */
+    public static final String COORDINATION_TCP_PEERS = "eclipselink.cache.coordination.tcp.peers";
+
+    /**
+     * The "<code>eclipselink.cache.coordination.tcp.coalesce-delay</code>" property
+     * configures cache coordination for a clustered environment.
+     * <p>
+     * Only used for TCP coordination.
+     * <p>
+     * Sets the milliseconds the commands are queued before being sent together in one frame,
+     * 0 sends the commands as soon as possible.<br>
+     * Default: "<code>1</code>".
+     *
+     * @see #COORDINATION_PROTOCOL
+     * @see org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager#setCoalesceDelay(long)
+     */
+    public static final String COORDINATION_TCP_COALESCE_DELAY = "eclipselink.cache.coordination.tcp.coalesce-delay";
+
+    /**
+     * The "<code>eclipselink.cache.coordination.tcp.max-pending-bytes</code>" property
+     * configures cache coordination for a clustered environment.
+     * <p>
+     * Only used for TCP coordination.
+     * <p>
+     * Sets the bytes queued for a cluster member before the committing thread waits for them to be sent,
+     * and the bytes received and not yet processed before the cluster member stops reading.<br>
+     * Default: "<code>8388608</code>".
+     *
+     * @see #COORDINATION_PROTOCOL
+     * @see org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager#setMaxPendingBytes(long)
+     */
+    public static final String COORDINATION_TCP_MAX_PENDING_BYTES = "eclipselink.cache.coordination.tcp.max-pending-bytes";
+
     /**
      * The "<code>eclipselink.cache.coordination.jms.host</code>" property
      * configures cache coordination for a clustered environment.
@@ -3686,9 +4046,14 @@ public class PersistenceUnitProperties {
      * or integration with other systems.
      * <p>
      * The full class name of the serializer class should be provided.
+     * <p>
+     * The "<code>org.eclipse.persistence.sessions.serializers.CompactSerializer</code>" serializer
+     * writes the merge changes in a compact binary form using class and attribute ids derived
+     * from the project, all nodes must use the same serializer and project.
      *
      * @see #COORDINATION_PROTOCOL
      * @see Serializer
+     * @see org.eclipse.persistence.sessions.serializers.CompactSerializer
      * @see org.eclipse.persistence.sessions.coordination.RemoteCommandManager#setSerializer(Serializer)
      */
     public static final String COORDINATION_SERIALIZER = "eclipselink.cache.coordination.serializer";
@@ -4146,6 +4511,44 @@ public class PersistenceUnitProperties {
      */
     public static final String CONCURRENCY_SEMAPHORE_LOG_TIMEOUT = "eclipselink.concurrency.semaphore.log.timeout";
 
+    /**
+     * <p>
+     * This property control (enable/disable) lock-free read lock acquisition in {@link org.eclipse.persistence.internal.helper.ConcurrencyManager}
+     * (every {@link org.eclipse.persistence.internal.identitymaps.CacheKey} and the identity map manager cache mutex).
+     * </p>
+     * When enabled an uncontended read lock is acquired and released with a single compare-and-set on the readers
+     * counter instead of entering the monitor of the cache key, and the read lock is not registered in the per thread
+     * read lock manager used by the dead-lock diagnostic dumps. Writers and deferred locks keep their existing semantics,
+     * only contended read locks fall back to the monitor based wait.
+     * The setting is shared by all the persistence units of the JVM, and every cache key keeps the mode set when it is
+     * created, so read locks are always released in the mode they were acquired.
+     * <ul>
+     * <li>"<code>true</code>" - acquire uncontended read locks without synchronization. Read locks are not reported
+     * in the dead-lock diagnostic dumps.
+     * <li>"<code>false</code>" (DEFAULT) - vanilla behavior, all read locks are acquired in the cache key monitor.
+     * </ul>
+     */
+    public static final String CONCURRENCY_MANAGER_USE_LOCK_FREE_READ_LOCK = "eclipselink.concurrency.manager.lock.free.read.lock";
+
+    /**
+     * <p>
+     * This property control (enable/disable) the use of {@link java.util.concurrent.locks.ReentrantLock} and
+     * {@link java.util.concurrent.locks.Condition} instead of object monitors (<code>synchronized</code>,
+     * <code>Object.wait()</code>) in {@link org.eclipse.persistence.internal.helper.ConcurrencyManager} (every
+     * {@link org.eclipse.persistence.internal.identitymaps.CacheKey}), {@link org.eclipse.persistence.sessions.server.ConnectionPool}
+     * and the non pooled connections of {@link org.eclipse.persistence.sessions.server.ServerSession}.
+     * </p>
+     * A thread blocked in a monitor pins a virtual thread to its carrier thread, enabling this property allows
+     * many virtual threads to share a server session without pinning the carrier threads while they wait for
+     * a cache key or a connection. The property must be set before the session is created, cache keys,
+     * connection pools and server sessions keep the lock mode they were created with.
+     * <ul>
+     * <li>"<code>true</code>" - use the <code>java.util.concurrent</code> locks.
+     * <li>"<code>false</code>" (DEFAULT) - vanilla behavior, use object monitors.
+     * </ul>
+     */
+    public static final String CONCURRENCY_MANAGER_USE_VIRTUAL_THREAD_SAFE_LOCKS = "eclipselink.concurrency.manager.virtual.thread.safe.locks";
+
     /**
      * INTERNAL: The following properties will not be displayed through logging
      * but instead have an alternate value shown in the log.
@@ -26,12 +26,15 @@
  *
  * @see org.eclipse.persistence.tools.profiler.QueryMonitor
  * @see org.eclipse.persistence.tools.profiler.PerformanceProfiler
+ * @see org.eclipse.persistence.tools.profiler.MetricsProfiler
  */
 public class ProfilerType {
     //A tool used to provide high level performance profiling information
     public static final String PerformanceProfiler = "PerformanceProfiler";
     public static final String QueryMonitor = "QueryMonitor";
     public static final String PerformanceMonitor = "PerformanceMonitor";
+    //Low overhead counters and latency histograms, exposed through the RuntimeServices MBean
+    public static final String MetricsProfiler = "MetricsProfiler";
     public static final String DMSProfiler = "DMSProfiler";
     public static final String NoProfiler = "NoProfiler";
 
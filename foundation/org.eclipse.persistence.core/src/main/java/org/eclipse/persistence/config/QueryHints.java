@@ -165,6 +165,25 @@ public class QueryHints {
      */
     public static final String QUERY_RESULTS_CACHE_INVALIDATE = "eclipselink.query-results-cache.invalidate-on-change";
 
+    /**
+     * "eclipselink.query-results-cache.invalidate-by-dependency"
+     * <p>Configures if the query cache results should only be invalidated if a modified object is part of the results,
+     * or conforms to the query's selection criteria.
+     *
+     * Valid values are "true" and "false", false is the default.
+     * @see org.eclipse.persistence.queries.QueryResultsCachePolicy#setInvalidateByDependency(boolean)
+     */
+    public static final String QUERY_RESULTS_CACHE_INVALIDATE_BY_DEPENDENCY = "eclipselink.query-results-cache.invalidate-by-dependency";
+
+    /**
+     * "eclipselink.query-results-cache.max-objects"
+     * <p>Configures the maximum number of objects of all the query's cached results.
+     * The oldest results are removed to stay within the maximum.
+     * Valid values are Integer or Strings that can be parsed to int values, by default there is no maximum.
+     * @see org.eclipse.persistence.queries.QueryResultsCachePolicy#setMaximumCachedObjects(int)
+     */
+    public static final String QUERY_RESULTS_CACHE_MAX_OBJECTS = "eclipselink.query-results-cache.max-objects";
+
     /**
      * "eclipselink.query-results-cache.type"
      * <p>Configures the cache type of the query's results cache.
@@ -589,6 +608,25 @@ public class QueryHints {
      */
     public static final String CURSOR_SIZE = "eclipselink.cursor.size-sql";
 
+    /**
+     * "eclipselink.cursor.stream"
+     * <p>Configures getResultStream() to build the results from a CursoredStream as the stream advances,
+     * instead of streaming the result list, so the memory used is bounded by the page size
+     * instead of the size of the result.
+     * The page size is the CURSOR_PAGE_SIZE if the query already uses a CursoredStream,
+     * otherwise the query's JDBC fetch size if set, or 10.
+     * Entities read by the stream are detached from the persistence context one page after they were returned,
+     * changes made to them after that are not committed.
+     * The stream keeps a live JDBC connection until it is closed or has been read to the end,
+     * so it should be used in a try-with-resources block.
+     * Valid values are:  HintValues.FALSE, HintValues.TRUE,
+     * "" could be used instead of default value HintValues.FALSE
+     * @see #JDBC_FETCH_SIZE
+     * @see #CURSOR_PAGE_SIZE
+     * @see org.eclipse.persistence.queries.CursoredStream
+     */
+    public static final String CURSOR_STREAM = "eclipselink.cursor.stream";
+
     /**
      * "eclipselink.cursor.scrollable"
      * <p>Configures the query to return a ScrollableCursor.
@@ -257,4 +257,40 @@ public class SystemProperties {
      * </p>
      */
     public static final String CONCURRENCY_SEMAPHORE_LOG_TIMEOUT = "eclipselink.concurrency.semaphore.log.timeout";
+
+    /**
+     * <p>
+     * This property control (enable/disable) lock-free read lock acquisition in {@link org.eclipse.persistence.internal.helper.ConcurrencyManager}
+     * (every {@link org.eclipse.persistence.internal.identitymaps.CacheKey} and the identity map manager cache mutex).
+     * </p>
+     * When enabled an uncontended read lock is acquired and released with a single compare-and-set on the readers
+     * counter instead of entering the monitor of the cache key, and the read lock is not registered in the per thread
+     * read lock manager used by the dead-lock diagnostic dumps. Writers and deferred locks keep their existing semantics,
+     * only contended read locks fall back to the monitor based wait.
+     * <ul>
+     * <li>"<code>true</code>" - acquire uncontended read locks without synchronization. Read locks are not reported
+     * in the dead-lock diagnostic dumps.
+     * <li>"<code>false</code>" (DEFAULT) - vanilla behavior, all read locks are acquired in the cache key monitor.
+     * </ul>
+     */
+    public static final String CONCURRENCY_MANAGER_USE_LOCK_FREE_READ_LOCK = "eclipselink.concurrency.manager.lock.free.read.lock";
+
+    /**
+     * <p>
+     * This property control (enable/disable) the use of {@link java.util.concurrent.locks.ReentrantLock} and
+     * {@link java.util.concurrent.locks.Condition} instead of object monitors (<code>synchronized</code>,
+     * <code>Object.wait()</code>) in {@link org.eclipse.persistence.internal.helper.ConcurrencyManager} (every
+     * {@link org.eclipse.persistence.internal.identitymaps.CacheKey}), {@link org.eclipse.persistence.sessions.server.ConnectionPool}
+     * and the non pooled connections of {@link org.eclipse.persistence.sessions.server.ServerSession}.
+     * </p>
+     * A thread blocked in a monitor pins a virtual thread to its carrier thread, enabling this property allows
+     * many virtual threads to share a server session without pinning the carrier threads while they wait for
+     * a cache key or a connection. The property must be set before the session is created, cache keys,
+     * connection pools and server sessions keep the lock mode they were created with.
+     * <ul>
+     * <li>"<code>true</code>" - use the <code>java.util.concurrent</code> locks.
+     * <li>"<code>false</code>" (DEFAULT) - vanilla behavior, use object monitors.
+     * </ul>
+     */
+    public static final String CONCURRENCY_MANAGER_USE_VIRTUAL_THREAD_SAFE_LOCKS = "eclipselink.concurrency.manager.virtual.thread.safe.locks";
 }
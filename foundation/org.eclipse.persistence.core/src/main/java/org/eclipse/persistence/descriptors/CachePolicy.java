@@ -35,6 +35,7 @@
 import org.eclipse.persistence.internal.identitymaps.CacheId;
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
 import org.eclipse.persistence.internal.identitymaps.IdentityMap;
+import org.eclipse.persistence.internal.identitymaps.OffHeapRowCache;
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
@@ -122,6 +123,9 @@ public class CachePolicy implements Cloneable, Serializable {
     /** Allows configuration of database change event notification. */
     protected DatabaseChangeNotificationType databaseChangeNotificationType;
 
+    /** The maximum number of bytes of the off-heap row cache, 0 if the rows are not cached. */
+    protected long offHeapCacheSize;
+
     /**
      * PUBLIC:
      * Return a new descriptor.
@@ -211,6 +215,10 @@ public void postInitialize(ClassDescriptor descriptor, AbstractSession session)
         if (!shouldIsolateObjectsInUnitOfWork() && !descriptor.shouldBeReadOnly()) {
             session.getProject().setHasNonIsolatedUOWClasses(true);
         }
+        if ((this.offHeapCacheSize > 0) && !OffHeapRowCache.isSupported(descriptor)) {
+            session.log(SessionLog.WARNING, SessionLog.CACHE, "off_heap_row_cache_not_supported", descriptor.getAlias());
+            this.offHeapCacheSize = 0;
+        }
     }
 
     /**
@@ -781,6 +789,26 @@ public void setIdentityMapSize(int identityMapSize) {
         this.identityMapSize = identityMapSize;
     }
 
+    /**
+     * PUBLIC:
+     * Return the maximum number of bytes of direct memory used to cache the rows of the objects.
+     */
+    public long getOffHeapCacheSize() {
+        return offHeapCacheSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum number of bytes of direct memory used to cache the rows of the objects,
+     * so objects no longer in the identity map are rebuilt from their row when read by primary key.
+     * The rows are evicted first in first out when the memory is full.
+     * The default is 0, the rows are not cached.
+     * Only supported by shared classes without inheritance or multitenancy.
+     */
+    public void setOffHeapCacheSize(long offHeapCacheSize) {
+        this.offHeapCacheSize = offHeapCacheSize;
+    }
+
     /**
      * OBSOLETE:
      * Set the type of cache coordination that will be used on objects of this type.  Possible values
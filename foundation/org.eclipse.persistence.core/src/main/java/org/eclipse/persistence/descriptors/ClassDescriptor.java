@@ -63,6 +63,8 @@
 import org.eclipse.persistence.descriptors.changetracking.AttributeChangeTrackingPolicy;
 import org.eclipse.persistence.descriptors.changetracking.ChangeTracker;
 import org.eclipse.persistence.descriptors.changetracking.DeferredChangeDetectionPolicy;
+import org.eclipse.persistence.descriptors.changetracking.DirtyAttributeChangeTrackingPolicy;
+import org.eclipse.persistence.descriptors.changetracking.DirtyAttributeTracker;
 import org.eclipse.persistence.descriptors.changetracking.ObjectChangePolicy;
 import org.eclipse.persistence.descriptors.copying.CloneCopyPolicy;
 import org.eclipse.persistence.descriptors.copying.CopyPolicy;
@@ -3278,7 +3280,11 @@ public void initialize(AbstractSession session) throws DescriptorException {
                 // Must double check that this descriptor support change tracking,
                 // when it was weaved it was not initialized, and may now know that it does not support change tracking.
                 if (supportsChangeTracking(session.getProject())) {
-                    setObjectChangePolicy(new AttributeChangeTrackingPolicy());
+                    if (DirtyAttributeTracker.class.isAssignableFrom(getJavaClass())) {
+                        setObjectChangePolicy(new DirtyAttributeChangeTrackingPolicy());
+                    } else {
+                        setObjectChangePolicy(new AttributeChangeTrackingPolicy());
+                    }
                 }
             }
         }
@@ -5521,6 +5527,14 @@ public boolean shouldUseCacheIdentityMap() {
         return ClassConstants.CacheIdentityMap_Class.equals(getIdentityMapClass());
     }
 
+    /**
+     * PUBLIC:
+     * Return true if this descriptor is using ConcurrentCacheIdentityMap
+     */
+    public boolean shouldUseConcurrentCacheIdentityMap() {
+        return ClassConstants.ConcurrentCacheIdentityMap_Class.equals(getIdentityMapClass());
+    }
+
     /**
      * PUBLIC:
      * Return true if this descriptor is using FullIdentityMap
@@ -5697,6 +5711,18 @@ public void useCacheIdentityMap() {
         setIdentityMapClass(ClassConstants.CacheIdentityMap_Class);
     }
 
+    /**
+     * PUBLIC:
+     * Set the class of identity map to be the concurrent cache identity map.
+     * This map caches the approximate LRU instances read from the database,
+     * cache hits do not lock the LRU order.
+     * Note: This map does not guarantee object identity.
+     * The default is the "SoftCacheWeakIdentityMap".
+     */
+    public void useConcurrentCacheIdentityMap() {
+        setIdentityMapClass(ClassConstants.ConcurrentCacheIdentityMap_Class);
+    }
+
     /**
      * PUBLIC:
      * Set the locking policy a changed fields locking policy.
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.descriptors.changetracking;
+
+import java.beans.PropertyChangeListener;
+
+import org.eclipse.persistence.config.ReferenceMode;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.exceptions.DescriptorException;
+import org.eclipse.persistence.internal.descriptors.changetracking.DirtyAttributeChangeListener;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+
+/**
+ * PUBLIC:
+ * A DirtyAttributeChangeTrackingPolicy is an AttributeChangeTrackingPolicy for objects implementing
+ * DirtyAttributeTracker. The setters of the direct attributes set a bit in a bit set of the object instead of
+ * allocating a PropertyChangeEvent, when the changes are calculated only the attributes with a set bit are visited.
+ * No backup clone is built. The relationships, and the objects of a unit of work not using hard references,
+ * are tracked as with the AttributeChangeTrackingPolicy.
+ * <p>
+ * Only the first change of an attribute tracked with the bit set records its old value, an attribute set
+ * to an equal value, or back to its old value, is not recorded as changed.
+ * <p>
+ * The policy is used by default for the classes woven with "eclipselink.weaving.changetracking.dirty-attributes".
+ * @see DirtyAttributeTracker
+ * @see org.eclipse.persistence.config.PersistenceUnitProperties#WEAVING_CHANGE_TRACKING_DIRTY_ATTRIBUTES
+ */
+public class DirtyAttributeChangeTrackingPolicy extends AttributeChangeTrackingPolicy {
+
+    /**
+     * INTERNAL:
+     * Add the changes of the bit set to the ObjectChangeSet of the listener.
+     */
+    @Override
+    public ObjectChangeSet createObjectChangeSet(Object clone, Object backUp, UnitOfWorkChangeSet changeSet, boolean isNew, AbstractSession session, ClassDescriptor descriptor) {
+        if (!isNew) {
+            PropertyChangeListener listener = ((ChangeTracker)clone)._persistence_getPropertyChangeListener();
+            if (listener instanceof DirtyAttributeChangeListener) {
+                ((DirtyAttributeChangeListener)listener).flushDirtyAttributes();
+            }
+        }
+        return super.createObjectChangeSet(clone, backUp, changeSet, isNew, session, descriptor);
+    }
+
+    /**
+     * INTERNAL:
+     * Assign a DirtyAttributeChangeListener owning a new bit set to the object.
+     * The bit set is only used with hard references, as the listener can not add the object to the
+     * change tracked list of a unit of work using weak references on the first change.
+     */
+    @Override
+    public PropertyChangeListener setChangeListener(Object clone, UnitOfWorkImpl uow, ClassDescriptor descriptor) {
+        int size = ((DirtyAttributeTracker)clone)._persistence_getDirtyAttributeNames().length;
+        if ((size == 0) || ((uow.getReferenceMode() != null) && (uow.getReferenceMode() != ReferenceMode.HARD))) {
+            ((DirtyAttributeTracker)clone)._persistence_setDirtyAttributes(null);
+            return super.setChangeListener(clone, uow, descriptor);
+        }
+        DirtyAttributeChangeListener listener = new DirtyAttributeChangeListener(descriptor, uow, clone, new long[(size + 63) >>> 6]);
+        ((ChangeTracker)clone)._persistence_setPropertyChangeListener(listener);
+        return listener;
+    }
+
+    /**
+     * INTERNAL:
+     * The class must implement DirtyAttributeTracker.
+     */
+    @Override
+    public void initialize(AbstractSession session, ClassDescriptor descriptor) {
+        super.initialize(session, descriptor);
+        if (!DirtyAttributeTracker.class.isAssignableFrom(descriptor.getJavaClass())) {
+            session.getIntegrityChecker().handleError(DescriptorException.needToImplementChangeTracker(descriptor));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.descriptors.changetracking;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Define an interface for any object that records its changed direct attributes in a bit set.
+ * <p>
+ * <b>Description</b>: While the bit set is assigned, the setter of a tracked attribute whose bit is not set
+ * calls {@code DirtyAttributeChangeListener.dirtyAttributeChange(index, oldValue, newValue)} on the
+ * PropertyChangeListener of the object, which sets the attribute's bit if the value changed, instead of raising
+ * a PropertyChangeEvent. The setter of an attribute whose bit is set only sets the value.
+ * Without a bit set the setter raises the event to the PropertyChangeListener of the object.
+ * The index of an attribute is its index in the array of names, the attributes of the superclasses come first.
+ * <p>
+ * This interface is woven when "eclipselink.weaving.changetracking.dirty-attributes" is set.
+ * @see DirtyAttributeChangeTrackingPolicy
+ */
+public interface DirtyAttributeTracker extends ChangeTracker {
+
+    /**
+     * PUBLIC:
+     * Return the bit set of the changed attributes, null if the changes are raised as events.
+     */
+    long[] _persistence_getDirtyAttributes();
+
+    /**
+     * PUBLIC:
+     * Set the bit set of the changed attributes, null to raise the changes as events.
+     */
+    void _persistence_setDirtyAttributes(long[] dirtyAttributes);
+
+    /**
+     * PUBLIC:
+     * Return the names of the tracked attributes, in the order of their bits.
+     */
+    String[] _persistence_getDirtyAttributeNames();
+}
@@ -48,8 +48,9 @@
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
@@ -57,6 +58,7 @@
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.helper.DatabaseField;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.helper.LOBValueWriter;
@@ -105,9 +107,14 @@ public class DatabaseAccessor extends DatasourceAccessor {
     /** PERF: Backdoor to disabling dynamic statements. Reverts to old prepared statement usage if set. */
     public static boolean shouldUseDynamicStatements = true;
 
-    /** Stores statement handles for common used prepared statements. */
+    /** Stores statement handles for common used prepared statements, the least recently used first. */
     protected Map<String, Statement> statementCache;
 
+    /** The number of statements found in, not found in, and removed from the statement cache because it was full. */
+    protected long statementCacheHits;
+    protected long statementCacheMisses;
+    protected long statementCacheEvictions;
+
     /** Cache of the connection's java.sql.DatabaseMetaData */
     protected DatabaseMetaData metaData;
 
@@ -292,11 +299,34 @@ public AbstractRecord buildOutputRow(CallableStatement statement, DatabaseCall c
      * built from the column names.  This case occurs for DataReadQuery's.
      */
     public Vector<DatabaseField> buildSortedFields(Vector<DatabaseField> fields, ResultSet resultSet, AbstractSession session) throws DatabaseException {
+        return buildSortedFields(fields, resultSet, null, session);
+    }
+
+    /**
+     * Return the field sorted in the correct order corresponding to the result set of the SQL.
+     * PERF: If the SQL is given and the platform caches the result set meta data, the column names
+     * are read from the meta data on the first execution of the SQL only, and shared by all connections.
+     * The SQL must only be given if all its result sets return the same columns.
+     */
+    @SuppressWarnings({"unchecked"})
+    public Vector<DatabaseField> buildSortedFields(Vector<DatabaseField> fields, ResultSet resultSet, String sqlString, AbstractSession session) throws DatabaseException {
         Vector<DatabaseField> sortedFields;
         try {
-            Vector<DatabaseField> columnNames = getColumnNames(resultSet, session);
+            Vector<DatabaseField> columnNames = null;
+            ConcurrentFixedCache metadataCache = null;
+            if ((sqlString != null) && (getPlatform().getResultSetMetadataCacheSize() > 0)) {
+                metadataCache = getPlatform().getResultSetMetadataCache();
+                columnNames = (Vector<DatabaseField>)metadataCache.get(sqlString);
+            }
+            if (columnNames == null) {
+                columnNames = getColumnNames(resultSet, session);
+                if (metadataCache != null) {
+                    metadataCache.put(sqlString, columnNames);
+                }
+            }
             if (fields == null) {// Means fields not known.
-                sortedFields = columnNames;
+                // The cached column names are shared, but the fields of a row can be added to.
+                sortedFields = (metadataCache == null) ? columnNames : new Vector<>(columnNames);
             } else {
                 sortedFields = sortFields(fields, columnNames);
             }
@@ -386,6 +416,9 @@ public Object clone() {
         }
         accessor.parameterizedMechanism = null;
         accessor.statementCache = null;
+        accessor.statementCacheHits = 0;
+        accessor.statementCacheMisses = 0;
+        accessor.statementCacheEvictions = 0;
         return accessor;
     }
 
@@ -476,6 +509,29 @@ public AbstractRecord cursorRetrieveNextRow(Vector<DatabaseField> fields, Result
         }
     }
 
+    /**
+     * Advance the result set and return a Record populated
+     * with values from the next valid row in the result set. Intended solely
+     * for cursored stream support.
+     * PERF: The row shares the fields array, its values are stored in an array.
+     */
+    public AbstractRecord cursorRetrieveNextRow(Vector<DatabaseField> fields, DatabaseField[] fieldsArray, ResultSet resultSet, AbstractSession session) throws DatabaseException {
+        if (fieldsArray == null) {
+            return cursorRetrieveNextRow(fields, resultSet, session);
+        }
+        try {
+            if (resultSet.next()) {
+                return fetchRow(fields, fieldsArray, resultSet, resultSet.getMetaData(), session);
+            } else {
+                return null;
+            }
+        } catch (SQLException exception) {
+            DatabaseException commException = processExceptionForCommError(session, exception, null);
+            if (commException != null) throw commException;
+            throw DatabaseException.sqlException(exception, this, session, false);
+        }
+    }
+
     /**
      * Advance the result set and return a DatabaseRow populated
      * with values from the next valid row in the result set. Intended solely
@@ -495,6 +551,29 @@ public AbstractRecord cursorRetrievePreviousRow(Vector<DatabaseField> fields, Re
         }
     }
 
+    /**
+     * Advance the result set and return a DatabaseRow populated
+     * with values from the previous valid row in the result set. Intended solely
+     * for scrollable cursor support.
+     * PERF: The row shares the fields array, its values are stored in an array.
+     */
+    public AbstractRecord cursorRetrievePreviousRow(Vector<DatabaseField> fields, DatabaseField[] fieldsArray, ResultSet resultSet, AbstractSession session) throws DatabaseException {
+        if (fieldsArray == null) {
+            return cursorRetrievePreviousRow(fields, resultSet, session);
+        }
+        try {
+            if (resultSet.previous()) {
+                return fetchRow(fields, fieldsArray, resultSet, resultSet.getMetaData(), session);
+            } else {
+                return null;
+            }
+        } catch (SQLException exception) {
+            DatabaseException commException = processExceptionForCommError(session, exception, null);
+            if (commException != null) throw commException;
+            throw DatabaseException.sqlException(exception, this, session, false);
+        }
+    }
+
     /**
      * Close the connection.
      */
@@ -748,6 +827,8 @@ public Object processResultSet(ResultSet resultSet, DatabaseCall call, Statement
             throw new IllegalStateException(ExceptionLocalization.buildMessage("jpa21_invalid_call_with_no_result_sets_returned"));
         }
 
+        // PERF: Read the rows of prepared calls through their compiled row reader.
+        RowReader rowReader = call.hasMultipleResultSets() ? null : getRowReader(call, metaData);
         session.startOperationProfile(SessionProfiler.RowFetch, call.getQuery(), SessionProfiler.ALL);
         try {
             if (call.isOneRowReturned()) {
@@ -758,6 +839,8 @@ public Object processResultSet(ResultSet resultSet, DatabaseCall call, Statement
                         //Instead, a LOB locator is retrieved and value is then piped into the table through the locator.
                         // Bug 2804663 - LOBValueWriter is no longer a singleton
                         getLOBWriter().fetchLocatorAndWriteValue(call, resultSet);
+                    } else if (rowReader != null) {
+                        result = rowReader.fetchRow(call.getFields(), resultSet, metaData, this, session);
                     } else {
                         result = fetchRow(call.getFields(), call.getFieldsArray(), resultSet, metaData, session);
                     }
@@ -782,9 +865,16 @@ public Object processResultSet(ResultSet resultSet, DatabaseCall call, Statement
                             return buildThreadCursoredResult(call, resultSet, statement, metaData, session);
                         } else {
                             results = new Vector<>(16);
-                            while (hasNext) {
-                                results.add(fetchRow(call.getFields(), call.getFieldsArray(), resultSet, metaData, session));
-                                hasNext = resultSet.next();
+                            if (rowReader != null) {
+                                while (hasNext) {
+                                    results.add(rowReader.fetchRow(call.getFields(), resultSet, metaData, this, session));
+                                    hasNext = resultSet.next();
+                                }
+                            } else {
+                                while (hasNext) {
+                                    results.add(fetchRow(call.getFields(), call.getFieldsArray(), resultSet, metaData, session));
+                                    hasNext = resultSet.next();
+                                }
                             }
                         }
                     } else {
@@ -824,6 +914,24 @@ public Object processResultSet(ResultSet resultSet, DatabaseCall call, Statement
         return result;
     }
 
+    /**
+     * Return the row reader of the call, compiled on the first execution of the call,
+     * or null if the call does not use a row reader.
+     */
+    protected RowReader getRowReader(DatabaseCall call, ResultSetMetaData metaData) throws SQLException {
+        DatabaseField[] fieldsArray = call.getFieldsArray();
+        if (!call.usesRowReader() || (fieldsArray == null)) {
+            return null;
+        }
+        RowReader rowReader = call.getRowReader();
+        DatabasePlatform platform = getPlatform();
+        if ((rowReader == null) || !rowReader.isCompiledFor(fieldsArray, platform)) {
+            rowReader = RowReader.compile(fieldsArray, metaData, platform);
+            call.setRowReader(rowReader);
+        }
+        return rowReader;
+    }
+
     /**
      * This allows for the rows to be fetched concurrently to the objects being built.
      * This code is not currently publicly supported.
@@ -1561,14 +1669,37 @@ protected boolean hasStatementCache() {
 
     /**
      * The statement cache stores a fixed sized number of prepared statements.
+     * The statements are removed from the cache while in use and put back when released,
+     * so the insertion order of the cache is from the least to the most recently used statement.
      */
     protected synchronized Map<String, Statement> getStatementCache() {
         if (statementCache == null) {
-            statementCache = new HashMap<>(50);
+            statementCache = new LinkedHashMap<>(50);
         }
         return statementCache;
     }
 
+    /**
+     * Return the number of statements found in the statement cache.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * Return the number of statements not found in the statement cache, so prepared.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * Return the number of least recently used statements closed and removed from the statement cache because it was full.
+     */
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions;
+    }
+
     /**
      * Get a description of tables available in a catalog.
      *
@@ -1713,8 +1844,12 @@ public Statement prepareStatement(DatabaseCall call, AbstractSession session, bo
                 if (statement != null) {
                     // Need to remove to allow concurrent statement execution.
                     statementCache.remove(call.getSQLString());
+                    this.statementCacheHits++;
+                } else {
+                    this.statementCacheMisses++;
                 }
             }
+            session.incrementProfile((statement != null) ? SessionProfiler.StatementCacheHits : SessionProfiler.StatementCacheMisses);
         }
 
         if (statement == null) {
@@ -1768,8 +1903,12 @@ public PreparedStatement prepareStatement(String sql, AbstractSession session, b
                 if (statement != null) {
                     // Need to remove to allow concurrent statement execution.
                     statementCache.remove(sql);
+                    this.statementCacheHits++;
+                } else {
+                    this.statementCacheMisses++;
                 }
             }
+            session.incrementProfile((statement != null) ? SessionProfiler.StatementCacheHits : SessionProfiler.StatementCacheMisses);
         }
 
         if (statement == null) {
@@ -1835,9 +1974,13 @@ public void releaseStatement(Statement statement, String sqlString, DatabaseCall
                     if (call != null) {
                         resetStatementFromCall(preparedStatement, call);
                     }
-                    if (statementCache.size() > getPlatform().getStatementCacheSize()) {
-                        // Currently one is removed at random...
-                        PreparedStatement removedStatement = (PreparedStatement)statementCache.remove(statementCache.keySet().iterator().next());
+                    if (!statementCache.isEmpty() && (statementCache.size() >= getPlatform().getStatementCacheSize())) {
+                        // The least recently used statement is removed.
+                        Iterator<Statement> statements = statementCache.values().iterator();
+                        PreparedStatement removedStatement = (PreparedStatement)statements.next();
+                        statements.remove();
+                        this.statementCacheEvictions++;
+                        session.incrementProfile(SessionProfiler.StatementCacheEvictions);
                         closeStatement(removedStatement, session, call);
                     } else {
                         decrementCallCount();
@@ -43,6 +43,7 @@
 import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.exceptions.QueryException;
@@ -119,6 +120,9 @@ public abstract class DatabaseCall extends DatasourceCall {
     // Field matching is required for custom SQL when the fields order is not known.
     protected boolean isFieldMatchingRequired;
 
+    // PERF: The row reader compiled on the first execution, shared by the clones of the prepared call.
+    transient protected AtomicReference<RowReader> rowReader;
+
     // optimistic locking determination is required for batch writing
     protected boolean hasOptimisticLock;
     protected boolean isResultSetScrollable;
@@ -587,6 +591,41 @@ public boolean isCursorReturned() {
         return this.returnType == RETURN_CURSOR;
     }
 
+    /**
+     * INTERNAL:
+     * Return if the rows of the call are read by a row reader compiled on its first execution.
+     */
+    public boolean usesRowReader() {
+        return rowReader != null;
+    }
+
+    /**
+     * INTERNAL:
+     * Set if the rows of the call are read by a row reader compiled on its first execution.
+     * This must be set before the call is cloned for execution, so the clones share the row reader.
+     */
+    public void setUsesRowReader(boolean usesRowReader) {
+        this.rowReader = usesRowReader ? new AtomicReference<>() : null;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the row reader compiled on the first execution of the call, or null.
+     */
+    public RowReader getRowReader() {
+        return (rowReader == null) ? null : rowReader.get();
+    }
+
+    /**
+     * INTERNAL:
+     * Set the row reader compiled for the call, shared by the call and its clones.
+     */
+    public void setRowReader(RowReader rowReader) {
+        if (this.rowReader != null) {
+            this.rowReader.set(rowReader);
+        }
+    }
+
     /**
      * Return if field matching is required.
      * Field matching is required for custom SQL statements where the result set field order is not known.
@@ -629,7 +668,9 @@ public void matchFieldOrder(ResultSet resultSet, DatabaseAccessor accessor, Abst
         if ((getFields() != null) && (!isFieldMatchingRequired())) {
             return;
         }
-        setFields(accessor.buildSortedFields(getFields(), resultSet, session));
+        // The result sets of a stored procedure may have different columns, so their meta data is not cached.
+        String sqlString = (isCallableStatementRequired() || hasMultipleResultSets()) ? null : getSQLString();
+        setFields(accessor.buildSortedFields(getFields(), resultSet, sqlString, session));
     }
 
     /**
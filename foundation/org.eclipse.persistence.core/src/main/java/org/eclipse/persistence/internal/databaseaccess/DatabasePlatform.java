@@ -76,6 +76,7 @@
 import org.eclipse.persistence.internal.expressions.ParameterExpression;
 import org.eclipse.persistence.internal.expressions.SQLSelectStatement;
 import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.helper.ConversionManager;
 import org.eclipse.persistence.internal.helper.DatabaseField;
 import org.eclipse.persistence.internal.helper.DatabaseTable;
@@ -156,6 +157,15 @@ public class DatabasePlatform extends DatasourcePlatform {
     /** The statement cache size for prepare parameterized statements. */
     protected int statementCacheSize;
 
+    /** The size of the cache of the result set column fields of custom SQL, 0 disables the cache. */
+    protected int resultSetMetadataCacheSize;
+
+    /** PERF: Cache of the result set column fields of custom SQL by SQL string, shared by all connections. */
+    protected transient ConcurrentFixedCache resultSetMetadataCache;
+
+    /** PERF: Read the rows of prepared object and report queries through row readers compiled on their first execution. */
+    protected boolean shouldCompileRowReaders;
+
     /** Can be used if the app expects upper case but the database is not return consistent case, i.e. different databases. */
     protected boolean shouldForceFieldNamesToUpperCase;
 
@@ -186,6 +196,9 @@ public class DatabasePlatform extends DatasourcePlatform {
     /** Allow for a custom batch writing mechanism. **/
     protected BatchWritingMechanism batchWritingMechanism;
 
+    /** Allow the parameterized batch writing to group the statements of a commit by their SQL. **/
+    protected boolean usesGroupedBatchWriting;
+
     /** Allow configuration option to use Where clause outer joining or From clause joining. **/
     protected Boolean printOuterJoinInWhereClause;
 
@@ -295,6 +308,8 @@ public DatabasePlatform() {
         this.shouldCacheAllStatements = false;
         this.shouldOptimizeDataConversion = true;
         this.statementCacheSize = 50;
+        this.resultSetMetadataCacheSize = 0;
+        this.shouldCompileRowReaders = false;
         this.shouldForceFieldNamesToUpperCase = false;
         this.maxBatchWritingSize = 0;
         this.usesJDBCBatchWriting = true;
@@ -302,6 +317,7 @@ public DatabasePlatform() {
         this.cursorCode = -10;
         this.supportsAutoCommit = true;
         this.usesNativeBatchWriting = false;
+        this.usesGroupedBatchWriting = false;
         this.castSizeForVarcharParameter = 32672;
         this.startDelimiter = "\"";
         this.endDelimiter = "\"";
@@ -790,6 +806,8 @@ public void copyInto(Platform platform) {
         databasePlatform.shouldBindPartialParameters = this.shouldBindPartialParameters;
         databasePlatform.setShouldCacheAllStatements(shouldCacheAllStatements());
         databasePlatform.setStatementCacheSize(getStatementCacheSize());
+        databasePlatform.setResultSetMetadataCacheSize(getResultSetMetadataCacheSize());
+        databasePlatform.setShouldCompileRowReaders(shouldCompileRowReaders());
         databasePlatform.setTransactionIsolation(getTransactionIsolation());
         databasePlatform.setBatchWritingMechanism(getBatchWritingMechanism());
         databasePlatform.setMaxBatchWritingSize(getMaxBatchWritingSize());
@@ -799,6 +817,7 @@ public void copyInto(Platform platform) {
         databasePlatform.setUsesBatchWriting(usesBatchWriting());
         databasePlatform.setUsesJDBCBatchWriting(usesJDBCBatchWriting());
         databasePlatform.setUsesNativeBatchWriting(usesNativeBatchWriting());
+        databasePlatform.setUsesGroupedBatchWriting(usesGroupedBatchWriting());
         databasePlatform.setUsesStreamsForBinding(usesStreamsForBinding());
         databasePlatform.shouldCreateIndicesOnForeignKeys = this.shouldCreateIndicesOnForeignKeys;
         databasePlatform.printOuterJoinInWhereClause = this.printOuterJoinInWhereClause;
@@ -1401,6 +1420,26 @@ public int getStatementCacheSize() {
         return statementCacheSize;
     }
 
+    /**
+     * The size of the cache of the result set column fields of custom SQL, 0 if the cache is disabled.
+     */
+    public int getResultSetMetadataCacheSize() {
+        return resultSetMetadataCacheSize;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the cache of the result set column fields of custom SQL by SQL string.
+     * The column fields are read once from the result set meta data and shared by all connections,
+     * so the columns returned by the SQL must not change while it is cached.
+     */
+    public ConcurrentFixedCache getResultSetMetadataCache() {
+        if (resultSetMetadataCache == null) {
+            resultSetMetadataCache = new ConcurrentFixedCache(resultSetMetadataCacheSize);
+        }
+        return resultSetMetadataCache;
+    }
+
     public String getStoredProcedureParameterPrefix() {
         return "";
     }
@@ -1834,6 +1873,34 @@ public void setStatementCacheSize(int statementCacheSize) {
         this.statementCacheSize = statementCacheSize;
     }
 
+    /**
+     * The size of the cache of the result set column fields of custom SQL, 0 disables the cache.
+     */
+    public void setResultSetMetadataCacheSize(int resultSetMetadataCacheSize) {
+        this.resultSetMetadataCacheSize = resultSetMetadataCacheSize;
+        this.resultSetMetadataCache = null;
+    }
+
+    /**
+     * Return if the rows of prepared object and report queries are read through row readers.
+     * A row reader is compiled on the first execution of the query from its fields and the result set meta data,
+     * so the conversion of each column is not chosen again for every row.
+     * @see RowReader
+     */
+    public boolean shouldCompileRowReaders() {
+        return shouldCompileRowReaders;
+    }
+
+    /**
+     * Set if the rows of prepared object and report queries are read through row readers.
+     * A row reader is compiled on the first execution of the query from its fields and the result set meta data,
+     * so the conversion of each column is not chosen again for every row.
+     * @see RowReader
+     */
+    public void setShouldCompileRowReaders(boolean shouldCompileRowReaders) {
+        this.shouldCompileRowReaders = shouldCompileRowReaders;
+    }
+
     public void setStringBindingSize(int aSize) {
         stringBindingSize = aSize;
     }
@@ -1901,6 +1968,21 @@ public void setUsesNativeBatchWriting(boolean usesNativeBatchWriting){
         this.usesNativeBatchWriting = usesNativeBatchWriting;
     }
 
+    /**
+     * ADVANCED:
+     * This is used to enable the grouping of the parameterized batch writing statements by their SQL.
+     * Statements are not only batched while the same SQL is executed one after the other, but a statement
+     * joins the pending batch with the same SQL as long as only statements of the same type (INSERT, UPDATE, DELETE)
+     * were batched since. So objects writing alternating SQL, like multiple table objects or updates of different fields,
+     * are executed as one batch per SQL when the batched statements are executed.
+     * Note that this changes the execution order of statements of the same type on different tables, so it must not
+     * be used if the commit relies on the order of these statements other than by foreign key dependencies,
+     * e.g. updates swapping unique values.
+     */
+    public void setUsesGroupedBatchWriting(boolean usesGroupedBatchWriting) {
+        this.usesGroupedBatchWriting = usesGroupedBatchWriting;
+    }
+
     public void setUsesNativeSQL(boolean usesNativeSQL) {
         this.usesNativeSQL = usesNativeSQL;
     }
@@ -2854,6 +2936,15 @@ public boolean usesNativeBatchWriting(){
         return usesNativeBatchWriting;
     }
 
+    /**
+     * ADVANCED:
+     * Return true if the parameterized batch writing statements are grouped by their SQL.
+     * @see #setUsesGroupedBatchWriting(boolean)
+     */
+    public boolean usesGroupedBatchWriting() {
+        return usesGroupedBatchWriting;
+    }
+
     public boolean usesNativeSQL() {
         return usesNativeSQL;
     }
@@ -120,6 +120,12 @@ public class DatasourcePlatform implements Platform {
      */
     protected boolean supportsReturnGeneratedKeys;
 
+    /** The number of ids selected by one query reading objects by id, 0 to use the default. */
+    protected int idListChunkSize;
+
+    /** The default number of ids selected by one query reading objects by id, if the IN clause is not limited. */
+    public static final int DEFAULT_ID_LIST_CHUNK_SIZE = 500;
+
     public DatasourcePlatform() {
         this.tableQualifier = "";
         this.startDelimiter = "";
@@ -271,6 +277,7 @@ public void copyInto(Platform platform) {
         datasourcePlatform.sequencesAfterCloneCleanup();
         datasourcePlatform.setDefaultNativeSequenceToTable(getDefaultNativeSequenceToTable());
         datasourcePlatform.setDefaultSeqenceAtNextValue(getDefaultSeqenceAtNextValue());
+        datasourcePlatform.setIdListChunkSize(this.idListChunkSize);
     }
 
     /**
@@ -1191,4 +1198,31 @@ public Expression createExpressionFor(DatabaseField field, Expression builder, S
     public int getINClauseLimit() {
         return 0;
     }
+
+    /**
+     * PUBLIC:
+     * Return the number of ids selected by one query when reading objects by a list of ids.
+     * By default this is the IN clause limit of the platform, or 500 if the IN clause is not limited.
+     * @see org.eclipse.persistence.sessions.Session#readAllObjectsById(Class, java.util.Collection)
+     */
+    public int getIdListChunkSize() {
+        if (this.idListChunkSize > 0) {
+            return this.idListChunkSize;
+        }
+        int limit = getINClauseLimit();
+        if (limit > 0) {
+            return limit;
+        }
+        return DEFAULT_ID_LIST_CHUNK_SIZE;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of ids selected by one query when reading objects by a list of ids,
+     * 0 to use the default.
+     * A larger list is read with one query per chunk of ids.
+     */
+    public void setIdListChunkSize(int idListChunkSize) {
+        this.idListChunkSize = idListChunkSize;
+    }
 }
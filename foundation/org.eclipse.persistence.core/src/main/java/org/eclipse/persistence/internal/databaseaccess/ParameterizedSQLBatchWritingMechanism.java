@@ -51,6 +51,13 @@ public class ParameterizedSQLBatchWritingMechanism extends BatchWritingMechanism
     protected List<List> parameters;
     protected DatabaseCall lastCallAppended;
 
+    /**
+     * The pending batches in the order they were started, if the platform uses grouped batch writing.
+     * Each batch holds the parameters of the calls with the same SQL.
+     * @see DatabasePlatform#usesGroupedBatchWriting()
+     */
+    protected List<ParameterizedSQLBatchWritingMechanism> groupedBatches;
+
     public ParameterizedSQLBatchWritingMechanism() {
         super();
     }
@@ -74,6 +81,10 @@ public ParameterizedSQLBatchWritingMechanism(DatabaseAccessor databaseAccessor)
     @Override
     public void appendCall(AbstractSession session, DatabaseCall dbCall) {
         if (dbCall.hasParameters()) {
+            if (session.getPlatform().usesGroupedBatchWriting()) {
+                appendGroupedCall(session, dbCall);
+                return;
+            }
             //make an equality check on the String, because if we are caching statements then
             //we will not have to perform the string comparison multiple times.
             if (this.previousCall == null) {
@@ -104,6 +115,74 @@ public void appendCall(AbstractSession session, DatabaseCall dbCall) {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Add the call to the pending batch with the same SQL, if only statements of the same type were batched
+     * after that batch, otherwise start a new batch.
+     * Moving the call before statements of the same type keeps the foreign key dependencies, as these are
+     * written in the commit order of their classes.
+     */
+    protected void appendGroupedCall(AbstractSession session, DatabaseCall dbCall) {
+        if (this.groupedBatches == null) {
+            this.groupedBatches = new ArrayList<>();
+        }
+        String sql = dbCall.getSQLString();
+        ParameterizedSQLBatchWritingMechanism batch = null;
+        for (int index = this.groupedBatches.size() - 1; index >= 0; index--) {
+            ParameterizedSQLBatchWritingMechanism groupedBatch = this.groupedBatches.get(index);
+            String batchSQL = groupedBatch.previousCall.getSQLString();
+            if (batchSQL.equals(sql)) {
+                batch = groupedBatch;
+                break;
+            }
+            if (!isSameStatementType(batchSQL, sql)) {
+                break;
+            }
+        }
+        if ((batch != null) && (batch.parameters.size() >= this.maxBatchSize)) {
+            // Executing only the full batch would reorder it before the pending batches started before it.
+            executeBatchedStatements(session);
+            this.groupedBatches = new ArrayList<>();
+            batch = null;
+        }
+        if (batch == null) {
+            batch = (ParameterizedSQLBatchWritingMechanism)clone();
+            batch.clear();
+            batch.previousCall = dbCall;
+            this.groupedBatches.add(batch);
+        }
+        batch.parameters.add(dbCall.getParameters());
+        batch.cacheQueryTimeout(session, dbCall);
+        batch.lastCallAppended = dbCall;
+        this.lastCallAppended = dbCall;
+        // feature for bug 4104613, allows users to force statements to flush on execution
+        if (((ModifyQuery) dbCall.getQuery()).forceBatchStatementExecution()) {
+            executeBatchedStatements(session);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return true if both SQL strings start with the same keyword (INSERT, UPDATE, DELETE...).
+     */
+    protected static boolean isSameStatementType(String sql, String otherSQL) {
+        int start = 0;
+        while ((start < sql.length()) && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while ((end < sql.length()) && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        int otherStart = 0;
+        while ((otherStart < otherSQL.length()) && Character.isWhitespace(otherSQL.charAt(otherStart))) {
+            otherStart++;
+        }
+        int length = end - start;
+        return (length > 0) && otherSQL.regionMatches(true, otherStart, sql, start, length)
+                && (((otherStart + length) == otherSQL.length()) || !Character.isLetter(otherSQL.charAt(otherStart + length)));
+    }
+
     /**
      * INTERNAL:
      * This method is used to clear the batched statements without the need to execute the statements first
@@ -120,6 +199,7 @@ public void clear() {
         this.queryTimeoutCache = DescriptorQueryManager.NoTimeout;
         // bug 229831 : BATCH WRITING CAUSES MEMORY LEAKS WITH UOW
         this.lastCallAppended = null;
+        this.groupedBatches = null;
     }
 
     /**
@@ -129,6 +209,15 @@ public void clear() {
      */
     @Override
     public void executeBatchedStatements(AbstractSession session) {
+        if (this.groupedBatches != null) {
+            // Clearing the current mechanism first, as in executeBatch, hides the batches from recursive calls.
+            List<ParameterizedSQLBatchWritingMechanism> batches = this.groupedBatches;
+            this.clear();
+            for (ParameterizedSQLBatchWritingMechanism batch : batches) {
+                batch.executeBatch(session);
+            }
+            return;
+        }
         if (this.parameters.isEmpty()) {
             return;
         }
@@ -286,4 +375,8 @@ public DatabaseCall getLastCallAppended() {
     public void setLastCallAppended(DatabaseCall lastCallAppended) {
         this.lastCallAppended = lastCallAppended;
     }
+
+    public List<ParameterizedSQLBatchWritingMechanism> getGroupedBatches() {
+        return groupedBatches;
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.databaseaccess;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Vector;
+
+import org.eclipse.persistence.exceptions.DatabaseException;
+import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Reads the rows of the result set of a prepared call.
+ * <p>
+ * <b>Description</b>: The row reader is compiled on the first execution of the call, from its fields and
+ * the result set meta data. Each column is read by a column reader chosen once for the JDBC type of the
+ * column and the class of its field, as {@link DatabaseAccessor#getObject} otherwise chooses for every value.
+ * The columns of the types without a direct JDBC getter are read through {@link DatabaseAccessor#getObject}.
+ *
+ * @see DatabasePlatform#shouldCompileRowReaders()
+ */
+public class RowReader {
+
+    /**
+     * Reads the value of a column of the current row of a result set.
+     */
+    @FunctionalInterface
+    public interface ColumnReader {
+        Object read(ResultSet resultSet, int columnNumber, ResultSetMetaData metaData, DatabaseAccessor accessor, AbstractSession session) throws SQLException;
+    }
+
+    /** The fields the row reader was compiled for. */
+    protected final DatabaseField[] fieldsArray;
+
+    /** The platform the row reader was compiled for. */
+    protected final DatabasePlatform platform;
+
+    /** The reader of each column. */
+    protected final ColumnReader[] columnReaders;
+
+    protected RowReader(DatabaseField[] fieldsArray, DatabasePlatform platform, ColumnReader[] columnReaders) {
+        this.fieldsArray = fieldsArray;
+        this.platform = platform;
+        this.columnReaders = columnReaders;
+    }
+
+    /**
+     * INTERNAL:
+     * Compile the row reader of the fields from the result set meta data.
+     */
+    public static RowReader compile(DatabaseField[] fieldsArray, ResultSetMetaData metaData, DatabasePlatform platform) throws SQLException {
+        ColumnReader[] columnReaders = new ColumnReader[fieldsArray.length];
+        for (int index = 0; index < fieldsArray.length; index++) {
+            columnReaders[index] = buildColumnReader(fieldsArray[index], metaData, index + 1, platform);
+        }
+        return new RowReader(fieldsArray, platform, columnReaders);
+    }
+
+    /**
+     * Return the reader of the column, specialized as by DatabaseAccessor.getObjectThroughOptimizedDataConversion().
+     */
+    protected static ColumnReader buildColumnReader(DatabaseField field, ResultSetMetaData metaData, int columnNumber, DatabasePlatform platform) throws SQLException {
+        // Field can be null for fetch groups.
+        if (field == null) {
+            return (resultSet, column, data, accessor, session) -> null;
+        }
+        ColumnReader objectReader = (resultSet, column, data, accessor, session) -> accessor.getObject(resultSet, field, data, column, accessor.getPlatform(), accessor.getPlatform().shouldOptimizeDataConversion(), session);
+        if (!platform.shouldOptimizeDataConversion()) {
+            return objectReader;
+        }
+        // PERF: Cache the JDBC type in the field, as when read without a row reader.
+        int type = field.sqlType;
+        if (type == DatabaseField.NULL_SQL_TYPE) {
+            type = metaData.getColumnType(columnNumber);
+            field.setSqlType(type);
+        }
+        Class<?> fieldType = field.type;
+        boolean trimStrings = platform.shouldTrimStrings() && ((type == Types.CHAR) || (type == Types.NCHAR));
+        if (platform.shouldUseGetSetNString() && ((type == Types.NVARCHAR) || (type == Types.NCHAR))) {
+            if (trimStrings) {
+                return (resultSet, column, data, accessor, session) -> {
+                    String value = resultSet.getNString(column);
+                    return (value == null) ? null : Helper.rightTrimString(value);
+                };
+            }
+            return (resultSet, column, data, accessor, session) -> resultSet.getNString(column);
+        } else if ((fieldType != null) && fieldType.getName().contains("json")) {
+            return objectReader;
+        } else if ((type == Types.VARCHAR) || (type == Types.CHAR) || (type == Types.NVARCHAR) || (type == Types.NCHAR)) {
+            if (trimStrings) {
+                return (resultSet, column, data, accessor, session) -> {
+                    String value = resultSet.getString(column);
+                    return (value == null) ? null : Helper.rightTrimString(value);
+                };
+            }
+            return (resultSet, column, data, accessor, session) -> resultSet.getString(column);
+        } else if (fieldType == null) {
+            return objectReader;
+        }
+        // Primitive getters return 0 or false for null, only then check for null.
+        if ((fieldType == ClassConstants.PLONG) || (fieldType == ClassConstants.LONG)) {
+            return (resultSet, column, data, accessor, session) -> {
+                long value = resultSet.getLong(column);
+                return ((value == 0L) && resultSet.wasNull()) ? null : value;
+            };
+        } else if ((fieldType == ClassConstants.INTEGER) || (fieldType == ClassConstants.PINT)) {
+            return (resultSet, column, data, accessor, session) -> {
+                int value = resultSet.getInt(column);
+                return ((value == 0) && resultSet.wasNull()) ? null : value;
+            };
+        } else if ((fieldType == ClassConstants.FLOAT) || (fieldType == ClassConstants.PFLOAT)) {
+            return (resultSet, column, data, accessor, session) -> {
+                float value = resultSet.getFloat(column);
+                return ((value == 0f) && resultSet.wasNull()) ? null : value;
+            };
+        } else if ((fieldType == ClassConstants.DOUBLE) || (fieldType == ClassConstants.PDOUBLE)) {
+            return (resultSet, column, data, accessor, session) -> {
+                double value = resultSet.getDouble(column);
+                return ((value == 0d) && resultSet.wasNull()) ? null : value;
+            };
+        } else if ((fieldType == ClassConstants.SHORT) || (fieldType == ClassConstants.PSHORT)) {
+            return (resultSet, column, data, accessor, session) -> {
+                short value = resultSet.getShort(column);
+                return ((value == 0) && resultSet.wasNull()) ? null : value;
+            };
+        } else if ((fieldType == ClassConstants.BOOLEAN) || (fieldType == ClassConstants.PBOOLEAN)) {
+            return (resultSet, column, data, accessor, session) -> {
+                boolean value = resultSet.getBoolean(column);
+                return (!value && resultSet.wasNull()) ? null : value;
+            };
+        } else if ((type == Types.TIME) || (type == Types.DATE) || (type == Types.TIMESTAMP)) {
+            // Dates optimized through their string value, as set when compiled, are converted by the platform.
+            if (!Helper.shouldOptimizeDates) {
+                if (fieldType == ClassConstants.TIMESTAMP) {
+                    return (resultSet, column, data, accessor, session) -> resultSet.getTimestamp(column);
+                } else if (fieldType == ClassConstants.SQLDATE) {
+                    return (resultSet, column, data, accessor, session) -> resultSet.getDate(column);
+                } else if (fieldType == ClassConstants.TIME) {
+                    return (resultSet, column, data, accessor, session) -> resultSet.getTime(column);
+                }
+            }
+            return objectReader;
+        } else if (fieldType == ClassConstants.BIGDECIMAL) {
+            return (resultSet, column, data, accessor, session) -> resultSet.getBigDecimal(column);
+        }
+        return objectReader;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the row reader was compiled for the fields and platform.
+     */
+    public boolean isCompiledFor(DatabaseField[] fieldsArray, DatabasePlatform platform) {
+        return (this.fieldsArray == fieldsArray) && (this.platform == platform);
+    }
+
+    /**
+     * INTERNAL:
+     * Return a new row populated from the current row of the result set.
+     * PERF: This method must be highly optimized.
+     */
+    public AbstractRecord fetchRow(Vector<DatabaseField> fields, ResultSet resultSet, ResultSetMetaData metaData, DatabaseAccessor accessor, AbstractSession session) throws DatabaseException {
+        DatabaseField[] fieldsArray = this.fieldsArray;
+        ColumnReader[] columnReaders = this.columnReaders;
+        int size = columnReaders.length;
+        Object[] values = new Object[size];
+        for (int index = 0; index < size; index++) {
+            try {
+                values[index] = columnReaders[index].read(resultSet, index + 1, metaData, accessor, session);
+            } catch (SQLException exception) {
+                // Read the value as without a row reader, this logs the exception and tries the non-optimized conversion.
+                values[index] = accessor.getObject(resultSet, fieldsArray[index], metaData, index + 1, accessor.getPlatform(), accessor.getPlatform().shouldOptimizeDataConversion(), session);
+            }
+        }
+
+        // Row creation is optimized through sharing the same fields for the entire result set.
+        return new ArrayRecord(fields, fieldsArray, values);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.descriptors.changetracking;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.changetracking.DirtyAttributeTracker;
+import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Define a listener for attribute change tracking with a dirty attributes bit set.
+ * <p>
+ * <b>Description</b>: The setters of the tracked direct attributes only set a bit in the bit set of the object,
+ * the other attributes raise PropertyChangeEvents to the listener. The first change of an attribute since the changes
+ * were calculated records the old value of the attribute, a value equal to the old value is not a change.
+ * The bit set is removed from the object while the events are ignored, so EclipseLink's own changes are not recorded.
+ * <p>
+ * <b>Responsibilities</b>: Own the bit set, and add the ChangeRecords of the changed attributes
+ * to the ObjectChangeSet when the changes are calculated.
+ * @see DirtyAttributeTracker
+ */
+public class DirtyAttributeChangeListener extends AttributeChangeListener {
+    protected transient long[] dirtyAttributes;
+    /** The old values of the changed attributes, by index of their bit, lazily initialized. */
+    protected transient Object[] oldValues;
+
+    /**
+     * INTERNAL:
+     * Create a DirtyAttributeChangeListener with a descriptor, unit of work and the bit set of the owner.
+     */
+    public DirtyAttributeChangeListener(ClassDescriptor descriptor, UnitOfWorkImpl uow, Object owner, long[] dirtyAttributes) {
+        super(descriptor, uow, owner);
+        this.dirtyAttributes = dirtyAttributes;
+        ((DirtyAttributeTracker)owner)._persistence_setDirtyAttributes(dirtyAttributes);
+    }
+
+    /**
+     * INTERNAL:
+     * Ignore the events and remove the bit set from the object.
+     */
+    @Override
+    public void ignoreEvents() {
+        super.ignoreEvents();
+        ((DirtyAttributeTracker)this.owner)._persistence_setDirtyAttributes(null);
+    }
+
+    /**
+     * INTERNAL:
+     * Assign the bit set to the object again once the events are processed.
+     */
+    @Override
+    public void processEvents() {
+        super.processEvents();
+        if (!this.ignoreEvents) {
+            ((DirtyAttributeTracker)this.owner)._persistence_setDirtyAttributes(this.dirtyAttributes);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the object has changes, either events or set bits.
+     */
+    @Override
+    public boolean hasChanges() {
+        return this.hasChanges || hasDirtyAttributes();
+    }
+
+    /**
+     * INTERNAL:
+     * Return if any bit is set.
+     */
+    public boolean hasDirtyAttributes() {
+        long[] dirtyAttributes = this.dirtyAttributes;
+        for (int index = 0; index < dirtyAttributes.length; index++) {
+            if (dirtyAttributes[index] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * INTERNAL:
+     * Record the first change of the attribute of the index, called by the setter when its bit is not set.
+     * The bit is only set, and the old value recorded, if the new value is not equal to the old value.
+     */
+    public void dirtyAttributeChange(int index, Object oldValue, Object newValue) {
+        if (valuesEqual(oldValue, newValue)) {
+            return;
+        }
+        if (this.oldValues == null) {
+            this.oldValues = new Object[this.dirtyAttributes.length << 6];
+        }
+        this.oldValues[index] = oldValue;
+        this.dirtyAttributes[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Return if the values of a direct attribute are equal, change tracked attributes are not mutable.
+     */
+    protected static boolean valuesEqual(Object oldValue, Object newValue) {
+        return (oldValue == newValue) || ((oldValue != null) && oldValue.equals(newValue));
+    }
+
+    /**
+     * INTERNAL:
+     * Add a ChangeRecord with the old and current value of each changed attribute, and clear the bits.
+     * The attributes set back to their old value are not recorded.
+     */
+    public void flushDirtyAttributes() {
+        long[] dirtyAttributes = this.dirtyAttributes;
+        String[] names = null;
+        for (int word = 0; word < dirtyAttributes.length; word++) {
+            long bits = dirtyAttributes[word];
+            if (bits == 0) {
+                continue;
+            }
+            dirtyAttributes[word] = 0;
+            if (names == null) {
+                names = ((DirtyAttributeTracker)this.owner)._persistence_getDirtyAttributeNames();
+                if (this.uow.getUnitOfWorkChangeSet() == null) {
+                    this.uow.setUnitOfWorkChangeSet(new UnitOfWorkChangeSet(this.uow));
+                }
+                if (this.objectChangeSet == null) {
+                    // The unit of work holds hard references, no need to add the owner to the change tracked list.
+                    this.objectChangeSet = this.descriptor.getObjectBuilder().createObjectChangeSet(this.owner, (UnitOfWorkChangeSet)this.uow.getUnitOfWorkChangeSet(), false, this.uow);
+                }
+            }
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                DatabaseMapping mapping = this.descriptor.getObjectBuilder().getMappingForAttributeName(names[index]);
+                if (mapping == null) {
+                    throw ValidationException.wrongPropertyNameInChangeEvent(this.owner.getClass(), names[index]);
+                }
+                Object oldValue = this.oldValues[index];
+                this.oldValues[index] = null;
+                Object newValue = mapping.getAttributeValueFromObject(this.owner);
+                if (!valuesEqual(oldValue, newValue)) {
+                    mapping.updateChangeRecord(this.owner, newValue, oldValue, this.objectChangeSet, this.uow);
+                }
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Clear the changes in this listener and the bit set.
+     */
+    @Override
+    public void clearChanges(boolean forRefresh) {
+        super.clearChanges(forRefresh);
+        long[] dirtyAttributes = this.dirtyAttributes;
+        for (int index = 0; index < dirtyAttributes.length; index++) {
+            dirtyAttributes[index] = 0;
+        }
+        this.oldValues = null;
+    }
+}
@@ -44,6 +44,7 @@
 import org.eclipse.persistence.internal.expressions.LogicalExpression;
 import org.eclipse.persistence.internal.expressions.RelationExpression;
 import org.eclipse.persistence.internal.identitymaps.CacheIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.FullIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.HardCacheWeakIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.NoIdentityMap;
@@ -128,6 +129,7 @@ public final class ClassConstants extends CoreClassConstants {
 
     // Identity map classes
     public static final Class<CacheIdentityMap> CacheIdentityMap_Class = CacheIdentityMap.class;
+    public static final Class<ConcurrentCacheIdentityMap> ConcurrentCacheIdentityMap_Class = ConcurrentCacheIdentityMap.class;
     public static final Class<FullIdentityMap> FullIdentityMap_Class = FullIdentityMap.class;
     public static final Class<HardCacheWeakIdentityMap> HardCacheWeakIdentityMap_Class = HardCacheWeakIdentityMap.class;
     public static final Class<NoIdentityMap> NoIdentityMap_Class = NoIdentityMap.class;
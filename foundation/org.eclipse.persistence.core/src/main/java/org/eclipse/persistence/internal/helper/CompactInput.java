@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.helper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+
+/**
+ * INTERNAL:
+ * Reader of the bytes written by CompactOutput.
+ *
+ * @see CompactOutput
+ */
+public class CompactInput {
+    private final byte[] buffer;
+    private int position;
+
+    public CompactInput(byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    public byte readByte() {
+        return this.buffer[this.position++];
+    }
+
+    public int readInt() {
+        int value = 0;
+        for (int index = 0; index < 4; index++) {
+            value = (value << 8) | (this.buffer[this.position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public long readLong() {
+        return ((long)readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    public int readVarInt() {
+        return (int)readVarLong();
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = this.buffer[this.position++];
+            value |= (long)(next & 0x7F) << shift;
+            shift += 7;
+        } while (next < 0);
+        return value;
+    }
+
+    public byte[] readBytes() {
+        int length = readVarInt();
+        byte[] bytes = Arrays.copyOfRange(this.buffer, this.position, this.position + length);
+        this.position += length;
+        return bytes;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+        return value;
+    }
+
+    /**
+     * Read a value written by CompactOutput.writeValue.
+     * The session's class loader is used for the values written using Java serialization.
+     */
+    public Object readValue(Session session) {
+        byte tag = readByte();
+        switch (tag) {
+            case CompactOutput.NULL:
+                return null;
+            case CompactOutput.LONG:
+                return CompactOutput.decodeZigZag(readVarLong());
+            case CompactOutput.INTEGER:
+                return (int)CompactOutput.decodeZigZag(readVarLong());
+            case CompactOutput.STRING:
+                return readString();
+            case CompactOutput.TRUE:
+                return Boolean.TRUE;
+            case CompactOutput.FALSE:
+                return Boolean.FALSE;
+            case CompactOutput.SHORT:
+                return (short)CompactOutput.decodeZigZag(readVarLong());
+            case CompactOutput.BYTE:
+                return readByte();
+            case CompactOutput.DOUBLE:
+                return Double.longBitsToDouble(readLong());
+            case CompactOutput.FLOAT:
+                return Float.intBitsToFloat(readInt());
+            case CompactOutput.BIG_DECIMAL:
+                int scale = (int)CompactOutput.decodeZigZag(readVarLong());
+                return new BigDecimal(new BigInteger(readBytes()), scale);
+            case CompactOutput.BIG_INTEGER:
+                return new BigInteger(readBytes());
+            case CompactOutput.TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(CompactOutput.decodeZigZag(readVarLong()));
+                timestamp.setNanos(readVarInt());
+                return timestamp;
+            case CompactOutput.SQL_DATE:
+                return new java.sql.Date(CompactOutput.decodeZigZag(readVarLong()));
+            case CompactOutput.DATE:
+                return new java.util.Date(CompactOutput.decodeZigZag(readVarLong()));
+            case CompactOutput.CACHE_ID:
+                Object[] primaryKey = new Object[readVarInt()];
+                for (int index = 0; index < primaryKey.length; index++) {
+                    primaryKey[index] = readValue(session);
+                }
+                return new CacheId(primaryKey);
+            case CompactOutput.BYTES:
+                return readBytes();
+            case CompactOutput.CHARACTER:
+                return (char)readVarInt();
+            case CompactOutput.SERIALIZED:
+                return JavaSerializer.instance.deserialize(readBytes(), session);
+            default:
+                throw new IllegalStateException("Unknown value type " + tag);
+        }
+    }
+}
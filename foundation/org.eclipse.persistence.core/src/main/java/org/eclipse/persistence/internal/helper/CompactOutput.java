@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.helper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+
+/**
+ * INTERNAL:
+ * Growable byte buffer with variable length integer encoding, and a typed binary form of the
+ * values of the database fields and primary keys, read back by CompactInput.
+ * Integral values are written as zig-zag variable length integers,
+ * values of unknown types are written using Java serialization.
+ *
+ * @see CompactInput
+ */
+public class CompactOutput {
+
+    /** Value type tags. */
+    public static final byte NULL = 0;
+    public static final byte INTEGER = 1;
+    public static final byte LONG = 2;
+    public static final byte STRING = 3;
+    public static final byte TRUE = 4;
+    public static final byte FALSE = 5;
+    public static final byte SHORT = 6;
+    public static final byte BYTE = 7;
+    public static final byte DOUBLE = 8;
+    public static final byte FLOAT = 9;
+    public static final byte BIG_DECIMAL = 10;
+    public static final byte BIG_INTEGER = 11;
+    public static final byte TIMESTAMP = 12;
+    public static final byte SQL_DATE = 13;
+    public static final byte DATE = 14;
+    public static final byte CACHE_ID = 15;
+    public static final byte BYTES = 16;
+    public static final byte CHARACTER = 17;
+    public static final byte SERIALIZED = 18;
+
+    private byte[] buffer;
+    private int position;
+
+    public CompactOutput(int size) {
+        this.buffer = new byte[size];
+    }
+
+    private void ensureCapacity(int size) {
+        if (this.position + size > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.position + size));
+        }
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        this.buffer[this.position++] = (byte)value;
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            this.buffer[this.position++] = (byte)(value >>> shift);
+        }
+    }
+
+    public void writeLong(long value) {
+        writeInt((int)(value >>> 32));
+        writeInt((int)value);
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer[this.position++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.position++] = (byte)value;
+    }
+
+    public void writeBytes(byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        // The length is shifted by one to distinguish null from the empty string.
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    /**
+     * Write the value tagged with its type, unknown types are written using Java serialization.
+     */
+    public void writeValue(Object value) {
+        if (value == null) {
+            writeByte(NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == Long.class) {
+            writeByte(LONG);
+            writeVarLong(encodeZigZag((Long)value));
+        } else if (type == Integer.class) {
+            writeByte(INTEGER);
+            writeVarLong(encodeZigZag((Integer)value));
+        } else if (type == String.class) {
+            writeByte(STRING);
+            writeString((String)value);
+        } else if (type == Boolean.class) {
+            writeByte((Boolean)value ? TRUE : FALSE);
+        } else if (type == Short.class) {
+            writeByte(SHORT);
+            writeVarLong(encodeZigZag((Short)value));
+        } else if (type == Byte.class) {
+            writeByte(BYTE);
+            writeByte((Byte)value);
+        } else if (type == Double.class) {
+            writeByte(DOUBLE);
+            writeLong(Double.doubleToRawLongBits((Double)value));
+        } else if (type == Float.class) {
+            writeByte(FLOAT);
+            writeInt(Float.floatToRawIntBits((Float)value));
+        } else if (type == BigDecimal.class) {
+            BigDecimal decimal = (BigDecimal)value;
+            writeByte(BIG_DECIMAL);
+            writeVarLong(encodeZigZag(decimal.scale()));
+            writeBytes(decimal.unscaledValue().toByteArray());
+        } else if (type == BigInteger.class) {
+            writeByte(BIG_INTEGER);
+            writeBytes(((BigInteger)value).toByteArray());
+        } else if (type == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = (java.sql.Timestamp)value;
+            writeByte(TIMESTAMP);
+            writeVarLong(encodeZigZag(timestamp.getTime()));
+            writeVarInt(timestamp.getNanos());
+        } else if (type == java.sql.Date.class) {
+            writeByte(SQL_DATE);
+            writeVarLong(encodeZigZag(((java.sql.Date)value).getTime()));
+        } else if (type == java.util.Date.class) {
+            writeByte(DATE);
+            writeVarLong(encodeZigZag(((java.util.Date)value).getTime()));
+        } else if (type == CacheId.class) {
+            Object[] primaryKey = ((CacheId)value).getPrimaryKey();
+            writeByte(CACHE_ID);
+            writeVarInt(primaryKey.length);
+            for (Object keyValue : primaryKey) {
+                writeValue(keyValue);
+            }
+        } else if (type == byte[].class) {
+            writeByte(BYTES);
+            writeBytes((byte[])value);
+        } else if (type == Character.class) {
+            writeByte(CHARACTER);
+            writeVarInt((Character)value);
+        } else {
+            writeByte(SERIALIZED);
+            writeBytes((byte[])JavaSerializer.instance.serialize(value, null));
+        }
+    }
+
+    /**
+     * Return the number of bytes written.
+     */
+    public int size() {
+        return this.position;
+    }
+
+    /**
+     * Discard the bytes written, keeping the buffer.
+     */
+    public void reset() {
+        this.position = 0;
+    }
+
+    /**
+     * Copy the bytes written into the byte buffer, at its position.
+     */
+    public void writeTo(ByteBuffer target) {
+        target.put(this.buffer, 0, this.position);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.position);
+    }
+
+    /**
+     * Map signed values to unsigned values so small negative values are written in few bytes.
+     */
+    public static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -28,8 +28,11 @@
 import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.persistence.config.SystemProperties;
 import org.eclipse.persistence.exceptions.ConcurrencyException;
@@ -69,6 +72,12 @@ public class ConcurrencyManager implements Serializable {
     protected boolean lockedByMergeManager;
     protected Exception stack;
 
+    // Used instead of the monitor of this instance if virtual thread safe locks are enabled, null otherwise.
+    protected final transient ReentrantLock instanceLock;
+    protected final transient Condition instanceLockCondition;
+    // If read locks are acquired lock-free, chosen at construction so that read locks are always released in the mode they were acquired.
+    protected final transient boolean useLockFreeReadLock;
+
     // Extended logging info fields
     // Unique ID assigned each time when a new instance of a concurrency manager is created
     private final long concurrencyManagerId = CONCURRENCY_MANAGER_ID.incrementAndGet();
@@ -106,6 +115,14 @@ public ConcurrencyManager() {
         this.depth  = new AtomicInteger(0);
         this.numberOfReaders = new AtomicInteger(0);
         this.numberOfWritersWaiting = new AtomicInteger(0);
+        this.useLockFreeReadLock = ConcurrencyUtil.SINGLETON.isUseLockFreeReadLock();
+        if (ConcurrencyUtil.SINGLETON.isUseVirtualThreadSafeLocks()) {
+            this.instanceLock = new ReentrantLock();
+            this.instanceLockCondition = this.instanceLock.newCondition();
+        } else {
+            this.instanceLock = null;
+            this.instanceLockCondition = null;
+        }
     }
 
     /**
@@ -123,7 +140,30 @@ public void acquire() throws ConcurrencyException {
      * This should be called before entering a critical section.
      * called with true from the merge process, if true then the refresh will not refresh the object
      */
-    public synchronized void acquire(boolean forMerge) throws ConcurrencyException {
+    public void acquire(boolean forMerge) throws ConcurrencyException {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                internalAcquire(forMerge);
+            }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            internalAcquire(forMerge);
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquire(boolean)}, must be called holding the monitor or the instance lock.
+     */
+    private void internalAcquire(boolean forMerge) throws ConcurrencyException {
+        if (this.useLockFreeReadLock) {
+            acquireWithLockFreeReadLocks(forMerge);
+            return;
+        }
         //Flag the time when we start the while loop
         final long whileStartTimeMillis = System.currentTimeMillis();
         Thread currentThread = Thread.currentThread();
@@ -141,7 +181,7 @@ public synchronized void acquire(boolean forMerge) throws ConcurrencyException {
             // This must be in a while as multiple threads may be released, or another thread may rush the acquire after one is released.
             try {
                 this.numberOfWritersWaiting.incrementAndGet();
-                wait(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
+                waitOnInstance(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
                 // Run a method that will fire up an exception if we having been sleeping for too long
                 ConcurrencyUtil.SINGLETON.determineIfReleaseDeferredLockAppearsToBeDeadLocked(this, whileStartTimeMillis, lockManager, readLockManager, ConcurrencyUtil.SINGLETON.isAllowInterruptedExceptionFired());
             } catch (InterruptedException exception) {
@@ -174,6 +214,65 @@ public synchronized void acquire(boolean forMerge) throws ConcurrencyException {
         this.depth.incrementAndGet();
     }
 
+    /**
+     * Variant of {@link #acquire(boolean)} used when read locks are acquired lock-free,
+     * see {@link #tryAcquireLockFreeReadLock()}. Must be called holding the monitor or the instance lock.
+     * The writer stays registered as waiting for the whole attempt so that the reader
+     * releasing the last read lock always notifies it.
+     */
+    private void acquireWithLockFreeReadLocks(boolean forMerge) throws ConcurrencyException {
+        final Thread currentThread = Thread.currentThread();
+        if (!tryClaimWriteLock(currentThread)) {
+            final long whileStartTimeMillis = System.currentTimeMillis();
+            DeferredLockManager lockManager = getDeferredLockManager(currentThread);
+            ReadLockManager readLockManager = getReadLockManager(currentThread);
+            putThreadAsWaitingToAcquireLockForWriting(currentThread, ACQUIRE_METHOD_NAME);
+            this.numberOfWritersWaiting.incrementAndGet();
+            try {
+                while (!tryClaimWriteLock(currentThread)) {
+                    try {
+                        waitOnInstance(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
+                        ConcurrencyUtil.SINGLETON.determineIfReleaseDeferredLockAppearsToBeDeadLocked(this, whileStartTimeMillis, lockManager, readLockManager, ConcurrencyUtil.SINGLETON.isAllowInterruptedExceptionFired());
+                    } catch (InterruptedException exception) {
+                        releaseAllLocksAcquiredByThread(lockManager);
+                        throw ConcurrencyException.waitWasInterrupted(exception.getMessage());
+                    }
+                }
+            } finally {
+                this.numberOfWritersWaiting.decrementAndGet();
+                removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
+            }
+        }
+        if (shouldTrackStack && (this.depth.get() == 0)) {
+            this.stack = new Exception();
+        }
+        this.lockedByMergeManager = forMerge;
+        this.depth.incrementAndGet();
+    }
+
+    /**
+     * Try to make the thread the active thread when read locks are acquired lock-free.
+     * Must be called holding the monitor or the instance lock.
+     * The claim is published before the number of readers is checked, while a lock-free reader
+     * increments the number of readers before checking the active thread, so at least one of
+     * them always sees the other one. If a reader got in first the claim is withdrawn, the reader
+     * may be nested in a lock held by this thread and must not wait on it.
+     */
+    private boolean tryClaimWriteLock(Thread currentThread) {
+        if (this.activeThread == currentThread) {
+            return true;
+        }
+        if ((this.activeThread != null) || (this.numberOfReaders.get() > 0)) {
+            return false;
+        }
+        this.activeThread = currentThread;
+        if (this.numberOfReaders.get() == 0) {
+            return true;
+        }
+        this.activeThread = null;
+        return false;
+    }
+
     /**
      * If the lock is not acquired already acquire it and return true.
      * If it has been acquired already return false
@@ -189,7 +288,32 @@ public boolean acquireNoWait() throws ConcurrencyException {
      * Added for CR 2317
      * called with true from the merge process, if true then the refresh will not refresh the object
      */
-    public synchronized boolean acquireNoWait(boolean forMerge) throws ConcurrencyException {
+    public boolean acquireNoWait(boolean forMerge) throws ConcurrencyException {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                return internalAcquireNoWait(forMerge);
+            }
+        }
+        instanceLock.lock();
+        try {
+            return internalAcquireNoWait(forMerge);
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquireNoWait(boolean)}, must be called holding the monitor or the instance lock.
+     */
+    private boolean internalAcquireNoWait(boolean forMerge) throws ConcurrencyException {
+        if (this.useLockFreeReadLock) {
+            if (tryClaimWriteLock(Thread.currentThread())) {
+                acquire(forMerge);
+                return true;
+            }
+            return false;
+        }
         if ((this.activeThread == null && this.numberOfReaders.get() == 0) || (this.activeThread == Thread.currentThread())) {
             //if I own the lock increment depth
             acquire(forMerge);
@@ -205,8 +329,43 @@ public synchronized boolean acquireNoWait(boolean forMerge) throws ConcurrencyEx
      * Added for CR 2317
      * called with true from the merge process, if true then the refresh will not refresh the object
      */
-    public synchronized boolean acquireWithWait(boolean forMerge, int wait) throws ConcurrencyException {
+    public boolean acquireWithWait(boolean forMerge, int wait) throws ConcurrencyException {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                return internalAcquireWithWait(forMerge, wait);
+            }
+        }
+        instanceLock.lock();
+        try {
+            return internalAcquireWithWait(forMerge, wait);
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquireWithWait(boolean, int)}, must be called holding the monitor or the instance lock.
+     */
+    private boolean internalAcquireWithWait(boolean forMerge, int wait) throws ConcurrencyException {
         final Thread currentThread = Thread.currentThread();
+        if (this.useLockFreeReadLock) {
+            if (!tryClaimWriteLock(currentThread)) {
+                try {
+                    putThreadAsWaitingToAcquireLockForWriting(currentThread, ACQUIRE_WITH_WAIT_METHOD_NAME);
+                    waitOnInstance(wait);
+                } catch (InterruptedException e) {
+                    return false;
+                } finally {
+                    removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
+                }
+                if (!tryClaimWriteLock(currentThread)) {
+                    return false;
+                }
+            }
+            acquire(forMerge);
+            return true;
+        }
         if ((this.activeThread == null && this.numberOfReaders.get() == 0) || (this.activeThread == currentThread)) {
             // if I own the lock increment depth
             acquire(forMerge);
@@ -214,7 +373,7 @@ public synchronized boolean acquireWithWait(boolean forMerge, int wait) throws C
         } else {
             try {
                 putThreadAsWaitingToAcquireLockForWriting(currentThread, ACQUIRE_WITH_WAIT_METHOD_NAME); 
-                wait(wait);
+                waitOnInstance(wait);
             } catch (InterruptedException e) {
                 return false;
             } finally {
@@ -235,8 +394,33 @@ public synchronized boolean acquireWithWait(boolean forMerge, int wait) throws C
      * Added for Bug 5840635
      * Call with true from the merge process, if true then the refresh will not refresh the object.
      */
-    public synchronized boolean acquireIfUnownedNoWait(boolean forMerge) throws ConcurrencyException {
+    public boolean acquireIfUnownedNoWait(boolean forMerge) throws ConcurrencyException {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                return internalAcquireIfUnownedNoWait(forMerge);
+            }
+        }
+        instanceLock.lock();
+        try {
+            return internalAcquireIfUnownedNoWait(forMerge);
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquireIfUnownedNoWait(boolean)}, must be called holding the monitor or the instance lock.
+     */
+    private boolean internalAcquireIfUnownedNoWait(boolean forMerge) throws ConcurrencyException {
         // Only acquire lock if active thread is null. Do not check current thread.
+        if (this.useLockFreeReadLock) {
+            if ((this.activeThread == null) && tryClaimWriteLock(Thread.currentThread())) {
+                acquire(forMerge);
+                return true;
+            }
+            return false;
+        }
         if (this.activeThread == null && this.numberOfReaders.get() == 0) {
              // if lock is unowned increment depth
             acquire(forMerge);
@@ -258,12 +442,37 @@ public void acquireDeferredLock() throws ConcurrencyException {
             putDeferredLock(currentThread, lockManager);
         }
         lockManager.incrementDepth();
-        synchronized (this) {
-            final long whileStartTimeMillis = System.currentTimeMillis();
-            final boolean currentThreadWillEnterTheWhileWait = this.numberOfReaders.get() != 0;
-            if(currentThreadWillEnterTheWhileWait) {
-                putThreadAsWaitingToAcquireLockForWriting(currentThread, ACQUIRE_DEFERRED_LOCK_METHOD_NAME); 
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                internalAcquireDeferredLock(currentThread, lockManager, readLockManager);
             }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            internalAcquireDeferredLock(currentThread, lockManager, readLockManager);
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquireDeferredLock()}, must be called holding the monitor or the instance lock.
+     */
+    private void internalAcquireDeferredLock(Thread currentThread, DeferredLockManager lockManager, ReadLockManager readLockManager) throws ConcurrencyException {
+        final long whileStartTimeMillis = System.currentTimeMillis();
+        final boolean currentThreadWillEnterTheWhileWait = this.numberOfReaders.get() != 0;
+        if(currentThreadWillEnterTheWhileWait) {
+            putThreadAsWaitingToAcquireLockForWriting(currentThread, ACQUIRE_DEFERRED_LOCK_METHOD_NAME); 
+        }
+        // Lock-free readers only notify if a writer is waiting, so the writer must be registered
+        // before the number of readers is checked again.
+        final boolean registerAsWaitingWriter = currentThreadWillEnterTheWhileWait || this.useLockFreeReadLock;
+        if (registerAsWaitingWriter) {
+            this.numberOfWritersWaiting.incrementAndGet();
+        }
+        try {
             while (this.numberOfReaders.get() != 0) {
                 // There are readers of this object, wait until they are done before determining if
                 //there are any other writers.  If not we will wait on the readers for acquire.  If another
@@ -272,8 +481,7 @@ public void acquireDeferredLock() throws ConcurrencyException {
                 //we could make the readers get a hard lock, but then we would just build a deferred lock even though
                 //the object is not being built.
                 try {
-                    this.numberOfWritersWaiting.incrementAndGet();
-                    wait(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
+                    waitOnInstance(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
                     ConcurrencyUtil.SINGLETON.determineIfReleaseDeferredLockAppearsToBeDeadLocked(this, whileStartTimeMillis, lockManager, readLockManager, ConcurrencyUtil.SINGLETON.isAllowInterruptedExceptionFired());
                 } catch (InterruptedException exception) {
                     // If the thread is interrupted we want to make sure we release all of the locks the thread was owning
@@ -282,21 +490,23 @@ public void acquireDeferredLock() throws ConcurrencyException {
                         removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
                     }
                     throw ConcurrencyException.waitWasInterrupted(exception.getMessage());
-                } finally {
-                    this.numberOfWritersWaiting.decrementAndGet();
                 }
             }
-            if (currentThreadWillEnterTheWhileWait) {
-                removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
+        } finally {
+            if (registerAsWaitingWriter) {
+                this.numberOfWritersWaiting.decrementAndGet();
             }
-            if ((this.activeThread == currentThread) || (!isAcquired())) {
-                lockManager.addActiveLock(this);
-                acquire();
-            } else {
-                lockManager.addDeferredLock(this);
-                if (AbstractSessionLog.getLog().shouldLog(SessionLog.FINER) && this instanceof CacheKey) {
-                    AbstractSessionLog.getLog().log(SessionLog.FINER, SessionLog.CACHE, "acquiring_deferred_lock", ((CacheKey)this).getObject(), currentThread.getName());
-                }
+        }
+        if (currentThreadWillEnterTheWhileWait) {
+            removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
+        }
+        if ((this.activeThread == currentThread) || (!isAcquired())) {
+            lockManager.addActiveLock(this);
+            acquire();
+        } else {
+            lockManager.addDeferredLock(this);
+            if (AbstractSessionLog.getLog().shouldLog(SessionLog.FINER) && this instanceof CacheKey) {
+                AbstractSessionLog.getLog().log(SessionLog.FINER, SessionLog.CACHE, "acquiring_deferred_lock", ((CacheKey)this).getObject(), currentThread.getName());
             }
         }
     }
@@ -331,19 +541,42 @@ public void checkReadLock() throws ConcurrencyException {
      * Wait on any writer.
      * Allow concurrent reads.
      */
-    public synchronized void acquireReadLock() throws ConcurrencyException {
+    public void acquireReadLock() throws ConcurrencyException {
+        final boolean useLockFreeReadLock = this.useLockFreeReadLock;
+        if (useLockFreeReadLock && tryAcquireLockFreeReadLock()) {
+            return;
+        }
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                internalAcquireReadLock(useLockFreeReadLock);
+            }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            internalAcquireReadLock(useLockFreeReadLock);
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquireReadLock()}, must be called holding the monitor or the instance lock.
+     */
+    private void internalAcquireReadLock(boolean useLockFreeReadLock) throws ConcurrencyException {
         final Thread currentThread = Thread.currentThread();
         final long whileStartTimeMillis = System.currentTimeMillis();
         DeferredLockManager lockManager = getDeferredLockManager(currentThread);
         ReadLockManager readLockManager = getReadLockManager(currentThread);
         final boolean currentThreadWillEnterTheWhileWait = (this.activeThread != null) && (this.activeThread != currentThread);
         if (currentThreadWillEnterTheWhileWait) {
-            putThreadAsWaitingToAcquireLockForReading(currentThread, ACQUIRE_READ_LOCK_METHOD_NAME); 
+            putThreadAsWaitingToAcquireLockForReading(currentThread, ACQUIRE_READ_LOCK_METHOD_NAME);
         }
         // Cannot check for starving writers as will lead to deadlocks.
         while ((this.activeThread != null) && (this.activeThread != Thread.currentThread())) {
             try {
-                wait(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
+                waitOnInstance(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
                 ConcurrencyUtil.SINGLETON.determineIfReleaseDeferredLockAppearsToBeDeadLocked(this, whileStartTimeMillis, lockManager, readLockManager, ConcurrencyUtil.SINGLETON.isAllowInterruptedExceptionFired());
             } catch (InterruptedException exception) {
                 releaseAllLocksAcquiredByThread(lockManager);
@@ -356,6 +589,12 @@ public synchronized void acquireReadLock() throws ConcurrencyException {
         if (currentThreadWillEnterTheWhileWait) {
             removeThreadNoLongerWaitingToAcquireLockForReading(currentThread);
         }
+        if (useLockFreeReadLock) {
+            // Writers claim the lock holding the monitor or the instance lock, so the reader can not be overtaken here.
+            this.numberOfReaders.incrementAndGet();
+            this.totalNumberOfKeysAcquiredForReading.incrementAndGet();
+            return;
+        }
         try {
             addReadLockToReadLockManager();
         } finally {
@@ -364,10 +603,84 @@ public synchronized void acquireReadLock() throws ConcurrencyException {
         }
     }
 
+    /**
+     * Acquire the read lock without entering the monitor if no other thread owns the lock.
+     * The number of readers is incremented before the active thread is checked, a writer
+     * publishes itself as active thread before checking the number of readers, see
+     * {@link #tryClaimWriteLock(Thread)}. Return false if the reader has to wait for the writer.
+     * Read locks acquired this way are not recorded in the read lock manager of the thread.
+     */
+    protected boolean tryAcquireLockFreeReadLock() {
+        this.numberOfReaders.incrementAndGet();
+        final Thread owner = this.activeThread;
+        if ((owner == null) || (owner == Thread.currentThread())) {
+            this.totalNumberOfKeysAcquiredForReading.incrementAndGet();
+            return true;
+        }
+        decrementLockFreeReaders();
+        return false;
+    }
+
+    /**
+     * Release a read lock acquired lock-free.
+     */
+    protected void releaseLockFreeReadLock() throws ConcurrencyException {
+        decrementLockFreeReaders();
+        this.totalNumberOfKeysReleasedForReading.incrementAndGet();
+    }
+
+    /**
+     * Decrement the number of readers of a read lock acquired lock-free.
+     * Writers waiting for the readers to finish are only notified by the last reader.
+     */
+    private void decrementLockFreeReaders() throws ConcurrencyException {
+        int readers;
+        do {
+            readers = this.numberOfReaders.get();
+            if (readers == 0) {
+                this.totalNumberOfKeysReleasedForReadingBlewUpExceptionDueToCacheKeyHavingReachedCounterZero.incrementAndGet();
+                throw ConcurrencyException.signalAttemptedBeforeWait();
+            }
+        } while (!this.numberOfReaders.compareAndSet(readers, readers - 1));
+        if ((readers == 1) && (this.numberOfWritersWaiting.get() > 0)) {
+            final ReentrantLock instanceLock = this.instanceLock;
+            if (instanceLock == null) {
+                synchronized (this) {
+                    notifyAll();
+                }
+                return;
+            }
+            instanceLock.lock();
+            try {
+                this.instanceLockCondition.signalAll();
+            } finally {
+                instanceLock.unlock();
+            }
+        }
+    }
+
     /**
      * If this is acquired return false otherwise acquire readlock and return true
      */
-    public synchronized boolean acquireReadLockNoWait() {
+    public boolean acquireReadLockNoWait() {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                return internalAcquireReadLockNoWait();
+            }
+        }
+        instanceLock.lock();
+        try {
+            return internalAcquireReadLockNoWait();
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #acquireReadLockNoWait()}, must be called holding the monitor or the instance lock.
+     */
+    private boolean internalAcquireReadLockNoWait() {
         if ((this.activeThread == null) || (this.activeThread == Thread.currentThread())) {
             acquireReadLock();
             return true;
@@ -587,7 +900,26 @@ public void putDeferredLock(Thread thread, DeferredLockManager lockManager) {
      * The notify will release the first thread waiting on the object,
      * if no threads are waiting it will do nothing.
      */
-    public synchronized void release() throws ConcurrencyException {
+    public void release() throws ConcurrencyException {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                internalRelease();
+            }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            internalRelease();
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #release()}, must be called holding the monitor or the instance lock.
+     */
+    private void internalRelease() throws ConcurrencyException {
         if (this.depth.get() == 0) {
             throw ConcurrencyException.signalAttemptedBeforeWait();
         } else {
@@ -599,7 +931,7 @@ public synchronized void release() throws ConcurrencyException {
                 this.stack = null;
             }
             this.lockedByMergeManager = false;
-            notifyAll();
+            notifyAllOnInstance();
         }
     }
 
@@ -691,7 +1023,30 @@ public void releaseDeferredLock() throws ConcurrencyException {
     /**
      * Decrement the number of readers. Used to allow concurrent reads.
      */
-    public synchronized void releaseReadLock() throws ConcurrencyException {
+    public void releaseReadLock() throws ConcurrencyException {
+        if (this.useLockFreeReadLock) {
+            releaseLockFreeReadLock();
+            return;
+        }
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                internalReleaseReadLock();
+            }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            internalReleaseReadLock();
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #releaseReadLock()}, must be called holding the monitor or the instance lock.
+     */
+    private void internalReleaseReadLock() throws ConcurrencyException {
         if (this.numberOfReaders.get() == 0) {
             this.totalNumberOfKeysReleasedForReadingBlewUpExceptionDueToCacheKeyHavingReachedCounterZero.incrementAndGet();
             try {
@@ -709,7 +1064,7 @@ public synchronized void releaseReadLock() throws ConcurrencyException {
             }
         }
         if (this.numberOfReaders.get() == 0) {
-            notifyAll();
+            notifyAllOnInstance();
         }
     }
 
@@ -758,7 +1113,26 @@ protected void setNumberOfWritersWaiting(int numberOfWritersWaiting) {
         this.numberOfWritersWaiting.set(numberOfWritersWaiting);
     }
 
-    public synchronized void transitionToDeferredLock() {
+    public void transitionToDeferredLock() {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                internalTransitionToDeferredLock();
+            }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            internalTransitionToDeferredLock();
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #transitionToDeferredLock()}, must be called holding the monitor or the instance lock.
+     */
+    private void internalTransitionToDeferredLock() {
         Thread currentThread = Thread.currentThread();
         DeferredLockManager lockManager = getDeferredLockManager(currentThread);
         if (lockManager == null) {
@@ -769,6 +1143,58 @@ public synchronized void transitionToDeferredLock() {
         lockManager.addActiveLock(this);
     }
 
+    /**
+     * Wait until notified or the timeout (ms) elapsed, 0 waits until notified.
+     * Must be called holding the monitor or the instance lock, the instance lock condition is used
+     * if virtual thread safe locks are enabled.
+     */
+    protected void waitOnInstance(long timeout) throws InterruptedException {
+        if (this.instanceLock == null) {
+            wait(timeout);
+        } else if (timeout == 0) {
+            this.instanceLockCondition.await();
+        } else {
+            this.instanceLockCondition.await(timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Wake up all threads waiting in {@link #waitOnInstance(long)}.
+     * Must be called holding the monitor or the instance lock.
+     */
+    protected void notifyAllOnInstance() {
+        if (this.instanceLock == null) {
+            notifyAll();
+        } else {
+            this.instanceLockCondition.signalAll();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * If the lock is acquired by a thread, wait until it is released or the timeout (ms) elapsed, 0 waits until released.
+     * Used instead of waiting on the monitor of the cache key, as the monitor is not notified if virtual thread safe locks are enabled.
+     */
+    public void waitForRelease(long timeout) throws InterruptedException {
+        final ReentrantLock instanceLock = this.instanceLock;
+        if (instanceLock == null) {
+            synchronized (this) {
+                if (isAcquired()) {
+                    wait(timeout);
+                }
+            }
+            return;
+        }
+        instanceLock.lock();
+        try {
+            if (isAcquired()) {
+                waitOnInstance(timeout);
+            }
+        } finally {
+            instanceLock.unlock();
+        }
+    }
+
     /**
      * For the thread to release all of its locks.
      *
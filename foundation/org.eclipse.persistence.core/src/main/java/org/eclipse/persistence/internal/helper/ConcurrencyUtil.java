@@ -59,6 +59,8 @@ public class ConcurrencyUtil {
     public static final int DEFAULT_CONCURRENCY_MANAGER_WRITE_LOCK_MANAGER_ACQUIRE_REQUIRED_LOCKS_NO_THREADS = 2;
     public static final long DEFAULT_CONCURRENCY_SEMAPHORE_MAX_TIME_PERMIT = 2000L;
     public static final long DEFAULT_CONCURRENCY_SEMAPHORE_LOG_TIMEOUT = 10000L;
+    public static final boolean DEFAULT_USE_LOCK_FREE_READ_LOCK = false;
+    public static final boolean DEFAULT_USE_VIRTUAL_THREAD_SAFE_LOCKS = false;
 
     private long acquireWaitTime = getLongProperty(SystemProperties.CONCURRENCY_MANAGER_ACQUIRE_WAIT_TIME, DEFAULT_ACQUIRE_WAIT_TIME);
     private long buildObjectCompleteWaitTime = getLongProperty(SystemProperties.CONCURRENCY_MANAGER_BUILD_OBJECT_COMPLETE_WAIT_TIME, DEFAULT_BUILD_OBJECT_COMPLETE_WAIT_TIME);
@@ -75,6 +77,8 @@ public class ConcurrencyUtil {
     private int noOfThreadsAllowedToDoWriteLockManagerAcquireRequiredLocksInParallel = getIntProperty(SystemProperties.CONCURRENCY_MANAGER_WRITE_LOCK_MANAGER_ACQUIRE_REQUIRED_LOCKS_NO_THREADS, DEFAULT_CONCURRENCY_MANAGER_WRITE_LOCK_MANAGER_ACQUIRE_REQUIRED_LOCKS_NO_THREADS);
     private long concurrencySemaphoreMaxTimePermit = getLongProperty(SystemProperties.CONCURRENCY_SEMAPHORE_MAX_TIME_PERMIT, DEFAULT_CONCURRENCY_SEMAPHORE_MAX_TIME_PERMIT);
     private long concurrencySemaphoreLogTimeout = getLongProperty(SystemProperties.CONCURRENCY_SEMAPHORE_LOG_TIMEOUT, DEFAULT_CONCURRENCY_SEMAPHORE_LOG_TIMEOUT);
+    private volatile boolean useLockFreeReadLock = getBooleanProperty(SystemProperties.CONCURRENCY_MANAGER_USE_LOCK_FREE_READ_LOCK, DEFAULT_USE_LOCK_FREE_READ_LOCK);
+    private volatile boolean useVirtualThreadSafeLocks = getBooleanProperty(SystemProperties.CONCURRENCY_MANAGER_USE_VIRTUAL_THREAD_SAFE_LOCKS, DEFAULT_USE_VIRTUAL_THREAD_SAFE_LOCKS);
 
     /**
      * Thread local variable that allows the current thread to know when was the last time that this specific thread
@@ -348,6 +352,22 @@ public void setConcurrencySemaphoreLogTimeout(long concurrencySemaphoreLogTimeou
         this.concurrencySemaphoreLogTimeout = concurrencySemaphoreLogTimeout;
     }
 
+    public boolean isUseLockFreeReadLock() {
+        return useLockFreeReadLock;
+    }
+
+    public void setUseLockFreeReadLock(boolean useLockFreeReadLock) {
+        this.useLockFreeReadLock = useLockFreeReadLock;
+    }
+
+    public boolean isUseVirtualThreadSafeLocks() {
+        return useVirtualThreadSafeLocks;
+    }
+
+    public void setUseVirtualThreadSafeLocks(boolean useVirtualThreadSafeLocks) {
+        this.useVirtualThreadSafeLocks = useVirtualThreadSafeLocks;
+    }
+
     /**
      *
      * @return A to string of the cache key (e.g. that we are trying to lock
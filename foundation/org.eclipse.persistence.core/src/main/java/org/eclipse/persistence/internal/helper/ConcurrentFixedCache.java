@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -17,17 +17,65 @@
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Provide a concurrent fixed size caching mechanism.
  * This is used for caching EJBQL parsed queries, Update calls,
  * and other places a fixed size cache is needed.
  * The default fixed size is 100.
+ * <p>
+ * Gets are not locked. When the cache is full, a put compares the access frequency of the new key with
+ * the eldest cached key (TinyLFU admission): the less frequently used one is evicted, a surviving eldest key
+ * is moved to the end of the insertion order. The access frequencies are counted approximately in a small
+ * count-min sketch, which is halved periodically so that the frequencies of old accesses age.
+ * <p>
+ * A get does not write the sketch, the key is only recorded into one of several striped, lossy access buffers,
+ * the thread picks the buffer by its id. The recorded accesses are counted (drained) by the next put under
+ * the lock of the cache, so the sketch, its aging and the sample count are only updated by one thread at a time.
+ * A put counts as an access of its key.
  */
 public class ConcurrentFixedCache implements Serializable {
+
+    /** Maximal count of a frequency counter, hot keys stop writing to the sketch at this count. */
+    protected static final int MAX_FREQUENCY = 15;
+
+    /** Odd multipliers giving the four counter indexes of a key. */
+    protected static final int[] FREQUENCY_SEEDS = {0x97cb3127, 0xb7e15163, 0xcaf649a9, 0x1b873593};
+
+    /** Number of slots of an access buffer, must be a power of two. */
+    protected static final int ACCESS_BUFFER_SIZE = 16;
+
+    /** Maximal number of access buffers, must be a power of two. */
+    protected static final int MAX_ACCESS_BUFFERS = 16;
+
     protected int maxSize;
     protected Map cache;
 
+    /** Keys in insertion order, the first key is compared first on eviction, guarded by synchronizing on the receiver. */
+    protected LinkedHashSet<Object> insertionOrder;
+
+    /** Count-min sketch of the access frequencies of the keys, hit or missed, guarded by synchronizing on the receiver. */
+    protected int[] frequencies;
+
+    /** Number of counted accesses since the sketch was last aged, guarded by synchronizing on the receiver. */
+    protected int frequencySamples;
+
+    /** Striped buffers of the keys got since the last drain. */
+    protected AtomicReferenceArray<Object>[] accessBuffers;
+
+    /** Write index of each access buffer. */
+    protected AtomicInteger[] accessBufferIndexes;
+
+    /** Index of each access buffer up to which it was drained, guarded by synchronizing on the receiver. */
+    protected int[] accessBufferDrainIndexes;
+
+    protected LongAdder hits;
+    protected LongAdder misses;
+    protected LongAdder evictions;
+
     /**
      * Create a new concurrent cache, with a fixed size of 100.
      */
@@ -38,10 +86,28 @@ public ConcurrentFixedCache() {
     /**
      * Create a new concurrent cache, with the max size.
      */
+    @SuppressWarnings("unchecked")
     public ConcurrentFixedCache(int maxSize) {
         // PERF: Use a concurrent map to allow concurrent gets.
         this.cache = new ConcurrentHashMap(maxSize);
         this.maxSize = maxSize;
+        this.insertionOrder = new LinkedHashSet<>();
+        this.frequencies = new int[frequencyTableSize(maxSize)];
+        int buffers = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while ((buffers < processors) && (buffers < MAX_ACCESS_BUFFERS)) {
+            buffers = buffers << 1;
+        }
+        this.accessBuffers = new AtomicReferenceArray[buffers];
+        this.accessBufferIndexes = new AtomicInteger[buffers];
+        this.accessBufferDrainIndexes = new int[buffers];
+        for (int index = 0; index < buffers; index++) {
+            this.accessBuffers[index] = new AtomicReferenceArray<>(ACCESS_BUFFER_SIZE);
+            this.accessBufferIndexes[index] = new AtomicInteger();
+        }
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
     }
 
     /**
@@ -53,57 +119,90 @@ public int getMaxSize() {
 
     /**
      * Set the fixed size of the parse cache.
-     * When the size is exceeded, subsequent EJBQL will not be cached.
+     * When the size is exceeded, the least frequently used entries are removed on the next put.
      * The default size is 100;
      */
-    public void setMaxSize(int maxSize) {
+    public synchronized void setMaxSize(int maxSize) {
         this.maxSize = maxSize;
+        this.frequencies = new int[frequencyTableSize(maxSize)];
+        this.frequencySamples = 0;
+        // The accesses recorded for the old sketch are discarded.
+        for (int bufferIndex = 0; bufferIndex < this.accessBuffers.length; bufferIndex++) {
+            this.accessBufferDrainIndexes[bufferIndex] = this.accessBufferIndexes[bufferIndex].get();
+        }
     }
 
     /**
      * Return the pre-parsed query that represents the EJBQL string.
      * If the EJBQL has not been cached, null is returned.
+     * The access is recorded into an access buffer, to be counted by the next put.
      */
     public Object get(Object key) {
-        return this.cache.get(key);
+        Object value = this.cache.get(key);
+        if (value == null) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        recordAccess(key);
+        return value;
     }
 
-    public void clear(){
+    public synchronized void clear(){
         this.cache.clear();
+        this.insertionOrder.clear();
     }
 
     /**
      * Add the value to the cache.
-     * Remove the
+     * If the cache is full, the value is only added if its key was used more frequently than the eldest key,
+     * otherwise the eldest key is removed.
+     * The put is counted as an access of the key, after the accesses recorded by the gets.
      */
     public void put(Object key, Object value) {
         if (this.maxSize == 0) {
             return;
         }
-        this.cache.put(key, value);
-        // Currently just removes the first one encountered, not LRU,
-        // this is not ideal, but the most concurrent and quickest way to ensure fixed size.
-        if (this.cache.size() > this.maxSize) {
-            Iterator iterator = this.cache.keySet().iterator();
-            try {
-                while ((this.cache.size() > this.maxSize) && iterator.hasNext()) {
-                    Object next = iterator.next();
-                    // Do not remove what was just put in.
-                    if (next != key) {
-                        this.cache.remove(next);
-                    }
+        synchronized (this) {
+            drainAccessBuffers();
+            recordFrequency(key);
+            if (this.cache.containsKey(key)) {
+                this.cache.put(key, value);
+                this.insertionOrder.add(key);
+                return;
+            }
+            // The cache may have been modified through getCache(), ignore the keys no longer cached.
+            if (this.insertionOrder.size() > (this.maxSize * 2)) {
+                this.insertionOrder.retainAll(this.cache.keySet());
+            }
+            int frequency = frequency(key);
+            Iterator<Object> iterator = this.insertionOrder.iterator();
+            while ((this.cache.size() >= this.maxSize) && iterator.hasNext()) {
+                Object eldest = iterator.next();
+                iterator.remove();
+                if (!this.cache.containsKey(eldest)) {
+                    continue;
                 }
-            } catch (Exception alreadyGone) {
-                // Ignore.
+                if (frequency <= frequency(eldest)) {
+                    // The eldest key is used more frequently, keep it and do not cache the new key.
+                    this.insertionOrder.add(eldest);
+                    this.evictions.increment();
+                    return;
+                }
+                this.cache.remove(eldest);
+                this.evictions.increment();
             }
+            this.cache.put(key, value);
+            this.insertionOrder.add(key);
         }
     }
 
     /**
      * Remove from cache.
      */
-    public void remove(Object key) {
+    public synchronized void remove(Object key) {
         this.cache.remove(key);
+        this.insertionOrder.remove(key);
     }
 
     /**
@@ -112,4 +211,126 @@ public void remove(Object key) {
     public Map getCache() {
         return cache;
     }
+
+    /**
+     * Return the number of gets that found the key.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Return the number of gets that did not find the key.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Return the number of keys removed or not added because the cache was full.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Reset the hit, miss and eviction counts.
+     */
+    public void resetStatistics() {
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    /**
+     * Return the power of two size of the frequency sketch for the max size.
+     */
+    protected static int frequencyTableSize(int maxSize) {
+        int size = 64;
+        while ((size < (maxSize * 16)) && (size < (1 << 20))) {
+            size = size << 1;
+        }
+        return size;
+    }
+
+    /**
+     * Return the index of the counter of the key for the seed.
+     * The hash is spread first, as the hashes of similar query strings only differ in a few bits.
+     */
+    protected static int frequencyIndex(int hash, int seed, int length) {
+        int spread = (hash ^ (hash >>> 16)) * 0x45d9f3b;
+        spread = spread ^ (spread >>> 16);
+        return (spread * seed) >>> (32 - Integer.numberOfTrailingZeros(length));
+    }
+
+    /**
+     * Record the access of the key into the access buffer of the current thread.
+     * A full buffer overwrites the oldest accesses, a lost access only makes the frequency less precise.
+     */
+    protected void recordAccess(Object key) {
+        int bufferIndex = (int)Thread.currentThread().getId() & (this.accessBuffers.length - 1);
+        int index = this.accessBufferIndexes[bufferIndex].getAndIncrement() & (ACCESS_BUFFER_SIZE - 1);
+        this.accessBuffers[bufferIndex].lazySet(index, key);
+    }
+
+    /**
+     * Count the keys recorded in the access buffers in the frequency sketch.
+     * Callers of this method must synchronize on the receiver.
+     */
+    protected void drainAccessBuffers() {
+        for (int bufferIndex = 0; bufferIndex < this.accessBuffers.length; bufferIndex++) {
+            AtomicReferenceArray<Object> accessBuffer = this.accessBuffers[bufferIndex];
+            int writeIndex = this.accessBufferIndexes[bufferIndex].get();
+            int index = this.accessBufferDrainIndexes[bufferIndex];
+            // Only the last slots written since the last drain hold accesses, older accesses were overwritten.
+            if ((writeIndex - index) > ACCESS_BUFFER_SIZE) {
+                index = writeIndex - ACCESS_BUFFER_SIZE;
+            }
+            for (; index != writeIndex; index++) {
+                Object key = accessBuffer.getAndSet(index & (ACCESS_BUFFER_SIZE - 1), null);
+                // The slot is null if the get incremented the index but did not yet write the key.
+                if (key != null) {
+                    recordFrequency(key);
+                }
+            }
+            this.accessBufferDrainIndexes[bufferIndex] = writeIndex;
+        }
+    }
+
+    /**
+     * Count the access of the key in the frequency sketch, and age the sketch periodically.
+     * Callers of this method must synchronize on the receiver.
+     */
+    protected void recordFrequency(Object key) {
+        int[] table = this.frequencies;
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int seed : FREQUENCY_SEEDS) {
+            int index = frequencyIndex(hash, seed, table.length);
+            if (table[index] < MAX_FREQUENCY) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && (++this.frequencySamples >= (table.length * 10))) {
+            // Age all frequencies so keys used frequently in the past do not stay cached forever.
+            this.frequencySamples = 0;
+            for (int index = 0; index < table.length; index++) {
+                table[index] = table[index] >>> 1;
+            }
+        }
+    }
+
+    /**
+     * Return the estimated access frequency of the key.
+     */
+    protected int frequency(Object key) {
+        int[] table = this.frequencies;
+        int hash = key.hashCode();
+        int frequency = MAX_FREQUENCY;
+        for (int seed : FREQUENCY_SEEDS) {
+            frequency = Math.min(frequency, table[frequencyIndex(hash, seed, table.length)]);
+        }
+        return frequency;
+    }
 }
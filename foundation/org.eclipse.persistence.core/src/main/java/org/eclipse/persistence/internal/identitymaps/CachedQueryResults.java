@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.helper.InvalidObject;
+import org.eclipse.persistence.internal.queries.ContainerPolicy;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReadQuery;
+
+/**
+ * INTERNAL:
+ * The results of a query cached for a set of parameters, with what the results depend on.
+ * <p>
+ * If the query invalidates its results by dependency, the primary keys of the objects of the results
+ * and the selection criteria of the query with its parameters are recorded. A change to an object of the
+ * query class then only invalidates the results if the object is part of the results, or if the object
+ * conforms to the selection criteria and could be part of them. Otherwise any change invalidates the results.
+ *
+ * @see org.eclipse.persistence.queries.QueryResultsCachePolicy#setInvalidateByDependency(boolean)
+ */
+public class CachedQueryResults {
+
+    /** The results of the query, InvalidObject for no result. */
+    protected final Object results;
+
+    /** The number of objects of the results. */
+    protected final int size;
+
+    /** The System.nanoTime when the results were cached, used to evict the oldest results first. */
+    protected final long cachedTime;
+
+    /** The primary keys of the objects of the results, null if the dependencies are not known. */
+    protected Set<Object> primaryKeys;
+
+    protected Class<?> referenceClass;
+    protected Expression selectionCriteria;
+    protected AbstractRecord translationRow;
+
+    public CachedQueryResults(ReadQuery query, List parameters, Object results, AbstractSession session) {
+        this.results = results;
+        this.size = (results instanceof Collection) ? ((Collection<?>)results).size()
+                : (results instanceof Map) ? ((Map<?, ?>)results).size() : 1;
+        this.cachedTime = System.nanoTime();
+        if (query.getQueryResultsCachePolicy().getInvalidateByDependency()) {
+            recordDependencies(query, parameters, session);
+        }
+    }
+
+    /**
+     * Record the primary keys of the objects of the results, and the selection criteria to conform new objects to.
+     * Only the queries returning the objects of their reference class matching their selection criteria are supported,
+     * the first result and maximum rows make the results depend on the objects before them.
+     */
+    protected void recordDependencies(ReadQuery query, List parameters, AbstractSession session) {
+        if (!query.isObjectLevelReadQuery() || query.isReportQuery() || query.isCallQuery()
+                || (query.getFirstResult() > 0) || (query.getMaxRows() > 0)) {
+            return;
+        }
+        ClassDescriptor descriptor = query.getDescriptor();
+        if ((descriptor == null) || (query.getReferenceClass() == null)) {
+            return;
+        }
+        Set<Object> keys = new HashSet<>();
+        AbstractRecord row;
+        try {
+            row = query.rowFromArguments((parameters == null) ? Collections.emptyList() : parameters, session);
+            if (this.results == InvalidObject.instance) {
+                // No result.
+            } else if (query.isReadAllQuery()) {
+                ContainerPolicy containerPolicy = ((ReadAllQuery)query).getContainerPolicy();
+                for (Object iterator = containerPolicy.iteratorFor(this.results); containerPolicy.hasNext(iterator);) {
+                    if (!addPrimaryKey(containerPolicy.next(iterator, session), keys, session)) {
+                        return;
+                    }
+                }
+            } else if (!addPrimaryKey(this.results, keys, session)) {
+                return;
+            }
+        } catch (RuntimeException unknownResults) {
+            return;
+        }
+        this.primaryKeys = keys;
+        this.referenceClass = query.getReferenceClass();
+        this.selectionCriteria = query.getSelectionCriteria();
+        this.translationRow = row;
+    }
+
+    protected boolean addPrimaryKey(Object object, Set<Object> keys, AbstractSession session) {
+        if (object == null) {
+            return true;
+        }
+        ClassDescriptor descriptor = session.getDescriptor(object);
+        if (descriptor == null) {
+            return false;
+        }
+        Object primaryKey = descriptor.getObjectBuilder().extractPrimaryKeyFromObject(object, session);
+        if (primaryKey == null) {
+            return false;
+        }
+        keys.add(primaryKey);
+        return true;
+    }
+
+    public Object getResults() {
+        return this.results;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public long getCachedTime() {
+        return this.cachedTime;
+    }
+
+    /**
+     * Return if the dependencies of the results are known.
+     */
+    public boolean hasDependencies() {
+        return this.primaryKeys != null;
+    }
+
+    /**
+     * Return if the changes to the objects of the class could affect the results.
+     * The object of each change set is the unit of work clone if any, or the object in the cache.
+     */
+    public boolean isAffectedBy(Class<?> changedClass, Collection<ObjectChangeSet> changeSets, IdentityMapManager manager, AbstractSession session) {
+        if ((this.primaryKeys == null) || !this.referenceClass.isAssignableFrom(changedClass)) {
+            // A change to a related class could affect the selection criteria.
+            return true;
+        }
+        for (ObjectChangeSet changeSet : changeSets) {
+            if (this.primaryKeys.contains(changeSet.getId())) {
+                return true;
+            }
+            if (changeSet.shouldBeDeleted()) {
+                continue;
+            }
+            if (this.selectionCriteria == null) {
+                return true;
+            }
+            Object object = changeSet.getUnitOfWorkClone();
+            if (object == null) {
+                ClassDescriptor descriptor = session.getDescriptor(changedClass);
+                object = manager.getFromIdentityMap(changeSet.getId(), changedClass, descriptor);
+            }
+            if (object == null) {
+                return true;
+            }
+            ExpressionBuilder builder = this.selectionCriteria.getBuilder();
+            if (builder.getSession() == null) {
+                builder.setSession(session.getRootSession(null));
+                builder.setQueryClass(this.referenceClass);
+            }
+            try {
+                if (this.selectionCriteria.doesConform(object, session, this.translationRow, InMemoryQueryIndirectionPolicy.SHOULD_IGNORE_EXCEPTION_RETURN_CONFORMED)) {
+                    return true;
+                }
+            } catch (RuntimeException cannotConform) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+
+/**
+ * <p><b>Purpose</b>: A fixed size, approximate LRU cache for concurrent access.<p>
+ * Like the {@link CacheIdentityMap} a linked list of the cache keys is maintained in the access order,
+ * but a cache hit does not reorder the list under a lock. The hit is only recorded into one of several
+ * striped, lossy read buffers, the thread picks the buffer by its id. The recorded hits are applied to the list
+ * (drained) by the thread filling a buffer if the list lock is free, and by every put before the eviction.
+ * Hits lost by a full buffer or not yet drained only make the LRU order approximate, so cache hits scale with the
+ * number of threads instead of being serialized on the list.
+ * <p><b>Responsibilities</b>:<ul>
+ *    <li> Guarantees identity through primary key values
+ *    <li> Keeps the size of the cache at the maxSize, evicting the least recently used cache keys.
+ * </ul>
+ * @see CacheIdentityMap
+ */
+public class ConcurrentCacheIdentityMap extends FullIdentityMap {
+
+    /** Number of slots of a read buffer, must be a power of two. */
+    protected static final int READ_BUFFER_SIZE = 16;
+
+    /** Maximal number of read buffers, must be a power of two. */
+    protected static final int MAX_READ_BUFFERS = 64;
+
+    /** Guards the linked list and the linked size. */
+    protected ReentrantLock evictionLock;
+
+    /** Head of the linked list, the next element is evicted first. */
+    protected LinkedCacheKey first;
+
+    /** Tail of the linked list, the previous element is the most recently used. */
+    protected LinkedCacheKey last;
+
+    /** Number of cache keys in the linked list. */
+    protected int linkedSize;
+
+    /** Striped buffers of the cache keys hit since the last drain. */
+    protected AtomicReferenceArray<LinkedCacheKey>[] readBuffers;
+
+    /** Write index of each read buffer. */
+    protected AtomicInteger[] readBufferIndexes;
+
+    /** Index of each read buffer up to which it was drained, guarded by the eviction lock. */
+    protected int[] readBufferDrainIndexes;
+
+    public ConcurrentCacheIdentityMap(int size, ClassDescriptor descriptor, AbstractSession session, boolean isolated) {
+        super(size, descriptor, session, isolated);
+        initialize();
+    }
+
+    /**
+     * Build the empty linked list and read buffers.
+     */
+    @SuppressWarnings("unchecked")
+    protected void initialize() {
+        this.evictionLock = new ReentrantLock();
+        this.first = new LinkedCacheKey(CacheId.EMPTY, null, null, 0, isIsolated);
+        this.last = new LinkedCacheKey(CacheId.EMPTY, null, null, 0, isIsolated);
+        this.first.setNext(this.last);
+        this.last.setPrevious(this.first);
+        this.linkedSize = 0;
+        int buffers = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while ((buffers < processors) && (buffers < MAX_READ_BUFFERS)) {
+            buffers = buffers << 1;
+        }
+        this.readBuffers = new AtomicReferenceArray[buffers];
+        this.readBufferIndexes = new AtomicInteger[buffers];
+        this.readBufferDrainIndexes = new int[buffers];
+        for (int index = 0; index < buffers; index++) {
+            this.readBuffers[index] = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+            this.readBufferIndexes[index] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Clones itself, the cloned cache keys are linked in the order of the receiver.
+     */
+    @Override
+    public Object clone() {
+        ConcurrentCacheIdentityMap clone = (ConcurrentCacheIdentityMap)super.clone();
+        clone.initialize();
+        // The cloned cache keys still reference the linked list of the receiver.
+        for (CacheKey clonedKey : clone.getCacheKeys().values()) {
+            ((LinkedCacheKey)clonedKey).setPrevious(null);
+            ((LinkedCacheKey)clonedKey).setNext(null);
+        }
+        this.evictionLock.lock();
+        try {
+            drainReadBuffers();
+            for (LinkedCacheKey key = this.first.getNext(); key != this.last; key = key.getNext()) {
+                CacheKey clonedKey = clone.getCacheKeys().get(key.getKey());
+                if (clonedKey != null) {
+                    clone.linkLast((LinkedCacheKey)clonedKey);
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+        return clone;
+    }
+
+    @Override
+    public CacheKey createCacheKey(Object primaryKey, Object object, Object writeLockValue, long readTime) {
+        return new LinkedCacheKey(primaryKey, object, writeLockValue, readTime, isIsolated);
+    }
+
+    /**
+     * Access the object within the table for the given primaryKey.
+     * The hit is recorded into a read buffer to be moved to the end of the LRU list later.
+     * @param primaryKeys is the primary key for the object to search for.
+     * @return the LinkedCacheKey or null if none found for primaryKey
+     */
+    @Override
+    public CacheKey getCacheKey(Object primaryKeys, boolean forMerge) {
+        CacheKey cacheKey = super.getCacheKey(primaryKeys, forMerge);
+        if (cacheKey != null) {
+            recordAccess((LinkedCacheKey)cacheKey);
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Record the hit of the cache key into the read buffer of the current thread.
+     * A full buffer overwrites the oldest hits, the thread writing the last slot drains the buffers
+     * if no other thread holds the eviction lock.
+     */
+    protected void recordAccess(LinkedCacheKey cacheKey) {
+        int bufferIndex = (int)Thread.currentThread().getId() & (this.readBuffers.length - 1);
+        int index = this.readBufferIndexes[bufferIndex].getAndIncrement() & (READ_BUFFER_SIZE - 1);
+        this.readBuffers[bufferIndex].lazySet(index, cacheKey);
+        if ((index == (READ_BUFFER_SIZE - 1)) && this.evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Move the cache keys recorded in the read buffers to the end of the linked list.
+     * Callers of this method must hold the eviction lock.
+     */
+    protected void drainReadBuffers() {
+        for (int bufferIndex = 0; bufferIndex < this.readBuffers.length; bufferIndex++) {
+            AtomicReferenceArray<LinkedCacheKey> readBuffer = this.readBuffers[bufferIndex];
+            int writeIndex = this.readBufferIndexes[bufferIndex].get();
+            int index = this.readBufferDrainIndexes[bufferIndex];
+            // Only the last slots written since the last drain hold hits, older hits were overwritten.
+            if ((writeIndex - index) > READ_BUFFER_SIZE) {
+                index = writeIndex - READ_BUFFER_SIZE;
+            }
+            for (; index != writeIndex; index++) {
+                LinkedCacheKey cacheKey = readBuffer.getAndSet(index & (READ_BUFFER_SIZE - 1), null);
+                // The key may have been removed since the hit.
+                if ((cacheKey != null) && (cacheKey.getPrevious() != null)) {
+                    unlink(cacheKey);
+                    linkLast(cacheKey);
+                }
+            }
+            this.readBufferDrainIndexes[bufferIndex] = writeIndex;
+        }
+    }
+
+    /**
+     * Insert the cache key at the end (most recently used) of the linked list.
+     * Callers of this method must hold the eviction lock.
+     */
+    protected void linkLast(LinkedCacheKey key) {
+        LinkedCacheKey previous = this.last.getPrevious();
+        previous.setNext(key);
+        key.setPrevious(previous);
+        key.setNext(this.last);
+        this.last.setPrevious(key);
+        this.linkedSize++;
+    }
+
+    /**
+     * Remove the cache key from the linked list, if not already removed by a competing thread.
+     * Callers of this method must hold the eviction lock.
+     * @return true if the cache key was linked.
+     */
+    protected boolean unlink(LinkedCacheKey key) {
+        if ((key.getPrevious() == null) || (key.getNext() == null)) {
+            return false;
+        }
+        key.getPrevious().setNext(key.getNext());
+        key.getNext().setPrevious(key.getPrevious());
+        key.setNext(null);
+        key.setPrevious(null);
+        this.linkedSize--;
+        return true;
+    }
+
+    /**
+     * Unlink the least recently used cache keys until the linked list fits into the maxSize.
+     * Callers of this method must hold the eviction lock, the returned cache keys must be removed
+     * from the map after the lock is released.
+     * @return the evicted cache keys, or null if none.
+     */
+    protected List<LinkedCacheKey> evict() {
+        List<LinkedCacheKey> evicted = null;
+        // protect the case where someone attempts to break the cache by
+        // setting max size to 0.
+        while ((getMaxSize() > 0) && (this.linkedSize > getMaxSize())) {
+            LinkedCacheKey eldest = this.first.getNext();
+            unlink(eldest);
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(eldest);
+        }
+        return evicted;
+    }
+
+    /**
+     * Remove the evicted cache keys from the map.
+     * This is done outside the eviction lock, as removing needs to lock the cache key.
+     */
+    protected void removeEvicted(List<LinkedCacheKey> evicted) {
+        if (evicted != null) {
+            for (LinkedCacheKey key : evicted) {
+                super.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Also insert the link if the cacheKey is put, and evict the least recently used cache keys.
+     */
+    @Override
+    protected CacheKey putCacheKeyIfAbsent(CacheKey searchKey) {
+        CacheKey cacheKey = super.putCacheKeyIfAbsent(searchKey);
+        if (cacheKey == null) {
+            List<LinkedCacheKey> evicted = null;
+            this.evictionLock.lock();
+            try {
+                drainReadBuffers();
+                // The key may have been removed by a competing thread before the lock was acquired.
+                if (getCacheKeys().get(searchKey.getKey()) == searchKey) {
+                    linkLast((LinkedCacheKey)searchKey);
+                }
+                evicted = evict();
+            } finally {
+                this.evictionLock.unlock();
+            }
+            removeEvicted(evicted);
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Remove the LinkedCacheKey from the cache as well as from the linked list.
+     * @return the object held within the CacheKey or null if no object cached for given cacheKey.
+     */
+    @Override
+    public Object remove(CacheKey key) {
+        Object object = super.remove(key);
+        // The key may be null if was missing, just null should be returned in this case.
+        if (key != null) {
+            this.evictionLock.lock();
+            try {
+                unlink((LinkedCacheKey)key);
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+        return object;
+    }
+
+    /**
+     * INTERNAL:
+     * This method will be used to update the max cache size, any objects exceeding the max cache size will
+     * be remove from the cache.
+     */
+    @Override
+    public void updateMaxSize(int maxSize) {
+        setMaxSize(maxSize);
+        List<LinkedCacheKey> evicted = null;
+        this.evictionLock.lock();
+        try {
+            drainReadBuffers();
+            evicted = evict();
+        } finally {
+            this.evictionLock.unlock();
+        }
+        removeEvicted(evicted);
+    }
+
+    /**
+     * Return the cache keys in the LRU order, the least recently used first.
+     * The order of the hits not yet drained from the read buffers is approximated.
+     */
+    public Iterator<CacheKey> lruKeys() {
+        List<CacheKey> keys = new ArrayList<>(this.linkedSize);
+        this.evictionLock.lock();
+        try {
+            drainReadBuffers();
+            for (LinkedCacheKey key = this.first.getNext(); key != this.last; key = key.getNext()) {
+                keys.add(key);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+        return keys.iterator();
+    }
+}
@@ -24,6 +24,10 @@
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -57,6 +61,8 @@
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
@@ -88,6 +94,12 @@ public class IdentityMapManager implements Serializable, Cloneable {
     /** A map of class to list of queries that need to be invalidated when that class changes. */
     protected Map<Class<?>, Set> queryResultsInvalidationsByClass;
 
+    /** The queries whose results are only invalidated by the changes to the objects they depend on. */
+    protected Set<Object> queryResultsInvalidatedByDependency;
+
+    /** The usage of the query results cache by named query. */
+    protected Map<String, QueryResultsCacheStatistics> queryResultsStatistics;
+
     /** A map of indexes on the cache. */
     protected Map<CacheIndex, IdentityMap> cacheIndexes;
 
@@ -106,6 +118,9 @@ public class IdentityMapManager implements Serializable, Cloneable {
     /** PERF: Used to avoid readLock and profiler checks to improve performance. */
     protected boolean isCacheAccessPreCheckRequired;
 
+    /** The off-heap row caches with the key being the descriptor's root Class, only used by the shared cache. */
+    protected transient Map<Class<?>, OffHeapRowCache> rowCaches;
+
     protected IdentityMapManager() {
     }
 
@@ -119,12 +134,17 @@ public IdentityMapManager(AbstractSession session) {
             this.identityMaps = new HashMap();
             this.queryResults = new HashMap();
             this.queryResultsInvalidationsByClass = new HashMap();
+            this.queryResultsInvalidatedByDependency = new HashSet<>();
+            this.queryResultsStatistics = new HashMap<>();
             this.cacheIndexes = new HashMap();
         } else {
             this.identityMaps = new ConcurrentHashMap();
             this.queryResults = new ConcurrentHashMap();
             this.queryResultsInvalidationsByClass = new ConcurrentHashMap();
+            this.queryResultsInvalidatedByDependency = ConcurrentHashMap.newKeySet();
+            this.queryResultsStatistics = new ConcurrentHashMap<>();
             this.cacheIndexes = new ConcurrentHashMap();
+            this.rowCaches = new ConcurrentHashMap<>();
         }
         checkIsCacheAccessPreCheckRequired();
     }
@@ -389,6 +409,8 @@ protected <T extends IdentityMap> IdentityMap buildNewIdentityMap(
                 return new FullIdentityMap(size, descriptor, this.session, isIsolated);
             } else if (identityMapClass == ClassConstants.CacheIdentityMap_Class) {
                 return new CacheIdentityMap(size, descriptor, this.session, isIsolated);
+            } else if (identityMapClass == ClassConstants.ConcurrentCacheIdentityMap_Class) {
+                return new ConcurrentCacheIdentityMap(size, descriptor, this.session, isIsolated);
             }
         }
         final Class<?>[] parameters = new Class<?>[]{ClassConstants.PINT, ClassDescriptor.class, AbstractSession.class, boolean.class};
@@ -436,6 +458,9 @@ public Object clone() {
                 Map.Entry<Class<?>, IdentityMap> entry = iterator.next();
                 manager.identityMaps.put(entry.getKey(), (IdentityMap) entry.getValue().clone());
             }
+            if (this.rowCaches != null) {
+                manager.rowCaches = new ConcurrentHashMap<>();
+            }
         } catch (CloneNotSupportedException exception) {
             throw new InternalError(exception.toString());
         }
@@ -448,6 +473,7 @@ public Object clone() {
     public void clearQueryCache() {
         this.queryResults = new ConcurrentHashMap();
         this.queryResultsInvalidationsByClass = new ConcurrentHashMap();
+        this.queryResultsInvalidatedByDependency = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -457,6 +483,55 @@ public void clearCacheIndexes() {
         this.cacheIndexes = new ConcurrentHashMap();
     }
 
+    /**
+     * Return the off-heap row cache of the descriptor, built on first use,
+     * or null if the descriptor does not cache its rows or this is not the shared cache.
+     */
+    public OffHeapRowCache getRowCache(ClassDescriptor descriptor) {
+        if ((this.rowCaches == null) || (descriptor.getCachePolicy().getOffHeapCacheSize() <= 0)) {
+            return null;
+        }
+        return this.rowCaches.computeIfAbsent(descriptor.getRootDescriptor().getJavaClass(),
+                rootClass -> new OffHeapRowCache(descriptor, descriptor.getCachePolicy().getOffHeapCacheSize()));
+    }
+
+    /**
+     * Remove the row of the object from the off-heap row cache of the descriptor, if any.
+     */
+    public void removeFromRowCache(Object primaryKey, ClassDescriptor descriptor) {
+        if ((this.rowCaches == null) || (primaryKey == null)) {
+            return;
+        }
+        OffHeapRowCache rowCache = this.rowCaches.get(descriptor.getRootDescriptor().getJavaClass());
+        if (rowCache != null) {
+            rowCache.remove(primaryKey);
+        }
+    }
+
+    /**
+     * Remove all the rows from the off-heap row cache of the descriptor, if any.
+     */
+    public void clearRowCache(ClassDescriptor descriptor) {
+        if (this.rowCaches == null) {
+            return;
+        }
+        OffHeapRowCache rowCache = this.rowCaches.get(descriptor.getRootDescriptor().getJavaClass());
+        if (rowCache != null) {
+            rowCache.clear();
+        }
+    }
+
+    /**
+     * Remove all the rows from the off-heap row caches.
+     */
+    public void clearRowCaches() {
+        if (this.rowCaches != null) {
+            for (OffHeapRowCache rowCache : this.rowCaches.values()) {
+                rowCache.clear();
+            }
+        }
+    }
+
     /**
      * Remove the cache key related to a query.
      * Note this method is not synchronized and care should be taken to ensure
@@ -484,7 +559,7 @@ public void invalidateQueryCache(Class<?> classThatChanged) {
         Set invalidations = this.queryResultsInvalidationsByClass.get(classThatChanged);
         if (invalidations != null) {
             for (Object queryKey : invalidations) {
-                this.queryResults.remove(queryKey);
+                removeQueryResults(queryKey);
             }
         }
         Class<?> superClass = classThatChanged.getSuperclass();
@@ -493,6 +568,121 @@ public void invalidateQueryCache(Class<?> classThatChanged) {
         }
     }
 
+    /**
+     * Invalidate the results in the query cache depending on the objects of the class changed by the change set.
+     * The results of the queries invalidated by dependency are only removed if the changed objects could affect them,
+     * the results of the other queries for the class are all removed.
+     */
+    public void invalidateQueryCache(Class<?> classThatChanged, UnitOfWorkChangeSet changeSet) {
+        if (this.queryResultsInvalidationsByClass == null) {
+            return;
+        }
+        List<ObjectChangeSet> changeSets = null;
+        for (Class<?> queryClass = classThatChanged; (queryClass != null) && (queryClass != ClassConstants.OBJECT); queryClass = queryClass.getSuperclass()) {
+            Set invalidations = this.queryResultsInvalidationsByClass.get(queryClass);
+            if (invalidations == null) {
+                continue;
+            }
+            for (Object queryKey : invalidations) {
+                if (!this.queryResultsInvalidatedByDependency.contains(queryKey)) {
+                    removeQueryResults(queryKey);
+                    continue;
+                }
+                IdentityMap map = this.queryResults.get(queryKey);
+                if (map == null) {
+                    continue;
+                }
+                if (changeSets == null) {
+                    changeSets = getChangeSets(classThatChanged, changeSet);
+                }
+                int invalidated = 0;
+                for (Enumeration<CacheKey> keys = map.keys(false); keys.hasMoreElements();) {
+                    CacheKey key = keys.nextElement();
+                    Object results = key.getObject();
+                    if (!(results instanceof CachedQueryResults)
+                            || ((CachedQueryResults)results).isAffectedBy(classThatChanged, changeSets, this, this.session)) {
+                        map.remove(key);
+                        invalidated++;
+                    }
+                }
+                QueryResultsCacheStatistics statistics = getQueryResultsCacheStatistics(queryKey, false);
+                if (statistics != null) {
+                    statistics.addInvalidations(invalidated);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the changed and deleted objects of the class.
+     */
+    protected List<ObjectChangeSet> getChangeSets(Class<?> changedClass, UnitOfWorkChangeSet changeSet) {
+        List<ObjectChangeSet> changeSets = new ArrayList<>();
+        for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().keySet()) {
+            if (objectChangeSet.getClassType(this.session) == changedClass) {
+                changeSets.add(objectChangeSet);
+            }
+        }
+        if (changeSet.hasDeletedObjects()) {
+            for (ObjectChangeSet objectChangeSet : changeSet.getDeletedObjects().keySet()) {
+                if (objectChangeSet.getClassType(this.session) == changedClass) {
+                    changeSets.add(objectChangeSet);
+                }
+            }
+        }
+        return changeSets;
+    }
+
+    /**
+     * Remove all the results of the query from the query cache.
+     */
+    protected void removeQueryResults(Object queryKey) {
+        IdentityMap map = this.queryResults.remove(queryKey);
+        if (map != null) {
+            QueryResultsCacheStatistics statistics = getQueryResultsCacheStatistics(queryKey, false);
+            if (statistics != null) {
+                statistics.addInvalidations(map.getSize());
+            }
+        }
+    }
+
+    /**
+     * Return the usage of the query results cache by the named query, or null if the query did not use the cache.
+     */
+    public QueryResultsCacheStatistics getQueryResultsCacheStatistics(String queryName) {
+        return getQueryResultsCacheStatistics(queryName, false);
+    }
+
+    /**
+     * Return the usage of the query results cache of all the named queries that used the cache.
+     */
+    public Collection<QueryResultsCacheStatistics> getQueryResultsCacheStatistics() {
+        if (this.queryResultsStatistics == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(this.queryResultsStatistics.values());
+    }
+
+    /**
+     * Return the usage of the query results cache by the query key, only tracked for named queries.
+     */
+    protected QueryResultsCacheStatistics getQueryResultsCacheStatistics(Object queryKey, boolean shouldCreate) {
+        if ((this.queryResultsStatistics == null) || !(queryKey instanceof String)) {
+            return null;
+        }
+        QueryResultsCacheStatistics statistics = this.queryResultsStatistics.get(queryKey);
+        if ((statistics == null) && shouldCreate) {
+            synchronized (this.queryResultsStatistics) {
+                statistics = this.queryResultsStatistics.get(queryKey);
+                if (statistics == null) {
+                    statistics = new QueryResultsCacheStatistics((String)queryKey);
+                    this.queryResultsStatistics.put((String)queryKey, statistics);
+                }
+            }
+        }
+        return statistics;
+    }
+
     /**
      * Return true if an CacheKey with the primary key is in the map.
      * User API.
@@ -619,6 +809,8 @@ public Map<Object, CacheKey> getAllCacheKeysFromIdentityMapWithEntityPK(Object[]
      */
     public void invalidateObjects(Expression selectionCriteria, Class<?> theClass, DataRecord translationRow, boolean shouldInvalidateOnException) {
         ClassDescriptor descriptor = this.session.getDescriptor(theClass);
+        // The rows of the invalid objects are not known, so all the rows are removed.
+        clearRowCache(descriptor);
         this.session.startOperationProfile(SessionProfiler.Caching);
         try {
             IdentityMap map = getIdentityMap(descriptor, true);
@@ -1033,8 +1225,12 @@ public Object getQueryResult(ReadQuery query, List parameters, boolean shouldChe
         if ((queryKey == null) || ((String)queryKey).length() == 0) {
             queryKey = query;
         }
+        QueryResultsCacheStatistics statistics = getQueryResultsCacheStatistics(queryKey, true);
         IdentityMap map = this.queryResults.get(queryKey);
         if (map == null) {
+            if (statistics != null) {
+                statistics.incrementMisses();
+            }
             return null;
         }
 
@@ -1046,10 +1242,21 @@ public Object getQueryResult(ReadQuery query, List parameters, boolean shouldChe
         }
 
         CacheKey key = map.getCacheKey(lookupParameters, false);
-        if ((key == null) || (shouldCheckExpiry && query.getQueryResultsCachePolicy().getCacheInvalidationPolicy().isInvalidated(key))) {
-            return null;
+        Object results = null;
+        if ((key != null) && !(shouldCheckExpiry && query.getQueryResultsCachePolicy().getCacheInvalidationPolicy().isInvalidated(key))) {
+            results = key.getObject();
+            if (results instanceof CachedQueryResults) {
+                results = ((CachedQueryResults)results).getResults();
+            }
+        }
+        if (statistics != null) {
+            if (results == null) {
+                statistics.incrementMisses();
+            } else {
+                statistics.incrementHits();
+            }
         }
-        return key.getObject();
+        return results;
     }
 
     /**
@@ -1186,6 +1393,7 @@ public void initializeIdentityMap(Class<?> theClass) throws EclipseLinkException
         getIdentityMaps().put(javaClass, identityMap);
         clearLastAccessedIdentityMap();
         invalidateQueryCache(theClass);
+        clearRowCache(descriptor);
     }
 
     public void initializeIdentityMaps() {
@@ -1193,6 +1401,7 @@ public void initializeIdentityMaps() {
         setIdentityMaps(new ConcurrentHashMap());
         clearQueryCache();
         clearCacheIndexes();
+        clearRowCaches();
     }
 
     /**
@@ -1426,6 +1635,11 @@ public void putQueryResult(ReadQuery query, List parameters, Object results) {
                     this.queryResults.put(queryKey, map);
                     // Mark the query to be invalidated for the query classes.
                     if (query.getQueryResultsCachePolicy().getInvalidateOnChange()) {
+                        if (query.getQueryResultsCachePolicy().getInvalidateByDependency()) {
+                            this.queryResultsInvalidatedByDependency.add(queryKey);
+                        } else {
+                            this.queryResultsInvalidatedByDependency.remove(queryKey);
+                        }
                         for (Class<?> queryClass : query.getQueryResultsCachePolicy().getInvalidationClasses()) {
                             Set invalidations = this.queryResultsInvalidationsByClass.get(queryClass);
                             if (invalidations == null) {
@@ -1455,7 +1669,52 @@ public void putQueryResult(ReadQuery query, List parameters, Object results) {
         if (results == null) {
             results = InvalidObject.instance();
         }
-        map.put(lookupParameters, results, null, queryTime);
+        CachedQueryResults cachedResults = new CachedQueryResults(query, parameters, results, this.session);
+        QueryResultsCacheStatistics statistics = getQueryResultsCacheStatistics(queryKey, true);
+        int maximumObjects = query.getQueryResultsCachePolicy().getMaximumCachedObjects();
+        if (maximumObjects > 0) {
+            if (cachedResults.getSize() > maximumObjects) {
+                return;
+            }
+            evictQueryResults(map, maximumObjects - cachedResults.getSize(), lookupParameters, statistics);
+        }
+        map.put(lookupParameters, cachedResults, null, queryTime);
+        if (statistics != null) {
+            statistics.incrementPuts();
+        }
+    }
+
+    /**
+     * Remove the oldest results of the query until the objects of its other results are within the maximum.
+     */
+    protected void evictQueryResults(IdentityMap map, int maximumObjects, Object lookupParameters, QueryResultsCacheStatistics statistics) {
+        synchronized (map) {
+            List<CacheKey> keys = new ArrayList<>();
+            long total = 0;
+            for (Enumeration<CacheKey> enumeration = map.keys(false); enumeration.hasMoreElements();) {
+                CacheKey key = enumeration.nextElement();
+                Object results = key.getObject();
+                // The results for the same parameters are replaced.
+                if ((results instanceof CachedQueryResults) && !lookupParameters.equals(key.getKey())) {
+                    total += ((CachedQueryResults)results).getSize();
+                    keys.add(key);
+                }
+            }
+            if (total <= maximumObjects) {
+                return;
+            }
+            keys.sort(Comparator.comparingLong(key -> ((CachedQueryResults)key.getObject()).getCachedTime()));
+            for (CacheKey key : keys) {
+                if (total <= maximumObjects) {
+                    break;
+                }
+                map.remove(key);
+                total -= ((CachedQueryResults)key.getObject()).getSize();
+                if (statistics != null) {
+                    statistics.incrementEvictions();
+                }
+            }
+        }
     }
 
     /**
@@ -1485,6 +1744,7 @@ public Object removeFromIdentityMap(Object key, Class<?> domainClass, ClassDescr
         if (key == null) {
             return null;
         }
+        removeFromRowCache(key, descriptor);
         IdentityMap map = getIdentityMap(descriptor, false);
         Object value;
 
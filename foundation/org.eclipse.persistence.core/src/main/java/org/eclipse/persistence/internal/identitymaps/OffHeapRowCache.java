@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.CacheInvalidationPolicy;
+import org.eclipse.persistence.descriptors.invalidation.NoExpiryCacheInvalidationPolicy;
+import org.eclipse.persistence.internal.helper.CompactInput;
+import org.eclipse.persistence.internal.helper.CompactOutput;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
+
+/**
+ * INTERNAL:
+ * Second tier of the shared cache of a descriptor, holding the database rows of the objects
+ * in direct (off-heap) memory, so objects dropped from the identity map are rebuilt without a query.
+ * <p>
+ * The rows are written in the compact binary form of CompactOutput into direct byte buffer segments
+ * used as a ring: a row is appended to the current segment, and when the segment is full the next segment
+ * is reused, evicting the rows it held (FIFO eviction). Only the index of the rows by primary key is on-heap.
+ * <p>
+ * A row must not be cached if its object changed after it was selected. The row is put with the stamp
+ * of its primary key read before the select, the stamp is incremented by each removal
+ * and the put is ignored if the stamp changed.
+ *
+ * @see org.eclipse.persistence.descriptors.CachePolicy#setOffHeapCacheSize(long)
+ */
+public class OffHeapRowCache {
+
+    /** The size of the largest segment allocated. */
+    public static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /** The number of the primary key stamps, a power of two. */
+    protected static final int STAMPS = 1024;
+
+    /** The row header, the length of the entry and the time the row was read. */
+    protected static final int HEADER_SIZE = 12;
+
+    protected final ClassDescriptor descriptor;
+
+    /** The fields of the rows, the values are written in this order. */
+    protected final Vector<DatabaseField> fields;
+    protected final DatabaseField[] fieldsArray;
+
+    protected final long capacity;
+    protected final int segmentSize;
+
+    /** The direct buffers, allocated on first use. */
+    protected final ByteBuffer[] segments;
+
+    /** The primary keys written to each segment, removed from the index when the segment is reused. */
+    protected final List<Object>[] segmentKeys;
+
+    /** The location of the row of each primary key, the segment index in the high int and the offset in the low int. */
+    protected final Map<Object, Long> locations;
+
+    protected final ReentrantReadWriteLock lock;
+
+    protected final AtomicLongArray stamps;
+
+    /** The segment and offset the next row is written to. */
+    protected int currentSegment;
+    protected int currentPosition;
+
+    protected final LongAdder hits;
+    protected final LongAdder misses;
+    protected long puts;
+    protected long evictions;
+    protected long usedBytes;
+    protected int allocatedSegments;
+
+    @SuppressWarnings("unchecked")
+    public OffHeapRowCache(ClassDescriptor descriptor, long capacity) {
+        this.descriptor = descriptor;
+        this.fields = new Vector<>(descriptor.getAllSelectionFields());
+        this.fieldsArray = this.fields.toArray(new DatabaseField[this.fields.size()]);
+        this.capacity = capacity;
+        // Use at least 16 segments, so a reused segment only evicts a small part of the rows.
+        this.segmentSize = (int)Math.max(Math.min(MAX_SEGMENT_SIZE, capacity / 16), 1024);
+        int segmentCount = (int)Math.max(capacity / this.segmentSize, 1);
+        this.segments = new ByteBuffer[segmentCount];
+        this.segmentKeys = new List[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            this.segmentKeys[index] = new ArrayList<>();
+        }
+        this.locations = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+        this.stamps = new AtomicLongArray(STAMPS);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the rows of the descriptor can be cached.
+     * The row selected by primary key must be the full row of a single table hierarchy,
+     * so inheritance, multitenancy, serialized object policy and isolated caches are not supported.
+     */
+    public static boolean isSupported(ClassDescriptor descriptor) {
+        return !descriptor.isDescriptorTypeAggregate() && !descriptor.hasInheritance()
+                && !descriptor.hasMultitenantPolicy() && !descriptor.hasSerializedObjectPolicy()
+                && !descriptor.hasTablePerClassPolicy() && !descriptor.isDescriptorForInterface()
+                && descriptor.getCachePolicy().isSharedIsolation()
+                && (descriptor.getAllSelectionFields() != null) && !descriptor.getAllSelectionFields().isEmpty();
+    }
+
+    protected static int stampIndex(Object primaryKey) {
+        int hash = primaryKey.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMPS - 1);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the stamp of the primary key, to be read before selecting the row to put.
+     */
+    public long getStamp(Object primaryKey) {
+        return this.stamps.get(stampIndex(primaryKey));
+    }
+
+    /**
+     * INTERNAL:
+     * Return a new row with the cached values for the primary key, or null if not cached or expired.
+     */
+    public AbstractRecord get(Object primaryKey, AbstractSession session) {
+        byte[] bytes;
+        long readTime;
+        this.lock.readLock().lock();
+        try {
+            Long location = this.locations.get(primaryKey);
+            if (location == null) {
+                this.misses.increment();
+                return null;
+            }
+            ByteBuffer buffer = this.segments[(int)(location >>> 32)].duplicate();
+            buffer.position((int)location.longValue());
+            bytes = new byte[buffer.getInt() - HEADER_SIZE];
+            readTime = buffer.getLong();
+            buffer.get(bytes);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        CacheInvalidationPolicy invalidationPolicy = this.descriptor.getCacheInvalidationPolicy();
+        if (!(invalidationPolicy instanceof NoExpiryCacheInvalidationPolicy)) {
+            CacheKey cacheKey = new CacheKey(primaryKey);
+            cacheKey.setReadTime(readTime);
+            if (invalidationPolicy.isInvalidated(cacheKey)) {
+                remove(primaryKey);
+                this.misses.increment();
+                return null;
+            }
+        }
+        this.hits.increment();
+        CompactInput in = new CompactInput(bytes, 0);
+        Object[] values = new Object[this.fieldsArray.length];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = in.readValue(session);
+        }
+        return new ArrayRecord(this.fields, this.fieldsArray, values);
+    }
+
+    /**
+     * INTERNAL:
+     * Cache the row selected for the primary key, unless the primary key was removed since its stamp was read.
+     * Return false if the row was not cached, as it does not contain all the fields,
+     * has a value that can not be written or is too large.
+     */
+    public boolean put(Object primaryKey, AbstractRecord row, long stamp) {
+        CompactOutput out = new CompactOutput(256);
+        try {
+            for (DatabaseField field : this.fieldsArray) {
+                if (!row.containsKey(field)) {
+                    return false;
+                }
+                out.writeValue(row.get(field));
+            }
+        } catch (RuntimeException notSerializable) {
+            return false;
+        }
+        int length = HEADER_SIZE + out.size();
+        if (length > this.segmentSize) {
+            return false;
+        }
+        long readTime = System.currentTimeMillis();
+        this.lock.writeLock().lock();
+        try {
+            if (this.stamps.get(stampIndex(primaryKey)) != stamp) {
+                return false;
+            }
+            if (this.currentPosition + length > this.segmentSize) {
+                this.currentSegment = (this.currentSegment + 1) % this.segments.length;
+                this.currentPosition = 0;
+                evictSegment(this.currentSegment);
+            }
+            ByteBuffer buffer = this.segments[this.currentSegment];
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(this.segmentSize);
+                this.segments[this.currentSegment] = buffer;
+                this.allocatedSegments++;
+            }
+            buffer.position(this.currentPosition);
+            buffer.putInt(length);
+            buffer.putLong(readTime);
+            out.writeTo(buffer);
+            Long previous = this.locations.put(primaryKey, ((long)this.currentSegment << 32) | this.currentPosition);
+            if (previous != null) {
+                this.usedBytes -= lengthAt(previous);
+            }
+            this.segmentKeys[this.currentSegment].add(primaryKey);
+            this.currentPosition += length;
+            this.usedBytes += length;
+            this.puts++;
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return the length of the entry at the location.
+     */
+    protected int lengthAt(long location) {
+        return this.segments[(int)(location >>> 32)].getInt((int)location);
+    }
+
+    /**
+     * Remove the rows written to the segment from the index, the segment is about to be reused.
+     * Must be called with the write lock.
+     */
+    protected void evictSegment(int segment) {
+        List<Object> keys = this.segmentKeys[segment];
+        for (Object primaryKey : keys) {
+            Long location = this.locations.get(primaryKey);
+            // The row may have been removed, or written again to another segment.
+            if ((location != null) && ((int)(location >>> 32) == segment)) {
+                this.locations.remove(primaryKey);
+                this.usedBytes -= lengthAt(location);
+                this.evictions++;
+            }
+        }
+        keys.clear();
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the row of the primary key, its object changed or was deleted.
+     */
+    public void remove(Object primaryKey) {
+        this.stamps.incrementAndGet(stampIndex(primaryKey));
+        this.lock.writeLock().lock();
+        try {
+            Long location = this.locations.remove(primaryKey);
+            if (location != null) {
+                this.usedBytes -= lengthAt(location);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Remove all the rows, the allocated segments are kept.
+     */
+    public void clear() {
+        for (int index = 0; index < STAMPS; index++) {
+            this.stamps.incrementAndGet(index);
+        }
+        this.lock.writeLock().lock();
+        try {
+            this.locations.clear();
+            for (List<Object> keys : this.segmentKeys) {
+                keys.clear();
+            }
+            this.currentSegment = 0;
+            this.currentPosition = 0;
+            this.usedBytes = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public ClassDescriptor getDescriptor() {
+        return this.descriptor;
+    }
+
+    /**
+     * Return the maximum number of bytes of direct memory used.
+     */
+    public long getCapacity() {
+        return (long)this.segments.length * this.segmentSize;
+    }
+
+    public int getSegmentSize() {
+        return this.segmentSize;
+    }
+
+    /**
+     * Return the number of bytes of direct memory allocated.
+     */
+    public long getAllocatedBytes() {
+        this.lock.readLock().lock();
+        try {
+            return (long)this.allocatedSegments * this.segmentSize;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the number of bytes of the cached rows.
+     */
+    public long getUsedBytes() {
+        this.lock.readLock().lock();
+        try {
+            return this.usedBytes;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the number of cached rows.
+     */
+    public int getSize() {
+        this.lock.readLock().lock();
+        try {
+            return this.locations.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Return the ratio of the gets that found a row, 0 if there was no get.
+     */
+    public double getHitRatio() {
+        long hits = this.hits.sum();
+        long total = hits + this.misses.sum();
+        return (total == 0) ? 0 : (double)hits / total;
+    }
+
+    public long getPutCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.puts;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the number of rows evicted to reuse their segment.
+     */
+    public long getEvictionCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.evictions;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + this.descriptor.getJavaClassName() + ", size=" + getSize()
+                + ", usedBytes=" + getUsedBytes() + ", capacity=" + getCapacity() + ", hitRatio=" + getHitRatio() + ")";
+    }
+}
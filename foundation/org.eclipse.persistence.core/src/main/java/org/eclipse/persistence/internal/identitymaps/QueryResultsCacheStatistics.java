@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * INTERNAL:
+ * The usage of the query results cache of a named query.
+ *
+ * @see IdentityMapManager#getQueryResultsCacheStatistics(String)
+ */
+public class QueryResultsCacheStatistics {
+    protected final String queryName;
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+    protected final LongAdder puts = new LongAdder();
+    protected final LongAdder invalidations = new LongAdder();
+    protected final LongAdder evictions = new LongAdder();
+
+    public QueryResultsCacheStatistics(String queryName) {
+        this.queryName = queryName;
+    }
+
+    public String getQueryName() {
+        return queryName;
+    }
+
+    /**
+     * Return the number of executions answered from the cache.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Return the number of executions not found in the cache.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Return the number of results put in the cache.
+     */
+    public long getPutCount() {
+        return this.puts.sum();
+    }
+
+    /**
+     * Return the number of results removed from the cache because of a change.
+     */
+    public long getInvalidationCount() {
+        return this.invalidations.sum();
+    }
+
+    /**
+     * Return the number of results removed from the cache to keep it under its maximum number of objects.
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    public void incrementHits() {
+        this.hits.increment();
+    }
+
+    public void incrementMisses() {
+        this.misses.increment();
+    }
+
+    public void incrementPuts() {
+        this.puts.increment();
+    }
+
+    public void addInvalidations(long count) {
+        this.invalidations.add(count);
+    }
+
+    public void incrementEvictions() {
+        this.evictions.increment();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + this.queryName + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", puts=" + getPutCount() + ", invalidations=" + getInvalidationCount() + ", evictions=" + getEvictionCount() + ")";
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.indirection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.indirection.IndirectContainer;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
+import org.eclipse.persistence.queries.BatchFetchPolicy;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * INTERNAL:
+ * <p>
+ * <b>Purpose</b>: Loads a lazy relationship for all the objects of a unit of work at once.
+ * <p>
+ * <b>Description</b>: When the lazy relationship of an object of a unit of work is triggered, the relationship
+ * is read with IN batch queries for all the objects of the same class in the unit of work for which it is not
+ * triggered yet, as batch fetching does for the objects read by the same query. The objects found or read by
+ * different queries then do not read the relationship with a query each.
+ * <p>
+ * Only the relationships read by the selection query of their mapping are loaded together, outside of a
+ * transaction, as their values are then shared and the same whichever unit of work reads them. The value
+ * holders are instantiated with the values read, each when triggered returns its value without a query.
+ *
+ * @see org.eclipse.persistence.sessions.Project#setAdaptiveBatchFetchSize(int)
+ */
+public class AdaptiveBatchFetcher {
+
+    protected AdaptiveBatchFetcher() {
+    }
+
+    /**
+     * INTERNAL:
+     * Load the relationship of the unit of work value holder, and of the other objects of its unit of work,
+     * with batch queries of the size. Do nothing if the relationship is not loaded for any other object,
+     * the value holder then reads its value as usual.
+     */
+    @SuppressWarnings({"unchecked"})
+    public static void fetch(UnitOfWorkValueHolder<?> valueHolder, int size) {
+        DatabaseMapping databaseMapping = valueHolder.getMapping();
+        if (!(databaseMapping instanceof ForeignReferenceMapping)) {
+            return;
+        }
+        ForeignReferenceMapping mapping = (ForeignReferenceMapping)databaseMapping;
+        if (!isBatchFetchable(mapping)) {
+            return;
+        }
+        UnitOfWorkImpl unitOfWork = valueHolder.getUnitOfWork();
+        if (unitOfWork.getCommitManager().isActive() || unitOfWork.wasTransactionBegunPrematurely()) {
+            return;
+        }
+        QueryBasedValueHolder<?> wrappedValueHolder = getQueryBasedValueHolder(valueHolder, mapping);
+        if (wrappedValueHolder == null) {
+            return;
+        }
+        AbstractSession session = wrappedValueHolder.getSession();
+        AbstractRecord row = wrappedValueHolder.getRow();
+        if ((session == null) || (row == null) || session.isHistoricalSession() || wrappedValueHolder.isPessimisticLockingValueHolder()) {
+            return;
+        }
+
+        // Collect the value holders of the relationship not triggered yet, the triggered one first.
+        List<QueryBasedValueHolder<?>> valueHolders = new ArrayList<>();
+        List<AbstractRecord> rows = new ArrayList<>();
+        valueHolders.add(wrappedValueHolder);
+        rows.add(row);
+        Class<?> sourceClass = mapping.getDescriptor().getJavaClass();
+        Object sourceObject = valueHolder.getRelationshipSourceObject();
+        for (Object clone : unitOfWork.getCloneMapping().keySet()) {
+            if ((clone.getClass() != sourceClass) || (clone == sourceObject)) {
+                continue;
+            }
+            Object attributeValue = mapping.getAttributeValueFromObject(clone);
+            if (attributeValue instanceof IndirectContainer) {
+                attributeValue = ((IndirectContainer<?>)attributeValue).getValueHolder();
+            }
+            if (!(attributeValue instanceof UnitOfWorkValueHolder) || ((UnitOfWorkValueHolder<?>)attributeValue).isInstantiated()) {
+                continue;
+            }
+            QueryBasedValueHolder<?> otherValueHolder = getQueryBasedValueHolder((UnitOfWorkValueHolder<?>)attributeValue, mapping);
+            if ((otherValueHolder != null) && (otherValueHolder != wrappedValueHolder) && (otherValueHolder.getSession() == session)) {
+                AbstractRecord otherRow = otherValueHolder.getRow();
+                if (otherRow != null) {
+                    valueHolders.add(otherValueHolder);
+                    rows.add(otherRow);
+                }
+            }
+        }
+        if (valueHolders.size() == 1) {
+            return;
+        }
+
+        // The batch query reads the relationship for the rows, as if read by a query using IN batch fetching.
+        ReadAllQuery originalQuery = new ReadAllQuery(sourceClass);
+        originalQuery.setDescriptor(mapping.getDescriptor());
+        originalQuery.setSession(session);
+        originalQuery.setTranslationRow(new DatabaseRecord(0));
+        originalQuery.setBatchFetchType(BatchFetchType.IN);
+        originalQuery.setBatchFetchSize(size);
+        BatchFetchPolicy batchFetchPolicy = originalQuery.getBatchFetchPolicy();
+        batchFetchPolicy.setDataResults(rows);
+        ReadQuery batchQuery = mapping.prepareNestedBatchQuery(originalQuery);
+        batchQuery.setIsExecutionClone(true);
+
+        int queries = 0;
+        int loads = 0;
+        int numberOfValueHolders = valueHolders.size();
+        for (int index = 0; index < numberOfValueHolders; index++) {
+            // The remaining rows are replaced when the batch including the row is read.
+            List<AbstractRecord> remainingRows = batchFetchPolicy.getDataResults(mapping);
+            Object value = mapping.extractResultFromBatchQuery(batchQuery, null, rows.get(index), session, originalQuery);
+            if (batchFetchPolicy.getDataResults(mapping) != remainingRows) {
+                queries++;
+                unitOfWork.incrementProfile(SessionProfiler.AdaptiveBatchFetchQueries);
+            }
+            if (((QueryBasedValueHolder<Object>)valueHolders.get(index)).instantiateWith(value)) {
+                loads++;
+                unitOfWork.incrementProfile(SessionProfiler.AdaptiveBatchFetchLoads);
+            }
+        }
+        unitOfWork.getProject().addAdaptiveBatchFetchStatistics(queries, loads);
+    }
+
+    /**
+     * Return if the relationship of the mapping can be read with IN batch queries.
+     */
+    protected static boolean isBatchFetchable(ForeignReferenceMapping mapping) {
+        if (mapping.getDescriptor().isAggregateDescriptor() || (mapping.getDescriptor().getHistoryPolicy() != null)) {
+            return false;
+        }
+        if ((mapping.getBatchFetchType() != null) && (mapping.getBatchFetchType() != BatchFetchType.IN)) {
+            return false;
+        }
+        return mapping.isOneToOneMapping() || mapping.isOneToManyMapping() || mapping.isManyToManyMapping()
+                || mapping.isDirectCollectionMapping();
+    }
+
+    /**
+     * Return the value holder wrapped by the unit of work value holder if it reads the relationship
+     * with the selection query of the mapping and is not triggered yet, otherwise null.
+     * The value holders of batch fetching already read their relationship with the other objects of their query.
+     */
+    protected static QueryBasedValueHolder<?> getQueryBasedValueHolder(UnitOfWorkValueHolder<?> valueHolder, ForeignReferenceMapping mapping) {
+        Object wrappedValueHolder = valueHolder.getWrappedValueHolder();
+        if ((wrappedValueHolder == null) || (wrappedValueHolder.getClass() != QueryBasedValueHolder.class)) {
+            return null;
+        }
+        QueryBasedValueHolder<?> queryBasedValueHolder = (QueryBasedValueHolder<?>)wrappedValueHolder;
+        if (queryBasedValueHolder.isInstantiated() || (queryBasedValueHolder.getQuery() != mapping.getSelectionQuery())) {
+            return null;
+        }
+        return queryBasedValueHolder;
+    }
+}
@@ -120,6 +120,25 @@ public T getValue(UnitOfWorkImpl uow) {
         return null;
     }
 
+    /**
+     * INTERNAL:
+     * Set the value read for this value holder together with the values of other value holders,
+     * as when instantiated, unless it was instantiated since.
+     * Return if the value was set.
+     */
+    public boolean instantiateWith(T value) {
+        synchronized (this) {
+            if (this.isInstantiated) {
+                return false;
+            }
+            privilegedSetValue(value);
+            this.isInstantiated = true;
+            postInstantiate();
+            resetFields();
+            return true;
+        }
+    }
+
     /**
      * Instantiate the object.
      */
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.indirection;
+
+import java.util.Map;
+
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * INTERNAL:
+ * <p>
+ * <b>Purpose</b>: Detects the lazy relationships loaded with a query for each object of a unit of work (N+1 queries).
+ * <p>
+ * <b>Description</b>: Each time the lazy relationship of an object of a unit of work is read by the selection
+ * query of its mapping, the queries of the mapping are counted in the unit of work. References found in the cache
+ * by their primary key are not counted, as no query is executed. When the count reaches the
+ * threshold, the mapping, the count and the stack of the code triggering the relationship are logged once for
+ * the unit of work, and the detection is counted in the profiler and the project statistics.
+ * The stack is only captured when the threshold is reached, counting the queries costs a map lookup.
+ *
+ * @see org.eclipse.persistence.sessions.Project#setNPlusOneQueryThreshold(int)
+ */
+public class NPlusOneQueryDetector {
+
+    /** The maximum number of stack frames logged. */
+    public static final int MAX_STACK_FRAMES = 20;
+
+    protected NPlusOneQueryDetector() {
+    }
+
+    /**
+     * INTERNAL:
+     * Count the query about to read the relationship of the unit of work value holder, unless found in the cache,
+     * and report the mapping if the queries of its mapping in the unit of work reach the threshold.
+     */
+    public static void recordQuery(UnitOfWorkValueHolder<?> valueHolder, int threshold) {
+        DatabaseMapping databaseMapping = valueHolder.getMapping();
+        if (!(databaseMapping instanceof ForeignReferenceMapping)) {
+            return;
+        }
+        ForeignReferenceMapping mapping = (ForeignReferenceMapping)databaseMapping;
+        // Batch value holders read the relationship of the other objects of their query in the same query.
+        Object wrappedValueHolder = valueHolder.getWrappedValueHolder();
+        if ((wrappedValueHolder == null) || (wrappedValueHolder.getClass() != QueryBasedValueHolder.class)
+                || (((QueryBasedValueHolder<?>)wrappedValueHolder).getQuery() != mapping.getSelectionQuery())) {
+            return;
+        }
+        UnitOfWorkImpl unitOfWork = valueHolder.getUnitOfWork();
+        // A reference read by primary key may be found in the cache, no query is executed.
+        QueryBasedValueHolder<?> queryValueHolder = (QueryBasedValueHolder<?>)wrappedValueHolder;
+        AbstractSession session = (queryValueHolder.getSession() == null) ? unitOfWork.getParent() : queryValueHolder.getSession();
+        if (mapping.getSelectionQuery().checkEarlyReturn(session, queryValueHolder.getRow()) != null) {
+            return;
+        }
+        Map<DatabaseMapping, int[]> queryCounts = unitOfWork.getNPlusOneQueryCounts();
+        int[] count = queryCounts.get(mapping);
+        if (count == null) {
+            count = new int[1];
+            queryCounts.put(mapping, count);
+        }
+        count[0]++;
+        if (count[0] != threshold) {
+            return;
+        }
+        unitOfWork.incrementProfile(SessionProfiler.NPlusOneQueries);
+        unitOfWork.getProject().incrementNPlusOneQueriesDetected();
+        if (unitOfWork.shouldLog(SessionLog.WARNING, SessionLog.QUERY)) {
+            unitOfWork.log(SessionLog.WARNING, SessionLog.QUERY, "n_plus_one_queries_detected",
+                    new Object[] {mapping.getAttributeName(), mapping.getDescriptor().getJavaClassName(), count[0], buildStack()});
+        }
+    }
+
+    /**
+     * Return the stack of the code triggering the relationship, without the frames of the value holders.
+     */
+    protected static String buildStack() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        StringBuilder writer = new StringBuilder();
+        int frames = 0;
+        for (int index = 0; (index < stack.length) && (frames < MAX_STACK_FRAMES); index++) {
+            String className = stack[index].getClassName();
+            if ((frames == 0) && (className.startsWith("org.eclipse.persistence.internal.indirection.")
+                    || className.startsWith("org.eclipse.persistence.indirection."))) {
+                continue;
+            }
+            writer.append(Helper.cr());
+            writer.append("\tat ");
+            writer.append(stack[index]);
+            frames++;
+        }
+        return writer.toString();
+    }
+}
@@ -143,6 +143,18 @@ protected T getValueFromServerObject() {
      * sometimes triggered directly without triggering the underlying valueholder.
      */
     protected T instantiateImpl() {
+        // PERF: Load the relationship for the other objects of the unit of work in the same queries.
+        if ((this.wrappedValueHolder instanceof QueryBasedValueHolder) && !this.wrappedValueHolder.isInstantiated()) {
+            int adaptiveBatchFetchSize = getUnitOfWork().getProject().getAdaptiveBatchFetchSize();
+            if (adaptiveBatchFetchSize > 0) {
+                AdaptiveBatchFetcher.fetch(this, adaptiveBatchFetchSize);
+            }
+            // Report the relationships read with a query for each object of the unit of work.
+            int nPlusOneQueryThreshold = getUnitOfWork().getProject().getNPlusOneQueryThreshold();
+            if ((nPlusOneQueryThreshold > 0) && !this.wrappedValueHolder.isInstantiated()) {
+                NPlusOneQueryDetector.recordQuery(this, nPlusOneQueryThreshold);
+            }
+        }
         Object value;
         // Bug 3835202 - Ensure access to valueholders is thread safe.  Several of the methods
         // called below are not threadsafe alone.
@@ -339,6 +339,10 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "cannot_weave_virtual_one_to_one", "Class {0} has attribute {1} that uses a OneToOne or ManyToOne mapping on a virtual attribute.  Weaving of these types of mappings is not supported.  Weaving will be disabled for {0}."},
 
         { "overriding_cache_isolation", "Parent Entity {0} has an isolation level of: {1} which is more protective then the subclass {2} with isolation: {3} so the subclass has been set to the isolation level {1}."},
+        { "off_heap_row_cache_not_supported", "Entity {0} does not support an off-heap row cache, as it uses inheritance, multitenancy, a serialized object policy or an isolated cache. Its rows will not be cached off-heap."},
+        { "project_cache_version_mismatch", "The project cache file {0} was stored by another version of EclipseLink or format: {1}. The metadata will be processed and the file replaced."},
+        { "project_cache_fingerprint_mismatch", "The project cache file {0} was stored for other metadata of the persistence unit. The metadata will be processed and the file replaced."},
+        { "n_plus_one_queries_detected", "N+1 queries: the lazy relationship [{0}] of [{1}] was read with a query for each of {2} objects of the same unit of work, consider batch or join fetching it. Triggered from:{3}"},
         { "locking_required_for_database_change_notification", "Entity {0} is not using version locking, but has multiple tables or relationships, and is using Oracle database change notification, changes to relationships or secondary tables may not invalidate the cache."},
 
         { "field_type_set_to_java_lang_string", "The default table generator could not locate or convert a java type ({1}) into a database type for database field ({0}). The generator uses \"java.lang.String\" as default java type for the field." },
@@ -364,6 +368,7 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "broadcast_remote_command_wrong_type", "Warning: {0}: received message {1} containing an object of type {2} instead of expected type RemoteCommand." },
         { "broadcast_ignored_command_while_closing_connection", "Warning: {0}: ignoring request to publish command while connection is closing." },
         { "broadcast_listening_sleep_on_error", "Warning: {0}: Exception {1} was thrown. The thread will sleep for {2} milliseconds before resuming listening." },
+        { "tcp_connection_failed", "Warning: {0}: connection failed with exception {1}" },
         { "dbPlatformHelper_defaultingPlatform", "Not able to detect platform for vendor name [{0}]. Defaulting to [{1}]. The database dialect used may not match with the database you are using. Please explicitly provide a platform using property \"eclipselink.target-database\"."},
         { "dbPlatformHelper_noMappingFound", "Can not load resource [{0}] that loads mapping from vendor name to database platform. Autodetection of database platform will not work."},
         { "pgsql10_platform_with_json_extension", "PostgreSQL10Platform with org.eclipse.persistence.pgsql module. JSON extension is enabled."},
@@ -487,6 +487,10 @@ public class TraceLocalizationResource extends ListResourceBundle {
         { "broadcast_processing_remote_command", "{0}: processing message {1} sent by service id {2}: processing remote command {3}." },
         { "broadcast_connection_start_listening", "{0}: Start listening." },
         { "broadcast_connection_stop_listening", "{0}: Stop listening." },
+        { "tcp_selector_start_listening", "{0}: Start listening on port {1}." },
+        { "tcp_selector_stop_listening", "{0}: Stop listening on port {1}." },
+        { "tcp_connection_connected", "{0}: connected." },
+        { "tcp_connection_retry", "{0}: failed to connect with exception {1}, retrying in {2} milliseconds." },
         { "sdo_type_generation_processing_type", "{0}: Generating Type  [{1}]."},
         { "sdo_type_generation_processing_type_as", "{0}: Generating Type  [{1}] as [{2}]."},
         { "registered_mbean", "Registered MBean: {0} on server {1}" },
@@ -435,6 +435,12 @@ protected void setCallFromStatement() {
                     call = getSQLStatement().buildCall(getExecutionSession());
                 }
 
+                // PERF: The rows of prepared object and report queries are read by a row reader compiled on the first execution.
+                if ((call instanceof DatabaseCall) && getQuery().isObjectLevelReadQuery() && getQuery().shouldPrepare()
+                        && getExecutionSession().getPlatform().shouldCompileRowReaders()) {
+                    ((DatabaseCall)call).setUsesRowReader(true);
+                }
+
                 // In case of update call may be null if no update required.
                 if (call != null) {
                     setCall(call);
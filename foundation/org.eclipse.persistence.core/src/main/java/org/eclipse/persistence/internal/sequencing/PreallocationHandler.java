@@ -16,6 +16,7 @@
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles the storage and allocation of sequence values.
@@ -37,13 +38,8 @@ public PreallocationHandler() {
     public Queue<Object> getPreallocated(String sequenceName) {
         Queue<Object> sequences = preallocatedSequences.get(sequenceName);
         if (sequences == null) {
-            synchronized (preallocatedSequences) {
-                sequences = preallocatedSequences.get(sequenceName);
-                if (sequences == null) {
-                    sequences = new ConcurrentLinkedQueue<>();
-                    preallocatedSequences.put(sequenceName, sequences);
-                }
-            }
+            // PERF: The map is concurrent, avoid the monitor, it would pin virtual threads.
+            sequences = preallocatedSequences.computeIfAbsent(sequenceName, name -> new PreallocatedQueue());
         }
         return sequences;
     }
@@ -90,4 +86,51 @@ public void initializePreallocated(String seqName) {
     public void setPreallocated(String seqName, Vector<?> sequences) {
         getPreallocated(seqName).addAll(sequences);
     }
+
+    /**
+     * Queue of preallocated sequence values keeping count of its size.
+     * The size of a ConcurrentLinkedQueue is computed by traversing the queue,
+     * the asynchronous preallocation checks it on every value to detect the low-water mark.
+     */
+    static class PreallocatedQueue extends ConcurrentLinkedQueue<Object> {
+        private final AtomicInteger size = new AtomicInteger();
+
+        @Override
+        public boolean offer(Object value) {
+            boolean isAdded = super.offer(value);
+            this.size.incrementAndGet();
+            return isAdded;
+        }
+
+        @Override
+        public Object poll() {
+            Object value = super.poll();
+            if (value != null) {
+                this.size.decrementAndGet();
+            }
+            return value;
+        }
+
+        @Override
+        public boolean addAll(Collection<?> values) {
+            for (Object value : values) {
+                offer(value);
+            }
+            return !values.isEmpty();
+        }
+
+        @Override
+        public boolean remove(Object value) {
+            boolean isRemoved = super.remove(value);
+            if (isRemoved) {
+                this.size.decrementAndGet();
+            }
+            return isRemoved;
+        }
+
+        @Override
+        public int size() {
+            return this.size.get();
+        }
+    }
 }
@@ -21,6 +21,7 @@
 import java.util.Queue;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.descriptors.MultitenantPolicy;
@@ -36,6 +37,7 @@
 import org.eclipse.persistence.sequencing.Sequence;
 import org.eclipse.persistence.sequencing.SequencingControl;
 import org.eclipse.persistence.sessions.Login;
+import org.eclipse.persistence.sessions.SessionProfiler;
 import org.eclipse.persistence.sessions.server.ConnectionPool;
 import org.eclipse.persistence.sessions.server.ExternalConnectionPool;
 import org.eclipse.persistence.sessions.server.ServerSession;
@@ -127,6 +129,16 @@ class SequencingManager implements SequencingHome, SequencingServer, SequencingC
     private int maxPoolSize = -1;
     private int initialPoolSize = -1;
     private ConnectionPool connectionPool;
+    private boolean shouldUseAsynchronousPreallocation;
+    private int preallocationLowWaterMark = 50;
+    private boolean shouldUseAdaptivePreallocation;
+    /** Background refills of the preallocated values by sequence name, only used with asynchronous preallocation. */
+    private Map<String, PreallocationRefill> refills;
+
+    /** The adaptive allocation size is at most this multiple of the sequence preallocation size. */
+    private static final int MAX_ADAPTIVE_PREALLOCATION_FACTOR = 16;
+    /** The adaptive allocation size targets a block lasting about this time at the observed consumption rate. */
+    private static final long ADAPTIVE_PREALLOCATION_INTERVAL = 1000000000L;
 
     public SequencingManager(DatabaseSessionImpl ownerSession) {
         this.ownerSession = ownerSession;
@@ -269,6 +281,36 @@ public void setInitialPoolSize(int size) {
         this.initialPoolSize = size;
     }
 
+    @Override
+    public boolean shouldUseAsynchronousPreallocation() {
+        return shouldUseAsynchronousPreallocation;
+    }
+
+    @Override
+    public void setShouldUseAsynchronousPreallocation(boolean shouldUseAsynchronousPreallocation) {
+        this.shouldUseAsynchronousPreallocation = shouldUseAsynchronousPreallocation;
+    }
+
+    @Override
+    public int getPreallocationLowWaterMark() {
+        return preallocationLowWaterMark;
+    }
+
+    @Override
+    public void setPreallocationLowWaterMark(int percentage) {
+        this.preallocationLowWaterMark = percentage;
+    }
+
+    @Override
+    public boolean shouldUseAdaptivePreallocation() {
+        return shouldUseAdaptivePreallocation;
+    }
+
+    @Override
+    public void setShouldUseAdaptivePreallocation(boolean shouldUseAdaptivePreallocation) {
+        this.shouldUseAdaptivePreallocation = shouldUseAdaptivePreallocation;
+    }
+
     @Override
     public boolean isConnected() {
         return states != null;
@@ -329,13 +371,7 @@ protected Map<String, ConcurrencyManager> getLocks() {
     protected ConcurrencyManager acquireLock(String sequenceName) {
         ConcurrencyManager manager = getLocks().get(sequenceName);
         if (manager == null) {
-            synchronized (getLocks()) {
-                manager = getLocks().get(sequenceName);
-                if (manager == null) {
-                    manager = new ConcurrencyManager();
-                    getLocks().put(sequenceName, manager);
-                }
-            }
+            manager = getLocks().computeIfAbsent(sequenceName, name -> new ConcurrencyManager());
         }
         manager.acquire();
         return manager;
@@ -376,6 +412,17 @@ public String toString() {
         }
     }
 
+    /**
+     * State allocating the blocks of sequence values outside of the unit of work,
+     * so the preallocated values can be refilled in the background with asynchronous preallocation.
+     */
+    abstract class RefillableState extends State {
+        /**
+         * Allocate a block of at least size sequence values outside of the unit of work.
+         */
+        abstract Vector<?> preallocate(Sequence sequence, AbstractSession writeSession, int size);
+    }
+
     /**
      * Uses preallocation, uses transaction, no separate connection.
      * This is used for a DatabaseSession, or a ServerSession not using native sequencing,
@@ -595,18 +642,26 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
      * This is used in a ServerSession with a sequence connection pool.
      * This is typically the default behavior.
      */
-    class Preallocation_Transaction_Accessor_State extends State {
+    class Preallocation_Transaction_Accessor_State extends RefillableState {
         @Override
         public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
             String seqName = sequence.getName();
             if(sequence.getPreallocationSize() > 1) {
-                PreallocationHandler handler = getPreallocationHandler(getContext(writeSession));
+                String context = getContext(writeSession);
+                PreallocationHandler handler = getPreallocationHandler(context);
                 Queue<Object> sequencesForName = handler.getPreallocated(seqName);
+                PreallocationRefill refill = getPreallocationRefill(sequence, context, this);
                 // First try to get the next sequence value without locking.
                 Object sequenceValue = sequencesForName.poll();
                 if (sequenceValue != null) {
+                    if (refill != null) {
+                        refill.checkLowWaterMark(sequencesForName);
+                    }
                     return sequenceValue;
                 }
+                if (refill != null) {
+                    getOwnerSession().startOperationProfile(SessionProfiler.SequencePreallocationWait);
+                }
                 // Sequences are empty, so must lock and allocate next batch of sequences.
                 ConcurrencyManager lock = acquireLock(seqName);
                 try {
@@ -614,60 +669,52 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
                     if (sequenceValue != null) {
                         return sequenceValue;
                     }
-                    // note that accessor.getLogin().shouldUseExternalTransactionController()
-                    // should be set to false
-                    Accessor accessor = getConnectionHandler().acquireAccessor();
-                    try {
-                        accessor.beginTransaction(writeSession);
-                        try {
-                            Vector<?> sequences = sequence.getGeneratedVector(accessor, writeSession);
-                            accessor.commitTransaction(writeSession);
-                            // Remove the first value before adding to the global cache to ensure this thread gets one.
-                            sequenceValue = sequences.remove(0);
-                            // copy remaining values to global cache.
-                            handler.setPreallocated(seqName, sequences);
-                            logDebugPreallocation(seqName, sequenceValue, sequences);
-                        } catch (RuntimeException ex) {
-                            try {
-                                // make sure to rollback the transaction we've begun
-                                accessor.rollbackTransaction(writeSession);
-                            } catch (Exception rollbackException) {
-                                // ignore rollback exception
-                            }
-                            // don't eat the original exception
-                            throw ex;
-                        }
-                    } finally {
-                        getConnectionHandler().releaseAccessor(accessor);
-                    }
+                    int size = (refill == null) ? sequence.getPreallocationSize() : refill.nextAllocationSize(0);
+                    Vector<?> sequences = preallocate(sequence, writeSession, size);
+                    // Remove the first value before adding to the global cache to ensure this thread gets one.
+                    sequenceValue = sequences.remove(0);
+                    // copy remaining values to global cache.
+                    handler.setPreallocated(seqName, sequences);
+                    logDebugPreallocation(seqName, sequenceValue, sequences);
                 } finally {
                     lock.release();
+                    if (refill != null) {
+                        getOwnerSession().endOperationProfile(SessionProfiler.SequencePreallocationWait);
+                    }
                 }
                 return sequenceValue;
             } else {
-                // note that accessor.getLogin().shouldUseExternalTransactionController()
-                // should be set to false
-                Accessor accessor = getConnectionHandler().acquireAccessor();
+                // preallocation size is 1 - just return the first (and only) element of the allocated vector.
+                return preallocate(sequence, writeSession, 1).firstElement();
+            }
+        }
+
+        /**
+         * Allocate the sequence values in a transaction of a sequence connection.
+         */
+        @Override
+        Vector<?> preallocate(Sequence sequence, AbstractSession writeSession, int size) {
+            // note that accessor.getLogin().shouldUseExternalTransactionController()
+            // should be set to false
+            Accessor accessor = getConnectionHandler().acquireAccessor();
+            try {
+                accessor.beginTransaction(writeSession);
                 try {
-                    accessor.beginTransaction(writeSession);
+                    Vector<?> sequences = getGeneratedVector(sequence, accessor, writeSession, size);
+                    accessor.commitTransaction(writeSession);
+                    return sequences;
+                } catch (RuntimeException ex) {
                     try {
-                        // preallocation size is 1 - just return the first (and only) element of the allocated vector.
-                        Object sequenceValue = sequence.getGeneratedVector(accessor, writeSession).firstElement();
-                        accessor.commitTransaction(writeSession);
-                        return sequenceValue;
-                    } catch (RuntimeException ex) {
-                        try {
-                            // make sure to rollback the transaction we've begun
-                            accessor.rollbackTransaction(writeSession);
-                        } catch (Exception rollbackException) {
-                            // ignore rollback exception
-                        }
-                        // don't eat the original exception
-                        throw ex;
+                        // make sure to rollback the transaction we've begun
+                        accessor.rollbackTransaction(writeSession);
+                    } catch (Exception rollbackException) {
+                        // ignore rollback exception
                     }
-                } finally {
-                    getConnectionHandler().releaseAccessor(accessor);
+                    // don't eat the original exception
+                    throw ex;
                 }
+            } finally {
+                getConnectionHandler().releaseAccessor(accessor);
             }
         }
     }
@@ -677,18 +724,26 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
      * This is used by native sequence objects.
      * No transaction is required as sequence objects are non-transactional.
      */
-    class Preallocation_NoTransaction_State extends State {
+    class Preallocation_NoTransaction_State extends RefillableState {
         @Override
         public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
             String seqName = sequence.getName();
             if(sequence.getPreallocationSize() > 1) {
-                PreallocationHandler handler = getPreallocationHandler(getContext(writeSession));
+                String context = getContext(writeSession);
+                PreallocationHandler handler = getPreallocationHandler(context);
                 Queue<Object> sequencesForName = handler.getPreallocated(seqName);
+                PreallocationRefill refill = getPreallocationRefill(sequence, context, this);
                 // First try to get the next sequence value without locking.
                 Object sequenceValue = sequencesForName.poll();
                 if (sequenceValue != null) {
+                    if (refill != null) {
+                        refill.checkLowWaterMark(sequencesForName);
+                    }
                     return sequenceValue;
                 }
+                if (refill != null) {
+                    getOwnerSession().startOperationProfile(SessionProfiler.SequencePreallocationWait);
+                }
                 // Sequences are empty, so must lock and allocate next batch of sequences.
                 ConcurrencyManager lock = acquireLock(seqName);
                 try {
@@ -696,6 +751,7 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
                     if (sequenceValue != null) {
                         return sequenceValue;
                     }
+                    // The size of a sequence object is its increment, it is not adapted.
                     Vector<?> sequences = sequence.getGeneratedVector(null, writeSession);
                     // Remove the first value before adding to the global cache to ensure this thread gets one.
                     sequenceValue = sequences.remove(0);
@@ -704,6 +760,9 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
                     logDebugPreallocation(seqName, sequenceValue, sequences);
                 } finally {
                     lock.release();
+                    if (refill != null) {
+                        getOwnerSession().endOperationProfile(SessionProfiler.SequencePreallocationWait);
+                    }
                 }
                 return sequenceValue;
             } else {
@@ -711,6 +770,24 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
                 return sequence.getGeneratedVector(null, writeSession).firstElement();
             }
         }
+
+        /**
+         * Allocate the sequence values, no transaction is required.
+         * A sequence object allocates its increment, blocks are allocated until there are at least size values.
+         */
+        @Override
+        Vector<?> preallocate(Sequence sequence, AbstractSession writeSession, int size) {
+            Vector<?> sequences = sequence.getGeneratedVector(null, writeSession);
+            if (sequences.size() >= size) {
+                return sequences;
+            }
+            Vector<Object> allSequences = new Vector<>(size);
+            allSequences.addAll(sequences);
+            while (allSequences.size() < size) {
+                allSequences.addAll(sequence.getGeneratedVector(null, writeSession));
+            }
+            return allSequences;
+        }
     }
 
     /**
@@ -726,6 +803,141 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
         }
     }
 
+    /**
+     * Refills the preallocated values of a sequence in the background when they drop to the low-water mark,
+     * used with asynchronous preallocation.
+     * The refill allocates through the owner ServerSession, for table sequences on a sequence connection,
+     * for sequence objects on a read connection, so inserting threads do not wait for the allocation
+     * as long as the refill keeps up with the consumption.
+     */
+    class PreallocationRefill implements Runnable {
+        final Sequence sequence;
+        final PreallocationHandler handler;
+        final RefillableState state;
+        final AtomicBoolean isScheduled = new AtomicBoolean();
+        /** Size of the next allocation, only changed holding the sequence lock. */
+        volatile int allocationSize;
+        /** Time of the last allocation, guarded by the sequence lock. */
+        long lastAllocationTime;
+
+        PreallocationRefill(Sequence sequence, PreallocationHandler handler, RefillableState state) {
+            this.sequence = sequence;
+            this.handler = handler;
+            this.state = state;
+            this.allocationSize = sequence.getPreallocationSize();
+        }
+
+        /**
+         * Return if the number of remaining values is at or below the low-water mark.
+         */
+        boolean isAtLowWaterMark(int remaining) {
+            return ((long)remaining * 100) <= ((long)this.allocationSize * getPreallocationLowWaterMark());
+        }
+
+        /**
+         * Schedule the refill if the preallocated values dropped to the low-water mark.
+         */
+        void checkLowWaterMark(Queue<Object> sequences) {
+            if (isAtLowWaterMark(sequences.size()) && this.isScheduled.compareAndSet(false, true)) {
+                try {
+                    getOwnerSession().getServerPlatform().launchContainerRunnable(this);
+                } catch (RuntimeException exception) {
+                    this.isScheduled.set(false);
+                    getOwnerSession().logThrowable(SessionLog.WARNING, SessionLog.SEQUENCING, exception);
+                }
+            }
+        }
+
+        /**
+         * Return the size of the next allocation, the sequence lock must be held.
+         * With adaptive preallocation of a table sequence the size is set to last about a second
+         * at the consumption rate since the previous allocation, in multiples of the preallocation size
+         * up to MAX_ADAPTIVE_PREALLOCATION_FACTOR times the preallocation size.
+         */
+        int nextAllocationSize(int remaining) {
+            long now = System.nanoTime();
+            if (shouldUseAdaptivePreallocation() && (this.lastAllocationTime != 0) && canAdaptPreallocationSize(this.sequence)) {
+                long preallocationSize = this.sequence.getPreallocationSize();
+                long elapsed = Math.max(now - this.lastAllocationTime, 1);
+                long consumed = Math.max(this.allocationSize - remaining, 0);
+                long size = consumed * ADAPTIVE_PREALLOCATION_INTERVAL / elapsed;
+                size = ((size + preallocationSize - 1) / preallocationSize) * preallocationSize;
+                size = Math.min(Math.max(size, preallocationSize), preallocationSize * MAX_ADAPTIVE_PREALLOCATION_FACTOR);
+                this.allocationSize = (int)size;
+            }
+            this.lastAllocationTime = now;
+            return this.allocationSize;
+        }
+
+        @Override
+        public void run() {
+            try {
+                String seqName = this.sequence.getName();
+                ConcurrencyManager lock = acquireLock(seqName);
+                try {
+                    Queue<Object> sequences = this.handler.getPreallocated(seqName);
+                    int remaining = sequences.size();
+                    if (isAtLowWaterMark(remaining)) {
+                        getOwnerSession().startOperationProfile(SessionProfiler.SequencePreallocationRefill);
+                        try {
+                            Vector<?> values = this.state.preallocate(this.sequence, getOwnerSession(), nextAllocationSize(remaining));
+                            this.handler.setPreallocated(seqName, values);
+                            if (getOwnerSession().shouldLog(SessionLog.FINEST, SessionLog.SEQUENCING)) {
+                                Object[] args = { seqName, values.size(), values.firstElement(), values.lastElement() };
+                                getOwnerSession().log(SessionLog.FINEST, SessionLog.SEQUENCING, "sequencing_preallocation", args);
+                            }
+                        } finally {
+                            getOwnerSession().endOperationProfile(SessionProfiler.SequencePreallocationRefill);
+                        }
+                    }
+                } finally {
+                    lock.release();
+                }
+            } catch (RuntimeException exception) {
+                // The inserting threads allocate the values if the refill fails, or sequencing was disconnected.
+                getOwnerSession().logThrowable(SessionLog.WARNING, SessionLog.SEQUENCING, exception);
+            } finally {
+                this.isScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Return the background refill of the sequence allocated by the state, or null if asynchronous preallocation is not used.
+     * The refill allocates through the owner ServerSession, so it is not used for a tenant context.
+     */
+    protected PreallocationRefill getPreallocationRefill(Sequence sequence, String context, RefillableState state) {
+        Map<String, PreallocationRefill> refills = this.refills;
+        if (!this.shouldUseAsynchronousPreallocation || (refills == null) || !"default".equals(context)) {
+            return null;
+        }
+        PreallocationRefill refill = refills.get(sequence.getName());
+        if (refill == null) {
+            refill = refills.computeIfAbsent(sequence.getName(), name -> new PreallocationRefill(sequence, getPreallocationHandler(context), state));
+        }
+        return refill;
+    }
+
+    /**
+     * Only table sequences can allocate any number of values, the size of a sequence object is its increment.
+     */
+    protected boolean canAdaptPreallocationSize(Sequence sequence) {
+        if (sequence instanceof DefaultSequence) {
+            sequence = ((DefaultSequence)sequence).getDefaultSequence();
+        }
+        return sequence.isTable() || sequence.isUnaryTable();
+    }
+
+    /**
+     * Return the size values generated by the sequence.
+     */
+    protected Vector<?> getGeneratedVector(Sequence sequence, Accessor accessor, AbstractSession writeSession, int size) {
+        if (size == sequence.getPreallocationSize()) {
+            return sequence.getGeneratedVector(accessor, writeSession);
+        }
+        return sequence.getGeneratedVector(accessor, writeSession, sequence.getName(), size);
+    }
+
     @Override
     public void resetSequencing() {
         if (isConnected()) {
@@ -867,6 +1079,10 @@ protected void onConnectInternal(Collection<ClassDescriptor> descriptors) {
         if (atLeastOneSequenceShouldUsePreallocation && getLocks() == null) {
             setLocks(new ConcurrentHashMap<>(20));
         }
+        // The background refill uses the connections of the ServerSession.
+        if (atLeastOneSequenceShouldUsePreallocation && (this.refills == null) && getOwnerSession().isServerSession()) {
+            this.refills = new ConcurrentHashMap<>(20);
+        }
         // In AddDescriptors case the factory may have been already created and listeners initialized.
         boolean hasSequencingCallbackFactory = isSequencingCallbackRequired();
         if (!hasSequencingCallbackFactory) {
@@ -898,6 +1114,7 @@ public void onDisconnect() {
             getOwnerSession().getExternalTransactionController().clearSequencingListeners();
         }
         setLocks(null);
+        this.refills = null;
         clearStates();
 
         if (getConnectionHandler() != null) {
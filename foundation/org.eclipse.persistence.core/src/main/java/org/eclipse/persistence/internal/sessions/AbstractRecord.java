@@ -387,6 +387,15 @@ public Vector getValues() {
         return values;
     }
 
+    /**
+     * INTERNAL:
+     * Return the value at the index of the row.
+     * PERF: Array based rows return the value without building the values Vector.
+     */
+    public Object getValueAt(int index) {
+        return getValues().get(index);
+    }
+
     /**
      * PUBLIC:
      * Return if the row is empty.
@@ -41,10 +41,12 @@
 import java.lang.reflect.Constructor;
 import java.security.AccessController;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,6 +75,7 @@
 import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.eclipse.persistence.internal.core.sessions.CoreAbstractSession;
 import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform;
 import org.eclipse.persistence.internal.databaseaccess.Platform;
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
 import org.eclipse.persistence.internal.helper.ConcurrencyManager;
@@ -80,6 +83,7 @@
 import org.eclipse.persistence.internal.helper.QueryCounter;
 import org.eclipse.persistence.internal.helper.linkedlist.ExposedNodeLinkedList;
 import org.eclipse.persistence.internal.history.HistoricalSession;
+import org.eclipse.persistence.internal.identitymaps.CacheId;
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
 import org.eclipse.persistence.internal.identitymaps.IdentityMapManager;
 import org.eclipse.persistence.internal.indirection.DatabaseValueHolder;
@@ -305,6 +309,9 @@ public abstract class AbstractSession extends CoreAbstractSession<ClassDescripto
     /** Allow a session to enable concurrent processing. */
     protected boolean isConcurrent;
 
+    /** Number of change sets from which a merge into the cache merges the independent change sets in parallel, 0 if disabled. */
+    protected int parallelMergeThreshold;
+
     /**
      * This map will hold onto class to static metamodel class references from JPA.
      */
@@ -2805,16 +2812,12 @@ protected CacheKey getCacheKeyFromTargetSessionForMerge(Object implementation, O
                cacheKey.acquireDeferredLock();
                original = cacheKey.getObject();
                if (original == null) {
-                   synchronized (cacheKey) {
-                       if (cacheKey.isAcquired()) {
-                           try {
-                               cacheKey.wait();
-                           } catch (InterruptedException e) {
-                               //ignore and return
-                           }
-                       }
-                       original = cacheKey.getObject();
+                   try {
+                       cacheKey.waitForRelease(0);
+                   } catch (InterruptedException e) {
+                       //ignore and return
                    }
+                   original = cacheKey.getObject();
                }
                cacheKey.releaseDeferredLock();
            }
@@ -3684,6 +3687,88 @@ public Vector readAllObjects(Class<?> domainClass, Expression expression) throws
         return (Vector)executeQuery(query);
     }
 
+    /**
+     * PUBLIC:
+     * Read the instances of the class with the ids, in the order of the ids.
+     * The objects in the cache are returned from the cache, the others are read with one query
+     * selecting the ids with IN, split in chunks of the platform's id list chunk size.
+     * The id is the id value for a singleton primary key, for a composite it is an instance of CacheId.
+     * The result has an element for each id, null if no object exists with the id.
+     *
+     * @see org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform#getIdListChunkSize()
+     */
+    @Override
+    public List readAllObjectsById(Class<?> domainClass, Collection<?> ids) throws DatabaseException {
+        ClassDescriptor descriptor = getDescriptor(domainClass);
+        if ((descriptor == null) || descriptor.isDescriptorTypeAggregate()) {
+            throw QueryException.descriptorIsMissing(domainClass, null);
+        }
+        Object[] primaryKeys = ids.toArray();
+        // The distinct ids, in order.
+        Set<Object> missingKeys = new LinkedHashSet<>(primaryKeys.length * 2);
+        for (Object primaryKey : primaryKeys) {
+            if (primaryKey != null) {
+                missingKeys.add(primaryKey);
+            }
+        }
+        // The objects found by id, a null value if known not to exist.
+        Map<Object, Object> objects = new HashMap<>(primaryKeys.length * 2);
+        if (!missingKeys.isEmpty() && !descriptor.shouldDisableCacheHits()) {
+            getAllFromIdentityMapsById(missingKeys.toArray(), descriptor, objects);
+            missingKeys.removeAll(objects.keySet());
+        }
+        if (!objects.isEmpty()) {
+            incrementProfile(SessionProfiler.CacheHits);
+        }
+        if (!missingKeys.isEmpty()) {
+            incrementProfile(SessionProfiler.CacheMisses);
+            int chunkSize = ((DatasourcePlatform)getPlatform(descriptor.getJavaClass())).getIdListChunkSize();
+            boolean isComposite = descriptor.getPrimaryKeyFields().size() > 1;
+            List<Object> keyValues = new ArrayList<>(Math.min(chunkSize, missingKeys.size()));
+            Iterator<Object> iterator = missingKeys.iterator();
+            while (iterator.hasNext()) {
+                Object primaryKey = iterator.next();
+                if (primaryKey instanceof CacheId) {
+                    Object[] values = ((CacheId)primaryKey).getPrimaryKey();
+                    keyValues.add(isComposite ? Arrays.asList(values) : values[0]);
+                } else {
+                    keyValues.add(primaryKey);
+                }
+                if ((keyValues.size() == chunkSize) || !iterator.hasNext()) {
+                    ReadAllQuery query = new ReadAllQuery(descriptor.getJavaClass());
+                    query.setIsExecutionClone(true);
+                    query.addArgument(ForeignReferenceMapping.QUERY_BATCH_PARAMETER);
+                    query.addArgumentValue(keyValues);
+                    query.setSession(this);
+                    query.setSelectionCriteria(descriptor.buildBatchCriteriaByPK(query.getExpressionBuilder(), query));
+                    for (Object object : (Collection<Object>)executeQuery(query)) {
+                        objects.put(descriptor.getObjectBuilder().extractPrimaryKeyFromObject(object, this), object);
+                    }
+                    keyValues = new ArrayList<>(Math.min(chunkSize, missingKeys.size()));
+                }
+            }
+        }
+        List<Object> results = new ArrayList<>(primaryKeys.length);
+        for (Object primaryKey : primaryKeys) {
+            results.add((primaryKey == null) ? null : objects.get(primaryKey));
+        }
+        return results;
+    }
+
+    /**
+     * INTERNAL:
+     * Add the objects with the ids from the identity maps to the map of objects by id.
+     * An object of another class of the inheritance hierarchy is added as null, it is known not to exist.
+     * The ids are distinct and not null.
+     */
+    protected void getAllFromIdentityMapsById(Object[] primaryKeys, ClassDescriptor descriptor, Map<Object, Object> objects) {
+        Map<Object, Object> cached = getIdentityMapAccessorInstance().getAllFromIdentityMapWithEntityPK(primaryKeys, descriptor);
+        for (Map.Entry<Object, Object> entry : cached.entrySet()) {
+            Object object = entry.getValue();
+            objects.put(entry.getKey(), descriptor.getJavaClass().isInstance(object) ? object : null);
+        }
+    }
+
     /**
      * PUBLIC:
      * Read the first instance of the class from the database.
@@ -5260,6 +5345,30 @@ public void setIsConcurrent(boolean isConcurrent) {
        this.isConcurrent = isConcurrent;
    }
 
+   /**
+    * ADVANCED:
+    * Return the number of change sets from which the merge of a commit into the cache
+    * merges the independent change sets in parallel, 0 (the default) disables the parallel merge.
+    */
+   public int getParallelMergeThreshold() {
+       return this.parallelMergeThreshold;
+   }
+
+   /**
+    * ADVANCED:
+    * Set the number of change sets from which the merge of a commit into the cache
+    * merges the independent change sets in parallel, 0 (the default) disables the parallel merge.
+    * This applies to the merge of a unit of work into the shared cache, and the merge
+    * of the changes received through cache coordination.
+    * The independent change sets are updates of direct attributes of cached objects, they are merged
+    * by tasks of the common ForkJoinPool while the merge holds their locks, the other change sets are merged
+    * sequentially. Descriptors with event listeners are always merged sequentially.
+    * This can reduce the merge time of large commits, during which the changed objects are locked.
+    */
+   public void setParallelMergeThreshold(int parallelMergeThreshold) {
+       this.parallelMergeThreshold = parallelMergeThreshold;
+   }
+
    /**
     * ADVANCED:
     * Set to indicate whether ObjectLevelReadQuery should by default use ResultSet Access optimization.
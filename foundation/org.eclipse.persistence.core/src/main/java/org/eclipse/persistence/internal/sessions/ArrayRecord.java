@@ -235,6 +235,33 @@ public Vector getValues() {
         return super.getValues();
     }
 
+    /**
+     * INTERNAL:
+     * Return the value at the index of the row.
+     */
+    @Override
+    public Object getValueAt(int index) {
+        if (this.valuesArray != null) {
+            return this.valuesArray[index];
+        } else {
+            return super.getValueAt(index);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return a row of the fields and values from the start index to the end index (exclusive).
+     * PERF: The arrays of the range are copied, the values of the row are not converted to a Vector.
+     */
+    public AbstractRecord subRecord(int startIndex, int endIndex) {
+        if (this.valuesArray != null) {
+            return new ArrayRecord(new NonSynchronizedSubVector(this.fields, startIndex, endIndex),
+                    Arrays.copyOfRange(this.fieldsArray, startIndex, endIndex), Arrays.copyOfRange(this.valuesArray, startIndex, endIndex));
+        } else {
+            return new DatabaseRecord(new NonSynchronizedSubVector(getFields(), startIndex, endIndex), new NonSynchronizedSubVector(getValues(), startIndex, endIndex));
+        }
+    }
+
     /**
      * INTERNAL:
      * Add the field-value pair to the row.
@@ -42,6 +42,7 @@
 import org.eclipse.persistence.queries.InsertObjectQuery;
 import org.eclipse.persistence.queries.UpdateObjectQuery;
 import org.eclipse.persistence.queries.WriteObjectQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
 import org.eclipse.persistence.sessions.UnitOfWork.CommitOrderType;
 
 /**
@@ -51,6 +52,9 @@ public class CommitManager {
     /** Order based on mapping foreign key constraints on how to insert objects by class. */
     protected List<Class<?>> commitOrder;
 
+    /** The plan computed from the commit order, shared with the commit managers of the units of work. */
+    protected CommitOrderPlan commitOrderPlan;
+
     /**
      * This tracks the commit state for the objects, PENDING, PRE, POST, COMPLETE.
      * The key is the object and the value is the state.
@@ -153,7 +157,8 @@ public void commitAllObjectsWithChangeSet(UnitOfWorkChangeSet uowChangeSet) thro
                 }
             } else {
                 // The commit order is all of the classes ordered by dependencies, this is done for deadlock avoidance.
-                List<Class<?>> commitOrder = getCommitOrder();
+                // PERF: Only the changed classes are visited, in the order of the commit plan.
+                List<Class<?>> commitOrder = getCommitOrderPlan().orderClasses(uowChangeSet.getObjectChanges().keySet(), uowChangeSet.getNewObjectChangeSets().keySet());
                 int size = commitOrder.size();
                 for (int index = 0; index < size; index++) {
                     Class<?> theClass = commitOrder.get(index);
@@ -225,6 +230,11 @@ protected void commitNewObjectsForClassWithChangeSet(UnitOfWorkChangeSet uowChan
             AbstractSession session = getSession();
             ClassDescriptor descriptor = session.getDescriptor(theClass);
             List<ObjectChangeSet> newChangeSets = new ArrayList(newObjectChangesList.values());
+            CommitOrderPlan plan = getCommitOrderPlan();
+            if (plan.hasSelfReferences(theClass)) {
+                // Insert the referenced objects first, instead of recursing from the objects referencing them.
+                newChangeSets = plan.orderNewObjects(theClass, newChangeSets, session);
+            }
             int size = newChangeSets.size();
             for (int index = 0; index < size; index++) {
                 ObjectChangeSet changeSetToWrite = newChangeSets.get(index);
@@ -396,6 +406,18 @@ public List<Class<?>> getCommitOrder() {
         return this.commitOrder;
     }
 
+    /**
+     * INTERNAL:
+     * Return the commit plan computed from the commit order.
+     * It is computed on login, and shared with the units of work.
+     */
+    public CommitOrderPlan getCommitOrderPlan() {
+        if (this.commitOrderPlan == null) {
+            this.commitOrderPlan = new CommitOrderPlan(getCommitOrder(), getSession());
+        }
+        return this.commitOrderPlan;
+    }
+
     /**
      * Return the map of states of the objects being committed.
      * The states are defined as static Integers (PENDING, PRE, POST, COMPLETE).
@@ -493,18 +515,26 @@ public void initializeCommitOrder() {
             descriptors.addElement(descriptorsArray[index]);
         }
 
-        CommitOrderCalculator calculator = new CommitOrderCalculator(getSession());
-        calculator.addNodes(descriptors);
-        calculator.calculateMappingDependencies();
-        calculator.orderCommits();
-        descriptors = calculator.getOrderedDescriptors();
-
-        calculator = new CommitOrderCalculator(getSession());
-        calculator.addNodes(descriptors);
-        calculator.calculateSpecifiedDependencies();
-        calculator.orderCommits();
-
-        setCommitOrder(calculator.getOrderedClasses());
+        AbstractSession session = getSession();
+        session.startOperationProfile(SessionProfiler.CommitOrderInitialization);
+        try {
+            CommitOrderCalculator calculator = new CommitOrderCalculator(session);
+            calculator.addNodes(descriptors);
+            calculator.calculateMappingDependencies();
+            calculator.orderCommits();
+            descriptors = calculator.getOrderedDescriptors();
+
+            calculator = new CommitOrderCalculator(session);
+            calculator.addNodes(descriptors);
+            calculator.calculateSpecifiedDependencies();
+            calculator.orderCommits();
+
+            List<Class<?>> commitOrder = calculator.getOrderedClasses();
+            setCommitOrder(commitOrder);
+            setCommitOrderPlan(new CommitOrderPlan(commitOrder, session));
+        } finally {
+            session.endOperationProfile(SessionProfiler.CommitOrderInitialization);
+        }
     }
 
     /**
@@ -634,6 +664,15 @@ public void reinitialize() {
      */
     public void setCommitOrder(List commitOrder) {
         this.commitOrder = commitOrder;
+        this.commitOrderPlan = null;
+    }
+
+    /**
+     * INTERNAL:
+     * Set the commit plan, it must be computed from the commit order.
+     */
+    public void setCommitOrderPlan(CommitOrderPlan commitOrderPlan) {
+        this.commitOrderPlan = commitOrderPlan;
     }
 
     /**
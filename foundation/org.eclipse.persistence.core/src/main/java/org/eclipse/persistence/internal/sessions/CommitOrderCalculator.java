@@ -28,25 +28,33 @@
  * the calculation.
  *
  * The algorithm is described in the method comment for orderCommits().
- * This class also includes static methods for quicksort, copied from
- * the standard libraries and adapted for these objects, since that
- * seemed like the easiest way to sort.
+ * The nodes are indexed by class and descriptor, so building the graph
+ * is linear in the number of mappings, not quadratic in the number of descriptors.
  */
 public class CommitOrderCalculator {
     protected int currentTime;
     protected Vector<CommitOrderDependencyNode> nodes;
     protected Vector orderedDescriptors;
     protected AbstractSession session;
+    /** Index of the nodes by class, the first node added for a class is used. */
+    protected Map<Class<?>, CommitOrderDependencyNode> nodesByClass;
+    /** Index of the nodes by descriptor. */
+    protected Map<ClassDescriptor, CommitOrderDependencyNode> nodesByDescriptor;
 
     public CommitOrderCalculator(AbstractSession session) {
         super();
         this.currentTime = 0;
         this.nodes = new Vector<>(1);
+        this.nodesByClass = new HashMap<>();
+        this.nodesByDescriptor = new IdentityHashMap<>();
         this.session = session;
     }
 
     protected void addNode(ClassDescriptor d) {
-        nodes.addElement(new CommitOrderDependencyNode(this, d, session));
+        CommitOrderDependencyNode node = new CommitOrderDependencyNode(this, d, session);
+        nodes.addElement(node);
+        nodesByClass.putIfAbsent(d.getJavaClass(), node);
+        nodesByDescriptor.putIfAbsent(d, node);
     }
 
     public void addNodes(Vector descriptors) {
@@ -104,22 +112,14 @@ public void depthFirstSearch() {
         }
     }
 
-    /* Support for quicksort */
     /*
-     * Implement the doCompare method.
+     * Compare the nodes by finishing time, and by descriptor if the same.
      */
-    private static int doCompare(Object o1, Object o2) {
-        // I don't care if they're equal, and I want to sort largest first.
-        int first;
-
-        // I don't care if they're equal, and I want to sort largest first.
-        int second;
-        first = ((CommitOrderDependencyNode)o1).getFinishingTime();
-        second = ((CommitOrderDependencyNode)o2).getFinishingTime();
+    private static int doCompare(CommitOrderDependencyNode node1, CommitOrderDependencyNode node2) {
+        int first = node1.getFinishingTime();
+        int second = node2.getFinishingTime();
         if (first == second) {
-            return new DescriptorCompare().compare(
-                    ((CommitOrderDependencyNode)o1).getDescriptor(),
-                    ((CommitOrderDependencyNode)o2).getDescriptor());
+            return new DescriptorCompare().compare(node1.getDescriptor(), node2.getDescriptor());
         }
 
         if (first > second) {
@@ -160,23 +160,11 @@ public Vector getOrderedDescriptors() {
     }
 
     public CommitOrderDependencyNode nodeFor(Class<?> c) {
-        for (Enumeration<CommitOrderDependencyNode> e = nodes.elements(); e.hasMoreElements();) {
-            CommitOrderDependencyNode n = e.nextElement();
-            if (n.getDescriptor().getJavaClass() == c) {
-                return n;
-            }
-        }
-        return null;
+        return nodesByClass.get(c);
     }
 
     public CommitOrderDependencyNode nodeFor(ClassDescriptor d) {
-        for (Enumeration<CommitOrderDependencyNode> e = nodes.elements(); e.hasMoreElements();) {
-            CommitOrderDependencyNode n = e.nextElement();
-            if (n.getDescriptor() == d) {
-                return n;
-            }
-        }
-        return null;
+        return nodesByDescriptor.get(d);
     }
 
     /**
@@ -192,7 +180,7 @@ public void orderCommits() {
         CommitOrderDependencyNode[] nodeArray = new CommitOrderDependencyNode[nodes.size()];
         nodes.copyInto(nodeArray);
 
-        quicksort(nodeArray);
+        Arrays.sort(nodeArray, CommitOrderCalculator::doCompare);
         Vector result = new Vector(nodes.size());
         for (int i = 0; i < nodes.size(); i++) {
             CommitOrderDependencyNode node = nodeArray[i];
@@ -200,45 +188,4 @@ public void orderCommits() {
         }
         this.orderedDescriptors = result;
     }
-
-    /**
-     * Perform a sort using the specified comparator object.
-     */
-    private static void quicksort(Object[] arr) {
-        quicksort(arr, 0, arr.length - 1);
-    }
-
-    /**
-     * quicksort the array of objects.
-     *
-     * @param arr - an array of objects
-     * @param left - the start index - from where to begin sorting
-     * @param right - the last index.
-     */
-    private static void quicksort(Object[] arr, int left, int right) {
-        int i;
-        int last;
-
-        if (left >= right) {/* do nothing if array contains fewer than two */
-            return;/* two elements */
-        }
-        swap(arr, left, (left + right) / 2);
-        last = left;
-        for (i = left + 1; i <= right; i++) {
-            if (doCompare(arr[i], arr[left]) < 0) {
-                swap(arr, ++last, i);
-            }
-        }
-        swap(arr, left, last);
-        quicksort(arr, left, last - 1);
-        quicksort(arr, last + 1, right);
-    }
-
-    private static void swap(Object[] arr, int i, int j) {
-        Object tmp;
-
-        tmp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = tmp;
-    }
 }
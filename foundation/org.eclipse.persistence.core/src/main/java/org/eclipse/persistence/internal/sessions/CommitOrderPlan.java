@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
+
+/**
+ * INTERNAL:
+ * The immutable commit plan of a session, computed once from the commit order at login
+ * and shared by the commit manager of every unit of work.
+ * <p>
+ * The plan indexes the commit order by class, so a commit only visits the classes it changed,
+ * and holds the self referencing mappings of each class, used to order the inserts of new objects
+ * of the same class, the referenced objects first.
+ */
+public class CommitOrderPlan {
+    /** The classes in commit order. */
+    protected final List<Class<?>> orderedClasses;
+
+    /** The index of each class in the commit order. */
+    protected final Map<Class<?>, Integer> classIndexes;
+
+    /** The 1-1 mappings of each class with a foreign key constraint to the class or one of its superclasses. */
+    protected final Map<Class<?>, List<ForeignReferenceMapping>> selfReferences;
+
+    /**
+     * INTERNAL:
+     * Build the plan from the commit order, and the descriptors of the session.
+     */
+    public CommitOrderPlan(List<Class<?>> commitOrder, AbstractSession session) {
+        int size = commitOrder.size();
+        List<Class<?>> orderedClasses = new ArrayList<>(size);
+        Map<Class<?>, Integer> classIndexes = new HashMap<>(size * 2);
+        Map<Class<?>, List<ForeignReferenceMapping>> selfReferences = new HashMap<>();
+        for (int index = 0; index < size; index++) {
+            Class<?> theClass = commitOrder.get(index);
+            orderedClasses.add(theClass);
+            classIndexes.putIfAbsent(theClass, index);
+            ClassDescriptor descriptor = session.getDescriptor(theClass);
+            if ((descriptor == null) || descriptor.isDescriptorTypeAggregate()) {
+                continue;
+            }
+            List<ForeignReferenceMapping> mappings = null;
+            for (DatabaseMapping mapping : descriptor.getMappings()) {
+                if (mapping.isObjectReferenceMapping() && mapping.hasConstraintDependency()
+                        && (mapping.getReferenceDescriptor() != null)
+                        && mapping.getReferenceDescriptor().getJavaClass().isAssignableFrom(theClass)) {
+                    if (mappings == null) {
+                        mappings = new ArrayList<>(1);
+                    }
+                    mappings.add((ForeignReferenceMapping)mapping);
+                }
+            }
+            if (mappings != null) {
+                selfReferences.put(theClass, Collections.unmodifiableList(mappings));
+            }
+        }
+        this.orderedClasses = Collections.unmodifiableList(orderedClasses);
+        this.classIndexes = classIndexes;
+        this.selfReferences = selfReferences;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the classes in commit order.
+     */
+    public List<Class<?>> getOrderedClasses() {
+        return orderedClasses;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the index of the class in the commit order, or -1 if the class is not committed.
+     */
+    public int getIndex(Class<?> theClass) {
+        Integer index = this.classIndexes.get(theClass);
+        if (index == null) {
+            return -1;
+        }
+        return index;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the classes in commit order, from the changed classes.
+     * The classes not in the commit order are ignored.
+     */
+    public List<Class<?>> orderClasses(Collection<Class<?>> changedClasses, Collection<Class<?>> newClasses) {
+        List<Class<?>> classes = new ArrayList<>(changedClasses.size() + newClasses.size());
+        for (Class<?> theClass : changedClasses) {
+            if (this.classIndexes.containsKey(theClass)) {
+                classes.add(theClass);
+            }
+        }
+        for (Class<?> theClass : newClasses) {
+            if (this.classIndexes.containsKey(theClass) && !changedClasses.contains(theClass)) {
+                classes.add(theClass);
+            }
+        }
+        classes.sort((first, second) -> Integer.compare(this.classIndexes.get(first), this.classIndexes.get(second)));
+        return classes;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the new objects of the class must be ordered, as the class references itself.
+     */
+    public boolean hasSelfReferences(Class<?> theClass) {
+        return this.selfReferences.containsKey(theClass);
+    }
+
+    /**
+     * INTERNAL:
+     * Order the change sets of the new objects of the class, so a referenced new object
+     * is inserted before the objects referencing it.
+     * The references are read from the clones, the change sets of new objects do not record them,
+     * and references not instantiated are ignored.
+     * The references of a cycle are ignored once their object is being ordered,
+     * the commit manager resolves them with a shallow insert.
+     * The order is otherwise kept, and a chain of references does not recurse.
+     */
+    public List<ObjectChangeSet> orderNewObjects(Class<?> theClass, List<ObjectChangeSet> changeSets, AbstractSession session) {
+        List<ForeignReferenceMapping> mappings = this.selfReferences.get(theClass);
+        int size = changeSets.size();
+        if ((mappings == null) || (size < 2)) {
+            return changeSets;
+        }
+        // The change sets not ordered yet, by clone.
+        Map<Object, ObjectChangeSet> pending = new IdentityHashMap<>(size);
+        for (int index = 0; index < size; index++) {
+            ObjectChangeSet changeSet = changeSets.get(index);
+            pending.put(changeSet.getUnitOfWorkClone(), changeSet);
+        }
+        List<ObjectChangeSet> orderedChangeSets = new ArrayList<>(size);
+        Deque<ObjectChangeSet> stack = new ArrayDeque<>();
+        for (int index = 0; index < size; index++) {
+            ObjectChangeSet changeSet = changeSets.get(index);
+            if (pending.remove(changeSet.getUnitOfWorkClone()) == null) {
+                continue;
+            }
+            stack.push(changeSet);
+            while (!stack.isEmpty()) {
+                Object clone = stack.peek().getUnitOfWorkClone();
+                ObjectChangeSet referenced = null;
+                for (int mappingIndex = 0; mappingIndex < mappings.size(); mappingIndex++) {
+                    ForeignReferenceMapping mapping = mappings.get(mappingIndex);
+                    if (mapping.isAttributeValueInstantiated(clone)) {
+                        Object value = mapping.getRealAttributeValueFromObject(clone, session);
+                        if ((value != null) && ((referenced = pending.remove(value)) != null)) {
+                            break;
+                        }
+                    }
+                }
+                if (referenced == null) {
+                    orderedChangeSets.add(stack.pop());
+                } else {
+                    stack.push(referenced);
+                }
+            }
+        }
+        return orderedChangeSets;
+    }
+}
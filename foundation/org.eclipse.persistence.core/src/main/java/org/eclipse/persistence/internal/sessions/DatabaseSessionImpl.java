@@ -41,10 +41,15 @@
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.config.PropertiesUtils;
@@ -57,10 +62,15 @@
 import org.eclipse.persistence.exceptions.ValidationException;
 import org.eclipse.persistence.internal.databaseaccess.Platform;
 import org.eclipse.persistence.internal.helper.DBPlatformHelper;
+import org.eclipse.persistence.internal.queries.MappedKeyMapContainerPolicy;
 import org.eclipse.persistence.internal.sequencing.Sequencing;
 import org.eclipse.persistence.internal.sequencing.SequencingFactory;
 import org.eclipse.persistence.internal.sequencing.SequencingHome;
 import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.AggregateMapping;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
+import org.eclipse.persistence.mappings.foundation.MapKeyMapping;
 import org.eclipse.persistence.platform.database.DatabasePlatform;
 import org.eclipse.persistence.platform.database.OraclePlatform;
 import org.eclipse.persistence.platform.database.events.DatabaseEventListener;
@@ -139,6 +149,9 @@ public class DatabaseSessionImpl extends AbstractSession implements org.eclipse.
     //Bug#3440544 Used to stop the attempt to login more than once.
     protected volatile boolean isLoggedIn;
 
+    /** Allows the independent descriptors to be initialized concurrently on login. */
+    protected boolean shouldInitializeDescriptorsInParallel;
+
     /**
      * INTERNAL:
      * Set the SequencingHome object used by the session.
@@ -704,68 +717,255 @@ public void initializeDescriptors(Collection descriptors, boolean shouldInitiali
             addDescriptorsToSequencing(descriptors);
         }
 
+        startOperationProfile(SessionProfiler.DescriptorInitialization);
         try {
-            // First initialize basic properties (things that do not depend on anything else)
-            Iterator iterator = descriptors.iterator();
-            while (iterator.hasNext()) {
-                ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
-                try {
-                    AbstractSession session = getSessionForClass(descriptor.getJavaClass());
-                    if (descriptor.requiresInitialization(session)) {
-                        descriptor.preInitialize(session);
-                    } else if (descriptor.hasTablePerMultitenantPolicy()) {
-                        // If the descriptor doesn't require initialization and
-                        // has a table per tenant policy then add to the list
-                        // to be cloned and initialized per client session.
-                        addTablePerTenantDescriptor(descriptor);
-                    }
+            List<List<ClassDescriptor>> groups = null;
+            if (this.shouldInitializeDescriptorsInParallel) {
+                groups = buildIndependentDescriptorGroups(descriptors);
+            }
+            if ((groups != null) && (groups.size() > 1)) {
+                initializeDescriptorsInParallel(groups);
+            } else {
+                initializeDescriptorGroup(descriptors, null);
+            }
 
-                    //check if inheritance is involved in aggregate relationship, and let the parent know the child descriptor
-                    if (descriptor.isDescriptorTypeAggregate() && descriptor.isChildDescriptor()) {
-                        descriptor.initializeAggregateInheritancePolicy(session);
-                    }
-                } catch (RuntimeException exception) {
-                    getIntegrityChecker().handleError(exception);
-                }
+            if (getIntegrityChecker().hasErrors()) {
+                //CR#4011
+                handleSevere(new IntegrityException(getIntegrityChecker()));
             }
+        } finally {
+            clearIntegrityChecker();
+            endOperationProfile(SessionProfiler.DescriptorInitialization);
+        }
 
-            // Second initialize basic mappings
-            iterator = descriptors.iterator();
-            while (iterator.hasNext()) {
-                ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
-                try {
-                    AbstractSession session = getSessionForClass(descriptor.getJavaClass());
-                    if (descriptor.requiresInitialization(session)) {
-                        descriptor.initialize(session);
-                    }
-                } catch (RuntimeException exception) {
-                    getIntegrityChecker().handleError(exception);
+        getCommitManager().initializeCommitOrder();
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize the descriptors in three passes, first their basic properties and inheritance,
+     * then their mappings, then their dependencies on their child and reference descriptors.
+     * The errors are added to the list if given, otherwise handled by the integrity checker.
+     */
+    protected void initializeDescriptorGroup(Collection descriptors, List<RuntimeException> errors) {
+        // First initialize basic properties (things that do not depend on anything else)
+        Iterator iterator = descriptors.iterator();
+        while (iterator.hasNext()) {
+            ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
+            try {
+                AbstractSession session = getSessionForClass(descriptor.getJavaClass());
+                if (descriptor.requiresInitialization(session)) {
+                    descriptor.preInitialize(session);
+                } else if (descriptor.hasTablePerMultitenantPolicy()) {
+                    // If the descriptor doesn't require initialization and
+                    // has a table per tenant policy then add to the list
+                    // to be cloned and initialized per client session.
+                    addTablePerTenantDescriptor(descriptor);
+                }
+
+                //check if inheritance is involved in aggregate relationship, and let the parent know the child descriptor
+                if (descriptor.isDescriptorTypeAggregate() && descriptor.isChildDescriptor()) {
+                    descriptor.initializeAggregateInheritancePolicy(session);
                 }
+            } catch (RuntimeException exception) {
+                handleDescriptorError(exception, errors);
             }
+        }
 
-            // Third initialize child dependencies
-            iterator = descriptors.iterator();
-            while (iterator.hasNext()) {
-                ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
-                try {
-                    AbstractSession session = getSessionForClass(descriptor.getJavaClass());
-                    if (descriptor.requiresInitialization(session)) {
-                        descriptor.postInitialize(session);
-                    }
-                } catch (RuntimeException exception) {
-                    getIntegrityChecker().handleError(exception);
+        // Second initialize basic mappings
+        iterator = descriptors.iterator();
+        while (iterator.hasNext()) {
+            ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
+            try {
+                AbstractSession session = getSessionForClass(descriptor.getJavaClass());
+                if (descriptor.requiresInitialization(session)) {
+                    descriptor.initialize(session);
                 }
+            } catch (RuntimeException exception) {
+                handleDescriptorError(exception, errors);
             }
+        }
 
-            if (getIntegrityChecker().hasErrors()) {
-                //CR#4011
-                handleSevere(new IntegrityException(getIntegrityChecker()));
+        // Third initialize child dependencies
+        iterator = descriptors.iterator();
+        while (iterator.hasNext()) {
+            ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
+            try {
+                AbstractSession session = getSessionForClass(descriptor.getJavaClass());
+                if (descriptor.requiresInitialization(session)) {
+                    descriptor.postInitialize(session);
+                }
+            } catch (RuntimeException exception) {
+                handleDescriptorError(exception, errors);
             }
+        }
+    }
+
+    protected void handleDescriptorError(RuntimeException exception, List<RuntimeException> errors) {
+        if (errors == null) {
+            getIntegrityChecker().handleError(exception);
+        } else {
+            errors.add(exception);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize the groups of independent descriptors concurrently, each group by a task of a ForkJoinPool
+     * whose threads use the context class loader of the calling thread.
+     * Each group is initialized in the same passes and order as if initialized alone, so the result does not
+     * depend on the scheduling of the tasks. The errors are handled by the integrity checker in the order of the groups.
+     */
+    protected void initializeDescriptorsInParallel(List<List<ClassDescriptor>> groups) {
+        List<List<RuntimeException>> errors = new ArrayList<>(groups.size());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(groups.size());
+        // The integrity checker is lazily created, create it before the tasks use it.
+        getIntegrityChecker();
+        for (List<ClassDescriptor> group : groups) {
+            List<RuntimeException> groupErrors = new ArrayList<>();
+            errors.add(groupErrors);
+            tasks.add(ForkJoinTask.adapt(() -> initializeDescriptorGroup(group, groupErrors)));
+        }
+        // The worker threads of a pool do not inherit the context class loader,
+        // set the loader of the login thread so the descriptors load the classes of the application.
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setContextClassLoader(loader);
+            return thread;
+        }, null, false);
+        try {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
         } finally {
-            clearIntegrityChecker();
+            pool.shutdown();
         }
+        for (List<RuntimeException> groupErrors : errors) {
+            for (RuntimeException exception : groupErrors) {
+                getIntegrityChecker().handleError(exception);
+            }
+        }
+    }
 
-        getCommitManager().initializeCommitOrder();
+    /**
+     * INTERNAL:
+     * Return the descriptors partitioned into groups that can be initialized concurrently, or null if they cannot.
+     * Initializing a descriptor updates its parent descriptor and the reference descriptors of its relationship and
+     * aggregate mappings, so the descriptors related by inheritance or by these mappings are in the same group.
+     * The groups and the descriptors of each group keep the order of the descriptors.
+     * Null is returned if the descriptors related to a descriptor are not known, for interface descriptors,
+     * variable one to one mappings, other types of mappings, or reference classes without a descriptor.
+     */
+    public List<List<ClassDescriptor>> buildIndependentDescriptorGroups(Collection descriptors) {
+        if (isBroker() || getIntegrityChecker().shouldCheckDatabase()) {
+            return null;
+        }
+        Map<ClassDescriptor, ClassDescriptor> parents = new IdentityHashMap<>();
+        for (Object next : descriptors) {
+            ClassDescriptor descriptor = (ClassDescriptor)next;
+            if ((descriptor.getJavaClass() == null) || descriptor.isDescriptorForInterface()
+                    || descriptor.isInterfaceChildDescriptor() || descriptor.hasTablePerMultitenantPolicy()) {
+                return null;
+            }
+            parents.putIfAbsent(descriptor, descriptor);
+            if (descriptor.hasInheritance() && (descriptor.getInheritancePolicy().getParentClass() != null)
+                    && !addDescriptorDependency(descriptor, descriptor.getInheritancePolicy().getParentClass(), parents)) {
+                return null;
+            }
+            for (DatabaseMapping mapping : descriptor.getMappings()) {
+                if (!addDescriptorDependencies(descriptor, mapping, parents)) {
+                    return null;
+                }
+            }
+        }
+        Map<ClassDescriptor, List<ClassDescriptor>> groups = new LinkedHashMap<>();
+        for (Object next : descriptors) {
+            ClassDescriptor descriptor = (ClassDescriptor)next;
+            groups.computeIfAbsent(findDescriptorGroup(descriptor, parents), root -> new ArrayList<>()).add(descriptor);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Group the descriptor with the descriptors referenced by the mapping, return false if they are not known.
+     */
+    protected boolean addDescriptorDependencies(ClassDescriptor descriptor, DatabaseMapping mapping, Map<ClassDescriptor, ClassDescriptor> parents) {
+        if (mapping.isAbstractColumnMapping() || mapping.isTransformationMapping()) {
+            return true;
+        }
+        if (mapping.isVariableOneToOneMapping()) {
+            return false;
+        }
+        if (mapping.isAggregateObjectMapping()) {
+            return addDescriptorDependency(descriptor, ((AggregateMapping)mapping).getReferenceClass(), parents);
+        }
+        if (!mapping.isForeignReferenceMapping()) {
+            return false;
+        }
+        if (!mapping.isDirectCollectionMapping()
+                && !addDescriptorDependency(descriptor, ((ForeignReferenceMapping)mapping).getReferenceClass(), parents)) {
+            return false;
+        }
+        if (mapping.isCollectionMapping() && mapping.getContainerPolicy().isMappedKeyMapPolicy()) {
+            MapKeyMapping keyMapping = ((MappedKeyMapContainerPolicy)mapping.getContainerPolicy()).getKeyMapping();
+            return (keyMapping instanceof DatabaseMapping) && addDescriptorDependencies(descriptor, (DatabaseMapping)keyMapping, parents);
+        }
+        return true;
+    }
+
+    /**
+     * Group the descriptor with the descriptor of the class, return false if the class has no descriptor.
+     */
+    protected boolean addDescriptorDependency(ClassDescriptor descriptor, Class<?> referenceClass, Map<ClassDescriptor, ClassDescriptor> parents) {
+        ClassDescriptor referenceDescriptor = (referenceClass == null) ? null : getDescriptors().get(referenceClass);
+        if (referenceDescriptor == null) {
+            return false;
+        }
+        parents.putIfAbsent(referenceDescriptor, referenceDescriptor);
+        ClassDescriptor root = findDescriptorGroup(descriptor, parents);
+        ClassDescriptor referenceRoot = findDescriptorGroup(referenceDescriptor, parents);
+        if (root != referenceRoot) {
+            parents.put(referenceRoot, root);
+        }
+        return true;
+    }
+
+    /**
+     * Return the descriptor identifying the group of the descriptor.
+     */
+    protected ClassDescriptor findDescriptorGroup(ClassDescriptor descriptor, Map<ClassDescriptor, ClassDescriptor> parents) {
+        ClassDescriptor root = descriptor;
+        ClassDescriptor parent = parents.get(root);
+        while (parent != root) {
+            root = parent;
+            parent = parents.get(root);
+        }
+        // Compress the path to the root.
+        while (descriptor != root) {
+            ClassDescriptor next = parents.get(descriptor);
+            parents.put(descriptor, root);
+            descriptor = next;
+        }
+        return root;
+    }
+
+    /**
+     * ADVANCED:
+     * Return if the independent descriptors are initialized concurrently on login.
+     */
+    public boolean shouldInitializeDescriptorsInParallel() {
+        return shouldInitializeDescriptorsInParallel;
+    }
+
+    /**
+     * ADVANCED:
+     * Set if the independent descriptors should be initialized concurrently on login, false by default.
+     * The descriptors are grouped by inheritance, relationship and aggregate mappings, and the groups are
+     * initialized by the tasks of a ForkJoinPool. This can reduce the login time of large projects made of
+     * several groups of unrelated classes. The descriptors are initialized sequentially if the classes related
+     * to a descriptor are not known, such as with interface descriptors or variable one to one mappings.
+     */
+    public void setShouldInitializeDescriptorsInParallel(boolean shouldInitializeDescriptorsInParallel) {
+        this.shouldInitializeDescriptorsInParallel = shouldInitializeDescriptorsInParallel;
     }
 
     /**
@@ -743,6 +743,7 @@ public void invalidateObject(Object primaryKey, Class<?> theClass, boolean inval
         if (key != null) {
             key.setInvalidationState(CacheKey.CACHE_KEY_INVALID);
         }
+        getIdentityMapManager().removeFromRowCache(primaryKey, descriptor);
         if (invalidateCluster) {
             CommandManager rcm = getSession().getCommandManager();
             if (rcm != null) {
@@ -864,6 +865,7 @@ public void invalidateClass(Class<?> myClass, boolean recurseAndInvalidateToPare
                 key.setInvalidationState(CacheKey.CACHE_KEY_INVALID);
             }
         }
+        getIdentityMapManager().clearRowCache(getSession().getDescriptor(myClass));
         invalidateQueryCache(myClass);
         if (session.getProject().allowExtendedCacheLogging()) {
             session.log(SessionLog.FINEST, SessionLog.CACHE, "cache_class_invalidation", new Object[] {myClass, Thread.currentThread().getId(), Thread.currentThread().getName()});
@@ -879,6 +881,14 @@ public void invalidateQueryCache(Class<?> classThatChanged) {
         getIdentityMapManager().invalidateQueryCache(classThatChanged);
     }
 
+    /**
+     * Invalidate/remove the results for the class from the query cache that the changes could affect.
+     * This is used to invalidate the query cache when a change set is merged.
+     */
+    public void invalidateQueryCache(Class<?> classThatChanged, UnitOfWorkChangeSet changeSet) {
+        getIdentityMapManager().invalidateQueryCache(classThatChanged, changeSet);
+    }
+
     /**
      * ADVANCED:
      * Set all of the objects from all identity maps to be invalid in the cache.
@@ -21,12 +21,17 @@
 package org.eclipse.persistence.internal.sessions;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.descriptors.VersionLockingPolicy;
@@ -97,6 +102,9 @@ public class MergeManager {
     /** Backdoor to disable merge locks. */
     public static boolean LOCK_ON_MERGE = true;
 
+    /** Number of change sets merged by a task of a parallel merge. */
+    public static int PARALLEL_MERGE_BATCH_SIZE = 256;
+
     /** Stored so that all objects merged by a merge manager can have the same readTime. */
     protected long systemTime = 0;
 
@@ -113,6 +121,9 @@ public class MergeManager {
     /** records that this merge process is for a refresh */
     protected boolean isForRefresh;
 
+    /** The versions of the change sets were checked by the merging thread, used by the tasks of a parallel merge. */
+    protected boolean isVersionChecked;
+
     public MergeManager(AbstractSession session) {
         this.session = session;
         this.mergedNewObjects = new IdentityHashMap<>();
@@ -435,6 +446,10 @@ public void mergeChangesFromChangeSet(UnitOfWorkChangeSet uowChangeSet) {
             }
             // Iterate over each clone and let the object build merge to clones into the originals.
             this.session.getIdentityMapAccessorInstance().getWriteLockManager().acquireRequiredLocks(this, uowChangeSet);
+            removeFromRowCaches(uowChangeSet);
+            if (shouldMergeInParallel(uowChangeSet.getAllChangeSets().size())) {
+                mergeIndependentChangeSetsInParallel(uowChangeSet.getAllChangeSets().keySet());
+            }
             Iterator<ObjectChangeSet> objectChangeEnum = uowChangeSet.getAllChangeSets().keySet().iterator();
             Set<Class<?>> classesChanged = new HashSet<>();
             while (objectChangeEnum.hasNext()) {
@@ -463,7 +478,7 @@ public void mergeChangesFromChangeSet(UnitOfWorkChangeSet uowChangeSet) {
             }
             // Clear the query cache as well.
             for (Class<?> changedClass : classesChanged) {
-                this.session.getIdentityMapAccessorInstance().invalidateQueryCache(changedClass);
+                this.session.getIdentityMapAccessorInstance().invalidateQueryCache(changedClass, uowChangeSet);
             }
         } catch (RuntimeException exception) {
             this.session.handleException(exception);
@@ -477,6 +492,206 @@ public void mergeChangesFromChangeSet(UnitOfWorkChangeSet uowChangeSet) {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Remove the rows of the changed and deleted objects from the off-heap row caches of the shared cache.
+     * This is done before merging the changes, so a row selected before the commit is not put back in the row cache.
+     */
+    public void removeFromRowCaches(UnitOfWorkChangeSet uowChangeSet) {
+        for (ObjectChangeSet changeSet : uowChangeSet.getAllChangeSets().keySet()) {
+            removeFromRowCache(changeSet);
+        }
+        if (uowChangeSet.hasDeletedObjects()) {
+            for (ObjectChangeSet changeSet : uowChangeSet.getDeletedObjects().keySet()) {
+                removeFromRowCache(changeSet);
+            }
+        }
+    }
+
+    protected void removeFromRowCache(ObjectChangeSet changeSet) {
+        ClassDescriptor descriptor = changeSet.getDescriptor();
+        if (descriptor == null) {
+            descriptor = this.session.getDescriptor(changeSet.getClassType(this.session));
+        }
+        if ((descriptor != null) && (descriptor.getCachePolicy().getOffHeapCacheSize() > 0)) {
+            this.session.getParentIdentityMapSession(descriptor, false, true).getIdentityMapAccessorInstance()
+                    .getIdentityMapManager().removeFromRowCache(changeSet.getId(), descriptor);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the independent change sets of a commit of the size should be merged in parallel.
+     * This is enabled by the session's parallel merge threshold, for the merge of a unit of work
+     * into the shared cache and the merge of a remote change set into the distributed cache.
+     * @see AbstractSession#setParallelMergeThreshold(int)
+     */
+    public boolean shouldMergeInParallel(int changeSetCount) {
+        int threshold = this.session.getParallelMergeThreshold();
+        return (threshold > 0) && (changeSetCount >= threshold) && LOCK_ON_MERGE
+                && (shouldMergeChangesIntoDistributedCache() || (shouldMergeWorkingCopyIntoOriginal() && !((UnitOfWorkImpl)this.session).isNestedUnitOfWork()));
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the change set can be merged independently of the other change sets of the commit.
+     * This is the case for the update of direct attributes of an object in the cache, whose cache key was
+     * locked for the merge. Merging it only changes its object and cache key, and acquires no lock.
+     * The version of the change set must be the cached version.
+     */
+    protected boolean isIndependentChangeSet(ObjectChangeSet changeSet, ClassDescriptor descriptor) {
+        if (changeSet.isNew() || descriptor.getCachePolicy().shouldIsolateObjectsInUnitOfWork() || descriptor.getCachePolicy().isProtectedIsolation()
+                || descriptor.getFullyMergeEntity() || descriptor.getEventManager().hasAnyEventListeners()) {
+            return false;
+        }
+        if (shouldMergeChangesIntoDistributedCache() && (changeSet.getSynchronizationType() == ClassDescriptor.INVALIDATE_CHANGED_OBJECTS)) {
+            return false;
+        }
+        if (shouldMergeWorkingCopyIntoOriginal() && !changeSet.hasChanges()) {
+            return false;
+        }
+        CacheKey cacheKey = changeSet.getActiveCacheKey();
+        if ((cacheKey == null) || !cacheKey.isAcquired() || (cacheKey.getObject() == null)) {
+            return false;
+        }
+        // The version is checked by the merging thread, reading the version of a locked cache key would wait on the lock.
+        // Stale or converted change sets are left to the sequential merge, which invalidates or ignores them.
+        if (shouldMergeChangesIntoDistributedCache()) {
+            if (descriptor.usesVersionLocking()) {
+                if ((this.session.getCommandManager() != null) && (this.session.getCommandManager().getCommandConverter() != null)) {
+                    return false;
+                }
+                if (descriptor.getOptimisticLockingPolicy().getVersionDifference(changeSet.getInitialWriteLockValue(), cacheKey.getObject(), changeSet.getId(), this.session) != 0) {
+                    return false;
+                }
+            }
+        } else if (changeSet.shouldInvalidateObject(cacheKey.getObject(), this.session.getParentIdentityMapSession(descriptor, false, false))) {
+            return false;
+        }
+        for (org.eclipse.persistence.sessions.changesets.ChangeRecord record : changeSet.getChanges()) {
+            if (!(record instanceof DirectToFieldChangeRecord)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Merge the independent change sets in parallel, the other change sets are left to the sequential merge.
+     * The change sets are partitioned by descriptor, so a task merges into a single identity map,
+     * and merged by the tasks of the common ForkJoinPool, each with its own merge manager.
+     * The cache keys of the change sets were locked by the merging thread, the tasks do not acquire any lock,
+     * so the lock ordering is the one of the sequential merge.
+     * The merged objects are recorded, so the sequential merge does not merge them again.
+     */
+    public void mergeIndependentChangeSetsInParallel(Collection<ObjectChangeSet> changeSets) {
+        Map<ClassDescriptor, List<ObjectChangeSet>> partitions = new IdentityHashMap<>();
+        Map<ClassDescriptor, List<Object>> partitionObjects = new IdentityHashMap<>();
+        int count = 0;
+        for (ObjectChangeSet changeSet : changeSets) {
+            ClassDescriptor descriptor = changeSet.getDescriptor();
+            if ((descriptor == null) || !isIndependentChangeSet(changeSet, descriptor)) {
+                continue;
+            }
+            Object object;
+            if (shouldMergeWorkingCopyIntoOriginal()) {
+                object = changeSet.getUnitOfWorkClone();
+            } else {
+                // The object is merged only if in the cache and valid, as in the sequential merge.
+                object = changeSet.getTargetVersionOfSourceObject(this, this.session, false);
+            }
+            if (object != null) {
+                partitions.computeIfAbsent(descriptor, key -> new ArrayList<>()).add(changeSet);
+                partitionObjects.computeIfAbsent(descriptor, key -> new ArrayList<>()).add(object);
+                count++;
+            }
+        }
+        if (count < PARALLEL_MERGE_BATCH_SIZE) {
+            // Not worth it.
+            return;
+        }
+        // Initialize the read time shared by all the merged objects.
+        getSystemTime();
+        AtomicReference<RuntimeException> error = new AtomicReference<>();
+        List<ParallelMergeTask> tasks = new ArrayList<>();
+        for (Map.Entry<ClassDescriptor, List<ObjectChangeSet>> partition : partitions.entrySet()) {
+            ClassDescriptor descriptor = partition.getKey();
+            AbstractSession targetSession = this.session;
+            if (this.session.isUnitOfWork()) {
+                targetSession = this.session.getParentIdentityMapSession(descriptor, false, false);
+            }
+            List<ObjectChangeSet> partitionChangeSets = partition.getValue();
+            List<Object> objects = partitionObjects.get(descriptor);
+            int size = partitionChangeSets.size();
+            for (int start = 0; start < size; start += PARALLEL_MERGE_BATCH_SIZE) {
+                int end = Math.min(start + PARALLEL_MERGE_BATCH_SIZE, size);
+                tasks.add(new ParallelMergeTask(this, targetSession, objects.subList(start, end), partitionChangeSets.subList(start, end), error));
+            }
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        if (error.get() != null) {
+            throw error.get();
+        }
+        for (ParallelMergeTask task : tasks) {
+            for (Object object : task.objects) {
+                recordMerge(object, object, task.targetSession);
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return a merge manager with the same policies, used by a task of a parallel merge.
+     */
+    protected MergeManager copyForParallelMerge() {
+        MergeManager manager = new MergeManager(this.session);
+        manager.mergePolicy = this.mergePolicy;
+        manager.cascadePolicy = this.cascadePolicy;
+        manager.systemTime = this.systemTime;
+        manager.lockThread = this.lockThread;
+        manager.isForRefresh = this.isForRefresh;
+        manager.isVersionChecked = true;
+        return manager;
+    }
+
+    /**
+     * Merges a batch of independent change sets of a single descriptor.
+     */
+    protected static class ParallelMergeTask extends RecursiveAction {
+        protected final MergeManager parent;
+        protected final AbstractSession targetSession;
+        protected final List<Object> objects;
+        protected final List<ObjectChangeSet> changeSets;
+        protected final AtomicReference<RuntimeException> error;
+
+        protected ParallelMergeTask(MergeManager parent, AbstractSession targetSession, List<Object> objects, List<ObjectChangeSet> changeSets, AtomicReference<RuntimeException> error) {
+            this.parent = parent;
+            this.targetSession = targetSession;
+            this.objects = objects;
+            this.changeSets = changeSets;
+            this.error = error;
+        }
+
+        @Override
+        protected void compute() {
+            MergeManager manager = this.parent.copyForParallelMerge();
+            try {
+                int size = this.objects.size();
+                for (int index = 0; (index < size) && (this.error.get() == null); index++) {
+                    manager.mergeChanges(this.objects.get(index), this.changeSets.get(index), this.targetSession);
+                }
+            } catch (RuntimeException exception) {
+                this.error.compareAndSet(null, exception);
+            } finally {
+                // No lock is expected to be acquired, an independent change set is already locked.
+                if (!manager.getAcquiredLocks().isEmpty()) {
+                    this.targetSession.getIdentityMapAccessorInstance().getWriteLockManager().releaseAllAcquiredLocks(manager);
+                }
+            }
+        }
+    }
+
     /**
      * Merge the changes specified within the changeSet into the cache.
      * The object passed in is the original object from the cache.
@@ -497,7 +712,7 @@ protected Object mergeChangesIntoDistributedCache(Object original, ObjectChangeS
 
         // If version locking was used, check if the cache version is the correct version, otherwise invalidate,
         // Don't know for no locking, or field locking, so always merge.
-        if ((!changeSet.isNew()) && descriptor.usesVersionLocking()) {
+        if ((!changeSet.isNew()) && descriptor.usesVersionLocking() && !this.isVersionChecked) {
             if ((session.getCommandManager() != null) && (session.getCommandManager().getCommandConverter() != null)) {
                 // Rebuild the version value from user format i.e the change set was converted to XML
                 changeSet.rebuildWriteLockValueFromUserFormat(descriptor, session);
@@ -876,7 +1091,7 @@ protected CacheKey mergeChangesOfWorkingCopyIntoOriginal(Object clone, ObjectCha
                     // Only attempt to invalidate if we would have merged.  This saves us from a potential deadlock on get
                     // writeLockValue when we do not own the lock.
                     if (!objectChangeSet.isNew()) {
-                        if (objectChangeSet.shouldInvalidateObject(original, targetSession) && (!unitOfWork.isNestedUnitOfWork())) {
+                        if (!this.isVersionChecked && objectChangeSet.shouldInvalidateObject(original, targetSession) && (!unitOfWork.isNestedUnitOfWork())) {
                             // Invalidate any object that was marked invalid during the change calculation, even if it was new as multiple flushes
                             // and custom SQL could still produce invalid new objects. ? This seems to contradict the new check?
                             targetSession.getIdentityMapAccessor().invalidateObject(original);
@@ -143,6 +143,30 @@ protected void checkValues() {
         super.checkValues();
     }
 
+    /**
+     * INTERNAL:
+     * Return the value at the index of the row.
+     */
+    @Override
+    public Object getValueAt(int index) {
+        if (this.resultSet != null) {
+            loadAllValuesFromResultSet();
+        }
+        return super.getValueAt(index);
+    }
+
+    /**
+     * INTERNAL:
+     * Return a row of the fields and values from the start index to the end index (exclusive).
+     */
+    @Override
+    public AbstractRecord subRecord(int startIndex, int endIndex) {
+        if (this.resultSet != null) {
+            loadAllValuesFromResultSet();
+        }
+        return super.subRecord(startIndex, endIndex);
+    }
+
     /**
      * PUBLIC:
      * Check if the value is contained in the row.
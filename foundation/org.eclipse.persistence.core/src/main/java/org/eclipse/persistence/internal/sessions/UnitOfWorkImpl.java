@@ -41,6 +41,7 @@
 
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -203,6 +204,9 @@ public class UnitOfWorkImpl extends AbstractSession implements org.eclipse.persi
      */
     protected Map<ReadQuery, ReadQuery> batchQueries;
 
+    /** The number of queries reading the lazy relationships of each mapping, used to detect N+1 queries. */
+    protected transient Map<DatabaseMapping, int[]> nPlusOneQueryCounts;
+
     /** Read-only class can be used for reference data to avoid cloning when not required. */
     protected Set<Class<?>> readOnlyClasses;
 
@@ -378,6 +382,7 @@ public UnitOfWorkImpl(AbstractSession parent, ReferenceMode referenceMode) {
         this.shouldOptimizeResultSetAccess = parent.shouldOptimizeResultSetAccess;
         this.serializer = parent.serializer;
         this.isConcurrent = parent.isConcurrent;
+        this.parallelMergeThreshold = parent.parallelMergeThreshold;
         // Initialize the readOnlyClasses variable.
         this.setReadOnlyClasses(parent.copyReadOnlyClasses());
         this.validationLevel = Partial;
@@ -1970,6 +1975,7 @@ public CommitManager getCommitManager() {
             this.commitManager = new CommitManager(this);
             // Initialize the commit manager
             this.commitManager.setCommitOrder(this.parent.getCommitManager().getCommitOrder());
+            this.commitManager.setCommitOrderPlan(this.parent.getCommitManager().getCommitOrderPlan());
         }
         return this.commitManager;
     }
@@ -2300,6 +2306,52 @@ public boolean hasUnregisteredNewObjects() {
         return ((this.unregisteredNewObjects != null) && !this.unregisteredNewObjects.isEmpty());
     }
 
+    /**
+     * INTERNAL:
+     * Add the registered objects with the ids to the map of objects by id, deleted objects are added as null.
+     * The new objects are found by their id, and the objects of the parent's identity map are registered.
+     */
+    @Override
+    protected void getAllFromIdentityMapsById(Object[] primaryKeys, ClassDescriptor descriptor, Map<Object, Object> objects) {
+        super.getAllFromIdentityMapsById(primaryKeys, descriptor, objects);
+        for (Map.Entry<Object, Object> entry : objects.entrySet()) {
+            if ((entry.getValue() != null) && isObjectDeleted(entry.getValue())) {
+                entry.setValue(null);
+            }
+        }
+        if (objects.size() < primaryKeys.length && hasNewObjects()) {
+            Set<Object> requestedKeys = new HashSet<>(Arrays.asList(primaryKeys));
+            ObjectBuilder builder = descriptor.getObjectBuilder();
+            for (Object clone : getNewObjectsCloneToOriginal().keySet()) {
+                if (descriptor.getJavaClass().isInstance(clone)) {
+                    Object primaryKey = builder.extractPrimaryKeyFromObject(clone, this, true);
+                    if ((primaryKey != null) && requestedKeys.contains(primaryKey) && !objects.containsKey(primaryKey)) {
+                        objects.put(primaryKey, clone);
+                    }
+                }
+            }
+        }
+        if (objects.size() < primaryKeys.length) {
+            List<Object> missingKeys = new ArrayList<>(primaryKeys.length - objects.size());
+            for (Object primaryKey : primaryKeys) {
+                if (!objects.containsKey(primaryKey)) {
+                    missingKeys.add(primaryKey);
+                }
+            }
+            AbstractSession parentSession = getParentIdentityMapSession(descriptor, false, false);
+            Map<Object, Object> cached = parentSession.getIdentityMapAccessorInstance().getAllFromIdentityMapWithEntityPK(missingKeys.toArray(), descriptor);
+            for (Map.Entry<Object, Object> entry : cached.entrySet()) {
+                Object original = entry.getValue();
+                if (descriptor.getJavaClass().isInstance(original)) {
+                    Object clone = registerExistingObject(original, getDescriptor(original.getClass()), entry.getKey(), true);
+                    objects.put(entry.getKey(), isObjectDeleted(clone) ? null : clone);
+                } else {
+                    objects.put(entry.getKey(), null);
+                }
+            }
+        }
+    }
+
     /**
      * INTERNAL:
      * Return if there are any registered new objects.
@@ -3369,6 +3421,7 @@ protected void mergeChangesIntoParent() {
         try {
             if (!isNestedUnitOfWork) {
                 preMergeChanges();
+                manager.removeFromRowCaches(uowChangeSet);
             }
 
             // Must clone the clone mapping because entries can be added to it during the merging,
@@ -3385,6 +3438,9 @@ protected void mergeChangesIntoParent() {
             }
             Set<Class<?>> classesChanged = new HashSet<>();
             if (! shouldStoreBypassCache()) {
+                if (manager.shouldMergeInParallel(uowChangeSet.getAllChangeSets().size())) {
+                    manager.mergeIndependentChangeSetsInParallel(uowChangeSet.getAllChangeSets().keySet());
+                }
                 for (Map<ObjectChangeSet, ObjectChangeSet> objectChangesList : ((UnitOfWorkChangeSet)getUnitOfWorkChangeSet()).getObjectChanges().values()) {
                     // May be no changes for that class type.
                     for (ObjectChangeSet changeSetToWrite : objectChangesList.values()) {
@@ -3431,7 +3487,7 @@ protected void mergeChangesIntoParent() {
                 postMergeChanges(classesChanged);
 
                 for (Class<?> changedClass : classesChanged) {
-                    this.parent.getIdentityMapAccessorInstance().invalidateQueryCache(changedClass);
+                    this.parent.getIdentityMapAccessorInstance().invalidateQueryCache(changedClass, uowChangeSet);
                 }
                 // If change propagation enabled through RemoteCommandManager then go for it
                 if (this.parent.shouldPropagateChanges() && (this.parent.getCommandManager() != null)) {
@@ -5807,6 +5863,18 @@ public void setBatchQueries(Map<ReadQuery, ReadQuery> batchQueries) {
         this.batchQueries = batchQueries;
     }
 
+    /**
+     * INTERNAL:
+     * Return the number of queries reading the lazy relationships of each mapping in this unit of work.
+     * @see org.eclipse.persistence.sessions.Project#setNPlusOneQueryThreshold(int)
+     */
+    public Map<DatabaseMapping, int[]> getNPlusOneQueryCounts() {
+        if (nPlusOneQueryCounts == null) {
+            nPlusOneQueryCounts = new HashMap<>();
+        }
+        return nPlusOneQueryCounts;
+    }
+
     /**
      * INTERNAL:
      */
@@ -5933,6 +6001,7 @@ public void clear(boolean shouldClearCache) {
         this.pessimisticLockedObjects = null;
         this.optimisticReadLockObjects = null;
         this.batchQueries = null;
+        this.nPlusOneQueryCounts = null;
         this.privateOwnedObjects = null;
         this.newObjectsCloneToMergeOriginal = null;
         if(shouldClearCache) {
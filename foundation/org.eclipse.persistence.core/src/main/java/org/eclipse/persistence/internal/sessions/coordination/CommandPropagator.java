@@ -102,7 +102,12 @@ public void synchronousPropagateCommand() {
     public void asynchronousPropagateCommand() {
         // The async logic is in the run() method
         rcm.logDebug("async_propagation", null);
-        this.rcm.getServerPlatform().launchContainerRunnable(this);
+        if (this.rcm.getTransportManager().isNonBlocking()) {
+            // The connections only queue the command, no thread is required.
+            run();
+        } else {
+            this.rcm.getServerPlatform().launchContainerRunnable(this);
+        }
     }
 
     /**
@@ -205,6 +210,12 @@ public void run() {
                 // so that it's recognized as async propagation in handleCommunicationException method.
                 this.connection = iterator.next();
                 propagateCommand(this.connection);
+            } else if (this.rcm.getTransportManager().isNonBlocking()) {
+                // The connections do not block - no need for a thread per connection.
+                while (iterator.hasNext()) {
+                    this.connection = iterator.next();
+                    propagateCommand(this.connection);
+                }
             } else {
                 // This is the top level thread. We need to spawn off a bunch of async connection threads
                 while (iterator.hasNext()) {
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination.tcp;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.exceptions.RemoteCommandManagerException;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Thread processing the commands received by the TCP transport.
+ * </p><p>
+ * <b>Description</b>: The selector queues the received commands, they are processed in the order
+ * they were received, off the selector thread, so the socket IO of the service continues while a command is processed.
+ * The bytes of the commands received and not yet processed are bounded by the maximum pending bytes of the transport,
+ * when the bound is reached the selector stops reading until the processor catches up,
+ * so a slow service applies back-pressure to the services sending to it through TCP flow control.
+ * </p>
+ */
+public class TCPCommandProcessor implements Runnable {
+
+    protected final TCPCommandSelector selector;
+    protected final RemoteCommandManager rcm;
+    protected final long maxReceivedBytes;
+
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Condition commandReceived = this.lock.newCondition();
+    /** The commands received and not yet processed, and the remote address they were received from. */
+    protected final Queue<byte[]> commands = new ArrayDeque<>();
+    protected final Queue<String> addresses = new ArrayDeque<>();
+    /** The command bytes received and not yet processed. */
+    protected long receivedBytes;
+    /** If the selector was asked to stop reading. */
+    protected boolean isReadingSuspended;
+    protected boolean isActive;
+
+    public TCPCommandProcessor(TCPCommandSelector selector, RemoteCommandManager rcm, long maxReceivedBytes) {
+        this.selector = selector;
+        this.rcm = rcm;
+        this.maxReceivedBytes = maxReceivedBytes;
+        this.isActive = true;
+    }
+
+    /**
+     * Queue a received command, called by the selector.
+     * Return false if the received bytes reached the maximum, the selector must stop reading
+     * until it is requested to resume.
+     */
+    public boolean add(byte[] command, String address) {
+        this.lock.lock();
+        try {
+            this.commands.add(command);
+            this.addresses.add(address);
+            this.receivedBytes += command.length;
+            this.commandReceived.signal();
+            if (this.receivedBytes >= this.maxReceivedBytes) {
+                this.isReadingSuspended = true;
+                return false;
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stop processing, the commands not yet processed are discarded.
+     */
+    public void close() {
+        this.lock.lock();
+        try {
+            this.isActive = false;
+            this.commands.clear();
+            this.addresses.clear();
+            this.receivedBytes = 0;
+            this.commandReceived.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the command bytes received and not yet processed.
+     */
+    public long getReceivedBytes() {
+        this.lock.lock();
+        try {
+            return this.receivedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            byte[] command;
+            String address;
+            this.lock.lock();
+            try {
+                while (this.isActive && this.commands.isEmpty()) {
+                    this.commandReceived.awaitUninterruptibly();
+                }
+                if (!this.isActive) {
+                    return;
+                }
+                command = this.commands.poll();
+                address = this.addresses.poll();
+            } finally {
+                this.lock.unlock();
+            }
+            processCommand(command, address);
+            boolean resumeReading = false;
+            this.lock.lock();
+            try {
+                if (!this.isActive) {
+                    return;
+                }
+                this.receivedBytes -= command.length;
+                // Resume at half the maximum, rather than every command.
+                if (this.isReadingSuspended && (this.receivedBytes <= (this.maxReceivedBytes / 2))) {
+                    this.isReadingSuspended = false;
+                    resumeReading = true;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            if (resumeReading) {
+                this.selector.resumeReading();
+            }
+        }
+    }
+
+    /**
+     * Process a received command, errors are handled by the remote command manager.
+     */
+    protected void processCommand(byte[] command, String address) {
+        try {
+            this.rcm.processCommandFromRemoteConnection(command);
+        } catch (RuntimeException exception) {
+            try {
+                this.rcm.handleException(RemoteCommandManagerException.errorProcessingRemoteCommand(
+                        this.selector.transportManager.toString(), null, address, null, exception));
+            } catch (RuntimeException ignore) {
+                // User had a chance to handle the exception.
+                // The method is called by the processor thread - no one could catch this exception.
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination.tcp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.exceptions.RemoteCommandManagerException;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Single thread performing the socket IO of the TCP transport.
+ * </p><p>
+ * <b>Description</b>: The selector accepts the connections from the remote services,
+ * reads their frames and queues the received commands to the command processor, and connects and writes the frames
+ * of the connections to the remote services.
+ * When the command processor does not keep up no more frames are read until it catches up,
+ * so a slow service applies back-pressure to the services sending to it through TCP flow control.
+ * Other threads request work from the selector through tasks, executed by the selector thread.
+ * </p>
+ */
+public class TCPCommandSelector implements Runnable {
+
+    /** The largest frame accepted, a larger length is treated as a corrupted stream. */
+    public static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    protected final TCPTransportManager transportManager;
+    protected final RemoteCommandManager rcm;
+    protected final Selector selector;
+    protected final ServerSocketChannel serverChannel;
+    protected final TCPCommandProcessor processor;
+    protected volatile boolean isActive;
+    /** If the inbound connections are not read, only used by the selector thread. */
+    protected boolean isReadingSuspended;
+
+    /** Work requested by other threads. */
+    protected final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /** Work scheduled at a System.nanoTime(), only used by the selector thread. */
+    protected final PriorityQueue<ScheduledTask> scheduledTasks = new PriorityQueue<>();
+    /** Buffer used to detect the end of the stream of the connections to remote services. */
+    protected final ByteBuffer discardBuffer = ByteBuffer.allocate(64);
+
+    /**
+     * Bind the server socket of the local service.
+     */
+    public TCPCommandSelector(TCPTransportManager transportManager, InetSocketAddress address) throws IOException {
+        this.transportManager = transportManager;
+        this.rcm = transportManager.getRemoteCommandManager();
+        this.processor = new TCPCommandProcessor(this, this.rcm, transportManager.getMaxPendingBytes());
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.bind(address);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException exception) {
+            this.serverChannel.close();
+            this.selector.close();
+            throw exception;
+        }
+        this.isActive = true;
+    }
+
+    /**
+     * Return the port the local service listens on.
+     */
+    public int getLocalPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    public Selector getSelector() {
+        return this.selector;
+    }
+
+    /**
+     * Return the processor of the received commands, to be launched with the selector.
+     */
+    public TCPCommandProcessor getProcessor() {
+        return this.processor;
+    }
+
+    /**
+     * Request the connection to connect after the delay.
+     */
+    public void connect(TCPRemoteConnection connection, long delay) {
+        execute(() -> this.scheduledTasks.add(new ScheduledTask(delay, () -> {
+            if (connection.isConnecting()) {
+                try {
+                    connection.connect();
+                } catch (IOException exception) {
+                    connection.failed(exception);
+                }
+            }
+        })));
+    }
+
+    /**
+     * Request the queued commands of the connection to be written after the delay.
+     */
+    public void schedule(TCPRemoteConnection connection, long delay) {
+        Runnable flush = () -> {
+            try {
+                connection.flush();
+            } catch (IOException exception) {
+                connection.failed(exception);
+            }
+        };
+        if (delay <= 0) {
+            execute(flush);
+        } else {
+            execute(() -> this.scheduledTasks.add(new ScheduledTask(delay, flush)));
+        }
+    }
+
+    /**
+     * Request the channel of the connection to be closed.
+     */
+    public void close(TCPRemoteConnection connection) {
+        execute(connection::closeChannel);
+    }
+
+    /**
+     * Stop the selector, the server socket and all the connections are closed.
+     */
+    public void close() {
+        this.isActive = false;
+        this.selector.wakeup();
+    }
+
+    /**
+     * Request the inbound connections to be read again, after the command processor caught up.
+     */
+    public void resumeReading() {
+        execute(() -> {
+            this.isReadingSuspended = false;
+            setInboundInterestOps(SelectionKey.OP_READ);
+        });
+    }
+
+    /**
+     * Stop reading the inbound connections, the command processor does not keep up.
+     */
+    protected void suspendReading() {
+        this.isReadingSuspended = true;
+        setInboundInterestOps(0);
+    }
+
+    protected void setInboundInterestOps(int interestOps) {
+        for (SelectionKey key : this.selector.keys()) {
+            if (key.isValid() && (key.attachment() instanceof InboundConnection)) {
+                key.interestOps(interestOps);
+            }
+        }
+    }
+
+    protected void execute(Runnable task) {
+        this.tasks.add(task);
+        this.selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        Object[] args = { this.transportManager.toString(), getLocalPort() };
+        this.rcm.logDebug("tcp_selector_start_listening", args);
+        try {
+            while (this.isActive) {
+                long timeout = 0;
+                ScheduledTask next = this.scheduledTasks.peek();
+                if (next != null) {
+                    // Wait at least a millisecond, 0 would wait forever.
+                    timeout = Math.max(1, TimeUnit.NANOSECONDS.toMillis(next.time - System.nanoTime()));
+                }
+                this.selector.select(timeout);
+                Runnable task;
+                while ((task = this.tasks.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid()) {
+                        handle(key);
+                    }
+                }
+                long now = System.nanoTime();
+                while (((next = this.scheduledTasks.peek()) != null) && (next.time - now <= 0)) {
+                    this.scheduledTasks.poll().task.run();
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            if (this.isActive) {
+                try {
+                    this.rcm.handleException(RemoteCommandManagerException.errorBindingConnection(this.transportManager.toString(), exception));
+                } catch (RuntimeException ignore) {
+                    // The selector thread, no one could catch this exception.
+                }
+            }
+        } finally {
+            this.processor.close();
+            for (SelectionKey key : this.selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException ignore) {
+                    // Closing.
+                }
+            }
+            try {
+                this.selector.close();
+            } catch (IOException ignore) {
+                // Closing.
+            }
+            this.rcm.logDebug("tcp_selector_stop_listening", args);
+        }
+    }
+
+    /**
+     * Handle a selected key, an IO error closes the channel of the key.
+     */
+    protected void handle(SelectionKey key) {
+        Object attachment = key.attachment();
+        try {
+            if (key.isAcceptable()) {
+                SocketChannel channel = this.serverChannel.accept();
+                if (channel != null) {
+                    channel.configureBlocking(false);
+                    channel.register(this.selector, this.isReadingSuspended ? 0 : SelectionKey.OP_READ, new InboundConnection(channel));
+                }
+            } else if (attachment instanceof TCPRemoteConnection) {
+                TCPRemoteConnection connection = (TCPRemoteConnection)attachment;
+                try {
+                    if (key.isConnectable()) {
+                        connection.finishConnect();
+                    } else {
+                        if (key.isReadable()) {
+                            connection.read(this.discardBuffer);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    }
+                } catch (IOException exception) {
+                    connection.failed(exception);
+                }
+            } else if (attachment instanceof InboundConnection) {
+                ((InboundConnection)attachment).read();
+            }
+        } catch (IOException exception) {
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException ignore) {
+                // Closing after an error.
+            }
+        }
+    }
+
+    /**
+     * Queue a received command to the command processor, reading stops if the processor does not keep up.
+     */
+    protected void processCommand(byte[] command, SocketChannel channel) {
+        if (!this.processor.add(command, String.valueOf(channel.socket().getRemoteSocketAddress())) && !this.isReadingSuspended) {
+            suspendReading();
+        }
+    }
+
+    /**
+     * Connection from a remote service, reads the frames of commands.
+     */
+    protected class InboundConnection {
+        protected final SocketChannel channel;
+        protected ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        protected InboundConnection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        protected void read() throws IOException {
+            if (this.channel.read(this.buffer) < 0) {
+                throw new IOException("Connection closed by " + this.channel.socket().getRemoteSocketAddress());
+            }
+            this.buffer.flip();
+            while (this.buffer.remaining() >= 4) {
+                int length = this.buffer.getInt(this.buffer.position());
+                if ((length < 4) || (length > MAX_FRAME_LENGTH)) {
+                    throw new IOException("Invalid frame length " + length + " from " + this.channel.socket().getRemoteSocketAddress());
+                }
+                if (this.buffer.remaining() < (length + 4)) {
+                    if (this.buffer.capacity() < (length + 4)) {
+                        // Grow the buffer to hold the frame.
+                        ByteBuffer larger = ByteBuffer.allocate(length + 4);
+                        larger.put(this.buffer);
+                        this.buffer = larger;
+                        return;
+                    }
+                    break;
+                }
+                this.buffer.getInt();
+                int count = checkFrame(this.buffer.position(), this.buffer.position() + length);
+                this.buffer.getInt();
+                for (int index = 0; index < count; index++) {
+                    byte[] command = new byte[this.buffer.getInt()];
+                    this.buffer.get(command);
+                    processCommand(command, this.channel);
+                }
+            }
+            this.buffer.compact();
+        }
+
+        /**
+         * Return the number of commands of the frame between the positions of the buffer,
+         * the frame is invalid if its commands do not exactly fill it.
+         */
+        protected int checkFrame(int start, int end) throws IOException {
+            int count = this.buffer.getInt(start);
+            int position = start + 4;
+            for (int index = 0; (index < count) && (position >= 0); index++) {
+                if ((end - position) < 4) {
+                    position = -1;
+                } else {
+                    int length = this.buffer.getInt(position);
+                    position = position + 4;
+                    position = ((length < 0) || (length > (end - position))) ? -1 : (position + length);
+                }
+            }
+            if ((count < 0) || (position != end)) {
+                throw new IOException("Invalid frame of " + count + " commands from " + this.channel.socket().getRemoteSocketAddress());
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Task executed by the selector thread at a time.
+     */
+    protected static class ScheduledTask implements Comparable<ScheduledTask> {
+        protected final long time;
+        protected final Runnable task;
+
+        protected ScheduledTask(long delay, Runnable task) {
+            this.time = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(ScheduledTask task) {
+            return Long.compare(this.time, task.time);
+        }
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination.tcp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.exceptions.CommunicationException;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Persistent TCP connection used to send commands to a remote service.
+ * </p><p>
+ * <b>Description</b>: Executing a command only queues its bytes, the selector of the
+ * transport writes the commands queued within the coalesce delay as one frame.
+ * A frame is the frame length, the number of commands, and each command as its length and bytes.
+ * The bytes queued and not yet written are bounded by the maximum pending bytes of the transport,
+ * the calling thread waits for the bytes to be written when the bound is reached (back-pressure),
+ * and fails if they are not written within the send timeout.
+ * If the connection fails it reconnects after the reconnect delay of the transport,
+ * the commands queued in the meantime are sent once connected.
+ * </p>
+ */
+public class TCPRemoteConnection extends RemoteConnection {
+
+    /** Connection states. */
+    protected static final int CONNECTING = 0;
+    protected static final int CONNECTED = 1;
+    protected static final int CLOSED = 2;
+
+    protected transient TCPTransportManager transportManager;
+    protected transient TCPCommandSelector selector;
+    protected transient InetSocketAddress address;
+    protected transient SocketChannel channel;
+    protected transient SelectionKey key;
+    protected transient int state;
+    protected transient Exception error;
+
+    /** Guards the state and the queues, shared by the propagating threads and the selector. */
+    protected final transient ReentrantLock lock = new ReentrantLock();
+    /** Signalled when queued bytes are written or discarded. */
+    protected final transient Condition bytesWritten = this.lock.newCondition();
+
+    /** The commands queued and not yet added to a frame. */
+    protected transient Queue<byte[]> pending;
+    /** The frames not yet written, and their number of command bytes. */
+    protected transient Queue<ByteBuffer> frames;
+    protected transient Queue<Integer> frameBytes;
+    /** The command bytes queued and not yet written. */
+    protected transient long pendingBytes;
+
+    protected transient long commandsSent;
+    protected transient long framesSent;
+
+    public TCPRemoteConnection(TCPTransportManager transportManager, TCPCommandSelector selector, ServiceId serviceId, InetSocketAddress address) {
+        this.transportManager = transportManager;
+        this.selector = selector;
+        this.serviceId = serviceId;
+        this.address = address;
+        this.state = CONNECTING;
+        this.pending = new ArrayDeque<>();
+        this.frames = new ArrayDeque<>();
+        this.frameBytes = new ArrayDeque<>();
+    }
+
+    /**
+     * INTERNAL:
+     * Serialize and queue the command.
+     */
+    @Override
+    public Object executeCommand(Command command) throws CommunicationException {
+        Serializer serializer = this.transportManager.getRemoteCommandManager().getSerializer();
+        if (serializer == null) {
+            serializer = JavaSerializer.instance;
+        }
+        return executeCommand((byte[])serializer.serialize(command, null));
+    }
+
+    /**
+     * INTERNAL:
+     * Queue the command to be sent in the next frame, wait if the pending bytes are above the maximum.
+     */
+    @Override
+    public Object executeCommand(byte[] command) throws CommunicationException {
+        boolean isFirst;
+        this.lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(this.transportManager.getSendTimeout());
+            while ((this.state != CLOSED) && (this.pendingBytes > 0)
+                    && ((this.pendingBytes + command.length) > this.transportManager.getMaxPendingBytes())) {
+                if (nanos <= 0) {
+                    throw CommunicationException.errorSendingMessage(this.serviceId.getId(),
+                            new TimeoutException(this.pendingBytes + " bytes were not sent to " + this.address + " within " + this.transportManager.getSendTimeout() + "ms"));
+                }
+                try {
+                    nanos = this.bytesWritten.awaitNanos(nanos);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw CommunicationException.errorSendingMessage(this.serviceId.getId(), exception);
+                }
+            }
+            if (this.state == CLOSED) {
+                throw CommunicationException.unableToConnect(toString(), this.error);
+            }
+            isFirst = this.pending.isEmpty();
+            this.pending.add(command);
+            this.pendingBytes += command.length;
+        } finally {
+            this.lock.unlock();
+        }
+        if (isFirst) {
+            this.selector.schedule(this, this.transportManager.getCoalesceDelay());
+        }
+        return null;
+    }
+
+    /**
+     * INTERNAL:
+     * Start connecting, called by the selector.
+     */
+    protected void connect() throws IOException {
+        if (this.address.isUnresolved()) {
+            // Resolve again, the host may not have been known yet.
+            this.address = new InetSocketAddress(this.address.getHostString(), this.address.getPort());
+            if (this.address.isUnresolved()) {
+                throw new UnknownHostException(this.address.getHostString());
+            }
+        }
+        this.channel = SocketChannel.open();
+        this.channel.configureBlocking(false);
+        this.channel.socket().setTcpNoDelay(true);
+        this.key = this.channel.register(this.selector.getSelector(), SelectionKey.OP_CONNECT, this);
+        if (this.channel.connect(this.address)) {
+            finishConnect();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Complete the connection, the queued commands are sent.
+     * Reading detects the connection being closed by the remote service.
+     */
+    protected void finishConnect() throws IOException {
+        this.channel.finishConnect();
+        this.lock.lock();
+        try {
+            if (this.state != CONNECTING) {
+                return;
+            }
+            this.state = CONNECTED;
+            this.error = null;
+        } finally {
+            this.lock.unlock();
+        }
+        this.key.interestOps(SelectionKey.OP_READ);
+        Object[] args = { toString() };
+        this.transportManager.getRemoteCommandManager().logDebug("tcp_connection_connected", args);
+        flush();
+    }
+
+    /**
+     * INTERNAL:
+     * Add the queued commands to a frame and write the frames, called by the selector.
+     */
+    protected void flush() throws IOException {
+        this.lock.lock();
+        try {
+            if (this.state != CONNECTED) {
+                return;
+            }
+            int count = this.pending.size();
+            if (count > 0) {
+                int bytes = 0;
+                for (byte[] command : this.pending) {
+                    bytes += command.length;
+                }
+                ByteBuffer frame = ByteBuffer.allocate(8 + (4 * count) + bytes);
+                frame.putInt(frame.capacity() - 4);
+                frame.putInt(count);
+                byte[] command;
+                while ((command = this.pending.poll()) != null) {
+                    frame.putInt(command.length);
+                    frame.put(command);
+                }
+                frame.flip();
+                this.frames.add(frame);
+                this.frameBytes.add(bytes);
+                this.commandsSent += count;
+                this.framesSent++;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        write();
+    }
+
+    /**
+     * INTERNAL:
+     * Write the frames until the socket buffer is full, called by the selector.
+     */
+    protected void write() throws IOException {
+        while (true) {
+            ByteBuffer frame;
+            this.lock.lock();
+            try {
+                frame = this.frames.peek();
+            } finally {
+                this.lock.unlock();
+            }
+            if (frame == null) {
+                break;
+            }
+            this.channel.write(frame);
+            if (frame.hasRemaining()) {
+                this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            this.lock.lock();
+            try {
+                this.frames.poll();
+                this.pendingBytes -= this.frameBytes.poll();
+                this.bytesWritten.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        this.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * INTERNAL:
+     * Nothing is expected to be read, detect the end of the stream, called by the selector.
+     */
+    protected void read(ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        if (this.channel.read(buffer) < 0) {
+            throw new IOException("Connection closed by " + this.address);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Close the channel after an error and reconnect after the reconnect delay, called by the selector.
+     * A partially written frame was not processed by the remote service and is written again.
+     */
+    protected void failed(Exception exception) {
+        closeChannel();
+        boolean wasConnected;
+        this.lock.lock();
+        try {
+            if (this.state == CLOSED) {
+                return;
+            }
+            wasConnected = this.state == CONNECTED;
+            this.state = CONNECTING;
+            this.error = exception;
+            ByteBuffer frame = this.frames.peek();
+            if (frame != null) {
+                frame.rewind();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        long delay = this.transportManager.getReconnectDelay();
+        if (wasConnected) {
+            Object[] args = { toString(), exception };
+            this.transportManager.getRemoteCommandManager().logWarning("tcp_connection_failed", args);
+        } else {
+            Object[] args = { toString(), exception, delay };
+            this.transportManager.getRemoteCommandManager().logDebug("tcp_connection_retry", args);
+        }
+        this.selector.connect(this, delay);
+    }
+
+    /**
+     * INTERNAL:
+     * Close the connection, invoked when the TransportManager discards connections.
+     */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.state = CLOSED;
+            discardPending();
+        } finally {
+            this.lock.unlock();
+        }
+        this.selector.close(this);
+    }
+
+    /**
+     * INTERNAL:
+     * Close the channel, called by the selector.
+     */
+    protected void closeChannel() {
+        if (this.key != null) {
+            this.key.cancel();
+            this.key = null;
+        }
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException ignore) {
+                // Closing after an error.
+            }
+            this.channel = null;
+        }
+    }
+
+    private void discardPending() {
+        this.pending.clear();
+        this.frames.clear();
+        this.frameBytes.clear();
+        this.pendingBytes = 0;
+        this.bytesWritten.signalAll();
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the connection is connecting or waiting to reconnect.
+     */
+    public boolean isConnecting() {
+        this.lock.lock();
+        try {
+            return this.state == CONNECTING;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the connection was closed.
+     */
+    public boolean isClosed() {
+        this.lock.lock();
+        try {
+            return this.state == CLOSED;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of commands sent.
+     */
+    public long getCommandsSent() {
+        this.lock.lock();
+        try {
+            return this.commandsSent;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of frames sent, commands queued within the coalesce delay are sent in one frame.
+     */
+    public long getFramesSent() {
+        this.lock.lock();
+        try {
+            return this.framesSent;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the address of the remote service.
+     */
+    public InetSocketAddress getAddress() {
+        return this.address;
+    }
+
+    @Override
+    public String toString() {
+        return "TCPRemoteConnection[" + this.address + "]";
+    }
+}
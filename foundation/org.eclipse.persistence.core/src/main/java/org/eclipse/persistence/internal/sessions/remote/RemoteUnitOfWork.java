@@ -686,6 +686,7 @@ public void reinitializeForSession(AbstractSession session, RemoteSessionControl
         setCommitManager(new CommitManager(this));
         setTransactionMutex(new ConcurrencyManager());
         getCommitManager().setCommitOrder(session.getCommitManager().getCommitOrder());
+        getCommitManager().setCommitOrderPlan(session.getCommitManager().getCommitOrderPlan());
 
         if (session.hasExternalTransactionController()) {
             session.getExternalTransactionController().registerSynchronizationListener(this, session);
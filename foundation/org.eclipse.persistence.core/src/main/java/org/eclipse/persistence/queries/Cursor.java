@@ -17,6 +17,7 @@
 import java.sql.*;
 import java.util.*;
 
+import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.exceptions.*;
 import org.eclipse.persistence.expressions.*;
 import org.eclipse.persistence.internal.databaseaccess.*;
@@ -31,6 +32,9 @@
  */
 public abstract class Cursor implements Enumeration, Iterator, java.io.Serializable {
 
+    /** INTERNAL: Query property to track the objects the cursor registers in the unit of work that were not registered before. */
+    public static final String TRACK_NEWLY_REGISTERED_OBJECTS_PROPERTY = "TRACK_NEWLY_REGISTERED_OBJECTS";
+
     /** The preparedStatement that holds the handle to the database that the results are read from. */
     protected transient Statement statement;
 
@@ -46,6 +50,9 @@ public abstract class Cursor implements Enumeration, Iterator, java.io.Serializa
     /** The fields expected in the result set. */
     protected transient Vector<DatabaseField> fields;
 
+    /** The fields expected in the result set, shared by the rows fetched from the result set. */
+    protected transient DatabaseField[] fieldsArray;
+
     /** Cached size of the stream. */
     protected int size = -1;
 
@@ -70,6 +77,9 @@ public abstract class Cursor implements Enumeration, Iterator, java.io.Serializa
     /** Current position in the objectCollection of the stream. */
     protected int position;
 
+    /** The objects registered in the unit of work by the cursor that were not registered before, null if not tracked. */
+    protected transient Set<Object> newlyRegisteredObjects;
+
     /**
      * INTERNAL:
      * Default constructor.
@@ -88,6 +98,7 @@ protected Cursor(DatabaseCall call, CursorPolicy policy) {
         this.executionSession = session.getExecutionSession(query);
         this.statement = call.getStatement();
         this.fields = call.getFields();
+        this.fieldsArray = call.getFieldsArray();
         this.resultSet = call.getResult();
         this.policy = policy;
         this.objectCollection = new Vector();
@@ -100,9 +111,22 @@ protected Cursor(DatabaseCall call, CursorPolicy policy) {
             // The incremental registration/conforming is done
             // in retrieveNext/PreviousObject -> buildAndRegisterObject
             ((ObjectLevelReadQuery)query).registerResultInUnitOfWork(this, (UnitOfWorkImpl)this.session, query.getTranslationRow(), false);// object collection is empty, so setting irrelevant.
+            if (!query.isReportQuery() && Boolean.TRUE.equals(query.getProperty(TRACK_NEWLY_REGISTERED_OBJECTS_PROPERTY))) {
+                this.newlyRegisteredObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
         }
     }
 
+    /**
+     * INTERNAL:
+     * Return if the object was registered in the unit of work by the cursor and was not registered before,
+     * and stop tracking it. Always false if the cursor does not track the objects it registers.
+     * @see #TRACK_NEWLY_REGISTERED_OBJECTS_PROPERTY
+     */
+    public boolean removeNewlyRegisteredObject(Object object) {
+        return (this.newlyRegisteredObjects != null) && this.newlyRegisteredObjects.remove(object);
+    }
+
     /**
      * PUBLIC:
      * Closes the stream.
@@ -178,6 +202,14 @@ public Vector<DatabaseField> getFields() {
         return fields;
     }
 
+    /**
+     * INTERNAL:
+     * Return the array of fields for the stream.
+     */
+    public DatabaseField[] getFieldsArray() {
+        return fieldsArray;
+    }
+
     /**
      * INTERNAL:
      * Conforming instances found in memory when building the result.
@@ -293,6 +325,25 @@ public boolean isClosed() {
      * supported.
      */
     protected Object buildAndRegisterObject(AbstractRecord row) {
+        Set<Object> newlyRegisteredObjects = this.newlyRegisteredObjects;
+        if (newlyRegisteredObjects == null) {
+            return internalBuildAndRegisterObject(row);
+        }
+        // Check if the object is already registered before building it, building registers it.
+        ClassDescriptor descriptor = ((ObjectLevelReadQuery)this.query).getDescriptor();
+        Object primaryKey = descriptor.getObjectBuilder().extractPrimaryKeyFromRow(row, this.session);
+        boolean isRegistered = (primaryKey != null) && ((UnitOfWorkImpl)this.session).getIdentityMapAccessorInstance().getIdentityMapManager().containsKey(primaryKey, descriptor.getJavaClass(), descriptor);
+        Object object = internalBuildAndRegisterObject(row);
+        if (!isRegistered && (object != null) && (object != InvalidObject.instance)) {
+            newlyRegisteredObjects.add(object);
+        }
+        return object;
+    }
+
+    /**
+     * Body of {@link #buildAndRegisterObject(AbstractRecord)}.
+     */
+    private Object internalBuildAndRegisterObject(AbstractRecord row) {
         ReadQuery query = this.query;
         if (query.isObjectLevelReadQuery()) {
             ObjectLevelReadQuery objectQuery = (ObjectLevelReadQuery)query;
@@ -325,6 +376,11 @@ protected Object buildAndRegisterObject(AbstractRecord row) {
      */
     protected void setFields(Vector<DatabaseField> fields) {
         this.fields = fields;
+        if (fields != null) {
+            this.fieldsArray = fields.toArray(new DatabaseField[fields.size()]);
+        } else {
+            this.fieldsArray = null;
+        }
     }
 
     /**
@@ -47,6 +47,10 @@ public class QueryResultsCachePolicy implements Serializable, Cloneable {
     protected boolean invalidateOnChange;
     /** Stores the set of classes that should trigger the query cached results to be invalidated. */
     protected Set<Class<?>> invalidationClasses;
+    /** Allows the cached results to only be invalidated by the changes to the objects they depend on. */
+    protected boolean invalidateByDependency;
+    /** Specifies the maximum number of objects of all the cached results, 0 for no maximum. */
+    protected int maximumCachedObjects;
 
     /**
      * PUBLIC:
@@ -140,6 +144,46 @@ public void setInvalidateOnChange(boolean invalidateOnChange) {
         this.invalidateOnChange = invalidateOnChange;
     }
 
+    /**
+     * PUBLIC:
+     * Return if the cached results are only invalidated by the changes to the objects they depend on.
+     */
+    public boolean getInvalidateByDependency() {
+        return invalidateByDependency;
+    }
+
+    /**
+     * PUBLIC:
+     * Configure if the cached results should only be invalidated by the changes to the objects they depend on,
+     * instead of by any change to an object of the query classes.
+     * The primary keys of the objects of each cached result are recorded, and a changed object only invalidates the
+     * result if it is part of it, or if it conforms to the selection criteria of the query for the parameters of the result.
+     * This applies to the object queries selecting their reference class without first result or maximum rows,
+     * the results of other queries, and the results affected by changes to related classes, are invalidated by any change.
+     * By default any change invalidates the results.
+     */
+    public void setInvalidateByDependency(boolean invalidateByDependency) {
+        this.invalidateByDependency = invalidateByDependency;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the maximum number of objects of all the cached results of the query, 0 if there is no maximum.
+     */
+    public int getMaximumCachedObjects() {
+        return maximumCachedObjects;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum number of objects of all the cached results of the query, bounding the memory used by the cache.
+     * The oldest results are removed when a result is cached over the maximum, a result larger than the maximum is not cached.
+     * By default there is no maximum, only the maximum number of cached results applies.
+     */
+    public void setMaximumCachedObjects(int maximumCachedObjects) {
+        this.maximumCachedObjects = maximumCachedObjects;
+    }
+
     /**
      * PUBLIC:
      * Return the type of the cache used for the query results.
@@ -40,6 +40,7 @@
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
 import org.eclipse.persistence.internal.helper.InvalidObject;
 import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.identitymaps.OffHeapRowCache;
 import org.eclipse.persistence.internal.indirection.ProxyIndirectionPolicy;
 import org.eclipse.persistence.internal.queries.DatasourceCallQueryMechanism;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
@@ -355,6 +356,46 @@ protected Boolean checkCustomQueryFlag(final AbstractSession session, final Abst
         return useCustomQuery;
     }
 
+    /**
+     * INTERNAL:
+     * Return the off-heap row cache of the descriptor if the query can use it, or null.
+     * The query must select the full row of the object by primary key, outside of a transaction,
+     * and build its result from the shared cache.
+     */
+    protected OffHeapRowCache getRowCache(AbstractSession session) {
+        if ((this.descriptor.getCachePolicy().getOffHeapCacheSize() <= 0) || !isExpressionQuery()
+                || hasJoining() || hasPartialAttributeExpressions() || hasNonDefaultFetchGroup() || hasAsOfClause()
+                || isLockQuery() || this.shouldIncludeData || shouldRetrieveBypassCache() || shouldStoreBypassCache()
+                || !shouldMaintainCache() || session.isInTransaction()) {
+            return null;
+        }
+        return session.getParentIdentityMapSession(this.descriptor, false, true).getIdentityMapAccessorInstance()
+                .getIdentityMapManager().getRowCache(this.descriptor);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the row of the primary key from the off-heap row cache,
+     * or select it from the database and put it in the row cache.
+     */
+    protected AbstractRecord selectOneRowUsingRowCache(OffHeapRowCache rowCache, Object primaryKey, AbstractSession session) {
+        if (!this.shouldRefreshIdentityMapResult) {
+            AbstractRecord row = rowCache.get(primaryKey, session);
+            if (row != null) {
+                session.incrementProfile(SessionProfiler.RowCacheHits, this);
+                return row;
+            }
+            session.incrementProfile(SessionProfiler.RowCacheMisses, this);
+        }
+        // The stamp must be read before the select, to ignore the row if the object changes meanwhile.
+        long stamp = rowCache.getStamp(primaryKey);
+        AbstractRecord row = getQueryMechanism().selectOneRow();
+        if (row != null) {
+            rowCache.put(primaryKey, row, stamp);
+        }
+        return row;
+    }
+
     /**
      * INTERNAL:
      * Get custom single object read query from query manager.
@@ -560,7 +601,19 @@ protected Object executeObjectLevelReadQuery() throws DatabaseException {
                     }
                     getJoinedAttributeManager().setDataResults(rows, session);
                 } else {
-                    row = getQueryMechanism().selectOneRow();
+                    OffHeapRowCache rowCache = getRowCache(session);
+                    Object primaryKey = null;
+                    if (rowCache != null) {
+                        primaryKey = this.selectionId;
+                        if ((primaryKey == null) && (getSelectionCriteria() != null)) {
+                            primaryKey = this.descriptor.getObjectBuilder().extractPrimaryKeyFromExpression(true, getSelectionCriteria(), this.translationRow, session);
+                        }
+                    }
+                    if ((primaryKey == null) || (primaryKey == InvalidObject.instance)) {
+                        row = getQueryMechanism().selectOneRow();
+                    } else {
+                        row = selectOneRowUsingRowCache(rowCache, primaryKey, session);
+                    }
                 }
             }
 
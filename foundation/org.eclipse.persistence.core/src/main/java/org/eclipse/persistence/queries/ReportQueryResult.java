@@ -46,6 +46,7 @@
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.security.PrivilegedInvokeConstructor;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.ArrayRecord;
 import org.eclipse.persistence.mappings.AggregateObjectMapping;
 import org.eclipse.persistence.mappings.Association;
 import org.eclipse.persistence.mappings.DatabaseMapping;
@@ -177,7 +178,7 @@ private Object processItemFromMapping(ReportQuery query, AbstractRecord row, Dat
         // If mapping is not null then it must be a direct mapping - see Reportitem.init.
         // Check for non database (EIS) records to use normal get.
         if (row instanceof DatabaseRecord) {
-            value = row.getValues().get(itemIndex);
+            value = row.getValueAt(itemIndex);
         } else {
             value = row.get(mapping.getField());
         }
@@ -250,7 +251,9 @@ protected Object processItem(ReportQuery query, AbstractRecord row, Vector toMan
                 }
                 AbstractRecord subRow = row;
                 // Check if at the start of the row, then avoid building a subRow.
-                if (itemIndex > 0) {
+                if ((itemIndex > 0) && (row instanceof ArrayRecord)) {
+                    subRow = ((ArrayRecord)row).subRecord(itemIndex, rowSize);
+                } else if (itemIndex > 0) {
                     Vector<DatabaseField> trimedFields = new NonSynchronizedSubVector<>(row.getFields(), itemIndex, rowSize);
                     Vector trimedValues = new NonSynchronizedSubVector(row.getValues(), itemIndex, rowSize);
                     subRow = new DatabaseRecord(trimedFields, trimedValues);
@@ -288,7 +291,7 @@ protected Object processItem(ReportQuery query, AbstractRecord row, Vector toMan
                     this.key.append("_");
                 }
             } else {
-                value = row.getValues().get(itemIndex);
+                value = row.getValueAt(itemIndex);
                 // GF_ISSUE_395
                 if (this.key != null) {
                     this.key.append(value);
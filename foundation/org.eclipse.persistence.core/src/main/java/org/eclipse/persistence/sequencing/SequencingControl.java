@@ -47,7 +47,10 @@
  *      setShouldUseTableSequencing;
  *      resetSequencing;
  * 3. The following methods cause change immediately:
- *      setPreallocationSize (next sequencing preallocation will use the set parameter's value).
+ *      setPreallocationSize (next sequencing preallocation will use the set parameter's value);
+ *      setShouldUseAsynchronousPreallocation;
+ *      setPreallocationLowWaterMark;
+ *      setShouldUseAdaptivePreallocation.
  * <p>
  * <b>Responsibilities</b>:
  * <ul>
@@ -184,6 +187,63 @@ public interface SequencingControl {
      */
     void setInitialPoolSize(int size);
 
+    /**
+     * PUBLIC:
+     * Indicates whether the preallocated sequence values are refilled in the background
+     * (by default they are not).
+     */
+    boolean shouldUseAsynchronousPreallocation();
+
+    /**
+     * PUBLIC:
+     * Set whether the preallocated sequence values are refilled in the background
+     * (by default they are not).
+     * When the number of remaining preallocated values of a sequence drops to the low-water mark,
+     * the next block of values is allocated by a background thread, so the inserting threads
+     * do not wait for the allocation.
+     * The refill is used for sequence objects, and for table sequences using a sequence connection pool
+     * (shouldUseSeparateConnection()), only if SequencingControl has been obtained from ServerSession.
+     * The refill time and the time inserting threads waited for an allocation are reported to the session profiler.
+     * @see #setPreallocationLowWaterMark(int)
+     * @see #setShouldUseAdaptivePreallocation(boolean)
+     */
+    void setShouldUseAsynchronousPreallocation(boolean shouldUseAsynchronousPreallocation);
+
+    /**
+     * PUBLIC:
+     * Returns the number of remaining preallocated values triggering the asynchronous refill,
+     * in percent of the allocation size.
+     */
+    int getPreallocationLowWaterMark();
+
+    /**
+     * PUBLIC:
+     * Sets the number of remaining preallocated values triggering the asynchronous refill,
+     * in percent of the allocation size.
+     * The set value is ignored if shouldUseAsynchronousPreallocation() returns false.
+     * By default is 50.
+     */
+    void setPreallocationLowWaterMark(int percentage);
+
+    /**
+     * PUBLIC:
+     * Indicates whether the allocation size of table sequences adapts to the consumption rate
+     * (by default it does not).
+     */
+    boolean shouldUseAdaptivePreallocation();
+
+    /**
+     * PUBLIC:
+     * Set whether the allocation size of table sequences adapts to the consumption rate
+     * (by default it does not).
+     * Each allocation is sized to last about a second at the rate the previous one was consumed,
+     * in multiples of the sequence preallocation size, up to 16 times the preallocation size.
+     * Values of the larger allocations not used before shutdown are lost, as with any preallocation.
+     * The size of sequence objects is their increment and is never adapted.
+     * The set value is ignored if shouldUseAsynchronousPreallocation() returns false.
+     */
+    void setShouldUseAdaptivePreallocation(boolean shouldUseAdaptivePreallocation);
+
     /**
      * ADVANCED:
      * Removes all preallocated sequencing objects.
@@ -24,6 +24,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
 import java.util.Vector;
 import java.util.regex.PatternSyntaxException;
 
@@ -45,6 +46,7 @@
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.identitymaps.CacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.FullIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.HardCacheWeakIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.IdentityMap;
@@ -64,6 +66,7 @@
 import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.sessions.server.ConnectionPool;
 import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.tools.profiler.MetricsProfiler;
 import org.eclipse.persistence.tools.profiler.PerformanceProfiler;
 
 
@@ -90,6 +93,7 @@ public abstract class RuntimeServices {
     public String objectName;
 
     protected static final String EclipseLink_Product_Name = "EclipseLink";
+    protected static final String Metrics_Profiling_Type = "Metrics";
     /** Short name for the server platform - Must override in subclass */
     protected static String PLATFORM_NAME = "Server";
 
@@ -531,11 +535,13 @@ public void printProfileSummaryByQuery() {
 
        /**
         *        This method is used to get the type of profiling.
-        *   Possible values are: "EclipseLink" or "None".
+        *   Possible values are: "EclipseLink", "Metrics" or "None".
         */
         public synchronized String getProfilingType() {
             if (getUsesEclipseLinkProfiling()) {
                 return EclipseLink_Product_Name;
+            } else if (getUsesMetricsProfiling()) {
+                return Metrics_Profiling_Type;
             } else {
                 return "None";
             }
@@ -543,7 +549,7 @@ public synchronized String getProfilingType() {
 
         /**
         *        This method is used to select the type of profiling.
-        *   Valid values are: "EclipseLink" or "None". These values are not case sensitive.
+        *   Valid values are: "EclipseLink", "Metrics" or "None". These values are not case sensitive.
         *   null is considered  to be "None".
         */
         public synchronized void setProfilingType(String profileType) {
@@ -551,6 +557,8 @@ public synchronized void setProfilingType(String profileType) {
                 this.setUseNoProfiling();
             } else if (profileType.compareToIgnoreCase(EclipseLink_Product_Name) == 0) {
                 this.setUseEclipseLinkProfiling();
+            } else if (profileType.compareToIgnoreCase(Metrics_Profiling_Type) == 0) {
+                this.setUseMetricsProfiling();
             }
         }
 
@@ -572,6 +580,46 @@ public void setUseNoProfiling() {
             getSession().setProfiler(null);
         }
 
+        /**
+        *        This method is used to turn on the metrics profiling, the MetricsProfiler records
+        *   counters and latency histograms with a low overhead, so it can be left on in production.
+        */
+        public void setUseMetricsProfiling() {
+            if (getUsesMetricsProfiling()) {
+                return;
+            }
+            getSession().setProfiler(new MetricsProfiler());
+        }
+
+        /**
+        *        This method answers true if the metrics profiling is on.
+        */
+        public Boolean getUsesMetricsProfiling() {
+            return getSession().getProfiler() instanceof MetricsProfiler;
+        }
+
+        /**
+        *        This method answers the values of the meters of the metrics profiling by name.
+        *   A counter is reported by its name, a timer by its name followed by ".count", ".total", ".mean",
+        *   ".max", ".p50", ".p95" and ".p99", the times are in nanoseconds.
+        *   The map is empty if the metrics profiling is off.
+        */
+        public Map<String, Long> getMetrics() {
+            if (!getUsesMetricsProfiling()) {
+                return new TreeMap<>();
+            }
+            return ((MetricsProfiler)getSession().getProfiler()).getRegistry().getMetrics();
+        }
+
+        /**
+        *        This method resets the meters of the metrics profiling.
+        */
+        public void resetMetrics() {
+            if (getUsesMetricsProfiling()) {
+                ((MetricsProfiler)getSession().getProfiler()).getRegistry().reset();
+            }
+        }
+
        /**
         *        This method answers true if EclipseLink Performance Profiling is on.
         */
@@ -842,6 +890,8 @@ public Vector<String> getMappedClassNamesUsingFilter(String filter) {
      protected String getCacheTypeFor(Class<?> identityMapClass) {
          if (identityMapClass == CacheIdentityMap.class) {
              return "Cache";
+         } else if (identityMapClass == ConcurrentCacheIdentityMap.class) {
+             return "ConcurrentCache";
          } else if (identityMapClass == FullIdentityMap.class) {
              return "Full";
          } else if (identityMapClass == HardCacheWeakIdentityMap.class) {
@@ -919,6 +969,95 @@ public Long getTimeConnectionEstablished() {
          return ((DatabaseSessionImpl) getSession()).getConnectedTime();
      }
 
+     /**
+       *        This method will return the number of JPQL queries found in the parse cache.
+       */
+     public Long getJPQLParseCacheHits() {
+         return getSession().getProject().getJPQLParseCache().getHits();
+     }
+
+     /**
+       *        This method will return the number of JPQL queries not found in the parse cache.
+       */
+     public Long getJPQLParseCacheMisses() {
+         return getSession().getProject().getJPQLParseCache().getMisses();
+     }
+
+     /**
+       *        This method will return the number of parsed JPQL queries removed from or not added
+       *   to the parse cache because it was full.
+       */
+     public Long getJPQLParseCacheEvictions() {
+         return getSession().getProject().getJPQLParseCache().getEvictions();
+     }
+
+     /**
+       *        This method will return the number of criteria queries found in the criteria query cache.
+       */
+     public Long getCriteriaQueryCacheHits() {
+         return getSession().getProject().getCriteriaQueryCache().getHits();
+     }
+
+     /**
+       *        This method will return the number of criteria queries not found in the criteria query cache.
+       */
+     public Long getCriteriaQueryCacheMisses() {
+         return getSession().getProject().getCriteriaQueryCache().getMisses();
+     }
+
+     /**
+       *        This method will return the number of translated criteria queries removed from or not added
+       *   to the criteria query cache because it was full.
+       */
+     public Long getCriteriaQueryCacheEvictions() {
+         return getSession().getProject().getCriteriaQueryCache().getEvictions();
+     }
+
+     /**
+       *        This method will return the number of queries executed by adaptive batch fetching.
+       */
+     public Long getAdaptiveBatchFetchQueries() {
+         return getSession().getProject().getAdaptiveBatchFetchQueries();
+     }
+
+     /**
+       *        This method will return the number of queries saved by adaptive batch fetching, the lazy
+       *   relationships it loaded less the queries it executed.
+       */
+     public Long getAdaptiveBatchFetchQueriesSaved() {
+         return getSession().getProject().getAdaptiveBatchFetchQueriesSaved();
+     }
+
+     /**
+       *        This method will return the number of N+1 queries detected, each for the lazy relationships
+       *   of a mapping read with a query per object of a unit of work.
+       */
+     public Long getNPlusOneQueriesDetected() {
+         return getSession().getProject().getNPlusOneQueriesDetected();
+     }
+
+     /**
+       *        This method will return the number of custom SQL result set column names found in the result set metadata cache.
+       */
+     public Long getResultSetMetadataCacheHits() {
+         return getSession().getPlatform().getResultSetMetadataCache().getHits();
+     }
+
+     /**
+       *        This method will return the number of custom SQL result set column names not found in the result set metadata cache.
+       */
+     public Long getResultSetMetadataCacheMisses() {
+         return getSession().getPlatform().getResultSetMetadataCache().getMisses();
+     }
+
+     /**
+       *        This method will return the number of custom SQL result set column names removed from or not added
+       *   to the result set metadata cache because it was full.
+       */
+     public Long getResultSetMetadataCacheEvictions() {
+         return getSession().getPlatform().getResultSetMetadataCache().getEvictions();
+     }
+
      /**
        *        This method will return if batchWriting is in use or not.
        */
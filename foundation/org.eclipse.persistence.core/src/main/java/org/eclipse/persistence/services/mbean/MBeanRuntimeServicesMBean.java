@@ -17,6 +17,7 @@
 package org.eclipse.persistence.services.mbean;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 import org.eclipse.persistence.services.ClassSummaryDetailBase;
@@ -279,13 +280,13 @@ public interface MBeanRuntimeServicesMBean {
 
     /**
     *        This method is used to get the type of profiling.
-    *   Possible values are: "EclipseLink" or "None".
+    *   Possible values are: "EclipseLink", "Metrics" or "None".
     */
     String getProfilingType();
 
     /**
     *        This method is used to select the type of profiling.
-    *   Valid values are: "EclipseLink" or "None". These values are not case sensitive.
+    *   Valid values are: "EclipseLink", "Metrics" or "None". These values are not case sensitive.
     *   null is considered  to be "None".
     */
     void setProfilingType(String profileType);
@@ -305,6 +306,30 @@ public interface MBeanRuntimeServicesMBean {
     */
     void setUseNoProfiling();
 
+    /**
+    *        This method is used to turn on the metrics profiling, the MetricsProfiler records
+    *   counters and latency histograms with a low overhead, so it can be left on in production.
+    */
+    void setUseMetricsProfiling();
+
+    /**
+    *        This method answers true if the metrics profiling is on.
+    */
+    Boolean getUsesMetricsProfiling();
+
+    /**
+    *        This method answers the values of the meters of the metrics profiling by name.
+    *   A counter is reported by its name, a timer by its name followed by ".count", ".total", ".mean",
+    *   ".max", ".p50", ".p95" and ".p99", the times are in nanoseconds.
+    *   The map is empty if the metrics profiling is off.
+    */
+    Map<String, Long> getMetrics();
+
+    /**
+    *        This method resets the meters of the metrics profiling.
+    */
+    void resetMetrics();
+
     /**
       *     Return the size of strings after which will be bound into the statement
       *     If we are not using a DatabaseLogin, or we're not using string binding,
@@ -318,6 +343,71 @@ public interface MBeanRuntimeServicesMBean {
       */
     Long getTimeConnectionEstablished();
 
+    /**
+      *        This method will return the number of JPQL queries found in the parse cache.
+      */
+    Long getJPQLParseCacheHits();
+
+    /**
+      *        This method will return the number of JPQL queries not found in the parse cache.
+      */
+    Long getJPQLParseCacheMisses();
+
+    /**
+      *        This method will return the number of parsed JPQL queries removed from or not added
+      *   to the parse cache because it was full.
+      */
+    Long getJPQLParseCacheEvictions();
+
+    /**
+      *        This method will return the number of criteria queries found in the criteria query cache.
+      */
+    Long getCriteriaQueryCacheHits();
+
+    /**
+      *        This method will return the number of criteria queries not found in the criteria query cache.
+      */
+    Long getCriteriaQueryCacheMisses();
+
+    /**
+      *        This method will return the number of translated criteria queries removed from or not added
+      *   to the criteria query cache because it was full.
+      */
+    Long getCriteriaQueryCacheEvictions();
+
+    /**
+      *        This method will return the number of queries executed by adaptive batch fetching.
+      */
+    Long getAdaptiveBatchFetchQueries();
+
+    /**
+      *        This method will return the number of queries saved by adaptive batch fetching, the lazy
+      *   relationships it loaded less the queries it executed.
+      */
+    Long getAdaptiveBatchFetchQueriesSaved();
+
+    /**
+      *        This method will return the number of N+1 queries detected, each for the lazy relationships
+      *   of a mapping read with a query per object of a unit of work.
+      */
+    Long getNPlusOneQueriesDetected();
+
+    /**
+      *        This method will return the number of custom SQL result set column names found in the result set metadata cache.
+      */
+    Long getResultSetMetadataCacheHits();
+
+    /**
+      *        This method will return the number of custom SQL result set column names not found in the result set metadata cache.
+      */
+    Long getResultSetMetadataCacheMisses();
+
+    /**
+      *        This method will return the number of custom SQL result set column names removed from or not added
+      *   to the result set metadata cache because it was full.
+      */
+    Long getResultSetMetadataCacheEvictions();
+
     /**
       *        This method will return if batchWriting is in use or not.
       */
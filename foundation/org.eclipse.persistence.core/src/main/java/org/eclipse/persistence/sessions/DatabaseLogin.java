@@ -464,6 +464,15 @@ public int getStatementCacheSize() {
         return getPlatform().getStatementCacheSize();
     }
 
+    /**
+     * PUBLIC:
+     * Return the size of the cache of the result set column fields of custom SQL.
+     * The default is 0, the column fields are read from the result set meta data on every execution.
+     */
+    public int getResultSetMetadataCacheSize() {
+        return getPlatform().getResultSetMetadataCacheSize();
+    }
+
     /**
      * PUBLIC:
      * Used to help bean introspection.
@@ -891,6 +900,16 @@ public void setShouldCacheAllStatements(boolean shouldCacheAllStatements) {
         getPlatform().setShouldCacheAllStatements(shouldCacheAllStatements);
     }
 
+    /**
+     * PUBLIC:
+     * Set whether the rows of prepared object and report queries are read through row readers,
+     * compiled on the first execution of each query to choose the conversion of each column once.
+     * The default is false.
+     */
+    public void setShouldCompileRowReaders(boolean shouldCompileRowReaders) {
+        getPlatform().setShouldCompileRowReaders(shouldCompileRowReaders);
+    }
+
     /**
      * ADVANCED:
      * This setting can be used if the application expects upper case
@@ -935,6 +954,17 @@ public void setStatementCacheSize(int size) {
         getPlatform().setStatementCacheSize(size);
     }
 
+    /**
+     * PUBLIC:
+     * Configure the size of the cache of the result set column fields of custom SQL, shared by all connections.
+     * The cache avoids reading the result set meta data on every execution of the same SQL,
+     * the columns returned by a cached SQL must not change, as through DDL.
+     * The default is 0, which disables the cache.
+     */
+    public void setResultSetMetadataCacheSize(int size) {
+        getPlatform().setResultSetMetadataCacheSize(size);
+    }
+
     /**
      * PUBLIC:
      * Used to help bean introspection.
@@ -1072,6 +1102,15 @@ public boolean shouldCacheAllStatements() {
         return getPlatform().shouldCacheAllStatements();
     }
 
+    /**
+     * PUBLIC:
+     * Return whether the rows of prepared object and report queries are read through row readers,
+     * compiled on the first execution of each query to choose the conversion of each column once.
+     */
+    public boolean shouldCompileRowReaders() {
+        return getPlatform().shouldCompileRowReaders();
+    }
+
     /**
      * ADVANCED:
      * Can be used if the app expects upper case but the database is not return consistent case, i.e. different databases.
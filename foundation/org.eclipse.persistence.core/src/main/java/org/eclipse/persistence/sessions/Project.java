@@ -40,6 +40,8 @@
 //       - 533148 : Add the eclipselink.jpa.sql-call-deferral property
 package org.eclipse.persistence.sessions;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -48,6 +50,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.persistence.annotations.IdValidation;
 import org.eclipse.persistence.config.CacheIsolationType;
@@ -112,6 +115,22 @@ public class Project extends CoreProject<ClassDescriptor, Login, DatabaseSession
     /** PERF: Provide an JPQL parse cache to optimize dynamic JPQL. */
     protected transient ConcurrentFixedCache jpqlParseCache;
 
+    /** PERF: Provide a cache of the translated criteria queries, keyed by the structure of their criteria. */
+    protected transient ConcurrentFixedCache criteriaQueryCache;
+
+    /** PERF: Number of objects of a unit of work a lazy relationship is loaded for when triggered for one of them, 0 to disable. */
+    protected int adaptiveBatchFetchSize = 0;
+
+    /** The number of queries executed by adaptive batch fetching, and of the relationships they loaded. */
+    protected transient LongAdder adaptiveBatchFetchQueries;
+    protected transient LongAdder adaptiveBatchFetchLoads;
+
+    /** The number of queries of a mapping reading lazy relationships in a unit of work reported as N+1 queries, 0 to disable. */
+    protected int nPlusOneQueryThreshold = 0;
+
+    /** The number of N+1 queries reported. */
+    protected transient LongAdder nPlusOneQueriesDetected;
+
     /** Define the default setting for configuring if dates and calendars are mutable. */
     protected boolean defaultTemporalMutable = false;
 
@@ -216,6 +235,8 @@ public Project() {
         this.hasGenericHistorySupport = false;
         this.hasProxyIndirection = false;
         this.jpqlParseCache = new ConcurrentFixedCache(200);
+        this.criteriaQueryCache = new ConcurrentFixedCache(200);
+        initializeStatistics();
         this.queries = new ArrayList<>();
         this.mappedSuperclassDescriptors = new HashMap<>(2);
         this.metamodelIdClassMap = new HashMap<>();
@@ -361,6 +382,159 @@ protected void setJPQLParseCache(ConcurrentFixedCache jpqlParseCache) {
         this.jpqlParseCache = jpqlParseCache;
     }
 
+    /**
+     * INTERNAL:
+     * Return the criteria query cache.
+     * This is used to optimize the dynamic criteria queries built repeatedly with the same structure.
+     */
+    public ConcurrentFixedCache getCriteriaQueryCache() {
+        if (criteriaQueryCache == null) {
+            criteriaQueryCache = new ConcurrentFixedCache(200);
+        }
+        return criteriaQueryCache;
+    }
+
+    /**
+     * ADVANCED:
+     * Set the criteria query cache max size, 0 disables the cache.
+     * This is used to optimize the dynamic criteria queries built repeatedly with the same structure.
+     */
+    public void setCriteriaQueryCacheMaxSize(int maxSize) {
+        setCriteriaQueryCache(new ConcurrentFixedCache(maxSize));
+    }
+
+    /**
+     * ADVANCED:
+     * Return the criteria query cache max size.
+     * This is used to optimize the dynamic criteria queries built repeatedly with the same structure.
+     */
+    public int getCriteriaQueryCacheMaxSize() {
+        return getCriteriaQueryCache().getMaxSize();
+    }
+
+    /**
+     * INTERNAL:
+     * Set the criteria query cache.
+     * This is used to optimize the dynamic criteria queries built repeatedly with the same structure.
+     */
+    protected void setCriteriaQueryCache(ConcurrentFixedCache criteriaQueryCache) {
+        this.criteriaQueryCache = criteriaQueryCache;
+    }
+
+    /**
+     * ADVANCED:
+     * Return the number of objects of a unit of work a lazy relationship is loaded for
+     * when it is triggered for one of them, 0 if adaptive batch fetching is disabled.
+     * @see #setAdaptiveBatchFetchSize(int)
+     */
+    public int getAdaptiveBatchFetchSize() {
+        return adaptiveBatchFetchSize;
+    }
+
+    /**
+     * ADVANCED:
+     * Set the number of objects of a unit of work a lazy relationship is loaded for
+     * when it is triggered for one of them, 0 disables adaptive batch fetching (the default).
+     * <p>
+     * When the lazy relationship of an object of a unit of work is triggered outside of a transaction,
+     * the relationship is also loaded for all the other objects of the same class in the unit of work
+     * for which it is not loaded yet, with IN batch queries of this number of objects.
+     * This avoids a query per object for the objects found or read by different queries,
+     * batch fetching only loads the relationship for the objects read by the same query.
+     */
+    public void setAdaptiveBatchFetchSize(int adaptiveBatchFetchSize) {
+        this.adaptiveBatchFetchSize = adaptiveBatchFetchSize;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of queries executed by adaptive batch fetching.
+     */
+    public long getAdaptiveBatchFetchQueries() {
+        return adaptiveBatchFetchQueries.sum();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of lazy relationships loaded by adaptive batch fetching.
+     */
+    public long getAdaptiveBatchFetchLoads() {
+        return adaptiveBatchFetchLoads.sum();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of queries saved by adaptive batch fetching,
+     * the lazy relationships it loaded less the queries it executed.
+     */
+    public long getAdaptiveBatchFetchQueriesSaved() {
+        return getAdaptiveBatchFetchLoads() - getAdaptiveBatchFetchQueries();
+    }
+
+    /**
+     * INTERNAL:
+     * Record the queries executed by adaptive batch fetching, and the lazy relationships they loaded.
+     */
+    public void addAdaptiveBatchFetchStatistics(int queries, int loads) {
+        adaptiveBatchFetchQueries.add(queries);
+        adaptiveBatchFetchLoads.add(loads);
+    }
+
+    /**
+     * ADVANCED:
+     * Return the number of queries of a mapping reading its lazy relationships in a unit of work
+     * reported as N+1 queries, 0 if N+1 queries are not detected.
+     * @see #setNPlusOneQueryThreshold(int)
+     */
+    public int getNPlusOneQueryThreshold() {
+        return nPlusOneQueryThreshold;
+    }
+
+    /**
+     * ADVANCED:
+     * Set the number of queries of a mapping reading its lazy relationships in a unit of work
+     * reported as N+1 queries, 0 disables the detection (the default).
+     * <p>
+     * When a lazy relationship is read with a query for this number of objects of a unit of work,
+     * the mapping, the number of queries and the stack triggering the relationship are logged as a warning,
+     * once for the mapping and unit of work, and the detection is counted in the profiler and
+     * {@link #getNPlusOneQueriesDetected()}. Batch or join fetching the relationship avoids these queries.
+     */
+    public void setNPlusOneQueryThreshold(int nPlusOneQueryThreshold) {
+        this.nPlusOneQueryThreshold = nPlusOneQueryThreshold;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of N+1 queries reported, each for a mapping in a unit of work.
+     */
+    public long getNPlusOneQueriesDetected() {
+        return nPlusOneQueriesDetected.sum();
+    }
+
+    /**
+     * INTERNAL:
+     * Record N+1 queries reported for a mapping in a unit of work.
+     */
+    public void incrementNPlusOneQueriesDetected() {
+        nPlusOneQueriesDetected.increment();
+    }
+
+    /**
+     * INTERNAL:
+     * Create the statistics counters, they are not serialized.
+     */
+    protected void initializeStatistics() {
+        this.adaptiveBatchFetchQueries = new LongAdder();
+        this.adaptiveBatchFetchLoads = new LongAdder();
+        this.nPlusOneQueriesDetected = new LongAdder();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initializeStatistics();
+    }
+
     /**
      * INTERNAL:
      * List of queries that upon initialization are copied over to the session
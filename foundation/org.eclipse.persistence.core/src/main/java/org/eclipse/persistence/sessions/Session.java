@@ -19,6 +19,7 @@
 package org.eclipse.persistence.sessions;
 
 import java.io.Writer;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
@@ -753,6 +754,18 @@ public interface Session extends CoreSession<ClassDescriptor, Login, Platform, P
      */
     Vector readAllObjects(Class<?> domainClass, Expression selectionCriteria) throws DatabaseException;
 
+    /**
+     * PUBLIC:
+     * Read the instances of the class with the ids, in the order of the ids.
+     * The objects in the cache are returned from the cache, the others are read with one query
+     * selecting the ids with IN, split in chunks of the platform's id list chunk size.
+     * The id is the id value for a singleton primary key, for a composite it is an instance of CacheId.
+     * The result has an element for each id, null if no object exists with the id.
+     *
+     * @see org.eclipse.persistence.internal.identitymaps.CacheId
+     */
+    List readAllObjectsById(Class<?> domainClass, Collection<?> ids) throws DatabaseException;
+
     /**
      * PUBLIC:
      * Read the first instance of the class from the database.
@@ -50,6 +50,18 @@ public interface SessionProfiler {
     String Disconnects = "Counter:DisconnectCalls";
     String CacheHits = "Counter:CacheHits";
     String CacheMisses = "Counter:CacheMisses";
+    String RowCacheHits = "Counter:RowCacheHits";
+    String RowCacheMisses = "Counter:RowCacheMisses";
+    String JpqlParseCacheHits = "Counter:JPQLParseCacheHits";
+    String JpqlParseCacheMisses = "Counter:JPQLParseCacheMisses";
+    String CriteriaQueryCacheHits = "Counter:CriteriaQueryCacheHits";
+    String CriteriaQueryCacheMisses = "Counter:CriteriaQueryCacheMisses";
+    String AdaptiveBatchFetchQueries = "Counter:AdaptiveBatchFetchQueries";
+    String AdaptiveBatchFetchLoads = "Counter:AdaptiveBatchFetchLoads";
+    String NPlusOneQueries = "Counter:NPlusOneQueries";
+    String StatementCacheHits = "Counter:StatementCacheHits";
+    String StatementCacheMisses = "Counter:StatementCacheMisses";
+    String StatementCacheEvictions = "Counter:StatementCacheEvictions";
     String ChangeSetsProcessed = "Counter:ChangesProcessed";
     String ChangeSetsNotProcessed = "Counter:ChangesNotProcessed";
 
@@ -65,6 +77,8 @@ public interface SessionProfiler {
     String Merge = "Timer:Merge";
     String DistributedMerge = "Timer:DistributedMerge";
     String AssignSequence = "Timer:Sequencing";
+    String SequencePreallocationRefill = "Timer:SequencePreallocationRefill";
+    String SequencePreallocationWait = "Timer:SequencePreallocationWait";
     String Caching = "Timer:Caching";
     String CacheCoordinationSerialize = "Timer:CacheCoordinationSerialize";
     String CacheCoordination = "Timer:CacheCoordination";
@@ -78,6 +92,8 @@ public interface SessionProfiler {
     String Remote = "Timer:Remote";
     String RemoteLazy = "Timer:RemoteLazy";
     String RemoteMetadata = "Timer:RemoteMetadata";
+    String DescriptorInitialization = "Timer:DescriptorInitialization";
+    String CommitOrderInitialization = "Timer:CommitOrderInitialization";
 
     /**
      * INTERNAL:
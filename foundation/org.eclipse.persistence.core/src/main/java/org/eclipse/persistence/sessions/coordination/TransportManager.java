@@ -476,6 +476,17 @@ public DiscoveryManager createDiscoveryManager() {
         return new DiscoveryManager(rcm);
     }
 
+    /**
+     * INTERNAL:
+     * Return if executing a command on the connections does not block the calling thread,
+     * the asynchronous propagation then executes the command on the connections
+     * from the propagating thread instead of launching a thread for each connection.
+     * The default is false.
+     */
+    public boolean isNonBlocking() {
+        return false;
+    }
+
     /**
      * INTERNAL:
      * Remove all remote connections for its list and the local connection from JNDI or JMS Subsriber
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.sessions.coordination.tcp;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.exceptions.RemoteCommandManagerException;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.internal.sessions.coordination.tcp.TCPCommandSelector;
+import org.eclipse.persistence.internal.sessions.coordination.tcp.TCPRemoteConnection;
+import org.eclipse.persistence.sessions.coordination.DiscoveryManager;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.coordination.TransportManager;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Provide a TCP transport implementation for RCM, without dependencies on RMI, JMS or JGroups.
+ * </p><p>
+ * <b>Description</b>: The local service listens on the URL of the RemoteCommandManager
+ * ("tcp://host:port"), and keeps a persistent connection to each of the configured peers.
+ * A single selector thread performs the socket IO of the service, and a separate thread processes the received commands.
+ * Propagating a command only queues it on the connections, so the calling thread is not blocked
+ * and no thread is launched per command and connection. The commands queued within the coalesce delay
+ * are sent to a peer as a single frame. The bytes queued for a peer are bounded, when the peer does not
+ * keep up the propagating thread waits (back-pressure) until the send timeout.
+ * </p><p>
+ * The peers are configured on each service, the service's own URL may be part of the list and is ignored,
+ * so all services can share the same configuration.
+ * A failed connection reconnects after the reconnect delay, and a connection removed on error
+ * (a send timeout) is replaced by a new connection after the reconnect delay.
+ * </p>
+ *
+ * @see org.eclipse.persistence.config.PersistenceUnitProperties#COORDINATION_TCP_PEERS
+ */
+public class TCPTransportManager extends TransportManager {
+
+    public static final String TCP_URL_PROTOCOL = "tcp";
+    public static final int DEFAULT_TCP_PORT = 7800;
+    public static final long DEFAULT_COALESCE_DELAY = 1;
+    public static final long DEFAULT_MAX_PENDING_BYTES = 8 * 1024 * 1024;
+    public static final long DEFAULT_SEND_TIMEOUT = 10000;
+    public static final long DEFAULT_RECONNECT_DELAY = 1000;
+
+    /** The URLs of the remote services. */
+    protected List<String> peers;
+    /** Milliseconds the commands are queued before being sent together. */
+    protected long coalesceDelay;
+    /** Bytes queued for a remote service before the propagating thread waits. */
+    protected long maxPendingBytes;
+    /** Milliseconds the propagating thread waits for queued bytes to be sent. */
+    protected long sendTimeout;
+    /** Milliseconds before reconnecting a failed connection. */
+    protected long reconnectDelay;
+    /** The selector performing the socket IO, null when not connected. */
+    protected volatile TCPCommandSelector selector;
+
+    public TCPTransportManager() {
+        initialize();
+    }
+
+    public TCPTransportManager(RemoteCommandManager rcm) {
+        this.rcm = rcm;
+        rcm.setTransportManager(this);
+        initialize();
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize default properties for TCP.
+     */
+    @Override
+    public void initialize() {
+        super.initialize();
+        this.peers = new ArrayList<>();
+        this.coalesceDelay = DEFAULT_COALESCE_DELAY;
+        this.maxPendingBytes = DEFAULT_MAX_PENDING_BYTES;
+        this.sendTimeout = DEFAULT_SEND_TIMEOUT;
+        this.reconnectDelay = DEFAULT_RECONNECT_DELAY;
+    }
+
+    /**
+     * ADVANCED:
+     * TCPTransportManager doesn't use DiscoveryManager - instead RemoteCommandManager
+     * calls createConnections method during initialization.
+     */
+    @Override
+    public DiscoveryManager createDiscoveryManager() {
+        return null;
+    }
+
+    /**
+     * INTERNAL:
+     * Start listening and connect to the peers.
+     */
+    @Override
+    public void createConnections() {
+        createLocalConnection();
+        if (this.selector == null) {
+            return;
+        }
+        for (String peer : this.peers) {
+            InetSocketAddress address = parseURL(peer);
+            if (isLocalService(address)) {
+                continue;
+            }
+            addConnectionToExternalService(createConnection(new ServiceId(rcm.getChannel(), peer, peer), 0));
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return a connection to the service, the URL of the service is its address.
+     */
+    @Override
+    public RemoteConnection createConnection(ServiceId serviceId) {
+        return createConnection(serviceId, 0);
+    }
+
+    /**
+     * INTERNAL:
+     * Return a connection to the service, connecting after the delay.
+     */
+    protected RemoteConnection createConnection(ServiceId serviceId, long delay) {
+        TCPCommandSelector selector = this.selector;
+        if (selector == null) {
+            return null;
+        }
+        TCPRemoteConnection connection = new TCPRemoteConnection(this, selector, serviceId, parseURL(serviceId.getURL()));
+        selector.connect(connection, delay);
+        return connection;
+    }
+
+    /**
+     * INTERNAL:
+     * The remote services connect to this service, no handshake is required.
+     */
+    @Override
+    public void connectBackToRemote(RemoteConnection connection) throws Exception {
+        // nothing to do
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the connection, a connection to a configured peer is replaced by a new connection
+     * connecting after the reconnect delay.
+     */
+    @Override
+    public void removeConnectionToExternalService(RemoteConnection connection) {
+        super.removeConnectionToExternalService(connection);
+        ServiceId serviceId = connection.getServiceId();
+        if (!rcm.isStopped() && this.peers.contains(serviceId.getURL())) {
+            synchronized (this) {
+                if (!connectionsToExternalServices.containsKey(serviceId.getId())) {
+                    RemoteConnection newConnection = createConnection(serviceId, this.reconnectDelay);
+                    if (newConnection != null) {
+                        connectionsToExternalServices.put(serviceId.getId(), newConnection);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Listen on the URL of the RemoteCommandManager, the selector thread and the thread processing
+     * the received commands are launched.
+     */
+    @Override
+    public void createLocalConnection() {
+        String url = rcm.getUrl();
+        if (url == null) {
+            url = TCP_URL_PROTOCOL + "://0.0.0.0:" + DEFAULT_TCP_PORT;
+        }
+        try {
+            TCPCommandSelector selector = new TCPCommandSelector(this, parseURL(url));
+            this.selector = selector;
+            rcm.getServerPlatform().launchContainerRunnable(selector);
+            rcm.getServerPlatform().launchContainerRunnable(selector.getProcessor());
+        } catch (IOException | IllegalArgumentException exception) {
+            rcm.handleException(RemoteCommandManagerException.errorBindingConnection(url, exception));
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Stop the selector, closing the local server socket and the connections.
+     */
+    @Override
+    public void removeLocalConnection() {
+        TCPCommandSelector selector = this.selector;
+        this.selector = null;
+        if (selector != null) {
+            selector.close();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Propagating a command only queues it on the connections.
+     */
+    @Override
+    public boolean isNonBlocking() {
+        return true;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the port the local service listens on, or -1 if not listening.
+     * This is useful if the port of the URL is 0, an ephemeral port is used.
+     */
+    public int getLocalPort() {
+        TCPCommandSelector selector = this.selector;
+        return (selector == null) ? -1 : selector.getLocalPort();
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the address is the address of the local service.
+     */
+    protected boolean isLocalService(InetSocketAddress address) {
+        if (address.getPort() != getLocalPort()) {
+            return false;
+        }
+        InetAddress inetAddress = address.getAddress();
+        if (inetAddress == null) {
+            // Unresolved host.
+            return false;
+        }
+        if (inetAddress.isAnyLocalAddress() || inetAddress.isLoopbackAddress()) {
+            return true;
+        }
+        try {
+            return NetworkInterface.getByInetAddress(inetAddress) != null;
+        } catch (SocketException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Parse the "tcp://host:port" or "host:port" URL.
+     */
+    protected static InetSocketAddress parseURL(String url) {
+        String address = url.trim();
+        String prefix = TCP_URL_PROTOCOL + "://";
+        if (address.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            address = address.substring(prefix.length());
+        }
+        if (address.endsWith("/")) {
+            address = address.substring(0, address.length() - 1);
+        }
+        int index = address.lastIndexOf(':');
+        if (index < 0) {
+            return new InetSocketAddress(address, DEFAULT_TCP_PORT);
+        }
+        return new InetSocketAddress(address.substring(0, index), Integer.parseInt(address.substring(index + 1)));
+    }
+
+    /**
+     * PUBLIC:
+     * Return the URLs of the remote services.
+     */
+    public List<String> getPeers() {
+        return this.peers;
+    }
+
+    /**
+     * PUBLIC:
+     * Add the URL ("tcp://host:port") of a remote service.
+     */
+    public void addPeer(String url) {
+        this.peers.add(url.trim());
+    }
+
+    /**
+     * PUBLIC:
+     * Set the comma separated URLs ("tcp://host:port") of the remote services.
+     */
+    public void setPeers(String urls) {
+        this.peers = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (!url.isBlank()) {
+                addPeer(url);
+            }
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return the milliseconds the commands are queued before being sent together, the default is 1.
+     */
+    public long getCoalesceDelay() {
+        return this.coalesceDelay;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the milliseconds the commands are queued before being sent together,
+     * 0 sends the commands as soon as possible.
+     */
+    public void setCoalesceDelay(long coalesceDelay) {
+        this.coalesceDelay = coalesceDelay;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the bytes queued for a remote service before the propagating thread waits, the default is 8MB.
+     * This also bounds the bytes received and not yet processed before the local service stops reading.
+     */
+    public long getMaxPendingBytes() {
+        return this.maxPendingBytes;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the bytes queued for a remote service before the propagating thread waits.
+     */
+    public void setMaxPendingBytes(long maxPendingBytes) {
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the milliseconds the propagating thread waits for queued bytes to be sent, the default is 10000.
+     */
+    public long getSendTimeout() {
+        return this.sendTimeout;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the milliseconds the propagating thread waits for queued bytes to be sent.
+     * A timeout fails the propagation of the command, the connection is only removed
+     * if {@link #shouldRemoveConnectionOnError()} is set.
+     */
+    public void setSendTimeout(long sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the milliseconds before reconnecting a failed connection, the default is 1000.
+     */
+    public long getReconnectDelay() {
+        return this.reconnectDelay;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the milliseconds before reconnecting a failed connection.
+     */
+    public void setReconnectDelay(long reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Generic API to allow config to be set, the config is the comma separated URLs of the remote services.
+     */
+    @Override
+    public void setConfig(String config) {
+        setPeers(config);
+    }
+
+    @Override
+    public String toString() {
+        return "TCPTransportManager[" + ((rcm == null) ? null : rcm.getUrl()) + "]";
+    }
+}
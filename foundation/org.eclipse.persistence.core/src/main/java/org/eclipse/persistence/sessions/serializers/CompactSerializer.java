@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.sessions.serializers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.helper.CompactInput;
+import org.eclipse.persistence.internal.helper.CompactOutput;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+
+/**
+ * Compact binary serialization of the cache coordination merge commands.
+ * <p>
+ * The classes and their direct to field attributes are identified by ids derived from the project,
+ * the descriptors are sorted by class name and their attributes by name, so all the nodes sharing the same project
+ * use the same ids. A fingerprint of the ids is sent with each message and checked on the receiving node.
+ * The primary keys, versions and changed direct to field values are written in a typed binary form,
+ * with integral values as variable length integers.
+ * <p>
+ * Commands that can not be written in the compact form (other commands, aggregate, mapped key, protected foreign key
+ * or relationship changes) are written using Java serialization.
+ * All nodes in the cluster must use this serializer.
+ *
+ * @see org.eclipse.persistence.config.PersistenceUnitProperties#COORDINATION_SERIALIZER
+ */
+public class CompactSerializer extends AbstractSerializer {
+
+    /** Message format markers. */
+    static final byte JAVA = 0;
+    static final byte COMPACT = 1;
+
+    /** ObjectChangeSet flags. */
+    static final int IS_NEW = 1;
+    static final int SHOULD_BE_DELETED = 1 << 1;
+    static final int IS_INVALID = 1 << 2;
+    static final int HAS_VERSION_CHANGE = 1 << 3;
+    static final int MODIFY_VERSION_FIELD = 1 << 4;
+    static final int NOT_MODIFY_VERSION_FIELD = 1 << 5;
+
+    /** The ids of the project last used, rebuilt if the session project changes. */
+    protected transient volatile ProjectIds projectIds;
+
+    @Override
+    public Object serialize(Object object, Session session) {
+        if ((session == null) || (object == null) || (object.getClass() != MergeChangeSetCommand.class)) {
+            return serializeJava(object, session);
+        }
+        MergeChangeSetCommand command = (MergeChangeSetCommand)object;
+        UnitOfWorkChangeSet changeSet = command.getChangeSet(null);
+        ProjectIds ids = getProjectIds(session);
+        if ((changeSet == null) || !ids.canWrite(changeSet)) {
+            return serializeJava(object, session);
+        }
+        CompactOutput out = new CompactOutput(256);
+        out.writeByte(COMPACT);
+        out.writeInt(ids.fingerprint);
+        ServiceId serviceId = command.getServiceId();
+        if (serviceId == null) {
+            out.writeByte(CompactOutput.NULL);
+        } else {
+            out.writeByte(CompactOutput.TRUE);
+            out.writeString(serviceId.getChannel());
+            out.writeString(serviceId.getId());
+            out.writeString(serviceId.getURL());
+        }
+        Map<ObjectChangeSet, ObjectChangeSet> allChangeSets = changeSet.getAllChangeSets();
+        Map<ObjectChangeSet, Integer> indexes = new IdentityHashMap<>(allChangeSets.size());
+        out.writeVarInt(allChangeSets.size());
+        for (ObjectChangeSet objectChangeSet : allChangeSets.values()) {
+            indexes.put(objectChangeSet, indexes.size() + 1);
+            writeObjectChangeSet(objectChangeSet, ids, out);
+        }
+        Map<ObjectChangeSet, ObjectChangeSet> deletedObjects = changeSet.hasDeletedObjects() ? changeSet.getDeletedObjects() : Map.of();
+        out.writeVarInt(deletedObjects.size());
+        for (ObjectChangeSet objectChangeSet : deletedObjects.values()) {
+            // A change set sent in both maps is only written once.
+            Integer index = indexes.get(objectChangeSet);
+            if (index == null) {
+                out.writeVarInt(0);
+                writeObjectChangeSet(objectChangeSet, ids, out);
+            } else {
+                out.writeVarInt(index);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(Object bytes, Session session) {
+        byte[] data = (byte[])bytes;
+        if (data[0] == JAVA) {
+            return JavaSerializer.instance.deserialize(Arrays.copyOfRange(data, 1, data.length), session);
+        }
+        ProjectIds ids = getProjectIds(session);
+        CompactInput in = new CompactInput(data, 1);
+        int fingerprint = in.readInt();
+        if (fingerprint != ids.fingerprint) {
+            throw new IllegalStateException("The project of the sending session does not match the project of the session "
+                    + session.getName() + ", all sessions coordinating their caches must use the same project.");
+        }
+        MergeChangeSetCommand command = new MergeChangeSetCommand();
+        if (in.readByte() != CompactOutput.NULL) {
+            command.setServiceId(new ServiceId(in.readString(), in.readString(), in.readString()));
+        }
+        UnitOfWorkChangeSet changeSet = new UnitOfWorkChangeSet();
+        int size = in.readVarInt();
+        List<ObjectChangeSet> written = new ArrayList<>(size);
+        if (size > 0) {
+            Map<ObjectChangeSet, ObjectChangeSet> allChangeSets = new IdentityHashMap<>(size);
+            for (int index = 0; index < size; index++) {
+                ObjectChangeSet objectChangeSet = readObjectChangeSet(ids, in, session);
+                allChangeSets.put(objectChangeSet, objectChangeSet);
+                written.add(objectChangeSet);
+            }
+            changeSet.setAllChangeSets(allChangeSets);
+        }
+        size = in.readVarInt();
+        if (size > 0) {
+            Map<ObjectChangeSet, ObjectChangeSet> deletedObjects = new IdentityHashMap<>(size);
+            for (int index = 0; index < size; index++) {
+                int reference = in.readVarInt();
+                ObjectChangeSet objectChangeSet = (reference == 0) ? readObjectChangeSet(ids, in, session) : written.get(reference - 1);
+                deletedObjects.put(objectChangeSet, objectChangeSet);
+            }
+            changeSet.setDeletedObjects(deletedObjects);
+        }
+        command.setChangeSet(changeSet);
+        return command;
+    }
+
+    /**
+     * Return the ids of the session's project, the ids are built on first use
+     * as the inherited mappings are only known once the descriptors are initialized.
+     */
+    protected ProjectIds getProjectIds(Session session) {
+        ProjectIds ids = this.projectIds;
+        if ((ids == null) || (ids.project != session.getProject())) {
+            ids = new ProjectIds(session);
+            this.projectIds = ids;
+        }
+        return ids;
+    }
+
+    /**
+     * Write the object change set, only the identity is written for the deleted or invalidated objects
+     * as with Java serialization.
+     */
+    protected void writeObjectChangeSet(ObjectChangeSet changeSet, ProjectIds ids, CompactOutput out) {
+        ClassIds classIds = ids.classes.get(changeSet.getClassName());
+        out.writeVarInt(classIds.id);
+        int flags = 0;
+        if (changeSet.isNew()) {
+            flags |= IS_NEW;
+        }
+        if (changeSet.shouldBeDeleted()) {
+            flags |= SHOULD_BE_DELETED;
+        }
+        if (changeSet.isInvalid()) {
+            flags |= IS_INVALID;
+        }
+        if (changeSet.hasVersionChange()) {
+            flags |= HAS_VERSION_CHANGE;
+        }
+        Boolean shouldModifyVersionField = changeSet.shouldModifyVersionField();
+        if (shouldModifyVersionField != null) {
+            flags |= shouldModifyVersionField ? MODIFY_VERSION_FIELD : NOT_MODIFY_VERSION_FIELD;
+        }
+        out.writeByte(flags);
+        int synchronizationType = changeSet.getSynchronizationType();
+        out.writeVarLong(CompactOutput.encodeZigZag(synchronizationType));
+        out.writeValue(changeSet.getId());
+        out.writeValue(changeSet.getWriteLockValue());
+        out.writeValue(changeSet.getInitialWriteLockValue());
+        if (isIdentityOnly(changeSet)) {
+            return;
+        }
+        List<ChangeRecord> changes = changeSet.getChanges();
+        out.writeVarInt(changes.size());
+        for (ChangeRecord record : changes) {
+            out.writeVarInt(classIds.attributeIds.get(record.getAttribute()));
+            out.writeValue(((DirectToFieldChangeRecord)record).getNewValue());
+        }
+    }
+
+    /**
+     * Read the object change set.
+     */
+    protected ObjectChangeSet readObjectChangeSet(ProjectIds ids, CompactInput in, Session session) {
+        int classId = in.readVarInt();
+        if (classId >= ids.classesById.length) {
+            throw new IllegalStateException("Unknown class id " + classId + " for the session " + session.getName());
+        }
+        ClassIds classIds = ids.classesById[classId];
+        ObjectChangeSet changeSet = new ObjectChangeSet();
+        changeSet.setClassName(classIds.className);
+        changeSet.setClassType(classIds.javaClass);
+        int flags = in.readByte();
+        changeSet.setIsNew((flags & IS_NEW) != 0);
+        changeSet.setShouldBeDeleted((flags & SHOULD_BE_DELETED) != 0);
+        changeSet.setIsInvalid((flags & IS_INVALID) != 0);
+        if ((flags & MODIFY_VERSION_FIELD) != 0) {
+            changeSet.setShouldModifyVersionField(Boolean.TRUE);
+        } else if ((flags & NOT_MODIFY_VERSION_FIELD) != 0) {
+            changeSet.setShouldModifyVersionField(Boolean.FALSE);
+        }
+        changeSet.setSynchronizationType((int)CompactOutput.decodeZigZag(in.readVarLong()));
+        changeSet.setId(in.readValue(session));
+        changeSet.setWriteLockValue(in.readValue(session));
+        changeSet.setInitialWriteLockValue(in.readValue(session));
+        // Set after the write lock value, as setting it marks the version as changed.
+        changeSet.setHasVersionChange((flags & HAS_VERSION_CHANGE) != 0);
+        if (isIdentityOnly(changeSet)) {
+            return changeSet;
+        }
+        int size = in.readVarInt();
+        List<ChangeRecord> changes = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            DirectToFieldChangeRecord record = new DirectToFieldChangeRecord(changeSet);
+            record.setAttribute(classIds.attributes[in.readVarInt()]);
+            record.setNewValue(in.readValue(session));
+            changes.add(record);
+        }
+        changeSet.setChanges(changes);
+        return changeSet;
+    }
+
+    /**
+     * Return if only the identity of the change set is sent, see ObjectChangeSet.writeObject.
+     */
+    protected static boolean isIdentityOnly(ObjectChangeSet changeSet) {
+        int synchronizationType = changeSet.getSynchronizationType();
+        return changeSet.shouldBeDeleted() || (synchronizationType == ClassDescriptor.DO_NOT_SEND_CHANGES)
+                || (synchronizationType == ClassDescriptor.INVALIDATE_CHANGED_OBJECTS);
+    }
+
+    /**
+     * Write the object using Java serialization, behind the Java format marker.
+     */
+    protected byte[] serializeJava(Object object, Session session) {
+        byte[] bytes = (byte[])JavaSerializer.instance.serialize(object, session);
+        byte[] data = new byte[bytes.length + 1];
+        data[0] = JAVA;
+        System.arraycopy(bytes, 0, data, 1, bytes.length);
+        return data;
+    }
+
+    /**
+     * The class and attribute ids of a project.
+     */
+    static class ProjectIds {
+        final Project project;
+        final Map<String, ClassIds> classes;
+        final ClassIds[] classesById;
+        final int fingerprint;
+
+        ProjectIds(Session session) {
+            this.project = session.getProject();
+            // Sort by class name, the descriptors map is not ordered.
+            Map<String, ClassDescriptor> descriptors = new TreeMap<>();
+            for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+                if (descriptor.getJavaClass() != null) {
+                    descriptors.put(descriptor.getJavaClassName(), descriptor);
+                }
+            }
+            this.classes = new HashMap<>(descriptors.size());
+            this.classesById = new ClassIds[descriptors.size()];
+            int fingerprint = 1;
+            for (ClassDescriptor descriptor : descriptors.values()) {
+                ClassIds classIds = new ClassIds(this.classes.size(), descriptor);
+                this.classes.put(classIds.className, classIds);
+                this.classesById[classIds.id] = classIds;
+                fingerprint = 31 * fingerprint + classIds.className.hashCode();
+                for (String attribute : classIds.attributes) {
+                    fingerprint = 31 * fingerprint + attribute.hashCode();
+                }
+            }
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * Return if the change set can be written in the compact form.
+         */
+        boolean canWrite(UnitOfWorkChangeSet changeSet) {
+            for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().values()) {
+                if (!canWrite(objectChangeSet)) {
+                    return false;
+                }
+            }
+            if (changeSet.hasDeletedObjects()) {
+                for (ObjectChangeSet objectChangeSet : changeSet.getDeletedObjects().values()) {
+                    if (!canWrite(objectChangeSet)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        boolean canWrite(ObjectChangeSet changeSet) {
+            ClassIds classIds = this.classes.get(changeSet.getClassName());
+            if ((classIds == null) || changeSet.isAggregate() || (changeSet.getOldKey() != null)
+                    || (changeSet.getNewKey() != null) || changeSet.hasProtectedForeignKeys()) {
+                return false;
+            }
+            if (isIdentityOnly(changeSet)) {
+                return true;
+            }
+            for (ChangeRecord record : changeSet.getChanges()) {
+                if ((record.getClass() != DirectToFieldChangeRecord.class) || !classIds.attributeIds.containsKey(record.getAttribute())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The id of a class and the ids of its direct to field attributes.
+     */
+    static class ClassIds {
+        final int id;
+        final String className;
+        final Class<?> javaClass;
+        final String[] attributes;
+        final Map<String, Integer> attributeIds;
+
+        ClassIds(int id, ClassDescriptor descriptor) {
+            this.id = id;
+            this.className = descriptor.getJavaClassName();
+            this.javaClass = descriptor.getJavaClass();
+            List<String> names = new ArrayList<>();
+            for (DatabaseMapping mapping : descriptor.getMappings()) {
+                if (mapping.isDirectToFieldMapping()) {
+                    names.add(mapping.getAttributeName());
+                }
+            }
+            this.attributes = names.toArray(new String[names.size()]);
+            Arrays.sort(this.attributes);
+            this.attributeIds = new HashMap<>(this.attributes.length);
+            for (int index = 0; index < this.attributes.length; index++) {
+                this.attributeIds.put(this.attributes[index], index);
+            }
+        }
+    }
+}
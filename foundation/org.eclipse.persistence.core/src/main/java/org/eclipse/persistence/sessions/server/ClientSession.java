@@ -76,10 +76,11 @@ public ClientSession(ServerSession parent, ConnectionPolicy connectionPolicy) {
     public ClientSession(ServerSession parent, ConnectionPolicy connectionPolicy, Map properties) {
         super();
         // If we have table per tenant descriptors let's clone the project so
-        // that we can have a separate jpql parse cache for each tenant.
+        // that we can have separate jpql parse and criteria query caches for each tenant.
         if (parent.hasTablePerTenantDescriptors() || parent.getProject().getMultitenantPolicy() != null) {
             this.project = parent.getProject().clone();
             this.project.setJPQLParseCacheMaxSize(parent.getProject().getJPQLParseCache().getMaxSize());
+            this.project.setCriteriaQueryCacheMaxSize(parent.getProject().getCriteriaQueryCache().getMaxSize());
         } else {
             this.project = parent.getProject();
         }
@@ -117,6 +118,7 @@ public ClientSession(ServerSession parent, ConnectionPolicy connectionPolicy, Ma
         this.queryTimeoutDefault = parent.getQueryTimeoutDefault();
         this.queryTimeoutUnitDefault = parent.getQueryTimeoutUnitDefault();
         this.isConcurrent = parent.isConcurrent();
+        this.parallelMergeThreshold = parent.getParallelMergeThreshold();
         this.shouldOptimizeResultSetAccess = parent.shouldOptimizeResultSetAccess();
         this.properties = properties;
         this.multitenantContextProperties = parent.getMultitenantContextProperties();
@@ -15,6 +15,9 @@
 package org.eclipse.persistence.sessions.server;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.persistence.internal.databaseaccess.*;
 import org.eclipse.persistence.sessions.Login;
@@ -46,6 +49,11 @@ public class ConnectionPool {
     protected volatile long deadCheckTime;
     protected volatile boolean isDead;
     protected List<String> failoverConnectionPools;
+    /** Virtual thread safe locks mode of the pool, it is read once so all threads use the same lock. */
+    protected final boolean useVirtualThreadSafeLocks = ConcurrencyUtil.SINGLETON.isUseVirtualThreadSafeLocks();
+    /** Used instead of the monitor of the pool if virtual thread safe locks are enabled. */
+    protected final ReentrantLock connectionsLock = new ReentrantLock();
+    protected final Condition connectionReleased = connectionsLock.newCondition();
 
     public static final long DEAD_CHECK_TIME = 1000 * 60 * 10; // 10 minutes.
     public static final int MAX_CONNECTIONS = 32;
@@ -125,7 +133,25 @@ public Accessor failover() {
      * INTERNAL:
      * Wait until a connection is available and allocate the connection for the client.
      */
-    public synchronized Accessor acquireConnection() throws ConcurrencyException {
+    public Accessor acquireConnection() throws ConcurrencyException {
+        if (this.useVirtualThreadSafeLocks) {
+            this.connectionsLock.lock();
+            try {
+                return internalAcquireConnection();
+            } finally {
+                this.connectionsLock.unlock();
+            }
+        }
+        synchronized (this) {
+            return internalAcquireConnection();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Body of {@link #acquireConnection()}, must be called holding the monitor or the connections lock.
+     */
+    protected Accessor internalAcquireConnection() throws ConcurrencyException {
         // Check for dead database and fail-over.
         if (this.isDead) {
             return failover();
@@ -158,7 +184,7 @@ public synchronized Accessor acquireConnection() throws ConcurrencyException {
                 return connection;
             }
             try {
-                wait(this.waitTimeout);// Notify is called when connections are released.
+                waitForConnection();// Notify is called when connections are released.
             } catch (InterruptedException exception) {
                 throw ConcurrencyException.waitFailureOnClientSession(exception);
             }
@@ -323,7 +349,26 @@ public boolean isThereConflictBetweenLoginAndType() {
      * INTERNAL:
      * Add the connection as single that a new connection is available.
      */
-    public synchronized void releaseConnection(Accessor connection) throws DatabaseException {
+    public void releaseConnection(Accessor connection) throws DatabaseException {
+        if (this.useVirtualThreadSafeLocks) {
+            this.connectionsLock.lock();
+            try {
+                internalReleaseConnection(connection);
+            } finally {
+                this.connectionsLock.unlock();
+            }
+            return;
+        }
+        synchronized (this) {
+            internalReleaseConnection(connection);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Body of {@link #releaseConnection(Accessor)}, must be called holding the monitor or the connections lock.
+     */
+    protected void internalReleaseConnection(Accessor connection) throws DatabaseException {
         if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
             Object[] args = new Object[1];
             args[0] = this.name;
@@ -350,7 +395,36 @@ public synchronized void releaseConnection(Accessor connection) throws DatabaseE
         if (this.owner.isInProfile()) {
             this.owner.updateProfile(MONITOR_HEADER + this.name, this.connectionsUsed.size());
         }
-        notify();
+        notifyConnectionReleased();
+    }
+
+    /**
+     * INTERNAL:
+     * Wait up to the wait timeout for a connection to be released.
+     * Waits on the condition of the connections lock if virtual thread safe locks are used, otherwise on the monitor.
+     */
+    protected void waitForConnection() throws InterruptedException {
+        if (this.useVirtualThreadSafeLocks) {
+            if (this.waitTimeout == 0) {
+                this.connectionReleased.await();
+            } else {
+                this.connectionReleased.await(this.waitTimeout, TimeUnit.MILLISECONDS);
+            }
+        } else {
+            wait(this.waitTimeout);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Wake up a thread waiting for a connection in {@link #waitForConnection()}.
+     */
+    protected void notifyConnectionReleased() {
+        if (this.useVirtualThreadSafeLocks) {
+            this.connectionReleased.signal();
+        } else {
+            notify();
+        }
     }
 
     /**
@@ -471,7 +545,26 @@ protected void setOwner(ServerSession owner) {
      * INTERNAL:
      * Disconnect all connections.
      */
-    public synchronized void shutDown() {
+    public void shutDown() {
+        if (this.useVirtualThreadSafeLocks) {
+            this.connectionsLock.lock();
+            try {
+                internalShutDown();
+            } finally {
+                this.connectionsLock.unlock();
+            }
+            return;
+        }
+        synchronized (this) {
+            internalShutDown();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Body of {@link #shutDown()}, must be called holding the monitor or the connections lock.
+     */
+    protected void internalShutDown() {
         setIsConnected(false);
 
         for (Iterator<Accessor> iterator = getConnectionsAvailable().iterator(); iterator.hasNext();) {
@@ -496,7 +589,26 @@ public synchronized void shutDown() {
      * INTERNAL:
      * Allocate the minimum connections.
      */
-    public synchronized void startUp() {
+    public void startUp() {
+        if (this.useVirtualThreadSafeLocks) {
+            this.connectionsLock.lock();
+            try {
+                internalStartUp();
+            } finally {
+                this.connectionsLock.unlock();
+            }
+            return;
+        }
+        synchronized (this) {
+            internalStartUp();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Body of {@link #startUp()}, must be called holding the monitor or the connections lock.
+     */
+    protected void internalStartUp() {
         if (isConnected()) {
             return;
         }
@@ -137,9 +137,10 @@ public void setCheckConnections() {
     /**
      * INTERNAL:
      * This mehtod is a no-op for external pools.
+     * Called by {@link #shutDown()} holding the monitor or the connections lock.
      */
     @Override
-    public synchronized void shutDown() {
+    protected void internalShutDown() {
         //do nothing
         setIsConnected(false);
     }
@@ -148,9 +149,10 @@ public synchronized void shutDown() {
      * INTERNAL:
      * Build the default connection.
      * This validates that connect will work and sets up the parent accessor to clone.
+     * Called by {@link #startUp()} holding the monitor or the connections lock.
      */
     @Override
-    public synchronized void startUp() {
+    protected void internalStartUp() {
         setCachedConnection(buildConnection());
         setIsConnected(true);
     }
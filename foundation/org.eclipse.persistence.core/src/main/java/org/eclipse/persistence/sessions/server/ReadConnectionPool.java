@@ -65,7 +65,7 @@ public ReadConnectionPool(String name, Login login, int initialNumberOfConnectio
      * Wait until a connection is available and allocate the connection for the client.
      */
     @Override
-    public synchronized Accessor acquireConnection() throws ConcurrencyException {
+    protected Accessor internalAcquireConnection() throws ConcurrencyException {
         // Check for dead database and fail-over.
         if (this.isDead) {
             return failover();
@@ -150,7 +150,7 @@ public boolean hasConnectionAvailable() {
      * Because connections are not exclusive nothing is required.
      */
     @Override
-    public synchronized void releaseConnection(Accessor connection) throws DatabaseException {
+    protected void internalReleaseConnection(Accessor connection) throws DatabaseException {
         if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
             Object[] args = new Object[1];
             args[0] = this.name;
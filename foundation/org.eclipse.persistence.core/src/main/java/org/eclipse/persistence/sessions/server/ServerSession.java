@@ -26,6 +26,8 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.exceptions.ConcurrencyException;
@@ -34,6 +36,7 @@
 import org.eclipse.persistence.exceptions.ValidationException;
 import org.eclipse.persistence.internal.databaseaccess.Accessor;
 import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.internal.helper.ConcurrencyUtil;
 import org.eclipse.persistence.internal.sequencing.SequencingServer;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
@@ -80,6 +83,11 @@ public class ServerSession extends DatabaseSessionImpl implements Server {
     protected ConnectionPolicy defaultConnectionPolicy;
     protected int numberOfNonPooledConnectionsUsed;
     protected int maxNumberOfNonPooledConnections;
+    /** Virtual thread safe locks mode of the non pooled connections, it is read once so all threads use the same lock. */
+    protected final boolean useVirtualThreadSafeLocks = ConcurrencyUtil.SINGLETON.isUseVirtualThreadSafeLocks();
+    /** Used instead of the monitor of the session for non pooled connections if virtual thread safe locks are enabled. */
+    protected final ReentrantLock nonPooledConnectionsLock = new ReentrantLock();
+    protected final Condition nonPooledConnectionReleased = nonPooledConnectionsLock.newCondition();
 
     public static final int NO_MAX = -1;
     public static final String DEFAULT_POOL = "default";
@@ -271,16 +279,7 @@ public void acquireClientConnection(ClientSession clientSession) throws Database
             clientSession.addWriteConnection(pool.getName(), accessor);
         } else {
             if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                synchronized (this) {
-                    while (this.numberOfNonPooledConnectionsUsed >= this.maxNumberOfNonPooledConnections) {
-                        try {
-                            wait();// Notify is called when connections are released.
-                        } catch (InterruptedException exception) {
-                            throw ConcurrencyException.waitFailureOnServerSession(exception);
-                        }
-                    }
-                    this.numberOfNonPooledConnectionsUsed++;
-                }
+                reserveNonPooledConnection();
             }
             try {
             Accessor accessor = clientSession.getLogin().buildAccessor();
@@ -290,10 +289,7 @@ public void acquireClientConnection(ClientSession clientSession) throws Database
                 // A DatabaseException was thrown, undo the numberOfNonPooledConnectionsUsed counter increment otherwise
                 // the counter will be out of synch with the actual number of connections.
                 if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                    synchronized (this) {
-                        this.numberOfNonPooledConnectionsUsed--;
-                        notify();
-                    }
+                    releaseNonPooledConnection();
                 }
                 throw dbe;
             }
@@ -301,6 +297,58 @@ public void acquireClientConnection(ClientSession clientSession) throws Database
         }
     }
 
+    /**
+     * INTERNAL:
+     * Wait until the maximum number of non pooled connections is not reached and count the new connection.
+     */
+    protected void reserveNonPooledConnection() throws ConcurrencyException {
+        if (this.useVirtualThreadSafeLocks) {
+            this.nonPooledConnectionsLock.lock();
+            try {
+                while (this.numberOfNonPooledConnectionsUsed >= this.maxNumberOfNonPooledConnections) {
+                    this.nonPooledConnectionReleased.await();// Signal is called when connections are released.
+                }
+                this.numberOfNonPooledConnectionsUsed++;
+            } catch (InterruptedException exception) {
+                throw ConcurrencyException.waitFailureOnServerSession(exception);
+            } finally {
+                this.nonPooledConnectionsLock.unlock();
+            }
+            return;
+        }
+        synchronized (this) {
+            while (this.numberOfNonPooledConnectionsUsed >= this.maxNumberOfNonPooledConnections) {
+                try {
+                    wait();// Notify is called when connections are released.
+                } catch (InterruptedException exception) {
+                    throw ConcurrencyException.waitFailureOnServerSession(exception);
+                }
+            }
+            this.numberOfNonPooledConnectionsUsed++;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Count the release of a non pooled connection and notify a thread waiting for one.
+     */
+    protected void releaseNonPooledConnection() {
+        if (this.useVirtualThreadSafeLocks) {
+            this.nonPooledConnectionsLock.lock();
+            try {
+                this.numberOfNonPooledConnectionsUsed--;
+                this.nonPooledConnectionReleased.signal();
+            } finally {
+                this.nonPooledConnectionsLock.unlock();
+            }
+            return;
+        }
+        synchronized (this) {
+            this.numberOfNonPooledConnectionsUsed--;
+            notify();
+        }
+    }
+
     /**
      * PUBLIC:
      * Return a client session for this server session.
@@ -851,10 +899,7 @@ public void releaseInvalidClientSession(ClientSession clientSession) throws Data
                     }
                     } finally {
                     if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                        synchronized (this) {
-                            this.numberOfNonPooledConnectionsUsed--;
-                            notify();
-                        }
+                        releaseNonPooledConnection();
                     }
                 }
                 }
@@ -894,10 +939,7 @@ public void releaseClientSession(ClientSession clientSession) throws DatabaseExc
             }
             clientSession.setWriteConnections(null);
             if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                synchronized (this) {
-                    this.numberOfNonPooledConnectionsUsed--;
-                    notify();
-                }
+                releaseNonPooledConnection();
             }
         }
     }
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.tools.profiler;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.DataRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.tools.profiler.metrics.MetricsRegistry;
+import org.eclipse.persistence.tools.profiler.metrics.Timer;
+
+/**
+ * <p><b>Purpose</b>: A profiler recording the session operations into the meters of a MetricsRegistry,
+ * with a low enough overhead to be left on in production.
+ * <p>
+ * Unlike the PerformanceMonitor the operations are counted by LongAdder counters and timed by latency histograms,
+ * the start times are kept in a thread local array instead of maps by thread, and nothing is synchronized.
+ * Each query execution is timed by query ("Timer:" and the query monitor name, e.g. "Timer:ReadAllQuery:com.acme.Employee:findAll")
+ * and by descriptor ("Timer:Descriptor:com.acme.Employee"), the other operations by their SessionProfiler name.
+ * The meters are exposed through the RuntimeServices MBean.
+ *
+ * @see MetricsRegistry
+ * @see org.eclipse.persistence.config.ProfilerType#MetricsProfiler
+ */
+public class MetricsProfiler implements Serializable, Cloneable, SessionProfiler {
+    protected static final String DESCRIPTOR = "Descriptor:";
+
+    transient protected AbstractSession session;
+    protected MetricsRegistry registry;
+    protected int profileWeight;
+    /** Timers of the queries by query monitor name. */
+    protected transient Map<String, Timer> queryTimers;
+    /** Timers of the queries by descriptor class name. */
+    protected transient Map<String, Timer> descriptorTimers;
+
+    /**
+     * PUBLIC:
+     * Create a new profiler.
+     * The profiler can be registered with a session to record the meters of the session operations.
+     */
+    public MetricsProfiler() {
+        this(new MetricsRegistry());
+    }
+
+    /**
+     * PUBLIC:
+     * Create a new profiler recording into the registry.
+     */
+    public MetricsProfiler(MetricsRegistry registry) {
+        this.registry = registry;
+        this.profileWeight = SessionProfiler.ALL;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the registry of the meters.
+     */
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public MetricsProfiler clone() {
+        try {
+            return (MetricsProfiler)super.clone();
+        } catch (CloneNotSupportedException exception) {
+            throw new InternalError();
+        }
+    }
+
+    public AbstractSession getSession() {
+        return session;
+    }
+
+    @Override
+    public void setSession(org.eclipse.persistence.sessions.Session session) {
+        this.session = (AbstractSession)session;
+    }
+
+    /**
+     * INTERNAL:
+     * Start the operation timing.
+     */
+    @Override
+    public void startOperationProfile(String operationName) {
+        if (this.profileWeight < SessionProfiler.HEAVY) {
+            return;
+        }
+        this.registry.start(this.registry.getTimer(operationName));
+    }
+
+    /**
+     * INTERNAL:
+     * Start the operation timing.
+     */
+    @Override
+    public void startOperationProfile(String operationName, DatabaseQuery query, int weight) {
+        if (this.profileWeight < weight) {
+            return;
+        }
+        this.registry.start(this.registry.getTimer(operationName));
+    }
+
+    /**
+     * INTERNAL:
+     * End the operation timing.
+     */
+    @Override
+    public void endOperationProfile(String operationName) {
+        if (this.profileWeight < SessionProfiler.HEAVY) {
+            return;
+        }
+        this.registry.stop(this.registry.getTimer(operationName));
+    }
+
+    /**
+     * INTERNAL:
+     * End the operation timing.
+     */
+    @Override
+    public void endOperationProfile(String operationName, DatabaseQuery query, int weight) {
+        if (this.profileWeight < weight) {
+            return;
+        }
+        this.registry.stop(this.registry.getTimer(operationName));
+    }
+
+    /**
+     * INTERNAL:
+     * Time the execution of the query by query and by descriptor.
+     * The start time is kept on the stack, so nested executions of the same query are timed.
+     */
+    @Override
+    public Object profileExecutionOfQuery(DatabaseQuery query, DataRecord row, AbstractSession session) {
+        if (this.profileWeight < SessionProfiler.HEAVY) {
+            return session.internalExecuteQuery(query, (AbstractRecord)row);
+        }
+        Timer queryTimer = getQueryTimer(query.getMonitorName());
+        Timer descriptorTimer = null;
+        if (query.getReferenceClassName() != null) {
+            descriptorTimer = getDescriptorTimer(query.getReferenceClassName());
+        }
+        long startTime = System.nanoTime();
+        try {
+            return session.internalExecuteQuery(query, (AbstractRecord)row);
+        } finally {
+            long time = System.nanoTime() - startTime;
+            queryTimer.record(time);
+            if (descriptorTimer != null) {
+                descriptorTimer.record(time);
+            }
+        }
+    }
+
+    /**
+     * Return the timer of the query, by its monitor name.
+     * The timers are cached by the names to not concatenate the timer name on every execution.
+     */
+    protected Timer getQueryTimer(String monitorName) {
+        Map<String, Timer> timers = getQueryTimers();
+        Timer timer = timers.get(monitorName);
+        if (timer == null) {
+            timer = this.registry.getTimer(MetricsRegistry.TIMER + monitorName);
+            timers.put(monitorName, timer);
+        }
+        return timer;
+    }
+
+    /**
+     * Return the timer of the queries of the descriptor, by its class name.
+     */
+    protected Timer getDescriptorTimer(String className) {
+        Map<String, Timer> timers = getDescriptorTimers();
+        Timer timer = timers.get(className);
+        if (timer == null) {
+            timer = this.registry.getTimer(MetricsRegistry.TIMER + DESCRIPTOR + className);
+            timers.put(className, timer);
+        }
+        return timer;
+    }
+
+    protected Map<String, Timer> getQueryTimers() {
+        if (this.queryTimers == null) {
+            this.queryTimers = new ConcurrentHashMap<>();
+        }
+        return this.queryTimers;
+    }
+
+    protected Map<String, Timer> getDescriptorTimers() {
+        if (this.descriptorTimers == null) {
+            this.descriptorTimers = new ConcurrentHashMap<>();
+        }
+        return this.descriptorTimers;
+    }
+
+    @Override
+    public void update(String operationName, Object value) {
+        // Only counters and timers are metered.
+    }
+
+    @Override
+    public void occurred(String operationName, AbstractSession session) {
+        if (this.profileWeight < SessionProfiler.NORMAL) {
+            return;
+        }
+        this.registry.getCounter(operationName).increment();
+    }
+
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        if (this.profileWeight < SessionProfiler.NORMAL) {
+            return;
+        }
+        this.registry.getCounter(operationName).increment();
+    }
+
+    /**
+     * Set the level of profiling.
+     * One of ALL, HEAVY, NORMAL, NONE.
+     * The higher the level, the more operations are profiled.
+     * @see SessionProfiler
+     */
+    @Override
+    public void setProfileWeight(int profileWeight) {
+        this.profileWeight = profileWeight;
+    }
+
+    /**
+     * Return the level of profiling.
+     * One of ALL, HEAVY, NORMAL, NONE.
+     * @see SessionProfiler
+     */
+    @Override
+    public int getProfileWeight() {
+        return profileWeight;
+    }
+
+    @Override
+    public void initialize() {
+    }
+}
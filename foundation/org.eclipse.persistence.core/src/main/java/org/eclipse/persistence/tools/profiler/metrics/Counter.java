@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.tools.profiler.metrics;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p><b>Purpose</b>: A meter counting occurrences of an operation.
+ * The count is a LongAdder, threads incrementing the counter concurrently do not contend.
+ *
+ * @see MetricsRegistry
+ */
+public final class Counter implements Serializable {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Return the name of the counter, e.g. "Counter:CacheHits".
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Increment the count by one.
+     */
+    public void increment() {
+        this.count.increment();
+    }
+
+    /**
+     * Increment the count by the value.
+     */
+    public void add(long value) {
+        this.count.add(value);
+    }
+
+    /**
+     * Return the current count.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Reset the count to zero.
+     * Increments concurrent with the reset may be lost.
+     */
+    public void reset() {
+        this.count.reset();
+    }
+
+    @Override
+    public String toString() {
+        return this.name + "=" + getCount();
+    }
+}
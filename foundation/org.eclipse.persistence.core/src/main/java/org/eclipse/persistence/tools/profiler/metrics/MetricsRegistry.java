@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.tools.profiler.metrics;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * <p><b>Purpose</b>: The meters of a session, counters and latency timers by name.
+ * <p>
+ * The counters and timers of the operations of SessionProfiler are registered when the registry is created,
+ * the meters by query and by descriptor are registered the first time they are used.
+ * The meters are looked up without locking and can be kept by the caller to avoid the lookup,
+ * they are never removed from the registry.
+ * <p>
+ * The registry is the metrics SPI of the MetricsProfiler, applications can register their own meters,
+ * and read all the meters through {@link #getMetrics()}, which the RuntimeServices MBean exposes.
+ *
+ * @see org.eclipse.persistence.tools.profiler.MetricsProfiler
+ * @see org.eclipse.persistence.services.RuntimeServices#getMetrics()
+ */
+public class MetricsRegistry implements Serializable {
+    public static final String COUNTER = "Counter:";
+    public static final String TIMER = "Timer:";
+
+    protected final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    protected final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final AtomicInteger timerIndex = new AtomicInteger();
+    /** The start times of the timers by index, for each thread. */
+    private transient volatile ThreadLocal<long[]> startTimes;
+
+    /**
+     * PUBLIC:
+     * Create a registry with the meters of the SessionProfiler operations.
+     */
+    public MetricsRegistry() {
+        for (Field field : SessionProfiler.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && (field.getType() == String.class)) {
+                try {
+                    String name = (String)field.get(null);
+                    if (name.startsWith(COUNTER)) {
+                        getCounter(name);
+                    } else if (name.startsWith(TIMER)) {
+                        getTimer(name);
+                    }
+                } catch (IllegalAccessException exception) {
+                    // Public constants.
+                }
+            }
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return the counter of the name, registering it the first time.
+     */
+    public Counter getCounter(String name) {
+        Counter counter = this.counters.get(name);
+        if (counter == null) {
+            counter = this.counters.computeIfAbsent(name, Counter::new);
+        }
+        return counter;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the timer of the name, registering it the first time.
+     */
+    public Timer getTimer(String name) {
+        Timer timer = this.timers.get(name);
+        if (timer == null) {
+            timer = this.timers.computeIfAbsent(name, key -> new Timer(key, this.timerIndex.getAndIncrement()));
+        }
+        return timer;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the registered counters by name.
+     */
+    public Map<String, Counter> getCounters() {
+        return this.counters;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the registered timers by name.
+     */
+    public Map<String, Timer> getTimers() {
+        return this.timers;
+    }
+
+    /**
+     * PUBLIC:
+     * Start timing the operation of the timer on the current thread.
+     */
+    public void start(Timer timer) {
+        long[] times = getStartTimes();
+        int index = timer.getIndex();
+        if (index >= times.length) {
+            times = Arrays.copyOf(times, Math.max(index + 1, times.length * 2));
+            this.startTimes.set(times);
+        }
+        times[index] = System.nanoTime();
+    }
+
+    /**
+     * PUBLIC:
+     * Record the time since the timer was started on the current thread.
+     * Nothing is recorded if the timer was not started.
+     */
+    public void stop(Timer timer) {
+        long[] times = getStartTimes();
+        int index = timer.getIndex();
+        if ((index < times.length) && (times[index] != 0)) {
+            timer.record(System.nanoTime() - times[index]);
+            times[index] = 0;
+        }
+    }
+
+    /**
+     * Return the start times of the current thread by timer index, 0 if not started.
+     */
+    protected long[] getStartTimes() {
+        ThreadLocal<long[]> startTimes = this.startTimes;
+        if (startTimes == null) {
+            synchronized (this) {
+                startTimes = this.startTimes;
+                if (startTimes == null) {
+                    startTimes = ThreadLocal.withInitial(() -> new long[this.timerIndex.get()]);
+                    this.startTimes = startTimes;
+                }
+            }
+        }
+        return startTimes.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return a snapshot of the values of the meters that were used, sorted by name.
+     * A counter is reported by its name, a timer by its name followed by ".count", ".total", ".mean", ".max",
+     * ".p50", ".p95" and ".p99", the times are in nanoseconds.
+     */
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new TreeMap<>();
+        for (Counter counter : this.counters.values()) {
+            long count = counter.getCount();
+            if (count != 0) {
+                metrics.put(counter.getName(), count);
+            }
+        }
+        for (Timer timer : this.timers.values()) {
+            long count = timer.getCount();
+            if (count != 0) {
+                String name = timer.getName();
+                metrics.put(name + ".count", count);
+                metrics.put(name + ".total", timer.getTotalTime());
+                metrics.put(name + ".mean", timer.getMeanTime());
+                metrics.put(name + ".max", timer.getMaxTime());
+                metrics.put(name + ".p50", timer.getPercentile(50));
+                metrics.put(name + ".p95", timer.getPercentile(95));
+                metrics.put(name + ".p99", timer.getPercentile(99));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * PUBLIC:
+     * Reset all the meters.
+     */
+    public void reset() {
+        for (Counter counter : this.counters.values()) {
+            counter.reset();
+        }
+        for (Timer timer : this.timers.values()) {
+            timer.reset();
+        }
+    }
+}
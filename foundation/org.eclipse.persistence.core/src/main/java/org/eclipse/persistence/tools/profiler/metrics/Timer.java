@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.tools.profiler.metrics;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p><b>Purpose</b>: A meter recording the latencies of an operation in nanoseconds.
+ * Besides the count, total and maximum time, the latencies are recorded in a log-linear histogram
+ * (like HdrHistogram) of 16 buckets per power of two, so percentiles are reported within 6.25%.
+ * Recording a latency is lock free and allocates nothing.
+ *
+ * @see MetricsRegistry
+ */
+public final class Timer implements Serializable {
+    /** Number of bits of the sub buckets of each power of two. */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** The buckets cover all positive long values. */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final String name;
+    /** Index of the timer in its registry, used to store the start times of the timer by thread. */
+    private final int index;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    Timer(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Return the name of the timer, e.g. "Timer:StatementExecute".
+     */
+    public String getName() {
+        return name;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Record the latency of an operation in nanoseconds.
+     */
+    public void record(long time) {
+        if (time < 0) {
+            time = 0;
+        }
+        this.count.increment();
+        this.totalTime.add(time);
+        this.buckets.incrementAndGet(bucketIndex(time));
+        long max = this.maxTime.get();
+        while ((time > max) && !this.maxTime.compareAndSet(max, time)) {
+            max = this.maxTime.get();
+        }
+    }
+
+    /**
+     * Return the number of recorded latencies.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Return the sum of the recorded latencies in nanoseconds.
+     */
+    public long getTotalTime() {
+        return this.totalTime.sum();
+    }
+
+    /**
+     * Return the maximum recorded latency in nanoseconds.
+     */
+    public long getMaxTime() {
+        return this.maxTime.get();
+    }
+
+    /**
+     * Return the mean of the recorded latencies in nanoseconds.
+     */
+    public long getMeanTime() {
+        long count = getCount();
+        return (count == 0) ? 0 : getTotalTime() / count;
+    }
+
+    /**
+     * Return the latency in nanoseconds below or equal to which the percentage of the recorded latencies are,
+     * e.g. 99 for the 99th percentile.
+     * The value is the highest value of the histogram bucket of the percentile, capped by the maximum time.
+     */
+    public long getPercentile(double percentage) {
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            total += this.buckets.get(bucket);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil((percentage / 100) * total));
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            count += this.buckets.get(bucket);
+            if (count >= rank) {
+                return Math.min(highestValue(bucket), getMaxTime());
+            }
+        }
+        return getMaxTime();
+    }
+
+    /**
+     * Reset the timer.
+     * Latencies recorded concurrently with the reset may be partially lost.
+     */
+    public void reset() {
+        this.count.reset();
+        this.totalTime.reset();
+        this.maxTime.set(0);
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            this.buckets.set(bucket, 0);
+        }
+    }
+
+    /**
+     * Return the histogram bucket of the value.
+     * The values below 16 have their own bucket, the higher values are split in 16 buckets per power of two.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)value;
+        }
+        int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT) + subBucket;
+    }
+
+    /**
+     * Return the highest value of the histogram bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = (bucket / SUB_BUCKET_COUNT) - 1 + SUB_BUCKET_BITS;
+        long subBucket = bucket % SUB_BUCKET_COUNT;
+        long lowest = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return this.name + "(count=" + getCount() + ", total=" + getTotalTime() + ", max=" + getMaxTime() + ")";
+    }
+}
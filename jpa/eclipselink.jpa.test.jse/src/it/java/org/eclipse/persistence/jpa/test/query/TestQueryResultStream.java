@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jpa.test.query;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.jpa.test.framework.DDLGen;
+import org.eclipse.persistence.jpa.test.framework.Emf;
+import org.eclipse.persistence.jpa.test.framework.EmfRunner;
+import org.eclipse.persistence.jpa.test.framework.Property;
+import org.eclipse.persistence.jpa.test.query.model.SimpleQueryEntity;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.sessions.server.ConnectionPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests getResultStream() with the "eclipselink.cursor.stream" hint, the results are read from a cursor
+ * as the stream advances instead of being built into a list.
+ * The number of rows can be set with the "eclipselink.test.result-stream.rows" system property, the default is
+ * 5000 rows, for example 2097152 to check streaming millions of rows. The streamed entities are checked to be
+ * released from the persistence context, so the memory used does not grow with the number of rows.
+ */
+@RunWith(EmfRunner.class)
+public class TestQueryResultStream {
+
+    private static final int ROWS = Integer.getInteger("eclipselink.test.result-stream.rows", 5000);
+    private static final int FETCH_SIZE = 500;
+
+    @Emf(name = "resultStreamEMF", classes = { SimpleQueryEntity.class }, createTables = DDLGen.DROP_CREATE,
+            properties = { @Property(name = "eclipselink.cache.shared.default", value = "false") })
+    private EntityManagerFactory emf;
+
+    private static boolean populated = false;
+
+    @Before
+    public void setup() {
+        if (populated) {
+            return;
+        }
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM SimpleQueryEntity e").executeUpdate();
+            em.persist(new SimpleQueryEntity(1, 0, "Stream"));
+            em.flush();
+            // Double the rows until the size is reached.
+            int size = 1;
+            while (size < ROWS) {
+                size += em.createNativeQuery("INSERT INTO SIMPLEQUERYENTITY (ID, INTVAL1, STRVAL1) SELECT ID + " + size
+                        + ", INTVAL1, STRVAL1 FROM SIMPLEQUERYENTITY WHERE ID <= " + (ROWS - size)).executeUpdate();
+            }
+            em.getTransaction().commit();
+            populated = true;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    @Test
+    public void testResultStreamReleasesEntities() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            UnitOfWorkImpl unitOfWork = (UnitOfWorkImpl) em.unwrap(UnitOfWork.class);
+            TypedQuery<SimpleQueryEntity> query = em.createQuery("SELECT e FROM SimpleQueryEntity e", SimpleQueryEntity.class);
+            query.setHint(QueryHints.CURSOR_STREAM, "true");
+            query.setHint(QueryHints.JDBC_FETCH_SIZE, FETCH_SIZE);
+            long count = 0;
+            int maxManaged = 0;
+            SimpleQueryEntity first = null;
+            try (Stream<SimpleQueryEntity> stream = query.getResultStream()) {
+                Iterator<SimpleQueryEntity> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    SimpleQueryEntity entity = iterator.next();
+                    if (first == null) {
+                        first = entity;
+                    }
+                    count++;
+                    if ((count % FETCH_SIZE) == 0) {
+                        maxManaged = Math.max(maxManaged, unitOfWork.getCloneMapping().size());
+                    }
+                }
+            }
+            assertEquals(ROWS, count);
+            // At most the entities of the current and the previous page stay managed.
+            assertTrue("Managed entities: " + maxManaged, maxManaged <= (2 * FETCH_SIZE));
+            assertFalse(em.contains(first));
+        } finally {
+            em.close();
+        }
+    }
+
+    @Test
+    public void testResultStreamKeepsManagedEntities() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            SimpleQueryEntity managed = em.find(SimpleQueryEntity.class, 1L);
+            managed.setStrVal1("Changed");
+            TypedQuery<SimpleQueryEntity> query = em.createQuery("SELECT e FROM SimpleQueryEntity e", SimpleQueryEntity.class);
+            query.setHint(QueryHints.CURSOR_STREAM, "true");
+            query.setHint(QueryHints.JDBC_FETCH_SIZE, FETCH_SIZE);
+            try (Stream<SimpleQueryEntity> stream = query.getResultStream()) {
+                assertEquals(ROWS, stream.count());
+            }
+            // Only the entities registered by the stream are detached, the change of the managed entity is kept.
+            assertTrue(em.contains(managed));
+            em.flush();
+            assertEquals("Changed", em.createNativeQuery("SELECT STRVAL1 FROM SIMPLEQUERYENTITY WHERE ID = 1").getSingleResult());
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    @Test
+    public void testResultStreamCloseReleasesConnection() {
+        ConnectionPool pool = JpaHelper.getServerSession(emf).getReadConnectionPool();
+        int available = pool.getConnectionsAvailable().size();
+        EntityManager em = emf.createEntityManager();
+        try {
+            TypedQuery<SimpleQueryEntity> query = em.createQuery("SELECT e FROM SimpleQueryEntity e ORDER BY e.id", SimpleQueryEntity.class);
+            query.setHint(QueryHints.CURSOR_STREAM, "true");
+            try (Stream<SimpleQueryEntity> stream = query.getResultStream()) {
+                assertEquals(10, stream.limit(10).count());
+            }
+            assertEquals(available, pool.getConnectionsAvailable().size());
+            // The query still returns a list.
+            query.setMaxResults(10);
+            assertEquals(10, query.getResultList().size());
+        } finally {
+            em.close();
+        }
+    }
+
+    @Test
+    public void testResultStreamWithoutHint() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            TypedQuery<SimpleQueryEntity> query = em.createQuery("SELECT e FROM SimpleQueryEntity e", SimpleQueryEntity.class);
+            query.setMaxResults(100);
+            try (Stream<SimpleQueryEntity> stream = query.getResultStream()) {
+                assertEquals(100, stream.count());
+            }
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -32,4 +32,12 @@ public SimpleQueryEntity(long id, Integer intVal1, String strVal1) {
         this.intVal1 = intVal1;
         this.strVal1 = strVal1;
     }
+
+    public String getStrVal1() {
+        return strVal1;
+    }
+
+    public void setStrVal1(String strVal1) {
+        this.strVal1 = strVal1;
+    }
 }
\ No newline at end of file
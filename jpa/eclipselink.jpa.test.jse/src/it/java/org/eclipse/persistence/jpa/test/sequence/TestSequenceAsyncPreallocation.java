@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jpa.test.sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.jpa.test.framework.DDLGen;
+import org.eclipse.persistence.jpa.test.framework.Emf;
+import org.eclipse.persistence.jpa.test.framework.EmfRunner;
+import org.eclipse.persistence.jpa.test.framework.Property;
+import org.eclipse.persistence.jpa.test.sequence.model.SequenceEntity;
+import org.eclipse.persistence.jpa.test.sequence.model.TableSequenceEntity;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the background refill of the preallocated sequence values ("eclipselink.sequencing.async-preallocation").
+ */
+@RunWith(EmfRunner.class)
+public class TestSequenceAsyncPreallocation {
+
+    private static final int THREADS = 8;
+    private static final int VALUES_PER_THREAD = 500;
+
+    @Emf(createTables = DDLGen.DROP_CREATE, classes = { SequenceEntity.class, TableSequenceEntity.class }, properties = {
+            @Property(name = "eclipselink.sequencing.async-preallocation", value = "true"),
+            @Property(name = "eclipselink.sequencing.adaptive-preallocation", value = "true"),
+            @Property(name = "eclipselink.jdbc.sequence-connection-pool", value = "true"),
+            @Property(name = "eclipselink.profiler", value = "PerformanceMonitor") })
+    private EntityManagerFactory emf;
+
+    @Test
+    public void testTableSequenceValuesAreUnique() throws Exception {
+        assertUniqueValues(TableSequenceEntity.class);
+    }
+
+    @Test
+    public void testSequenceObjectValuesAreUnique() throws Exception {
+        assertUniqueValues(SequenceEntity.class);
+    }
+
+    @Test
+    public void testRefillInBackground() throws Exception {
+        ServerSession session = (ServerSession) JpaHelper.getServerSession(emf);
+        Assert.assertTrue(session.getSequencingControl().shouldUseAsynchronousPreallocation());
+        PerformanceMonitor monitor = (PerformanceMonitor) session.getProfiler();
+        long previous = session.getNextSequenceNumberValue(TableSequenceEntity.class).longValue();
+        // The values stay consecutive while the next blocks are allocated in the background.
+        for (int i = 0; i < 200; i++) {
+            long value = session.getNextSequenceNumberValue(TableSequenceEntity.class).longValue();
+            Assert.assertEquals(previous + 1, value);
+            previous = value;
+        }
+        long timeout = System.currentTimeMillis() + 10000;
+        while ((monitor.getOperationTimings().get(SessionProfiler.SequencePreallocationRefill) == null) && (System.currentTimeMillis() < timeout)) {
+            Thread.sleep(10);
+        }
+        Assert.assertNotNull(monitor.getOperationTimings().get(SessionProfiler.SequencePreallocationRefill));
+    }
+
+    private void assertUniqueValues(Class<?> entityClass) throws Exception {
+        ServerSession session = (ServerSession) JpaHelper.getServerSession(emf);
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < VALUES_PER_THREAD; j++) {
+                        values.add(session.getNextSequenceNumberValue(entityClass).longValue());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(THREADS * VALUES_PER_THREAD, values.size());
+    }
+}
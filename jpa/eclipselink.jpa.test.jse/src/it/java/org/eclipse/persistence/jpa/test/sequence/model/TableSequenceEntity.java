@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jpa.test.sequence.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+@Entity
+@Table(name="TABLE_SEQ_ENTITY")
+public class TableSequenceEntity {
+
+    @Id
+    @TableGenerator(name = "TABLE_SEQ_ENTITY_GEN", table = "TABLE_SEQ_ENTITY_SEQ", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "TABLE_SEQ_ENTITY_GEN")
+    private Long id;
+
+}
@@ -21,6 +21,8 @@
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.jpa.JpaHelper;
 import org.eclipse.persistence.jpa.metadata.FileBasedProjectCache;
+import org.eclipse.persistence.logging.AbstractSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.sessions.Project;
 import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.testing.framework.jpa.junit.JUnitTestCase;
@@ -49,6 +51,7 @@ public static Test suite() {
         TestSuite suite = new TestSuite();
         suite.setName("MetadataCachingTestSuite");
         suite.addTest(new MetadataCachingTestSuite("testProjectCacheALLWithDefaultPU"));
+        suite.addTest(new MetadataCachingTestSuite("testFileBasedProjectCacheFingerprint"));
         return suite;
     }
 
@@ -126,6 +129,30 @@ public void testProjectCacheALLWithDefaultPU(){
         testFileBasedProjectCacheLoading("default");
     }
 
+    /* Test a project cached for other metadata of the persistence unit is not retrieved */
+    public void testFileBasedProjectCacheFingerprint() {
+        FileBasedProjectCache projectCache = new FileBasedProjectCache();
+        SessionLog log = AbstractSessionLog.getLog();
+        Map<String, Object> properties = getProperties();
+        properties.put(PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT, "build-1");
+        Project project = new Project();
+        project.setName("fingerprinted");
+        projectCache.storeProject(project, properties, log);
+        try {
+            Project cached = projectCache.retrieveProject(properties, getClass().getClassLoader(), log);
+            assertNotNull("Project stored with the same fingerprint was not retrieved", cached);
+            assertEquals("fingerprinted", cached.getName());
+
+            properties.put(PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT, "build-2");
+            assertNull("Project stored with another fingerprint was retrieved", projectCache.retrieveProject(properties, getClass().getClassLoader(), log));
+
+            properties.remove(PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT);
+            assertNotNull("Project was not retrieved without validation", projectCache.retrieveProject(properties, getClass().getClassLoader(), log));
+        } finally {
+            new File(fileName).delete();
+        }
+    }
+
     /* Test project cache in runtime on JEE with default persistence unit*/
     public void testProjectCacheWithDefaultPU(){
         testFileBasedProjectCacheLoading("default");
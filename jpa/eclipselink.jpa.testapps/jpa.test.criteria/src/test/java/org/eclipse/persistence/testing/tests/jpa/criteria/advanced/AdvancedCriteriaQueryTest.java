@@ -46,6 +46,7 @@
 import org.eclipse.persistence.config.ResultSetConcurrency;
 import org.eclipse.persistence.config.ResultSetType;
 import org.eclipse.persistence.config.ResultType;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.jpa.querydef.CompoundExpressionImpl;
 import org.eclipse.persistence.internal.jpa.querydef.CriteriaQueryImpl;
 import org.eclipse.persistence.internal.jpa.querydef.FromImpl;
@@ -187,6 +188,9 @@ public static Test suite() {
         // Bug 464833
         suite.addTest(new AdvancedCriteriaQueryTest("testGetRestrictionReturningCorrectPredicate"));
         suite.addTest(new AdvancedCriteriaQueryTest("testJoinDuplication"));
+        suite.addTest(new AdvancedCriteriaQueryTest("testCriteriaQueryCacheLiterals"));
+        suite.addTest(new AdvancedCriteriaQueryTest("testCriteriaQueryCacheParameters"));
+        suite.addTest(new AdvancedCriteriaQueryTest("testCriteriaQueryCacheJoins"));
 
         return suite;
     }
@@ -2025,5 +2029,104 @@ public void testJoinDuplication() throws NoSuchFieldException, IllegalAccessExce
         }
     }
 
+    private List<Employee> findEmployeesByFirstName(EntityManager em, String firstName, boolean literal) {
+        CriteriaBuilder qb = em.getCriteriaBuilder();
+        CriteriaQuery<Employee> cq = qb.createQuery(Employee.class);
+        Root<Employee> emp = cq.from(Employee.class);
+        if (literal) {
+            cq.where(qb.equal(emp.get("firstName"), qb.literal(firstName)));
+            return em.createQuery(cq).getResultList();
+        }
+        ParameterExpression<String> name = qb.parameter(String.class, "name");
+        cq.where(qb.equal(emp.get("firstName"), name));
+        return em.createQuery(cq).setParameter(name, firstName).getResultList();
+    }
 
+    private ConcurrentFixedCache getCriteriaQueryCache() {
+        return getPersistenceUnitServerSession().getProject().getCriteriaQueryCache();
+    }
+
+    /**
+     * The criteria queries differing by the value of a literal, or by a literal and a parameter
+     * of the same value, do not share their translated query.
+     */
+    public void testCriteriaQueryCacheLiterals() {
+        EntityManager em = createEntityManager();
+        try {
+            ConcurrentFixedCache cache = getCriteriaQueryCache();
+            cache.clear();
+            List<Employee> bobs = findEmployeesByFirstName(em, "Bob", true);
+            long hits = cache.getHits();
+            List<Employee> jills = findEmployeesByFirstName(em, "Jill", true);
+            List<Employee> parameterJills = findEmployeesByFirstName(em, "Jill", false);
+            assertEquals("The criteria queries with different literals shared their translated query", hits, cache.getHits());
+            assertFalse("No Employees were returned", bobs.isEmpty());
+            assertFalse("No Employees were returned", jills.isEmpty());
+            for (Employee employee : bobs) {
+                assertEquals("Bob", employee.getFirstName());
+            }
+            for (Employee employee : jills) {
+                assertEquals("Jill", employee.getFirstName());
+            }
+            assertEquals(new HashSet<>(jills), new HashSet<>(parameterJills));
+            assertEquals(new HashSet<>(jills), new HashSet<>(findEmployeesByFirstName(em, "Jill", true)));
+            assertEquals("The criteria query with the same literal was translated again", hits + 1, cache.getHits());
+        } finally {
+            closeEntityManager(em);
+        }
+    }
+
+    /**
+     * The criteria queries differing by the values of their parameters share their translated query.
+     */
+    public void testCriteriaQueryCacheParameters() {
+        EntityManager em = createEntityManager();
+        try {
+            ConcurrentFixedCache cache = getCriteriaQueryCache();
+            findEmployeesByFirstName(em, "Bob", false);
+            long hits = cache.getHits();
+            List<Employee> bobs = findEmployeesByFirstName(em, "Bob", false);
+            List<Employee> jills = findEmployeesByFirstName(em, "Jill", false);
+            assertEquals("The criteria queries with the same parameters were translated again", hits + 2, cache.getHits());
+            assertFalse("No Employees were returned", bobs.isEmpty());
+            assertFalse("No Employees were returned", jills.isEmpty());
+            for (Employee employee : bobs) {
+                assertEquals("Bob", employee.getFirstName());
+            }
+            for (Employee employee : jills) {
+                assertEquals("Jill", employee.getFirstName());
+            }
+        } finally {
+            closeEntityManager(em);
+        }
+    }
+
+    private List<Employee> findEmployeesWithPhones(EntityManager em, boolean separateJoins) {
+        CriteriaBuilder qb = em.getCriteriaBuilder();
+        CriteriaQuery<Employee> cq = qb.createQuery(Employee.class);
+        Root<Employee> emp = cq.from(Employee.class);
+        Join<Employee, PhoneNumber> work = emp.join("phoneNumbers");
+        Join<Employee, PhoneNumber> home = emp.join("phoneNumbers");
+        if (!separateJoins) {
+            home = work;
+        }
+        cq.where(qb.equal(work.get("type"), "Work"), qb.equal(home.get("type"), "Home"));
+        cq.distinct(true);
+        return em.createQuery(cq).getResultList();
+    }
+
+    /**
+     * The criteria queries joining an attribute twice, or using a single join twice, do not share their translated query.
+     */
+    public void testCriteriaQueryCacheJoins() {
+        EntityManager em = createEntityManager();
+        try {
+            List<Employee> employees = findEmployeesWithPhones(em, true);
+            assertFalse("No Employees were returned", employees.isEmpty());
+            assertTrue("Employees were returned", findEmployeesWithPhones(em, false).isEmpty());
+            assertEquals(new HashSet<>(employees), new HashSet<>(findEmployeesWithPhones(em, true)));
+        } finally {
+            closeEntityManager(em);
+        }
+    }
 }
@@ -28,8 +28,14 @@
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.LockModeType;
@@ -39,6 +45,7 @@
 import jakarta.persistence.TemporalType;
 import jakarta.persistence.TypedQuery;
 
+import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform;
@@ -49,8 +56,10 @@
 import org.eclipse.persistence.internal.queries.ContainerPolicy;
 import org.eclipse.persistence.internal.queries.JPQLCallQueryMechanism;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.Cursor;
+import org.eclipse.persistence.queries.CursoredStream;
 import org.eclipse.persistence.queries.DataReadQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.JPAQueryBuilder;
@@ -61,6 +70,7 @@
 import org.eclipse.persistence.queries.ReadQuery;
 import org.eclipse.persistence.queries.ResultSetMappingQuery;
 import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
  * Concrete JPA query class. The JPA query wraps a DatabaseQuery which is
@@ -135,6 +145,7 @@ public static DatabaseQuery buildEJBQLDatabaseQuery(String queryName, String jpq
         DatabaseQuery databaseQuery = null;
         if (isCacheable) {
             databaseQuery = (DatabaseQuery) session.getProject().getJPQLParseCache().get(jpqlQuery);
+            session.incrementProfile((databaseQuery == null) ? SessionProfiler.JpqlParseCacheMisses : SessionProfiler.JpqlParseCacheHits);
         }
         if ((databaseQuery == null) || (!databaseQuery.isPrepared())) {
             JPAQueryBuilder queryBuilder = session.getQueryBuilder();
@@ -344,6 +355,115 @@ public Collection getResultCollection() {
         }
     }
 
+    /**
+     * Execute the query and return the query results as a Stream.
+     * If the query uses a CursoredStream, or the "eclipselink.cursor.stream" hint is set, the results are built
+     * from a database cursor as the stream advances, and the cursor and its connection are released when the stream
+     * is closed or read to the end. Otherwise the result list is streamed.
+     * @see QueryHints#CURSOR_STREAM
+     */
+    @Override
+    public Stream<X> getResultStream() {
+        DatabaseQuery query = getDatabaseQueryInternal();
+        ContainerPolicy policy = null;
+        if (query.isReadAllQuery()) {
+            policy = ((ReadAllQuery) query).getContainerPolicy();
+        } else if (query.isDataReadQuery()) {
+            policy = ((DataReadQuery) query).getContainerPolicy();
+        }
+        if ((policy == null) || !(policy.isCursoredStreamPolicy() || Boolean.TRUE.equals(query.getProperty(QueryHints.CURSOR_STREAM)))) {
+            return getResultList().stream();
+        }
+        // Execute a clone, so the query still returns a List from getResultList() if the hint is set,
+        // and the cursor tracks the entities it registers to only detach them.
+        ReadQuery cursorQuery = (ReadQuery) query.clone();
+        if (!policy.isCursoredStreamPolicy()) {
+            int pageSize = (cursorQuery.getFetchSize() > 0) ? cursorQuery.getFetchSize() : 10;
+            if (cursorQuery.isReadAllQuery()) {
+                ((ReadAllQuery) cursorQuery).useCursoredStream(pageSize, pageSize);
+            } else {
+                ((DataReadQuery) cursorQuery).useCursoredStream(pageSize, pageSize);
+            }
+        }
+        cursorQuery.setProperty(Cursor.TRACK_NEWLY_REGISTERED_OBJECTS_PROPERTY, Boolean.TRUE);
+        CursoredStream cursor = null;
+        boolean isShared = this.isShared;
+        setDatabaseQuery(cursorQuery);
+        this.isShared = false;
+        try {
+            cursor = (CursoredStream) getResultCursor();
+        } finally {
+            setDatabaseQuery(query);
+            this.isShared = isShared;
+        }
+        ResultStreamIterator<X> iterator = new ResultStreamIterator<>(cursor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * INTERNAL:
+     * Iterates the results of a CursoredStream for getResultStream().
+     * The objects returned are released from the cursor, and entities are detached from the unit of work
+     * one page after they were returned, so the memory used does not grow with the size of the result.
+     * Only the entities registered by the cursor are detached, the entities already managed stay managed.
+     */
+    protected static class ResultStreamIterator<X> implements Iterator<X> {
+        protected CursoredStream cursor;
+        protected UnitOfWorkImpl unitOfWork;
+        protected List<Object> returned;
+        protected int pageSize;
+
+        protected ResultStreamIterator(CursoredStream cursor) {
+            this.cursor = cursor;
+            this.pageSize = Math.max(cursor.getPageSize(), 1);
+            DatabaseQuery query = cursor.getQuery();
+            if (cursor.getSession().isUnitOfWork() && query.isObjectLevelReadQuery() && !query.isReportQuery()) {
+                this.unitOfWork = (UnitOfWorkImpl) cursor.getSession();
+                this.returned = new ArrayList<>(this.pageSize);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.cursor.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public X next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (this.cursor.getPosition() >= this.pageSize) {
+                this.cursor.releasePrevious();
+            }
+            if ((this.returned != null) && (this.returned.size() >= this.pageSize)) {
+                for (Object object : this.returned) {
+                    if (this.cursor.removeNewlyRegisteredObject(object)) {
+                        this.unitOfWork.unregisterObject(object, 0, true);
+                    }
+                }
+                this.returned.clear();
+            }
+            X object = (X) this.cursor.next();
+            if (this.returned != null) {
+                this.returned.add(object);
+            }
+            return object;
+        }
+
+        /**
+         * Close the cursor, releasing its connection.
+         */
+        public void close() {
+            this.cursor.close();
+        }
+    }
+
     /**
      * Non-standard method to return results of a ReadQuery that uses a Cursor.
      *
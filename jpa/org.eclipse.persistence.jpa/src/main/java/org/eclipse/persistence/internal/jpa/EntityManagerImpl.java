@@ -46,6 +46,7 @@
 package org.eclipse.persistence.internal.jpa;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -869,31 +870,7 @@ public Object find(String entityName, Object primaryKey) {
      *             key.
      */
     protected Object findInternal(ClassDescriptor descriptor, AbstractSession session, Object id, LockModeType lockMode, Map<String, Object> properties) {
-        if (id == null) { // gf721 - check for null PK
-            throw new IllegalArgumentException(ExceptionLocalization.buildMessage("null_pk"));
-        }
-
-        Object primaryKey;
-        if (id instanceof List) {
-            if (descriptor.getCacheKeyType() == CacheKeyType.ID_VALUE) {
-                if (((List)id).isEmpty()) {
-                    primaryKey = null;
-                } else {
-                    primaryKey = ((List)id).get(0);
-                }
-            } else {
-                primaryKey = new CacheId(((List)id).toArray());
-            }
-        } else if (id instanceof CacheId) {
-            primaryKey = id;
-        } else {
-            CMPPolicy policy = descriptor.getCMPPolicy();
-            Class<Object> pkClass = policy.getPKClass();
-            if ((pkClass != null) && (pkClass != id.getClass()) && (!BasicTypeHelperImpl.getInstance().isStrictlyAssignableFrom(pkClass, id.getClass()))) {
-                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("invalid_pk_class", new Object[] { descriptor.getCMPPolicy().getPKClass(), id.getClass() }));
-            }
-            primaryKey = policy.createPrimaryKeyFromId(id, session);
-        }
+        Object primaryKey = buildPrimaryKey(descriptor, id, session);
 
         // If the LockModeType is PESSIMISTIC*, check the unitofwork cache and return the entity if it has previously been locked
         // Must avoid using the new JPA 2.0 Enum values directly to allow JPA 1.0 jars to still work.
@@ -941,6 +918,88 @@ protected Object findInternal(ClassDescriptor descriptor, AbstractSession sessio
         return executeQuery(query, lockMode, session);
     }
 
+    /**
+     * Find the entities of the primary keys, in the order of the keys.
+     * The entities in the persistence context or the shared cache are not read,
+     * the others are read with one query per chunk of keys.
+     *
+     * @param entityClass
+     *            - the entity class to find.
+     * @param primaryKeys
+     *            - the entity primary key values, or primary key classes, or
+     *            Lists of primary key values.
+     * @return the found entity instances, with null for a key with no entity.
+     * @throws IllegalArgumentException
+     *             if the first argument does not denote an entity type or a
+     *             key is not a valid type for that entity's primary key.
+     */
+    @Override
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys) {
+        try {
+            verifyOpen();
+            AbstractSession session = this.databaseSession;
+            ClassDescriptor descriptor = session.getDescriptor(entityClass);
+            if (descriptor == null || descriptor.isDescriptorTypeAggregate()) {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("unknown_bean_class", new Object[] { entityClass }));
+            }
+            if (!descriptor.shouldBeReadOnly() || !descriptor.isSharedIsolation()) {
+                session = (AbstractSession) getActiveSession();
+            } else {
+                session = (AbstractSession) getReadOnlySession();
+            }
+            if (descriptor.hasTablePerMultitenantPolicy()) {
+                descriptor = session.getDescriptor(entityClass);
+            }
+            List<Object> ids = new ArrayList<>(primaryKeys.size());
+            for (Object id : primaryKeys) {
+                ids.add(buildPrimaryKey(descriptor, id, session));
+            }
+            return session.readAllObjectsById(descriptor.getJavaClass(), ids);
+        } catch (RuntimeException e) {
+            setRollbackOnly();
+            throw e;
+        }
+    }
+
+    /**
+     * Return the EclipseLink primary key for the id.
+     *
+     * @param id
+     *            - the entity primary key value, or primary key class, or a
+     *            List of primary key values.
+     * @throws IllegalArgumentException
+     *             if the id is null or not a valid type for the entity's
+     *             primary key.
+     */
+    protected Object buildPrimaryKey(ClassDescriptor descriptor, Object id, AbstractSession session) {
+        if (id == null) { // gf721 - check for null PK
+            throw new IllegalArgumentException(ExceptionLocalization.buildMessage("null_pk"));
+        }
+
+        Object primaryKey;
+        if (id instanceof List) {
+            if (descriptor.getCacheKeyType() == CacheKeyType.ID_VALUE) {
+                if (((List)id).isEmpty()) {
+                    primaryKey = null;
+                } else {
+                    primaryKey = ((List)id).get(0);
+                }
+            } else {
+                primaryKey = new CacheId(((List)id).toArray());
+            }
+        } else if (id instanceof CacheId) {
+            primaryKey = id;
+        } else {
+            CMPPolicy policy = descriptor.getCMPPolicy();
+            Class<Object> pkClass = policy.getPKClass();
+            if ((pkClass != null) && (pkClass != id.getClass()) && (!BasicTypeHelperImpl.getInstance().isStrictlyAssignableFrom(pkClass, id.getClass()))) {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("invalid_pk_class", new Object[] { descriptor.getCMPPolicy().getPKClass(), id.getClass() }));
+            }
+            primaryKey = policy.createPrimaryKeyFromId(id, session);
+        }
+        return primaryKey;
+    }
+
     /**
      * Synchronize the persistence context with the underlying database.
      */
@@ -1656,7 +1715,7 @@ public jakarta.persistence.Query createQuery(DatabaseQuery databaseQuery) {
     public <T> TypedQuery<T> createQuery(CriteriaQuery<T> criteriaQuery) {
         try{
             verifyOpen();
-            return new EJBQueryImpl<T>(((CriteriaQueryImpl<T>)criteriaQuery).translate(), this);
+            return new EJBQueryImpl<T>(((CriteriaQueryImpl<T>)criteriaQuery).translate(getActiveSessionIfExists()), this);
         }catch (RuntimeException e){
             setRollbackOnly();
             throw e;
@@ -267,6 +267,7 @@
 import org.eclipse.persistence.platform.server.ServerPlatformUtils;
 import org.eclipse.persistence.queries.QueryResultsCachePolicy;
 import org.eclipse.persistence.sequencing.Sequence;
+import org.eclipse.persistence.sequencing.SequencingControl;
 import org.eclipse.persistence.sessions.Connector;
 import org.eclipse.persistence.sessions.DatabaseLogin;
 import org.eclipse.persistence.sessions.DatasourceLogin;
@@ -284,6 +285,7 @@
 import org.eclipse.persistence.sessions.coordination.jms.JMSPublishingTransportManager;
 import org.eclipse.persistence.sessions.coordination.jms.JMSTopicTransportManager;
 import org.eclipse.persistence.sessions.coordination.rmi.RMITransportManager;
+import org.eclipse.persistence.sessions.coordination.tcp.TCPTransportManager;
 import org.eclipse.persistence.sessions.factories.SessionManager;
 import org.eclipse.persistence.sessions.factories.XMLSessionConfigLoader;
 import org.eclipse.persistence.sessions.remote.RemoteSession;
@@ -297,6 +299,7 @@
 import org.eclipse.persistence.sessions.server.ExternalConnectionPool;
 import org.eclipse.persistence.sessions.server.ReadConnectionPool;
 import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.tools.profiler.MetricsProfiler;
 import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
 import org.eclipse.persistence.tools.profiler.PerformanceProfiler;
 import org.eclipse.persistence.tools.profiler.QueryMonitor;
@@ -337,6 +340,8 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
     protected boolean isSessionLoadedFromSessionsXML=false;
     //project caching:
     protected ProjectCache projectCacheAccessor = null;
+    // the fingerprint of the persistence unit the cached project must have been stored with, if validated
+    protected String projectCacheFingerprint = null;
     protected boolean shouldBuildProject = true;
     // indicates whether weaving was used on the first run through predeploy (in STATE_INITIAL)
     protected Boolean enableWeaving = null;
@@ -449,6 +454,7 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
 
     boolean throwExceptionOnFail;
     boolean weaveChangeTracking;
+    boolean weaveChangeTrackingDirtyAttributes;
     boolean weaveLazy;
     boolean weaveEager;
     boolean weaveFetchGroups;
@@ -678,7 +684,7 @@ public AbstractSession deploy(ClassLoader realClassLoader, Map additionalPropert
 
                             if (this.projectCacheAccessor != null) {
                                 //cache the project:
-                                this.projectCacheAccessor.storeProject(this.session.getProject(), deployProperties, this.session.getSessionLog());
+                                this.projectCacheAccessor.storeProject(this.session.getProject(), getProjectCacheProperties(deployProperties), this.session.getSessionLog());
                             }
 
                             // The project is initially created using class names rather than classes.  This call will make the conversion.
@@ -1323,6 +1329,10 @@ protected void updateProfiler(Map persistenceProperties,ClassLoader loader) {
                 session.setProfiler(new PerformanceMonitor());
                 return;
             }
+            if (newProfilerClassName.equals(ProfilerType.MetricsProfiler)) {
+                session.setProfiler(new MetricsProfiler());
+                return;
+            }
 
             if (newProfilerClassName.equals(ProfilerType.DMSProfiler)) {
                 newProfilerClassName = ProfilerType.DMSProfilerClassName;
@@ -1498,6 +1508,17 @@ protected void updateDescriptorCacheSettings(Map m, ClassLoader loader) {
             session.getProject().setQueryCacheForceDeferredLocks(false);
         }
 
+        String parallelMergeThreshold = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.CACHE_PARALLEL_MERGE_THRESHOLD, m, session);
+        if (parallelMergeThreshold != null) {
+            try {
+                session.setParallelMergeThreshold(Integer.parseInt(parallelMergeThreshold));
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(parallelMergeThreshold, PersistenceUnitProperties.CACHE_PARALLEL_MERGE_THRESHOLD, exception));
+            }
+        }
+
+        updateDescriptorOffHeapCacheSizes(m);
+
         Map typeMap = PropertiesHandler.getPrefixValuesLogDebug(PersistenceUnitProperties.CACHE_TYPE_, m, session);
         Map sizeMap = PropertiesHandler.getPrefixValuesLogDebug(PersistenceUnitProperties.CACHE_SIZE_, m, session);
         Map sharedMap = PropertiesHandler.getPrefixValuesLogDebug(PersistenceUnitProperties.CACHE_SHARED_, m, session);
@@ -1579,6 +1600,43 @@ protected void updateDescriptorCacheSettings(Map m, ClassLoader loader) {
         }
     }
 
+    /**
+     * Process all properties under "eclipselink.cache.off-heap-size.".
+     * The default size applies to all the entities without their own size.
+     */
+    protected void updateDescriptorOffHeapCacheSizes(Map m) {
+        Map sizeMap = PropertiesHandler.getPrefixValuesLogDebug(PersistenceUnitProperties.CACHE_OFF_HEAP_SIZE_, m, session);
+        if (sizeMap.isEmpty()) {
+            return;
+        }
+        String value = null;
+        try {
+            String defaultSizeString = (String)sizeMap.remove(PersistenceUnitProperties.DEFAULT);
+            long defaultSize = 0;
+            if (defaultSizeString != null) {
+                value = defaultSizeString;
+                defaultSize = Long.parseLong(defaultSizeString);
+            }
+            for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+                if (descriptor.isDescriptorTypeAggregate()) {
+                    continue;
+                }
+                String sizeString = (String)sizeMap.remove(descriptor.getAlias());
+                if (sizeString == null) {
+                    sizeString = (String)sizeMap.remove(descriptor.getJavaClass().getName());
+                }
+                if (sizeString != null) {
+                    value = sizeString;
+                    descriptor.getCachePolicy().setOffHeapCacheSize(Long.parseLong(sizeString));
+                } else if (defaultSizeString != null) {
+                    descriptor.getCachePolicy().setOffHeapCacheSize(defaultSize);
+                }
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(value, PersistenceUnitProperties.CACHE_OFF_HEAP_SIZE_, exception));
+        }
+    }
+
     /**
      * Process all properties under "eclipselink.connection-pool.".
      * This allows for named connection pools.
@@ -1790,6 +1848,8 @@ public synchronized ClassTransformer predeploy(PersistenceUnitInfo info, Map ext
                     session = new SessionBroker();
                     ((SessionBroker)session).setShouldUseDescriptorAliases(true);
                 } else {
+                    // The server session and its connection pools keep the lock mode they are created with.
+                    updateConcurrencyManagerUseVirtualThreadSafeLocks(predeployProperties);
                     session = new ServerSession(new Project(new DatabaseLogin()));
 
                     //set the listener to process RCM metadata refresh commands
@@ -1836,7 +1896,7 @@ public synchronized ClassTransformer predeploy(PersistenceUnitInfo info, Map ext
 
                 if (projectCacheAccessor!=null) {
                     //get the project from the cache
-                    Project project = projectCacheAccessor.retrieveProject(predeployProperties, classLoaderToUse, session.getSessionLog());
+                    Project project = projectCacheAccessor.retrieveProject(getProjectCacheProperties(predeployProperties), classLoaderToUse, session.getSessionLog());
 
                     if (project!=null) {
                         try {
@@ -1983,6 +2043,7 @@ public synchronized ClassTransformer predeploy(PersistenceUnitInfo info, Map ext
                 }
 
                 weaveChangeTracking = false;
+                weaveChangeTrackingDirtyAttributes = false;
                 weaveLazy = false;
                 weaveEager = false;
                 weaveFetchGroups = false;
@@ -1991,6 +2052,7 @@ public synchronized ClassTransformer predeploy(PersistenceUnitInfo info, Map ext
                 weaveMappedSuperClass = false;
                 if (enableWeaving) {
                     weaveChangeTracking = "true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.WEAVING_CHANGE_TRACKING, predeployProperties, "true", session));
+                    weaveChangeTrackingDirtyAttributes = "true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.WEAVING_CHANGE_TRACKING_DIRTY_ATTRIBUTES, predeployProperties, "false", session));
                     weaveLazy = "true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.WEAVING_LAZY, predeployProperties, "true", session));
                     weaveEager = "true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.WEAVING_EAGER, predeployProperties, "false", session));
                     weaveFetchGroups = "true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.WEAVING_FETCHGROUPS, predeployProperties, "true", session));
@@ -2069,7 +2131,7 @@ public Void run() {
                     if (enableWeaving) {
                         // build a list of entities the persistence unit represented by this EntityManagerSetupImpl will use
                         Collection<MetadataClass> entities = PersistenceUnitProcessor.buildEntityList(processor, classLoaderToUse);
-                        this.weaver = TransformerFactory.createTransformerAndModifyProject(session, entities, classLoaderToUse, weaveLazy, weaveChangeTracking, weaveFetchGroups, weaveInternal, weaveRest, weaveMappedSuperClass);
+                        this.weaver = TransformerFactory.createTransformerAndModifyProject(session, entities, classLoaderToUse, weaveLazy, weaveChangeTracking, weaveChangeTrackingDirtyAttributes, weaveFetchGroups, weaveInternal, weaveRest, weaveMappedSuperClass);
                         session.getProject().setClassNamesForWeaving(new ArrayList<>(processor.getProject().getWeavableClassNames()));
                     }
 
@@ -2097,7 +2159,7 @@ public Void run() {
                             persistenceClasses.add(factory.getMetadataClass(className));
                         }
                     }
-                    this.weaver = TransformerFactory.createTransformerAndModifyProject(session, persistenceClasses, classLoaderToUse, weaveLazy, weaveChangeTracking, weaveFetchGroups, weaveInternal, weaveRest, weaveMappedSuperClass);
+                    this.weaver = TransformerFactory.createTransformerAndModifyProject(session, persistenceClasses, classLoaderToUse, weaveLazy, weaveChangeTracking, weaveChangeTrackingDirtyAttributes, weaveFetchGroups, weaveInternal, weaveRest, weaveMappedSuperClass);
                 }
             }
 
@@ -2294,6 +2356,28 @@ protected void updateCacheCoordination(Map m, ClassLoader loader) {
                     if (url != null) {
                         rcm.setUrl(url);
                     }
+                } else if (protocol.equalsIgnoreCase(CacheCoordinationProtocol.TCP)) {
+                    TCPTransportManager transport = new TCPTransportManager(rcm);
+                    String url = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_TCP_URL, m, this.session);
+                    if (url != null) {
+                        rcm.setUrl(url);
+                    }
+                    String peers = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_TCP_PEERS, m, this.session);
+                    if (peers != null) {
+                        transport.setPeers(peers);
+                    }
+                    String delay = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_TCP_COALESCE_DELAY, m, this.session);
+                    property = PersistenceUnitProperties.COORDINATION_TCP_COALESCE_DELAY;
+                    value = delay;
+                    if (delay != null) {
+                        transport.setCoalesceDelay(Long.parseLong(delay));
+                    }
+                    String maxPendingBytes = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_TCP_MAX_PENDING_BYTES, m, this.session);
+                    property = PersistenceUnitProperties.COORDINATION_TCP_MAX_PENDING_BYTES;
+                    value = maxPendingBytes;
+                    if (maxPendingBytes != null) {
+                        transport.setMaxPendingBytes(Long.parseLong(maxPendingBytes));
+                    }
                 } else {
                     property = PersistenceUnitProperties.COORDINATION_PROTOCOL;
                     value = protocol;
@@ -2803,6 +2887,9 @@ protected void updateSession(Map m, ClassLoader loader) {
         // In deploy ServerPlatform could've changed which will affect the loggers.
         boolean serverPlatformChanged = updateServerPlatform(m, loader);
         updateJPQLParser(m);
+        updateCriteriaQueryCache(m);
+        updateAdaptiveBatchFetch(m);
+        updateNPlusOneQueryThreshold(m);
 
         if (!session.hasBroker()) {
             updateLoggers(m, serverPlatformChanged, loader);
@@ -2840,12 +2927,19 @@ protected void updateSession(Map m, ClassLoader loader) {
             }
 
             updateLogins(m);
+
+            String parallelInitializationString = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.DEPLOY_PARALLEL_DESCRIPTOR_INITIALIZATION, m, session);
+            if ((parallelInitializationString != null) && session.isDatabaseSession()) {
+                ((DatabaseSessionImpl)session).setShouldInitializeDescriptorsInParallel(Boolean.parseBoolean(parallelInitializationString));
+            }
         }
         if (!session.getDatasourceLogin().shouldUseExternalTransactionController()) {
             session.getServerPlatform().disableJTA();
         }
 
         if(session.isServerSession()) {
+            // Set before the pools are created, they keep the lock mode they are created with.
+            updateConcurrencyManagerUseVirtualThreadSafeLocks(m);
             updatePools((ServerSession)session, m);
             updateConnectionSettings((ServerSession)session, m);
             if (!isSessionLoadedFromSessionsXML) {
@@ -2879,14 +2973,17 @@ protected void updateSession(Map m, ClassLoader loader) {
             setExceptionHandler(m, loader);
 
             updateBatchWritingSetting(m, loader);
+            updateIdListChunkSize(m);
 
             updateNativeSQLSetting(m);
             updateSequencing(m);
             updateSequencingStart(m);
+            updateSequencingPreallocation(m);
             updateAllowNativeSQLQueriesSetting(m);
             updateSQLCastSetting(m);
             updateUppercaseSetting(m);
             updateCacheStatementSettings(m);
+            updateRowReaderSetting(m);
             updateAllowExtendedCacheLogging(m);
             updateAllowExtendedThreadLogging(m);
             updateAllowExtendedThreadLoggingThreadDump(m);
@@ -2928,6 +3025,7 @@ protected void updateSession(Map m, ClassLoader loader) {
             updateConcurrencyManagerNoOfThreadsAllowedToDoWriteLockManagerAcquireRequiredLocksInParallel(m);
             updateConcurrencySemaphoreMaxTimePermit(m);
             updateConcurrencySemaphoreLogTimeout(m);
+            updateConcurrencyManagerUseLockFreeReadLock(m);
             // Customizers should be processed last
             processDescriptorCustomizers(m, loader);
             processSessionCustomizer(m, loader);
@@ -3270,6 +3368,25 @@ protected void updateBatchWritingSetting(Map persistenceProperties, ClassLoader
                 session.handleException(ValidationException.invalidValueForProperty(sizeString, PersistenceUnitProperties.BATCH_WRITING_SIZE, invalid));
             }
         }
+        // Set statement grouping.
+        String groupStatements = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.BATCH_WRITING_GROUP_STATEMENTS, persistenceProperties, this.session);
+        if (groupStatements != null) {
+            this.session.getPlatform().setUsesGroupedBatchWriting("true".equalsIgnoreCase(groupStatements));
+        }
+    }
+
+    /**
+     * Update the number of ids selected by one query when reading a list of objects by id.
+     */
+    protected void updateIdListChunkSize(Map persistenceProperties) {
+        String sizeString = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.ID_LIST_CHUNK_SIZE, persistenceProperties, this.session);
+        if (sizeString != null) {
+            try {
+                this.session.getPlatform().setIdListChunkSize(Integer.parseInt(sizeString));
+            } catch (NumberFormatException invalid) {
+                session.handleException(ValidationException.invalidValueForProperty(sizeString, PersistenceUnitProperties.ID_LIST_CHUNK_SIZE, invalid));
+            }
+        }
     }
 
     /**
@@ -3393,6 +3510,45 @@ protected void updateSequencing(Map m){
         }
     }
 
+    /**
+     * Configure the asynchronous preallocation of sequence values.
+     */
+    protected void updateSequencingPreallocation(Map m) {
+        // The members of a composite persistence unit configure their own sequencing.
+        if (isComposite()) {
+            return;
+        }
+        SequencingControl sequencingControl = getDatabaseSession().getSequencingControl();
+        String async = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.SEQUENCING_ASYNC_PREALLOCATION, m, session);
+        if (async != null) {
+            if (async.equalsIgnoreCase("true")) {
+                sequencingControl.setShouldUseAsynchronousPreallocation(true);
+            } else if (async.equalsIgnoreCase("false")) {
+                sequencingControl.setShouldUseAsynchronousPreallocation(false);
+            } else {
+                this.session.handleException(ValidationException.invalidBooleanValueForProperty(async, PersistenceUnitProperties.SEQUENCING_ASYNC_PREALLOCATION));
+            }
+        }
+        String lowWaterMark = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.SEQUENCING_ASYNC_PREALLOCATION_LOW_WATER_MARK, m, session);
+        try {
+            if (lowWaterMark != null) {
+                sequencingControl.setPreallocationLowWaterMark(Integer.parseInt(lowWaterMark));
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(lowWaterMark, PersistenceUnitProperties.SEQUENCING_ASYNC_PREALLOCATION_LOW_WATER_MARK, exception));
+        }
+        String adaptive = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.SEQUENCING_ADAPTIVE_PREALLOCATION, m, session);
+        if (adaptive != null) {
+            if (adaptive.equalsIgnoreCase("true")) {
+                sequencingControl.setShouldUseAdaptivePreallocation(true);
+            } else if (adaptive.equalsIgnoreCase("false")) {
+                sequencingControl.setShouldUseAdaptivePreallocation(false);
+            } else {
+                this.session.handleException(ValidationException.invalidBooleanValueForProperty(adaptive, PersistenceUnitProperties.SEQUENCING_ADAPTIVE_PREALLOCATION));
+            }
+        }
+    }
+
     protected void updateSequencingStart(Map m) {
         String local = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.SEQUENCING_START_AT_NEXTVAL, m, session);
         try {
@@ -3426,6 +3582,36 @@ protected void updateProjectCache(Map m, ClassLoader loader){
                 }
             }
         }
+        projectCacheFingerprint = null;
+        if (projectCacheAccessor != null && !hasConfigProperty(PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT, m)) {
+            String validation = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.PROJECT_CACHE_VALIDATION, m, session);
+            if (validation != null) {
+                if (validation.equalsIgnoreCase("hash")) {
+                    try {
+                        projectCacheFingerprint = PersistenceUnitProcessor.computePersistenceUnitHash(persistenceUnitInfo, loader, m);
+                    } catch (RuntimeException exception) {
+                        // the cached project cannot be validated, so the metadata is always processed
+                        session.logThrowable(SessionLog.WARNING, SessionLog.JPA, exception);
+                        projectCacheAccessor = null;
+                    }
+                } else if (!validation.equalsIgnoreCase("none")) {
+                    session.handleException(ValidationException.invalidValueForProperty(validation, PersistenceUnitProperties.PROJECT_CACHE_VALIDATION, null));
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the properties to retrieve or store the cached project with,
+     * including the fingerprint of the persistence unit computed to validate it.
+     */
+    protected Map getProjectCacheProperties(Map m) {
+        if (projectCacheFingerprint == null) {
+            return m;
+        }
+        Map properties = new HashMap(m);
+        properties.put(PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT, projectCacheFingerprint);
+        return properties;
     }
 
     /**
@@ -3450,6 +3636,59 @@ protected void updateJPQLParser(Map m) {
         }
     }
 
+    /**
+     * Size or disable the cache of the translated criteria queries.
+     */
+    protected void updateCriteriaQueryCache(Map m) {
+        int maxSize = getNonNegativeIntProperty(PersistenceUnitProperties.CRITERIA_QUERY_CACHE_SIZE, m);
+        if (maxSize >= 0) {
+            this.session.getProject().setCriteriaQueryCacheMaxSize(maxSize);
+        }
+    }
+
+    /**
+     * Size or disable the adaptive batch fetching of the lazy relationships of the persistence context.
+     */
+    protected void updateAdaptiveBatchFetch(Map m) {
+        int adaptiveBatchFetchSize = getNonNegativeIntProperty(PersistenceUnitProperties.ADAPTIVE_BATCH_FETCH_SIZE, m);
+        if (adaptiveBatchFetchSize >= 0) {
+            this.session.getProject().setAdaptiveBatchFetchSize(adaptiveBatchFetchSize);
+        }
+    }
+
+    /**
+     * Enable or disable the detection of the N+1 queries reading the lazy relationships of the persistence context.
+     */
+    protected void updateNPlusOneQueryThreshold(Map m) {
+        int nPlusOneQueryThreshold = getNonNegativeIntProperty(PersistenceUnitProperties.N_PLUS_ONE_QUERY_THRESHOLD, m);
+        if (nPlusOneQueryThreshold >= 0) {
+            this.session.getProject().setNPlusOneQueryThreshold(nPlusOneQueryThreshold);
+        }
+    }
+
+    /**
+     * Return the non-negative int value of the property, or -1 if it is not specified.
+     * An invalid value is reported to the session, -1 is returned if the session handles the exception.
+     */
+    protected int getNonNegativeIntProperty(String property, Map m) {
+        String value = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(property, m, this.session);
+        if (value == null) {
+            return -1;
+        }
+        int intValue = -1;
+        NumberFormatException error = null;
+        try {
+            intValue = Integer.parseInt(value.trim());
+        } catch (NumberFormatException exception) {
+            error = exception;
+        }
+        if (intValue < 0) {
+            this.session.handleException(ValidationException.invalidValueForProperty(value, property, error));
+            return -1;
+        }
+        return intValue;
+    }
+
     /**
      * Enable or disable the capability of Native SQL function.
      * The method needs to be called in deploy stage.
@@ -3560,7 +3799,7 @@ protected void updatePessimisticLockTimeoutUnit(Map persistenceProperties) {
     }
 
     /**
-     * Enable or disable statements cached, update statements cache size.
+     * Enable or disable statements cached, update statements cache size and result set metadata cache size.
      * The method needs to be called in deploy stage.
      */
     protected void updateCacheStatementSettings(Map m){
@@ -3589,6 +3828,37 @@ protected void updateCacheStatementSettings(Map m){
                 session.handleException(ValidationException.invalidCacheStatementsSize(cacheStatementsSize,e.getMessage()));
             }
         }
+
+        // Set result set metadata cache size if specified.
+        String resultSetMetadataCacheSize = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.CACHE_RESULT_SET_METADATA_SIZE, m, session);
+        if (resultSetMetadataCacheSize != null) {
+            try {
+                int size = Integer.parseInt(resultSetMetadataCacheSize.trim());
+                if (size < 0) {
+                    session.handleException(ValidationException.invalidValueForProperty(resultSetMetadataCacheSize, PersistenceUnitProperties.CACHE_RESULT_SET_METADATA_SIZE, null));
+                } else {
+                    session.getProject().getLogin().setResultSetMetadataCacheSize(size);
+                }
+            } catch (NumberFormatException exception) {
+                session.handleException(ValidationException.invalidValueForProperty(resultSetMetadataCacheSize, PersistenceUnitProperties.CACHE_RESULT_SET_METADATA_SIZE, exception));
+            }
+        }
+    }
+
+    /**
+     * Enable or disable reading the rows of prepared queries through compiled row readers.
+     */
+    protected void updateRowReaderSetting(Map m) {
+        String compileRowReaders = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COMPILE_ROW_READERS, m, session);
+        if (compileRowReaders != null) {
+            if (compileRowReaders.equalsIgnoreCase("true")) {
+                session.getProject().getLogin().setShouldCompileRowReaders(true);
+            } else if (compileRowReaders.equalsIgnoreCase("false")) {
+                session.getProject().getLogin().setShouldCompileRowReaders(false);
+            } else {
+                session.handleException(ValidationException.invalidBooleanValueForProperty(compileRowReaders, PersistenceUnitProperties.COMPILE_ROW_READERS));
+            }
+        }
     }
 
     /**
@@ -3914,6 +4184,28 @@ private void updateConcurrencySemaphoreLogTimeout(Map persistenceProperties) {
         }
     }
 
+    private void updateConcurrencyManagerUseLockFreeReadLock(Map persistenceProperties) {
+        String useLockFreeReadLock = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.CONCURRENCY_MANAGER_USE_LOCK_FREE_READ_LOCK, persistenceProperties, session);
+        try {
+            if (useLockFreeReadLock != null) {
+                ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(Boolean.parseBoolean(useLockFreeReadLock));
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(useLockFreeReadLock, PersistenceUnitProperties.CONCURRENCY_MANAGER_USE_LOCK_FREE_READ_LOCK, exception));
+        }
+    }
+
+    private void updateConcurrencyManagerUseVirtualThreadSafeLocks(Map persistenceProperties) {
+        String useVirtualThreadSafeLocks = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.CONCURRENCY_MANAGER_USE_VIRTUAL_THREAD_SAFE_LOCKS, persistenceProperties, session);
+        try {
+            if (useVirtualThreadSafeLocks != null) {
+                ConcurrencyUtil.SINGLETON.setUseVirtualThreadSafeLocks(Boolean.parseBoolean(useVirtualThreadSafeLocks));
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(useVirtualThreadSafeLocks, PersistenceUnitProperties.CONCURRENCY_MANAGER_USE_VIRTUAL_THREAD_SAFE_LOCKS, exception));
+        }
+    }
+
     /**
      * Enable or disable extended logging of JPA L2 cache usage.
      * The method needs to be called in deploy stage.
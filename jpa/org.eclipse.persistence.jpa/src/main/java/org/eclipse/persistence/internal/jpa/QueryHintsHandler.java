@@ -276,6 +276,7 @@ protected static abstract class Hint {
             addHint(new PartitioningHint());
             addHint(new QueryCacheHint());
             addHint(new QueryCacheSizeHint());
+            addHint(new QueryCacheMaxObjectsHint());
             addHint(new QueryCacheExpiryHint());
             addHint(new QueryCacheExpiryTimeOfDayHint());
             addHint(new MaintainCacheHint());
@@ -289,6 +290,7 @@ protected static abstract class Hint {
             addHint(new CursorPageSizeHint());
             addHint(new ScrollableCursorHint());
             addHint(new CursorSizeHint());
+            addHint(new CursorStreamHint());
             addHint(new FetchGroupHint());
             addHint(new FetchGraphHint());
             addHint(new FetchGroupNameHint());
@@ -309,6 +311,7 @@ protected static abstract class Hint {
             addHint(new QueryCacheTypeHint());
             addHint(new QueryCacheIgnoreNullHint());
             addHint(new QueryCacheInvalidateOnChangeHint());
+            addHint(new QueryCacheInvalidateByDependencyHint());
             addHint(new QueryCacheRandomizedExpiryHint());
             // 325167: Make reserved # bind parameter char generic to enable native SQL pass through
             addHint(new ParameterDelimiterHint());
@@ -1336,6 +1339,33 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    /**
+     * Define the query cache invalidate by dependency hint.
+     * Only reset the query cache if unset (as other query cache properties may be set first).
+     */
+    protected static class QueryCacheInvalidateByDependencyHint extends Hint {
+        QueryCacheInvalidateByDependencyHint() {
+            super(QueryHints.QUERY_RESULTS_CACHE_INVALIDATE_BY_DEPENDENCY, HintValues.FALSE);
+            valueArray = new Object[][] {
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadQuery()) {
+                if (((ReadQuery)query).getQueryResultsCachePolicy() == null) {
+                    ((ReadQuery)query).cacheQueryResults();
+                }
+                ((ReadQuery)query).getQueryResultsCachePolicy().setInvalidateByDependency((Boolean) valueToApply);
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     /**
      * Define the query cache randomized expiry hint.
      * Only reset the query cache if unset (as other query cache properties may be set first).
@@ -1394,6 +1424,34 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    /**
+     * Define the query cache maximum objects hint.
+     * Only reset the query cache if unset (as other query cache properties may be set first).
+     */
+    protected static class QueryCacheMaxObjectsHint extends Hint {
+        QueryCacheMaxObjectsHint() {
+            super(QueryHints.QUERY_RESULTS_CACHE_MAX_OBJECTS, "");
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadQuery()) {
+                ReadQuery readQuery = (ReadQuery)query;
+                if (readQuery.getQueryResultsCachePolicy() == null) {
+                    readQuery.cacheQueryResults();
+                }
+                try {
+                    readQuery.getQueryResultsCachePolicy().setMaximumCachedObjects(Integer.parseInt((String)valueToApply));
+                } catch (NumberFormatException exception) {
+                    throw QueryException.queryHintContainedInvalidIntegerValue(QueryHints.QUERY_RESULTS_CACHE_MAX_OBJECTS, valueToApply, exception);
+                }
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     /**
      * Define the query cache expiry hint.
      * Only reset the query cache if unset (as other query cache properties may be set first).
@@ -1453,6 +1511,8 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
                     readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.HardCacheWeakIdentityMap_Class);
                 } else if (valueToApply.equals(CacheType.CACHE.name())) {
                     readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.CacheIdentityMap_Class);
+                } else if (valueToApply.equals(CacheType.CONCURRENT_CACHE.name())) {
+                    readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.ConcurrentCacheIdentityMap_Class);
                 } else if (valueToApply.equals(CacheType.NONE.name())) {
                     readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.NoIdentityMap_Class);
                 } else {
@@ -1812,6 +1872,27 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    protected static class CursorStreamHint extends Hint {
+        CursorStreamHint() {
+            super(QueryHints.CURSOR_STREAM, HintValues.FALSE);
+            valueArray = new Object[][] {
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadAllQuery() || query.isDataReadQuery()) {
+                // Only used by getResultStream(), the query itself is not changed.
+                query.setProperty(QueryHints.CURSOR_STREAM, valueToApply);
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     protected static class CursorSizeHint extends Hint {
         CursorSizeHint() {
             super(QueryHints.CURSOR_SIZE, "");
@@ -38,7 +38,10 @@
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedActionException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,6 +52,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeSet;
 
 import jakarta.persistence.spi.PersistenceUnitInfo;
 import javax.xml.parsers.ParserConfigurationException;
@@ -64,6 +68,7 @@
 import org.eclipse.persistence.internal.jpa.deployment.xml.parser.PersistenceContentHandler;
 import org.eclipse.persistence.internal.jpa.deployment.xml.parser.XMLException;
 import org.eclipse.persistence.internal.jpa.deployment.xml.parser.XMLExceptionHandler;
+import org.eclipse.persistence.internal.jpa.metadata.MetadataHelper;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataProcessor;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataProject;
 import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataAnnotation;
@@ -249,6 +254,91 @@ public static URL computePURootURL(URL pxmlURL, String descriptorLocation) throw
         return result;
     }
 
+    /**
+     * Compute a hash of the metadata of the persistence unit: the content of the classes and xml files of its
+     * root and jar files, of its listed classes and of its mapping files. The hash changes if any of them changes.
+     * @return the hexadecimal string of the SHA-256 hash
+     */
+    public static String computePersistenceUnitHash(PersistenceUnitInfo persistenceUnitInfo, ClassLoader loader, Map properties) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        List<URL> urls = new ArrayList<URL>();
+        if (persistenceUnitInfo.getPersistenceUnitRootUrl() != null) {
+            urls.add(persistenceUnitInfo.getPersistenceUnitRootUrl());
+        }
+        urls.addAll(persistenceUnitInfo.getJarFileUrls());
+        for (URL url : urls) {
+            Archive archive = null;
+            try {
+                archive = getArchiveFactory(loader, properties).createArchive(url, properties);
+                if (archive != null) {
+                    // The order of the entries depends on the archive type and file system.
+                    Set<String> entries = new TreeSet<String>();
+                    for (Iterator<String> iterator = archive.getEntries(); iterator.hasNext();) {
+                        String entry = iterator.next();
+                        if (entry.endsWith(".class") || entry.endsWith(".xml")) { // NOI18N
+                            entries.add(entry);
+                        }
+                    }
+                    for (String entry : entries) {
+                        updateHash(digest, entry, archive.getEntry(entry));
+                    }
+                }
+            } catch (URISyntaxException e) {
+                throw new RuntimeException("url = [" + url + "]", e);  // NOI18N
+            } catch (IOException e) {
+                throw new RuntimeException("url = [" + url + "]", e);  // NOI18N
+            } finally {
+                if (archive != null) {
+                    archive.close();
+                }
+            }
+        }
+        // The listed classes and the mapping files are not necessarily part of the archives.
+        Set<String> resources = new TreeSet<String>();
+        for (String className : persistenceUnitInfo.getManagedClassNames()) {
+            resources.add(className.replace('.', '/') + ".class");
+        }
+        resources.addAll(persistenceUnitInfo.getMappingFileNames());
+        resources.add(MetadataHelper.JPA_ORM_FILE);
+        resources.add(MetadataHelper.ECLIPSELINK_ORM_FILE);
+        for (String resource : resources) {
+            try {
+                for (Enumeration<URL> resourceUrls = loader.getResources(resource); resourceUrls.hasMoreElements();) {
+                    updateHash(digest, resource, resourceUrls.nextElement().openStream());
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("resource = [" + resource + "]", e);  // NOI18N
+            }
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte value : digest.digest()) {
+            hash.append(Character.forDigit((value >> 4) & 0xF, 16));
+            hash.append(Character.forDigit(value & 0xF, 16));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Add the name and the content of the entry to the hash, and close its stream.
+     */
+    private static void updateHash(MessageDigest digest, String name, InputStream stream) throws IOException {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        if (stream == null) {
+            return;
+        }
+        try (InputStream in = stream) {
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
 
     /**
      * This method fixes incorrect authority attribute
@@ -34,15 +34,19 @@
 import org.eclipse.persistence.expressions.ExpressionBuilder;
 import org.eclipse.persistence.internal.helper.BasicTypeHelperImpl;
 import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.jpa.metamodel.MetamodelImpl;
 import org.eclipse.persistence.internal.jpa.metamodel.TypeImpl;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.security.PrivilegedGetConstructorFor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReportQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
  * <p>
@@ -734,6 +738,31 @@ protected ObjectLevelReadQuery createSimpleQuery() {
         return query;
     }
 
+    /**
+     * INTERNAL:
+     * Translates from the criteria query to a EclipseLink Database Query,
+     * or reuse the query already translated and prepared for a criteria query of the same
+     * structure from the criteria query cache of the session.
+     * The query returned may be shared and must be cloned before being modified.
+     *
+     * @see CriteriaQueryKeyBuilder
+     */
+    public DatabaseQuery translate(AbstractSession session) {
+        ConcurrentFixedCache cache = session.getProject().getCriteriaQueryCache();
+        List<Object> key = (cache.getMaxSize() == 0) ? null : CriteriaQueryKeyBuilder.buildKey(this);
+        if (key == null) {
+            return translate();
+        }
+        DatabaseQuery query = (DatabaseQuery) cache.get(key);
+        session.incrementProfile((query == null) ? SessionProfiler.CriteriaQueryCacheMisses : SessionProfiler.CriteriaQueryCacheHits);
+        if ((query == null) || !query.isPrepared()) {
+            query = translate();
+            query.checkPrepare(session, new DatabaseRecord());
+            cache.put(key, query);
+        }
+        return query;
+    }
+
     /**
      * Translates from the criteria query to a EclipseLink Database Query.
      */
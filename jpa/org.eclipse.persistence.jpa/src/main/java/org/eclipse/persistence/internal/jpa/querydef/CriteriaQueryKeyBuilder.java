@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.jpa.querydef;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.expressions.CollectionExpression;
+import org.eclipse.persistence.internal.expressions.CompoundExpression;
+import org.eclipse.persistence.internal.expressions.ConstantExpression;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.expressions.LiteralExpression;
+import org.eclipse.persistence.internal.expressions.LogicalExpression;
+import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
+import org.eclipse.persistence.internal.expressions.RelationExpression;
+import org.eclipse.persistence.internal.jpa.querydef.AbstractQueryImpl.ResultType;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Builds the key of a criteria query in the criteria query cache.
+ * <p>
+ * <b>Description</b>: The key describes the structure of the criteria query: its roots with their
+ * joins and fetches, selection, restriction, grouping and ordering, the names and types of its parameters
+ * and the values of its literals. Two criteria queries with equal keys translate to equivalent database
+ * queries, whatever values are later bound to their parameters. The expression builders and the joined
+ * attributes are numbered in the order they are found, so the key tells apart two joins of the same
+ * attribute from one join used twice, and does not reference the criteria query.
+ * <p>
+ * A criteria query using an expression the key cannot describe, such as a subquery, a treat, a join
+ * condition, a case or coalesce expression, an unnamed parameter or a mutable literal, has no key and
+ * is never cached. Tuple queries are not cached either, as their results reference the selections of
+ * the criteria query.
+ *
+ * @see org.eclipse.persistence.sessions.Project#getCriteriaQueryCache()
+ */
+public class CriteriaQueryKeyBuilder {
+
+    /** The types of the immutable literal values a key can hold. */
+    protected static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class,
+            LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetTime.class, OffsetDateTime.class, Instant.class,
+            UUID.class, Class.class);
+
+    /** The number of the expression builders and query keys already described. */
+    protected final Map<Expression, Integer> nodes = new IdentityHashMap<>();
+
+    protected final List<Object> key = new ArrayList<>();
+
+    protected CriteriaQueryKeyBuilder() {
+    }
+
+    /**
+     * INTERNAL:
+     * Return the key of the criteria query in the criteria query cache,
+     * or null if the criteria query cannot be cached.
+     */
+    public static List<Object> buildKey(CriteriaQueryImpl<?> query) {
+        CriteriaQueryKeyBuilder builder = new CriteriaQueryKeyBuilder();
+        if (builder.addQuery(query)) {
+            return builder.key;
+        }
+        return null;
+    }
+
+    protected boolean addQuery(CriteriaQueryImpl<?> query) {
+        if ((query.queryResult == ResultType.TUPLE) || Tuple.class.equals(query.queryType)
+                || ((query.selection != null) && Tuple.class.equals(query.selection.getJavaType()))) {
+            return false;
+        }
+        this.key.add(query.queryType);
+        this.key.add(query.queryResult);
+        this.key.add(query.distinct);
+        this.key.add(query.getRoots().size());
+        for (Root<?> root : query.getRoots()) {
+            if (!addFrom((FromImpl<?, ?>) root)) {
+                return false;
+            }
+        }
+        if (!addSelection(query.selection)) {
+            return false;
+        }
+        if (query.where == null) {
+            this.key.add(null);
+        } else if (((InternalExpression) query.where).isJunction()) {
+            this.key.add(((PredicateImpl) query.where).getJunctionValue());
+        } else if (!addExpression(((InternalSelection) query.where).getCurrentNode())) {
+            return false;
+        }
+        List<jakarta.persistence.criteria.Expression<?>> groupBy = query.getGroupList();
+        this.key.add(groupBy.size());
+        for (jakarta.persistence.criteria.Expression<?> grouping : groupBy) {
+            if (!addExpression(((InternalSelection) grouping).getCurrentNode())) {
+                return false;
+            }
+        }
+        if (!addExpression((query.havingClause == null) ? null : ((InternalSelection) query.havingClause).getCurrentNode())) {
+            return false;
+        }
+        List<Order> orderBy = query.getOrderList();
+        this.key.add((orderBy == null) ? 0 : orderBy.size());
+        if (orderBy != null) {
+            for (Order order : orderBy) {
+                this.key.add(order.isAscending());
+                if (!addExpression(((InternalSelection) order.getExpression()).getCurrentNode())) {
+                    return false;
+                }
+            }
+        }
+        this.key.add(query.getParameters().size());
+        for (ParameterExpression<?> parameter : query.getParameters()) {
+            // An unnamed parameter is named by its identity.
+            if ((parameter.getName() == null) && (parameter.getPosition() == null)) {
+                return false;
+            }
+            this.key.add(((ParameterExpressionImpl<?>) parameter).getInternalName());
+            this.key.add(parameter.getJavaType());
+        }
+        return true;
+    }
+
+    /**
+     * Describe the root, join or fetch, with the joins and fetches made from it.
+     */
+    protected boolean addFrom(FromImpl<?, ?> from) {
+        if (from.isCorrelated()) {
+            return false;
+        }
+        this.key.add(from.getClass());
+        this.key.add(from.isJoin);
+        this.key.add(from.isFetch);
+        if (!addExpression(from.getCurrentNode())) {
+            return false;
+        }
+        this.key.add(from.getJoins().size());
+        for (Join<?, ?> join : from.getJoins()) {
+            if (!addFrom((FromImpl<?, ?>) join)) {
+                return false;
+            }
+        }
+        this.key.add(from.getFetches().size());
+        for (Fetch<?, ?> fetch : from.getFetches()) {
+            if (!addFrom((FromImpl<?, ?>) fetch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean addSelection(Selection<?> selection) {
+        if (selection == null) {
+            this.key.add(null);
+            return true;
+        }
+        this.key.add(selection.getClass());
+        this.key.add(selection.getAlias());
+        this.key.add(selection.getJavaType());
+        if (selection.isCompoundSelection()) {
+            List<Selection<?>> items = selection.getCompoundSelectionItems();
+            this.key.add(items.size());
+            for (Selection<?> item : items) {
+                if (!addSelection(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // The size of a collection is selected with a grouping by its parent.
+        if ((selection instanceof FunctionExpressionImpl) && CriteriaBuilderImpl.SIZE.equals(((FunctionExpressionImpl<?>) selection).getOperation())) {
+            return false;
+        }
+        return addExpression(((InternalSelection) selection).getCurrentNode());
+    }
+
+    protected boolean addExpression(Expression expression) {
+        if (expression == null) {
+            this.key.add(null);
+            return true;
+        }
+        Class<?> type = expression.getClass();
+        this.key.add(type);
+        if ((type == ExpressionBuilder.class) || (type == QueryKeyExpression.class)) {
+            Integer number = this.nodes.get(expression);
+            if (number != null) {
+                this.key.add(number);
+                return true;
+            }
+            number = this.nodes.size();
+            this.nodes.put(expression, number);
+            this.key.add(number);
+            if (type == ExpressionBuilder.class) {
+                ExpressionBuilder builder = (ExpressionBuilder) expression;
+                if ((builder.getViewTable() != null) || (builder.getAsOfClause() != null)) {
+                    return false;
+                }
+                this.key.add(builder.getQueryClass());
+                return true;
+            }
+            QueryKeyExpression queryKey = (QueryKeyExpression) expression;
+            if ((queryKey.getCastClass() != null) || (queryKey.getOnClause() != null) || (queryKey.getJoinSource() != null)
+                    || (queryKey.getAsOfClause() != null)) {
+                return false;
+            }
+            this.key.add(queryKey.getName());
+            this.key.add(queryKey.shouldQueryToManyRelationship());
+            this.key.add(queryKey.shouldUseOuterJoin());
+            this.key.add(queryKey.shouldUseOuterJoinForMultitableInheritance());
+            return addExpression(queryKey.getBaseExpression());
+        } else if ((type == RelationExpression.class) || (type == LogicalExpression.class)) {
+            CompoundExpression compound = (CompoundExpression) expression;
+            this.key.add(compound.getOperator());
+            return addExpression(compound.getFirstChild()) && addExpression(compound.getSecondChild());
+        } else if (type == FunctionExpression.class) {
+            FunctionExpression function = (FunctionExpression) expression;
+            this.key.add(function.getOperator());
+            this.key.add(function.getResultType());
+            this.key.add(function.getChildren().size());
+            for (Expression child : function.getChildren()) {
+                if (!addExpression(child)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if ((type == ConstantExpression.class) || (type == CollectionExpression.class)) {
+            ConstantExpression constant = (ConstantExpression) expression;
+            this.key.add(constant.canBind());
+            Object value = constant.getValue();
+            if ((type == CollectionExpression.class) && (value instanceof Collection)) {
+                this.key.add(((Collection<?>) value).size());
+                for (Object element : (Collection<?>) value) {
+                    if (element instanceof Expression) {
+                        if (!addExpression((Expression) element)) {
+                            return false;
+                        }
+                    } else if (!addValue(element)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return addValue(value);
+        } else if (type == LiteralExpression.class) {
+            this.key.add(((LiteralExpression) expression).getValue());
+            return true;
+        } else if (type == org.eclipse.persistence.internal.expressions.ParameterExpression.class) {
+            org.eclipse.persistence.internal.expressions.ParameterExpression parameter = (org.eclipse.persistence.internal.expressions.ParameterExpression) expression;
+            this.key.add(parameter.getField().getName());
+            this.key.add(parameter.getType());
+            this.key.add(parameter.isProperty());
+            this.key.add(parameter.canBind());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Add the value of a literal, it is kept by the key so must be immutable.
+     */
+    protected boolean addValue(Object value) {
+        if (value == null) {
+            this.key.add(null);
+            return true;
+        }
+        if (!(value instanceof Enum) && !IMMUTABLE_TYPES.contains(value.getClass())) {
+            return false;
+        }
+        this.key.add(value.getClass());
+        this.key.add(value);
+        return true;
+    }
+}
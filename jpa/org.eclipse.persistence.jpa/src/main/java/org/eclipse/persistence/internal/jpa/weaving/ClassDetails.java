@@ -15,6 +15,7 @@
 package org.eclipse.persistence.internal.jpa.weaving;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,10 @@ public class ClassDetails {
     protected boolean shouldWeaveValueHolders = false;
     /** Define if change tracking should be weaved in this class. */
     protected boolean shouldWeaveChangeTracking = false;
+    /** Define if the changes of the direct attributes should be weaved as a dirty attributes bit set in this class. */
+    protected boolean shouldWeaveDirtyAttributes = false;
+    /** The names of the attributes tracked in the dirty attributes bit set, lazily initialized. */
+    protected List<String> dirtyAttributeNames;
     /** Define if fetch groups should be weaved in this class. */
     protected boolean shouldWeaveFetchGroups = false;
     /** Define if internal optimizations should be weaved in this class. */
@@ -122,6 +127,14 @@ public void setShouldWeaveChangeTracking(boolean shouldWeaveChangeTracking) {
         this.shouldWeaveChangeTracking = shouldWeaveChangeTracking;
     }
 
+    public boolean shouldWeaveDirtyAttributes() {
+        return shouldWeaveDirtyAttributes;
+    }
+
+    public void setShouldWeaveDirtyAttributes(boolean shouldWeaveDirtyAttributes) {
+        this.shouldWeaveDirtyAttributes = shouldWeaveDirtyAttributes;
+    }
+
     public void setShouldWeaveConstructorOptimization(boolean shouldWeaveConstructorOptimization) {
         this.shouldWeaveConstructorOptimization = shouldWeaveConstructorOptimization;
     }
@@ -286,6 +299,47 @@ public boolean doesSuperclassWeaveChangeTracking(){
         return getSuperClassDetails().doesSuperclassWeaveChangeTracking();
     }
 
+    public boolean doesSuperclassWeaveDirtyAttributes(){
+        return (getSuperClassDetails() != null) && getSuperClassDetails().shouldWeaveDirtyAttributes();
+    }
+
+    /**
+     * Return the names of the attributes tracked in the dirty attributes bit set, in the order of their bits.
+     * The attributes of the superclasses come first, followed by the direct attributes with a setter
+     * woven in this class, sorted by name.
+     */
+    public List<String> getDirtyAttributeNames() {
+        if (dirtyAttributeNames == null) {
+            List<String> names = new ArrayList<>();
+            if (doesSuperclassWeaveDirtyAttributes()) {
+                names.addAll(getSuperClassDetails().getDirtyAttributeNames());
+            }
+            List<String> classNames = new ArrayList<>();
+            for (AttributeDetails attributeDetails : attributesMap.values()) {
+                if (!attributeDetails.isAttributeOnSuperClass() && !attributeDetails.isVirtualProperty()
+                        && !attributeDetails.weaveValueHolders() && attributeDetails.getMapping().isAbstractDirectMapping()
+                        && (attributeDetails.hasField() || (attributeDetails.getSetterMethodName() != null))) {
+                    classNames.add(attributeDetails.getAttributeName());
+                }
+            }
+            Collections.sort(classNames);
+            names.addAll(classNames);
+            dirtyAttributeNames = names;
+        }
+        return dirtyAttributeNames;
+    }
+
+    /**
+     * Return the bit of the attribute in the dirty attributes bit set, -1 if the attribute is not tracked in the bit set.
+     */
+    public int getDirtyAttributeIndex(String attributeName) {
+        if (!shouldWeaveDirtyAttributes) {
+            return -1;
+        }
+        // The attributes of this class come last, and may shadow an attribute of a superclass.
+        return getDirtyAttributeNames().lastIndexOf(attributeName);
+    }
+
     public boolean canWeaveChangeTracking(){
         if ((getSuperClassDetails() == null) || (!shouldWeaveChangeTracking())) {
             return shouldWeaveChangeTracking();
@@ -22,6 +22,7 @@
 package org.eclipse.persistence.internal.jpa.weaving;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.libraries.asm.ClassVisitor;
@@ -61,6 +62,12 @@ public class ClassWeaver extends EclipseLinkClassVisitor implements Opcodes {
     public static final String CT_SHORT_SIGNATURE = "org/eclipse/persistence/descriptors/changetracking/ChangeTracker";
     public static final String PCE_SHORT_SIGNATURE = "java/beans/PropertyChangeEvent";
     public static final String PCE_SIGNATURE = "L" + PCE_SHORT_SIGNATURE + ";";
+    public static final String DAT_SHORT_SIGNATURE = "org/eclipse/persistence/descriptors/changetracking/DirtyAttributeTracker";
+    public static final String DACL_SHORT_SIGNATURE = "org/eclipse/persistence/internal/descriptors/changetracking/DirtyAttributeChangeListener";
+    public static final String DIRTY_ATTRIBUTES_FIELDNAME = "_persistence_dirtyAttributes";
+    public static final String DIRTY_ATTRIBUTE_NAMES_FIELDNAME = "_persistence_dirtyAttributeNames";
+    public static final String LONG_ARRAY_SIGNATURE = "[J";
+    public static final String STRING_ARRAY_SIGNATURE = "[Ljava/lang/String;";
 
     // PersistenceEntity
     public static final String PERSISTENCE_ENTITY_SHORT_SIGNATURE = "org/eclipse/persistence/internal/descriptors/PersistenceEntity";
@@ -330,6 +337,120 @@ public void addPropertyChange(ClassDetails classDetails) {
         cv_addPC.visitMaxs(0, 0);
     }
 
+    /**
+     * Add a variable holding the bit set of the changed attributes to the class.
+     * When this method has been run, the class will contain a variable
+     * declaration similar to the following
+     *
+     * protected transient long[] _persistence_dirtyAttributes;
+     */
+    public void addDirtyAttributes() {
+        cv.visitField(ACC_PROTECTED + ACC_TRANSIENT, DIRTY_ATTRIBUTES_FIELDNAME, LONG_ARRAY_SIGNATURE, null, null);
+    }
+
+    /**
+     * Add the get and set methods of the dirty attributes bit set. The result is
+     * methods that look as follows:
+     *
+     * public long[] _persistence_getDirtyAttributes() { return _persistence_dirtyAttributes; }
+     *
+     * public void _persistence_setDirtyAttributes(long[] dirtyAttributes) {
+     * _persistence_dirtyAttributes = dirtyAttributes; }
+     */
+    public void addGetSetDirtyAttributes(ClassDetails classDetails) {
+        MethodVisitor cv_get = cv.visitMethod(ACC_PUBLIC, "_persistence_getDirtyAttributes", "()" + LONG_ARRAY_SIGNATURE, null, null);
+        cv_get.visitVarInsn(ALOAD, 0);
+        cv_get.visitFieldInsn(GETFIELD, classDetails.getClassName(), DIRTY_ATTRIBUTES_FIELDNAME, LONG_ARRAY_SIGNATURE);
+        cv_get.visitInsn(ARETURN);
+        cv_get.visitMaxs(0, 0);
+
+        MethodVisitor cv_set = cv.visitMethod(ACC_PUBLIC, "_persistence_setDirtyAttributes", "(" + LONG_ARRAY_SIGNATURE + ")V", null, null);
+        cv_set.visitVarInsn(ALOAD, 0);
+        cv_set.visitVarInsn(ALOAD, 1);
+        cv_set.visitFieldInsn(PUTFIELD, classDetails.getClassName(), DIRTY_ATTRIBUTES_FIELDNAME, LONG_ARRAY_SIGNATURE);
+        cv_set.visitInsn(RETURN);
+        cv_set.visitMaxs(0, 0);
+    }
+
+    /**
+     * Add the method returning the names of the attributes tracked in the dirty
+     * attributes bit set, in the order of their bits. The names are held in a
+     * static variable of the class, the method looks as follows:
+     *
+     * private static volatile String[] _persistence_dirtyAttributeNames;
+     *
+     * public String[] _persistence_getDirtyAttributeNames() {
+     * if (_persistence_dirtyAttributeNames == null) {
+     * _persistence_dirtyAttributeNames = new String[] {"attribute1", ...}; }
+     * return _persistence_dirtyAttributeNames; }
+     */
+    public void addGetDirtyAttributeNames(ClassDetails classDetails) {
+        cv.visitField(ACC_PRIVATE + ACC_STATIC + ACC_VOLATILE + ACC_SYNTHETIC, DIRTY_ATTRIBUTE_NAMES_FIELDNAME, STRING_ARRAY_SIGNATURE, null, null);
+
+        MethodVisitor cv_names = cv.visitMethod(ACC_PUBLIC, "_persistence_getDirtyAttributeNames", "()" + STRING_ARRAY_SIGNATURE, null, null);
+        cv_names.visitFieldInsn(GETSTATIC, classDetails.getClassName(), DIRTY_ATTRIBUTE_NAMES_FIELDNAME, STRING_ARRAY_SIGNATURE);
+        Label l0 = new Label();
+        cv_names.visitJumpInsn(IFNONNULL, l0);
+
+        // _persistence_dirtyAttributeNames = new String[] {...};
+        List<String> names = classDetails.getDirtyAttributeNames();
+        cv_names.visitLdcInsn(names.size());
+        cv_names.visitTypeInsn(ANEWARRAY, "java/lang/String");
+        for (int index = 0; index < names.size(); index++) {
+            cv_names.visitInsn(DUP);
+            cv_names.visitLdcInsn(index);
+            cv_names.visitLdcInsn(names.get(index));
+            cv_names.visitInsn(AASTORE);
+        }
+        cv_names.visitFieldInsn(PUTSTATIC, classDetails.getClassName(), DIRTY_ATTRIBUTE_NAMES_FIELDNAME, STRING_ARRAY_SIGNATURE);
+        cv_names.visitLabel(l0);
+
+        cv_names.visitFieldInsn(GETSTATIC, classDetails.getClassName(), DIRTY_ATTRIBUTE_NAMES_FIELDNAME, STRING_ARRAY_SIGNATURE);
+        cv_names.visitInsn(ARETURN);
+        cv_names.visitMaxs(0, 0);
+    }
+
+    /**
+     * Add the check of the attribute in the dirty attributes bit set, the code
+     * jumps to the first label if no bit set is assigned, and to the second
+     * label if the bit of the attribute is already set. Otherwise the listener
+     * and the index are loaded, the caller loads the old and new values and
+     * calls {@link #addDirtyAttributeChange(MethodVisitor)}:
+     *
+     * if (_persistence_dirtyAttributes != null) {
+     * if ((_persistence_dirtyAttributes[index >>> 6] {@literal &} (1L {@literal <<} index)) == 0) {
+     * ((DirtyAttributeChangeListener)_persistence_listener).dirtyAttributeChange(index, oldValue, argument); }
+     */
+    public static void addCheckDirtyAttribute(MethodVisitor visitor, ClassDetails classDetails, int index, Label notTracked, Label alreadyChanged) {
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitFieldInsn(GETFIELD, classDetails.getClassName(), DIRTY_ATTRIBUTES_FIELDNAME, LONG_ARRAY_SIGNATURE);
+        visitor.visitJumpInsn(IFNULL, notTracked);
+
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitFieldInsn(GETFIELD, classDetails.getClassName(), DIRTY_ATTRIBUTES_FIELDNAME, LONG_ARRAY_SIGNATURE);
+        visitor.visitLdcInsn(index >>> 6);
+        visitor.visitInsn(LALOAD);
+        visitor.visitLdcInsn(1L << index);
+        visitor.visitInsn(LAND);
+        visitor.visitInsn(LCONST_0);
+        visitor.visitInsn(LCMP);
+        visitor.visitJumpInsn(IFNE, alreadyChanged);
+
+        visitor.visitVarInsn(ALOAD, 0);
+        visitor.visitFieldInsn(GETFIELD, classDetails.getClassName(), "_persistence_listener", PCL_SIGNATURE);
+        visitor.visitTypeInsn(CHECKCAST, DACL_SHORT_SIGNATURE);
+        visitor.visitLdcInsn(index);
+    }
+
+    /**
+     * Add the call recording the first change of the attribute, following
+     * {@link #addCheckDirtyAttribute(MethodVisitor, ClassDetails, int, Label, Label)}
+     * and the loading of the old and new values.
+     */
+    public static void addDirtyAttributeChange(MethodVisitor visitor) {
+        visitor.visitMethodInsn(INVOKEVIRTUAL, DACL_SHORT_SIGNATURE, "dirtyAttributeChange", "(ILjava/lang/Object;Ljava/lang/Object;)V", false);
+    }
+
     /**
      * Add a method that allows us to lazily initialize a valueholder we have
      * woven in This allows us to avoid initializing valueholders in the
@@ -544,6 +665,8 @@ public void addSetterMethodForValueHolder(ClassDetails classDetails, AttributeDe
      * _persistence_initialize_variableName_vh();
      * _persistence_propertyChange("variableName", this.variableName, argument);
      * // if change tracking enabled, wrapping primitives, i.e. Long.valueOf(item)
+     * // if dirty attributes are enabled, only when no dirty attributes bit set is assigned,
+     * // otherwise the first change calls ((DirtyAttributeChangeListener)_persistence_listener).dirtyAttributeChange(index, this.variableName, argument)
      * this.variableName = argument;
      * _persistence_variableName_vh.setValue(variableName); // if lazy enabled }
      */
@@ -585,42 +708,31 @@ public void addSetterMethodForFieldAccess(ClassDetails classDetails, AttributeDe
                 cv_set.visitFieldInsn(PUTFIELD, classDetails.getClassName(), attribute, attributeDetails.getReferenceClassType().getDescriptor());
             }
 
-            // load the string attribute name as the first argument of the
-            // property change call
-            cv_set.visitVarInsn(ALOAD, 0);
-            cv_set.visitLdcInsn(attribute);
-
-            // if the attribute is a primitive, wrap it
-            // e.g. if it is an integer: Integer.valueOf(attribute)
-            // This is the first part of the wrapping
+            // if (_persistence_dirtyAttributes != null) record the first change of the attribute,
+            // otherwise raise the property change
+            int dirtyAttributeIndex = classDetails.getDirtyAttributeIndex(attribute);
+            Label notTracked = new Label();
+            Label tracked = new Label();
             String wrapper = ClassWeaver.wrapperFor(attributeDetails.getReferenceClassType().getSort());
-            if (wrapper != null) {
-                cv_set.visitTypeInsn(NEW, wrapper);
-                cv_set.visitInsn(DUP);
+            if (dirtyAttributeIndex >= 0) {
+                addCheckDirtyAttribute(cv_set, classDetails, dirtyAttributeIndex, notTracked, tracked);
+                addLoadOldAndNewValues(cv_set, classDetails, attributeDetails, wrapper, opcode);
+                addDirtyAttributeChange(cv_set);
+                cv_set.visitJumpInsn(GOTO, tracked);
+                cv_set.visitLabel(notTracked);
             }
 
-            // load the method argument
+            // load the string attribute name as the first argument of the
+            // property change call
             cv_set.visitVarInsn(ALOAD, 0);
-            cv_set.visitFieldInsn(GETFIELD, classDetails.getClassName(), attribute, attributeDetails.getReferenceClassType().getDescriptor());
-
-            if (wrapper != null) {
-                // invoke the constructor for wrapping
-                // e.g. Integer.valueOf(variableName)
-                cv_set.visitMethodInsn(INVOKESPECIAL, wrapper, "<init>", "(" + attributeDetails.getReferenceClassType().getDescriptor() + ")V", false);
-
-                // wrap the method argument
-                // e.g. Integer.valueOf(argument)
-                cv_set.visitTypeInsn(NEW, wrapper);
-                cv_set.visitInsn(DUP);
-                cv_set.visitVarInsn(opcode, 1);
-                cv_set.visitMethodInsn(INVOKESPECIAL, wrapper, "<init>", "(" + attributeDetails.getReferenceClassType().getDescriptor() + ")V", false);
-            } else {
-                // if we are not wrapping the argument, just load it
-                cv_set.visitVarInsn(ALOAD, 1);
-            }
+            cv_set.visitLdcInsn(attribute);
+            addLoadOldAndNewValues(cv_set, classDetails, attributeDetails, wrapper, opcode);
             // _persistence_propertyChange("variableName", variableName,
             // argument);
             cv_set.visitMethodInsn(INVOKEVIRTUAL, classDetails.getClassName(), "_persistence_propertyChange", "(Ljava/lang/String;Ljava/lang/Object;Ljava/lang/Object;)V", false);
+            if (dirtyAttributeIndex >= 0) {
+                cv_set.visitLabel(tracked);
+            }
         } else {
             if (attributeDetails.weaveValueHolders()) {
                 // _persistence_initialize_variableName_vh();
@@ -662,6 +774,43 @@ public void addSetterMethodForFieldAccess(ClassDetails classDetails, AttributeDe
         cv_set.visitMaxs(0, 0);
     }
 
+    /**
+     * Load the old value of the attribute and the argument of the setter, wrapping primitives:
+     *
+     * variableName, argument // for Objects
+     * new Integer(variableName), new Integer(argument) // for primitives, e.g. an int
+     */
+    private static void addLoadOldAndNewValues(MethodVisitor cv_set, ClassDetails classDetails, AttributeDetails attributeDetails, String wrapper, int opcode) {
+        String attribute = attributeDetails.getAttributeName();
+        // if the attribute is a primitive, wrap it
+        // e.g. if it is an integer: Integer.valueOf(attribute)
+        // This is the first part of the wrapping
+        if (wrapper != null) {
+            cv_set.visitTypeInsn(NEW, wrapper);
+            cv_set.visitInsn(DUP);
+        }
+
+        // load the method argument
+        cv_set.visitVarInsn(ALOAD, 0);
+        cv_set.visitFieldInsn(GETFIELD, classDetails.getClassName(), attribute, attributeDetails.getReferenceClassType().getDescriptor());
+
+        if (wrapper != null) {
+            // invoke the constructor for wrapping
+            // e.g. Integer.valueOf(variableName)
+            cv_set.visitMethodInsn(INVOKESPECIAL, wrapper, "<init>", "(" + attributeDetails.getReferenceClassType().getDescriptor() + ")V", false);
+
+            // wrap the method argument
+            // e.g. Integer.valueOf(argument)
+            cv_set.visitTypeInsn(NEW, wrapper);
+            cv_set.visitInsn(DUP);
+            cv_set.visitVarInsn(opcode, 1);
+            cv_set.visitMethodInsn(INVOKESPECIAL, wrapper, "<init>", "(" + attributeDetails.getReferenceClassType().getDescriptor() + ")V", false);
+        } else {
+            // if we are not wrapping the argument, just load it
+            cv_set.visitVarInsn(ALOAD, 1);
+        }
+    }
+
     /**
      * Adds a convenience method used to replace a GETFIELD when field access is
      * used. The method follows the following form:
@@ -732,8 +881,8 @@ public void addPersistenceEntityVariables() {
      * change original/clone to effect the other.
      *
      * public Object _persistence_post_clone() { this._attribute_vh =
-     * this._attribute_vh.clone(); ... this._persistence_listener = null; return
-     * this; }
+     * this._attribute_vh.clone(); ... this._persistence_listener = null;
+     * this._persistence_dirtyAttributes = null; return this; }
      */
     public void addPersistencePostClone(ClassDetails classDetails) {
         // create the _persistence_post_clone() method
@@ -774,6 +923,12 @@ public void addPersistencePostClone(ClassDetails classDetails) {
             cv_clone.visitInsn(ACONST_NULL);
             cv_clone.visitFieldInsn(PUTFIELD, classDetails.getClassName(), "_persistence_listener", PCL_SIGNATURE);
         }
+        if (classDetails.shouldWeaveDirtyAttributes()) {
+            // clone._persistence_dirtyAttributes = null;
+            cv_clone.visitVarInsn(ALOAD, 0);
+            cv_clone.visitInsn(ACONST_NULL);
+            cv_clone.visitFieldInsn(PUTFIELD, classDetails.getClassName(), DIRTY_ATTRIBUTES_FIELDNAME, LONG_ARRAY_SIGNATURE);
+        }
         if (classDetails.shouldWeaveFetchGroups()) {
             // clone._persistence_fetchGroup = null;
             // clone._persistence_session = null;
@@ -1238,6 +1393,7 @@ public void visit(int version, int access, String name, String signature, String
                 // Disable weaving of change tracking if already implemented
                 // (such as by user).
                 classDetails.setShouldWeaveChangeTracking(false);
+                classDetails.setShouldWeaveDirtyAttributes(false);
             } else if (CLONEABLE_SHORT_SIGNATURE.equals(existingInterface)) {
                 weaveCloneable = false;
             }
@@ -1298,6 +1454,13 @@ public void visit(int version, int access, String name, String signature, String
             persistenceWeavedChangeTrackingIndex = newInterfacesLength;
             newInterfacesLength++;
         }
+        // DirtyAttributeTracker
+        boolean dirtyAttributeTracker = !classDetails.doesSuperclassWeaveDirtyAttributes() && classDetails.shouldWeaveDirtyAttributes();
+        int dirtyAttributeTrackerIndex = 0;
+        if (dirtyAttributeTracker) {
+            dirtyAttributeTrackerIndex = newInterfacesLength;
+            newInterfacesLength++;
+        }
 
         int persistenceWeavedRestIndex = 0;
         boolean weaveRest = classDetails.shouldWeaveREST() && classDetails.getSuperClassDetails() == null;
@@ -1345,6 +1508,9 @@ public void visit(int version, int access, String name, String signature, String
         if (classDetails.shouldWeaveChangeTracking()) {
             newInterfaces[persistenceWeavedChangeTrackingIndex] = TW_CT_SHORT_SIGNATURE;
         }
+        if (dirtyAttributeTracker) {
+            newInterfaces[dirtyAttributeTrackerIndex] = DAT_SHORT_SIGNATURE;
+        }
 
         if (weaveRest) {
             newInterfaces[persistenceWeavedRestIndex] = WEAVED_REST_LAZY_SHORT_SIGNATURE;
@@ -1457,6 +1623,13 @@ public void visitEnd() {
                     addSetPropertyChangeListener(classDetails);
                     addPropertyChange(classDetails);
                 }
+                if (classDetails.shouldWeaveDirtyAttributes()) {
+                    if (!classDetails.doesSuperclassWeaveDirtyAttributes()) {
+                        addDirtyAttributes();
+                        addGetSetDirtyAttributes(classDetails);
+                    }
+                    addGetDirtyAttributeNames(classDetails);
+                }
             }
             if (classDetails.shouldWeaveFetchGroups()) {
                 weaved = true;
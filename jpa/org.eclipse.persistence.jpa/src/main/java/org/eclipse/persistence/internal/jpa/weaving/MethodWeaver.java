@@ -230,6 +230,18 @@ public void weaveAttributesIfRequired(int opcode, String owner, String name, Str
      *  }
      *
      *  2. Modifies setter methods to store old value of attribute
+     *  If weaving dirty attributes, for a direct attribute tracked in the bit set:
+     *
+     *  if (_persistence_dirtyAttributes != null) {
+     *      if ((_persistence_dirtyAttributes[index {@literal >>>} 6] {@literal &} (1L {@literal <<} index)) == 0) {
+     *          // for primitives the values are wrapped, e.g. new Double(getAttribute())
+     *          ((DirtyAttributeChangeListener)_persistence_listener).dirtyAttributeChange(index, getAttribute(), argument);
+     *      }
+     *      _persistence_checkFetchedForSet("attributeName"); // if weaving for fetch groups
+     *  } else {
+     *      // the code below
+     *  }
+     *
      *  If weaving for fetch groups:
      *
      *  // if weaving for change tracking:
@@ -394,6 +406,43 @@ public void weaveBeginningOfMethodIfRequired() {
             }
             if (isVirtual || (isSetMethod  && !attributeDetails.hasField())) {
                 if(tcw.classDetails.shouldWeaveChangeTracking()) {
+                    // if (_persistence_dirtyAttributes != null) record the first change of the attribute,
+                    // otherwise raise the property change
+                    int dirtyAttributeIndex = isVirtual ? -1 : tcw.classDetails.getDirtyAttributeIndex(attributeName);
+                    Label notTracked = new Label();
+                    Label tracked = new Label();
+                    if (dirtyAttributeIndex >= 0) {
+                        Label alreadyChanged = new Label();
+                        ClassWeaver.addCheckDirtyAttribute(mv, tcw.classDetails, dirtyAttributeIndex, notTracked, alreadyChanged);
+                        String wrapper = ClassWeaver.wrapperFor(referenceClassType.getSort());
+                        // getAttribute(), wrapping primitives
+                        if (wrapper != null) {
+                            mv.visitTypeInsn(NEW, wrapper);
+                            mv.visitInsn(DUP);
+                        }
+                        mv.visitVarInsn(ALOAD, 0);
+                        mv.visitMethodInsn(INVOKEVIRTUAL, tcw.classDetails.getClassName(), getterMethodName, "()" + referenceClassType.getDescriptor(), false);
+                        if (wrapper != null) {
+                            mv.visitMethodInsn(INVOKESPECIAL, wrapper, "<init>", "(" + referenceClassType.getDescriptor() + ")V", false);
+                            mv.visitTypeInsn(NEW, wrapper);
+                            mv.visitInsn(DUP);
+                        }
+                        // argument, wrapping primitives
+                        mv.visitVarInsn(referenceClassType.getOpcode(ILOAD), valueHoldingLocation);
+                        if (wrapper != null) {
+                            mv.visitMethodInsn(INVOKESPECIAL, wrapper, "<init>", "(" + referenceClassType.getDescriptor() + ")V", false);
+                        }
+                        ClassWeaver.addDirtyAttributeChange(mv);
+                        mv.visitLabel(alreadyChanged);
+                        if (tcw.classDetails.shouldWeaveFetchGroups()) {
+                            // _persistence_checkFetchedForSet("attributeName");
+                            mv.visitVarInsn(ALOAD, 0);
+                            mv.visitLdcInsn(attributeName);
+                            mv.visitMethodInsn(INVOKEVIRTUAL, tcw.classDetails.getClassName(), "_persistence_checkFetchedForSet", "(Ljava/lang/String;)V", false);
+                        }
+                        mv.visitJumpInsn(GOTO, tracked);
+                        mv.visitLabel(notTracked);
+                    }
                     if(tcw.classDetails.shouldWeaveFetchGroups()) {
                         // if this is a primitive, get the wrapper class
                         String wrapper = ClassWeaver.wrapperFor(referenceClassType.getSort());
@@ -537,6 +586,9 @@ public void weaveBeginningOfMethodIfRequired() {
                         }
                         mv.visitMethodInsn(INVOKEVIRTUAL, tcw.classDetails.getClassName(), "_persistence_propertyChange", "(Ljava/lang/String;Ljava/lang/Object;Ljava/lang/Object;)V", false);
                     }
+                    if (dirtyAttributeIndex >= 0) {
+                        mv.visitLabel(tracked);
+                    }
                 } else {
                     // !tcw.classDetails.shouldWeaveChangeTracking()
                     if(tcw.classDetails.shouldWeaveFetchGroups()) {
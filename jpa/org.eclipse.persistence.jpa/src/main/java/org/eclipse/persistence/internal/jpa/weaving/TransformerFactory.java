@@ -68,6 +68,7 @@ public class TransformerFactory {
     protected Map<String, ClassDetails> classDetailsMap;
     protected ClassLoader classLoader;
     protected boolean weaveChangeTracking;
+    protected boolean weaveChangeTrackingDirtyAttributes;
     protected boolean weaveLazy;
     protected boolean weaveFetchGroups;
     protected boolean weaveInternal;
@@ -78,6 +79,13 @@ public static PersistenceWeaver createTransformerAndModifyProject(
             Session session, Collection<MetadataClass> entityClasses, ClassLoader classLoader,
             boolean weaveLazy, boolean weaveChangeTracking, boolean weaveFetchGroups,
             boolean weaveInternal, boolean weaveRest, boolean weaveMappedSuperClass) {
+        return createTransformerAndModifyProject(session, entityClasses, classLoader, weaveLazy, weaveChangeTracking, false, weaveFetchGroups, weaveInternal, weaveRest, weaveMappedSuperClass);
+    }
+
+    public static PersistenceWeaver createTransformerAndModifyProject(
+            Session session, Collection<MetadataClass> entityClasses, ClassLoader classLoader,
+            boolean weaveLazy, boolean weaveChangeTracking, boolean weaveChangeTrackingDirtyAttributes, boolean weaveFetchGroups,
+            boolean weaveInternal, boolean weaveRest, boolean weaveMappedSuperClass) {
         if (session == null) {
             throw new IllegalArgumentException("Weaver session cannot be null");
         }
@@ -86,6 +94,7 @@ public static PersistenceWeaver createTransformerAndModifyProject(
             throw new IllegalArgumentException("Weaver session's project cannot be null");
         }
         TransformerFactory tf = new TransformerFactory(session, entityClasses, classLoader, weaveLazy, weaveChangeTracking, weaveFetchGroups, weaveInternal, weaveRest, weaveMappedSuperClass);
+        tf.weaveChangeTrackingDirtyAttributes = weaveChangeTrackingDirtyAttributes;
         tf.buildClassDetailsAndModifyProject();
         return tf.buildPersistenceWeaver();
     }
@@ -244,6 +253,7 @@ public void buildClassDetailsAndModifyProject() {
             for (Iterator<ClassDetails> i = classDetailsMap.values().iterator(); i.hasNext();) {
                 ClassDetails classDetails = i.next();
                 classDetails.setShouldWeaveChangeTracking(classDetails.canWeaveChangeTracking());
+                classDetails.setShouldWeaveDirtyAttributes(weaveChangeTrackingDirtyAttributes && classDetails.shouldWeaveChangeTracking() && !classDetails.isEmbedable());
             }
         }
     }
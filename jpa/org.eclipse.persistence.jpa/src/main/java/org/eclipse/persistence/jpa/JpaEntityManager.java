@@ -14,6 +14,7 @@
 //     Oracle - initial API and implementation from Oracle TopLink
 package org.eclipse.persistence.jpa;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.persistence.queries.AttributeGroup;
@@ -154,4 +155,12 @@ public interface JpaEntityManager extends jakarta.persistence.EntityManager, Aut
      * The AttributeGroup should correspond to the entity type.
      */
     Object copy(Object entityOrEntities, AttributeGroup group);
+
+    /**
+     * This method will find the entities of the passed primary keys, in the order of the keys.
+     * The entities in the persistence context or the shared cache are returned without a query,
+     * the others are read with one query per chunk of keys (see "eclipselink.jdbc.id-list.chunk-size").
+     * The result has a null element for a key with no entity.
+     */
+    <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys);
 }
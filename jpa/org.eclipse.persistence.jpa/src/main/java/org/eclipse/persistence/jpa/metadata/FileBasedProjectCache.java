@@ -17,11 +17,13 @@
 //       - 500441: Eclipselink core has System.getProperty() calls that are not potentially executed under doPriv()
 package org.eclipse.persistence.jpa.metadata;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.ObjectOutputStream;
 import java.util.Map;
 
+import org.eclipse.persistence.Version;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.sessions.Project;
@@ -29,10 +31,17 @@
 /**
  * <p><b>Purpose</b>: Support serializing/deserializing a project representing application metadata
  * to/from a file.
+ * <p>
+ * The project is preceded in the file by the version of the file format, the version of EclipseLink and the
+ * fingerprint of the persistence unit it was stored with. A project stored with another version or fingerprint
+ * is not retrieved, so that the metadata is processed and the file replaced.
  *
  */
 public class FileBasedProjectCache implements ProjectCache {
 
+    /** The version of the format of the file, changed if the header written before the project changes. */
+    public static final int FORMAT_VERSION = 1;
+
     /**
      * Default constructor.
      */
@@ -50,9 +59,11 @@ public Project retrieveProject(Map<String, ?> properties, ClassLoader loader, Se
             try {
                 java.io.File file = new java.io.File(fileName);
                 java.io.FileInputStream fis = new java.io.FileInputStream(file);
-                in = new java.io.ObjectInputStream(fis);
+                in = new java.io.ObjectInputStream(new java.io.BufferedInputStream(fis));
                 in.setObjectInputFilter(new FileBasedProjectCacheFilter());
-                project = (Project)in.readObject();
+                if (isCurrent(in, fileName, properties, log)) {
+                    project = (Project)in.readObject();
+                }
             } catch (Exception e) {
               //need exception differentiation,logging and warnings
               //the project not being cached should be different than an exception from reading the stream
@@ -83,7 +94,13 @@ public void storeProject(Project project, Map<String, ?> properties, SessionLog
                 // creates the file
                 file.createNewFile();
                 fos = new FileOutputStream(file);
-                out = new ObjectOutputStream(fos);
+                out = new ObjectOutputStream(new BufferedOutputStream(fos));
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(Version.getVersionString());
+                String fingerprint = (String)getConfigPropertyLogDebug(
+                        PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT,
+                        properties, log);
+                out.writeUTF(fingerprint == null ? "" : fingerprint);
                 out.writeObject(project);
             } catch (Exception e) {
                 //the session is still usable, just not cachable so log a warning
@@ -102,6 +119,28 @@ public void storeProject(Project project, Map<String, ?> properties, SessionLog
         }
     }
 
+    /**
+     * Read the header of the file and return if the project that follows was stored by the same
+     * version of EclipseLink, and with the fingerprint of the persistence unit if one is specified.
+     */
+    protected boolean isCurrent(java.io.ObjectInputStream in, String fileName, Map<String, ?> properties, SessionLog log) throws java.io.IOException {
+        int formatVersion = in.readInt();
+        String version = (formatVersion == FORMAT_VERSION) ? in.readUTF() : null;
+        if (!Version.getVersionString().equals(version)) {
+            log.log(SessionLog.INFO, SessionLog.JPA, "project_cache_version_mismatch", fileName, version);
+            return false;
+        }
+        String storedFingerprint = in.readUTF();
+        String fingerprint = (String)getConfigPropertyLogDebug(
+                PersistenceUnitProperties.PROJECT_CACHE_FINGERPRINT,
+                properties, log);
+        if (fingerprint != null && !fingerprint.equals(storedFingerprint)) {
+            log.log(SessionLog.INFO, SessionLog.JPA, "project_cache_fingerprint_mismatch", fileName);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Check the provided map for an object with the given name.  If that object is not available, check the
      * System properties.  Log the value returned if logging is enabled at the FINEST level
@@ -60,6 +60,15 @@ public static void main(String[] args) throws RunnerException {
 //                .include(getInclude(JPAValidationBenchmark.class))
 //                .include(getInclude(ReferenceResolverBenchmark.class))
 //                .include(getInclude(CaseInsensitiveUnmarshalBenchmark.class))
+//                .include(getInclude(CacheKeyLockBenchmark.class))
+//                .include(getInclude(IdentityMapBenchmark.class))
+//                .include(getInclude(ParseCacheBenchmark.class))
+//                .include(getInclude(FetchRowBenchmark.class))
+//                .include(getInclude(RowReaderBenchmark.class))
+//                .include(getInclude(SessionProfilerBenchmark.class))
+//                .include(getInclude(SerializerBenchmark.class))
+//                .include(getInclude(ParallelMergeBenchmark.class))
+//                .include(getInclude(DescriptorInitializationBenchmark.class))
                 .result(resultFile)
                 .resultFormat(ResultFormatType.valueOf(resultFormat.toUpperCase()))
                 .warmupIterations(warmupIterations)
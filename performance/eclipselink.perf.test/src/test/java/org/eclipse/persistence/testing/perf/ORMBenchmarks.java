@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf;
+
+import org.eclipse.persistence.testing.perf.jpa.tests.orm.ORMBatchFetchBenchmark;
+import org.eclipse.persistence.testing.perf.jpa.tests.orm.ORMCriteriaBenchmark;
+import org.eclipse.persistence.testing.perf.jpa.tests.orm.ORMReadBenchmark;
+import org.eclipse.persistence.testing.perf.jpa.tests.orm.ORMStartupBenchmark;
+import org.eclipse.persistence.testing.perf.jpa.tests.orm.ORMWriteBenchmark;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks of the ORM read and write paths and of the startup on an embedded database.
+ * The results are written as JSON by default, to compare them between releases.
+ */
+public class ORMBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+
+        int warmupIterations = 20;
+        int measurementIterations = 20;
+        String resultFile = "jmh-orm-result.json";
+        String resultFormat = "json";
+
+        if (null != args && args.length == 4) {
+            warmupIterations = Integer.parseInt(args[0]);
+            measurementIterations = Integer.parseInt(args[1]);
+            resultFile = args[2];
+            resultFormat = args[3];
+        }
+
+        Options opt = new OptionsBuilder()
+                .include(getInclude(ORMReadBenchmark.class))
+                .include(getInclude(ORMBatchFetchBenchmark.class))
+                .include(getInclude(ORMWriteBenchmark.class))
+                .include(getInclude(ORMStartupBenchmark.class))
+                .include(getInclude(ORMCriteriaBenchmark.class))
+                .jvmArgsPrepend("-javaagent:" + System.getProperty("eclipselink.agent"))
+                .result(resultFile)
+                .resultFormat(ResultFormatType.valueOf(resultFormat.toUpperCase()))
+                .warmupIterations(warmupIterations)
+                .measurementIterations(measurementIterations)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static String getInclude(Class<?> cls) {
+        return ".*" + cls.getSimpleName() + ".*";
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.helper.ConcurrencyUtil;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the monitor based and the lock-free read locks of cache keys
+ * ("eclipselink.concurrency.manager.lock.free.read.lock").
+ * The read-heavy benchmark checks read locks on a small set of hot cache keys, like object building and
+ * registration in a unit of work of the same cached entities. The merge-heavy group mixes the readers with
+ * threads locking the same cache keys for writing, like the merge of a commit into the shared cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheKeyLockBenchmark {
+
+    public static final int THREADS = 64;
+    private static final int NO_OF_CACHE_KEYS = 16;
+
+    @Param({"false", "true"})
+    public boolean lockFreeReadLock;
+
+    private CacheKey[] cacheKeys;
+    private boolean originalLockFreeReadLock;
+
+    @Setup
+    public void prepare() {
+        originalLockFreeReadLock = ConcurrencyUtil.SINGLETON.isUseLockFreeReadLock();
+        ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(lockFreeReadLock);
+        cacheKeys = new CacheKey[NO_OF_CACHE_KEYS];
+        for (int i = 0; i < NO_OF_CACHE_KEYS; i++) {
+            cacheKeys[i] = new CacheKey(i, new Object(), null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ConcurrencyUtil.SINGLETON.setUseLockFreeReadLock(originalLockFreeReadLock);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Object testReadHeavy() {
+        return readCacheKey();
+    }
+
+    @Benchmark
+    @Group("mergeHeavy")
+    @GroupThreads(THREADS - 8)
+    public Object testMergeHeavyRead() {
+        return readCacheKey();
+    }
+
+    @Benchmark
+    @Group("mergeHeavy")
+    @GroupThreads(8)
+    public Object testMergeHeavyWrite() {
+        CacheKey cacheKey = cacheKeys[ThreadLocalRandom.current().nextInt(NO_OF_CACHE_KEYS)];
+        cacheKey.acquire(true);
+        try {
+            cacheKey.setObject(new Object());
+            return cacheKey.getObject();
+        } finally {
+            cacheKey.release();
+        }
+    }
+
+    private Object readCacheKey() {
+        CacheKey cacheKey = cacheKeys[ThreadLocalRandom.current().nextInt(NO_OF_CACHE_KEYS)];
+        cacheKey.acquireReadLock();
+        try {
+            return cacheKey.getObject();
+        } finally {
+            cacheKey.releaseReadLock();
+        }
+    }
+}
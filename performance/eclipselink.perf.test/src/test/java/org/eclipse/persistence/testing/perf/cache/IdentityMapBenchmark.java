@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.identitymaps.CacheIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.FullIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.IdentityMap;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the LRU cache identity maps ("eclipselink.cache.type" Cache and ConcurrentCache)
+ * with the unbounded FullIdentityMap.
+ * The objects are read with a skewed (Zipf) distribution of the primary keys from a set ten times larger than
+ * the cache size, a miss puts the object into the cache like a read from the database.
+ * Besides the throughput the hits and misses are reported as secondary results, the hit ratio is hits / (hits + misses).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdentityMapBenchmark {
+
+    public static final int THREADS = 64;
+    private static final int CACHE_SIZE = 1000;
+    private static final int NO_OF_KEYS = CACHE_SIZE * 10;
+    private static final int NO_OF_SAMPLES = 1 << 16;
+
+    @Param({"Full", "Cache", "ConcurrentCache"})
+    public String cacheType;
+
+    private IdentityMap identityMap;
+    private Integer[] samples;
+
+    /**
+     * Hits and misses of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitRatio {
+        public long hits;
+        public long misses;
+        private int index;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+            index = (int)Thread.currentThread().getId() * 7919;
+        }
+    }
+
+    @Setup
+    public void prepare() {
+        if ("Full".equals(cacheType)) {
+            identityMap = new FullIdentityMap(CACHE_SIZE, null, null, false);
+        } else if ("Cache".equals(cacheType)) {
+            identityMap = new CacheIdentityMap(CACHE_SIZE, null, null, false);
+        } else {
+            identityMap = new ConcurrentCacheIdentityMap(CACHE_SIZE, null, null, false);
+        }
+        // Zipf distribution with the exponent 1, the key 0 is the most frequently read.
+        double[] cumulative = new double[NO_OF_KEYS];
+        double sum = 0;
+        for (int i = 0; i < NO_OF_KEYS; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        Random random = new Random(42);
+        samples = new Integer[NO_OF_SAMPLES];
+        for (int i = 0; i < NO_OF_SAMPLES; i++) {
+            double value = random.nextDouble() * sum;
+            int low = 0;
+            int high = NO_OF_KEYS - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            samples[i] = low;
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Object testRead(HitRatio hitRatio) {
+        Integer primaryKey = samples[hitRatio.index++ & (NO_OF_SAMPLES - 1)];
+        CacheKey cacheKey = identityMap.getCacheKey(primaryKey, false);
+        if (cacheKey != null) {
+            hitRatio.hits++;
+            return cacheKey.getObject();
+        }
+        hitRatio.misses++;
+        return identityMap.put(primaryKey, primaryKey, null, 0).getObject();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.MergeManager;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the sequential and the parallel ("eclipselink.cache.parallel-merge.threshold") merge
+ * of a large commit into the shared cache. The commit, received from cache coordination,
+ * updates three direct attributes of each of its objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelMergeBenchmark {
+
+    public static class Item {
+        public long id;
+        public String name;
+        public String description;
+        public BigDecimal price;
+    }
+
+    @Param({"0", "1000"})
+    public int parallelMergeThreshold;
+
+    @Param({"1000", "20000"})
+    public int changes;
+
+    private DatabaseSessionImpl session;
+    private RelationalDescriptor descriptor;
+    /** The cache only holds weak references to the items. */
+    private final List<Item> items = new ArrayList<>();
+    private long version;
+
+    @Setup
+    public void prepare() {
+        descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        descriptor.addDirectMapping("description", "DESCRIPTION");
+        descriptor.addDirectMapping("price", "PRICE");
+        descriptor.useVersionLocking("VERSION");
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        session = (DatabaseSessionImpl)project.createDatabaseSession();
+        session.initializeDescriptors();
+        session.setParallelMergeThreshold(parallelMergeThreshold);
+        version = 1;
+        for (long index = 0; index < changes; index++) {
+            Item item = new Item();
+            item.id = index;
+            items.add(item);
+            session.getIdentityMapAccessor().putInIdentityMap(item, index, version);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextVersion() {
+        version++;
+    }
+
+    @Benchmark
+    public void testMerge() {
+        Map<ObjectChangeSet, ObjectChangeSet> changeSets = new IdentityHashMap<>();
+        for (long index = 0; index < changes; index++) {
+            ObjectChangeSet changeSet = new ObjectChangeSet(index, descriptor, null, null, false);
+            changeSet.setInitialWriteLockValue(version - 1);
+            changeSet.setWriteLockValue(version);
+            addChange(changeSet, "name", "item" + version);
+            addChange(changeSet, "description", "description" + version);
+            addChange(changeSet, "price", BigDecimal.valueOf(version));
+            changeSets.put(changeSet, changeSet);
+        }
+        UnitOfWorkChangeSet unitOfWorkChangeSet = new UnitOfWorkChangeSet();
+        unitOfWorkChangeSet.setAllChangeSets(changeSets);
+        MergeManager manager = new MergeManager(session);
+        manager.mergeIntoDistributedCache();
+        manager.mergeChangesFromChangeSet(unitOfWorkChangeSet);
+    }
+
+    private static void addChange(ObjectChangeSet changeSet, String attribute, Object value) {
+        DirectToFieldChangeRecord record = new DirectToFieldChangeRecord(changeSet);
+        record.setAttribute(attribute);
+        record.setNewValue(value);
+        changeSet.getChanges().add(record);
+    }
+}
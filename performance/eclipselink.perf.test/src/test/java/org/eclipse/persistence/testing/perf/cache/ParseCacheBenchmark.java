@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the hit ratio of the JPQL parse cache (ConcurrentFixedCache) of the default size 100.
+ * The query strings are looked up with a skewed (Zipf) distribution from a set ten times larger than the cache,
+ * a miss puts the query into the cache like a parse.
+ * "FirstEncountered" is the former eviction removing the first key of the map iterator when the cache is full.
+ * Besides the throughput the hits and misses are reported as secondary results, the hit ratio is hits / (hits + misses).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseCacheBenchmark {
+
+    public static final int THREADS = 16;
+    private static final int CACHE_SIZE = 100;
+    private static final int NO_OF_QUERIES = CACHE_SIZE * 10;
+    private static final int NO_OF_SAMPLES = 1 << 16;
+
+    @Param({"FirstEncountered", "TinyLFU"})
+    public String eviction;
+
+    private ConcurrentFixedCache cache;
+    private String[] samples;
+
+    /**
+     * Hits and misses of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitRatio {
+        public long hits;
+        public long misses;
+        private int index;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+            index = (int)Thread.currentThread().getId() * 7919;
+        }
+    }
+
+    /**
+     * The eviction of ConcurrentFixedCache before the frequency based admission.
+     */
+    static class FirstEncounteredCache extends ConcurrentFixedCache {
+        FirstEncounteredCache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return this.cache.get(key);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            this.cache.put(key, value);
+            if (this.cache.size() > this.maxSize) {
+                Iterator<Object> iterator = this.cache.keySet().iterator();
+                try {
+                    while ((this.cache.size() > this.maxSize) && iterator.hasNext()) {
+                        Object next = iterator.next();
+                        if (next != key) {
+                            this.cache.remove(next);
+                        }
+                    }
+                } catch (Exception alreadyGone) {
+                    // Ignore.
+                }
+            }
+        }
+    }
+
+    @Setup
+    public void prepare() {
+        if ("FirstEncountered".equals(eviction)) {
+            cache = new FirstEncounteredCache(CACHE_SIZE);
+        } else {
+            cache = new ConcurrentFixedCache(CACHE_SIZE);
+        }
+        // Zipf distribution with the exponent 1, the query 0 is the most frequently executed.
+        double[] cumulative = new double[NO_OF_QUERIES];
+        double sum = 0;
+        for (int i = 0; i < NO_OF_QUERIES; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        String[] queries = new String[NO_OF_QUERIES];
+        for (int i = 0; i < NO_OF_QUERIES; i++) {
+            queries[i] = "SELECT e FROM Employee e WHERE e.salary > " + i + " ORDER BY e.lastName";
+        }
+        Random random = new Random(42);
+        samples = new String[NO_OF_SAMPLES];
+        for (int i = 0; i < NO_OF_SAMPLES; i++) {
+            double value = random.nextDouble() * sum;
+            int low = 0;
+            int high = NO_OF_QUERIES - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            samples[i] = queries[low];
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Object testLookup(HitRatio hitRatio) {
+        String query = samples[hitRatio.index++ & (NO_OF_SAMPLES - 1)];
+        Object parsed = cache.get(query);
+        if (parsed != null) {
+            hitRatio.hits++;
+            return parsed;
+        }
+        hitRatio.misses++;
+        cache.put(query, query);
+        return query;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.coordination;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.serializers.CompactSerializer;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the encode and decode time of the cache coordination merge command with Java serialization
+ * and the CompactSerializer, for a commit updating one object and for a commit updating 20 objects
+ * and deleting 2. The serialized size of the command is reported by the serialize benchmark,
+ * as the serializedBytes secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializerBenchmark {
+
+    public static class Employee {
+        public long id;
+        public String firstName;
+        public String lastName;
+        public BigDecimal salary;
+        public Timestamp startTime;
+        public long version;
+    }
+
+    @Param({"Java", "Compact"})
+    public String serializerType;
+
+    @Param({"1", "20"})
+    public int updates;
+
+    /**
+     * The serialized size of the command, set by each serialization of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+        public long serializedBytes;
+    }
+
+    private Session session;
+    private Serializer serializer;
+    private MergeChangeSetCommand command;
+    private byte[] bytes;
+
+    @Setup
+    public void prepare() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.setTableName("EMPLOYEE");
+        descriptor.setPrimaryKeyFieldName("ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("firstName", "F_NAME");
+        descriptor.addDirectMapping("lastName", "L_NAME");
+        descriptor.addDirectMapping("salary", "SALARY");
+        descriptor.addDirectMapping("startTime", "START_TIME");
+        descriptor.addDirectMapping("version", "VERSION");
+        descriptor.useVersionLocking("VERSION");
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        session = project.createDatabaseSession();
+        serializer = "Compact".equals(serializerType) ? new CompactSerializer() : new JavaSerializer();
+        command = buildCommand(descriptor);
+        bytes = (byte[])serializer.serialize(command, session);
+    }
+
+    private MergeChangeSetCommand buildCommand(ClassDescriptor descriptor) {
+        Map<ObjectChangeSet, ObjectChangeSet> changeSets = new IdentityHashMap<>();
+        for (int index = 0; index < updates; index++) {
+            ObjectChangeSet changeSet = new ObjectChangeSet(100000L + index, descriptor, null, null, false);
+            changeSet.setInitialWriteLockValue(3L);
+            changeSet.setWriteLockValue(4L);
+            DirectToFieldChangeRecord salary = new DirectToFieldChangeRecord(changeSet);
+            salary.setAttribute("salary");
+            salary.setNewValue(new BigDecimal("55000.00").add(BigDecimal.valueOf(index)));
+            changeSet.getChanges().add(salary);
+            DirectToFieldChangeRecord lastName = new DirectToFieldChangeRecord(changeSet);
+            lastName.setAttribute("lastName");
+            lastName.setNewValue("Smith-" + index);
+            changeSet.getChanges().add(lastName);
+            changeSets.put(changeSet, changeSet);
+        }
+        UnitOfWorkChangeSet unitOfWorkChangeSet = new UnitOfWorkChangeSet();
+        unitOfWorkChangeSet.setAllChangeSets(changeSets);
+        if (updates > 1) {
+            Map<ObjectChangeSet, ObjectChangeSet> deleted = new IdentityHashMap<>();
+            for (int index = 0; index < 2; index++) {
+                ObjectChangeSet changeSet = new ObjectChangeSet(200000L + index, descriptor, null, null, false);
+                changeSet.setShouldBeDeleted(true);
+                deleted.put(changeSet, changeSet);
+            }
+            unitOfWorkChangeSet.setDeletedObjects(deleted);
+        }
+        MergeChangeSetCommand command = new MergeChangeSetCommand();
+        command.setChangeSet(unitOfWorkChangeSet);
+        command.setServiceId(new ServiceId("EclipseLinkCommandChannel", "node-1", "jms://node-1"));
+        return command;
+    }
+
+    @Benchmark
+    public Object testSerialize(SerializedSize size) {
+        byte[] serialized = (byte[])serializer.serialize(command, session);
+        size.serializedBytes = serialized.length;
+        return serialized;
+    }
+
+    @Benchmark
+    public Object testDeserialize() {
+        return serializer.deserialize(bytes, session);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.databaseaccess;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the rows fetched from a result set as Vector based DatabaseRecord (formerly used by cursors)
+ * and as array based ArrayRecord, and the report query access of the row values by the values Vector
+ * and by index.
+ * The JDBC result set is a stub, so the allocation of the rows dominates, run with "-prof gc" to compare
+ * the allocation rate (gc.alloc.rate.norm is the number of bytes allocated per row).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FetchRowBenchmark {
+
+    private static final int NO_OF_COLUMNS = 10;
+
+    private AbstractSession session;
+    private DatabaseAccessor accessor;
+    private ResultSet resultSet;
+    private Vector<DatabaseField> fields;
+    private DatabaseField[] fieldsArray;
+
+    /**
+     * Accessor without a connection, reading from the stub result set.
+     */
+    static class StubAccessor extends DatabaseAccessor {
+        StubAccessor(DatabaseLogin login) {
+            super();
+            setLogin(login);
+            setDatasourcePlatform(login.getPlatform());
+        }
+    }
+
+    @Setup
+    public void prepare() {
+        DatabaseLogin login = new DatabaseLogin();
+        session = (AbstractSession)new Project(login).createDatabaseSession();
+        accessor = new StubAccessor(login);
+        fields = new Vector<>(NO_OF_COLUMNS);
+        for (int index = 0; index < NO_OF_COLUMNS; index++) {
+            fields.add(new DatabaseField("EMPLOYEE.COLUMN_" + index));
+        }
+        fieldsArray = fields.toArray(new DatabaseField[NO_OF_COLUMNS]);
+        ResultSetMetaData metaData = (ResultSetMetaData)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> "getColumnType".equals(method.getName()) ? Types.VARCHAR : null);
+        resultSet = (ResultSet)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next": return Boolean.TRUE;
+                        case "wasNull": return Boolean.FALSE;
+                        case "getMetaData": return metaData;
+                        case "getString": return "value";
+                        default: return null;
+                    }
+                });
+    }
+
+    @Benchmark
+    public AbstractRecord testFetchDatabaseRecord() {
+        return accessor.cursorRetrieveNextRow(fields, resultSet, session);
+    }
+
+    @Benchmark
+    public AbstractRecord testFetchArrayRecord() {
+        return accessor.cursorRetrieveNextRow(fields, fieldsArray, resultSet, session);
+    }
+
+    @Benchmark
+    public int testReportItemsFromValues() {
+        AbstractRecord row = accessor.cursorRetrieveNextRow(fields, fieldsArray, resultSet, session);
+        int hash = 0;
+        for (int index = 0; index < NO_OF_COLUMNS; index++) {
+            hash += row.getValues().get(index).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int testReportItemsByIndex() {
+        AbstractRecord row = accessor.cursorRetrieveNextRow(fields, fieldsArray, resultSet, session);
+        int hash = 0;
+        for (int index = 0; index < NO_OF_COLUMNS; index++) {
+            hash += row.getValueAt(index).hashCode();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.databaseaccess;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.SQLCall;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.testing.tests.performance.emulateddb.EmulatedResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reads wide rows of typed columns from the emulated result set, converting each value
+ * by the JDBC type of its column and the class of its field for every row, or through
+ * the row reader compiled on the first execution of the call ("eclipselink.jdbc.compile-row-readers").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RowReaderBenchmark {
+
+    private static final int NO_OF_COLUMNS = 50;
+    private static final int NO_OF_ROWS = 100;
+
+    /** The class and JDBC type of the columns, repeated across the row. */
+    private static final Class<?>[] TYPES = {Long.class, String.class, Integer.class, Double.class, BigDecimal.class, Timestamp.class, Boolean.class};
+    private static final int[] SQL_TYPES = {Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.DECIMAL, Types.TIMESTAMP, Types.BOOLEAN};
+
+    @Param({"false", "true"})
+    public boolean compileRowReaders;
+
+    private AbstractSession session;
+    private DatabaseAccessor accessor;
+    private SQLCall call;
+    private List<DatabaseRecord> rows;
+
+    @Setup
+    public void prepare() {
+        DatabaseLogin login = new DatabaseLogin();
+        session = (AbstractSession)new Project(login).createDatabaseSession();
+        accessor = new FetchRowBenchmark.StubAccessor(login);
+        Vector<DatabaseField> fields = new Vector<>(NO_OF_COLUMNS);
+        Object[] values = {1L, "value", 2, 3.5d, new BigDecimal("4.25"), new Timestamp(0L), Boolean.TRUE};
+        for (int index = 0; index < NO_OF_COLUMNS; index++) {
+            DatabaseField field = new DatabaseField("EMPLOYEE.COLUMN_" + index);
+            field.setType(TYPES[index % TYPES.length]);
+            field.setSqlType(SQL_TYPES[index % SQL_TYPES.length]);
+            fields.add(field);
+        }
+        rows = new ArrayList<>(NO_OF_ROWS);
+        for (int rowIndex = 0; rowIndex < NO_OF_ROWS; rowIndex++) {
+            DatabaseRecord row = new DatabaseRecord(NO_OF_COLUMNS);
+            for (int index = 0; index < NO_OF_COLUMNS; index++) {
+                row.add(fields.get(index), values[index % values.length]);
+            }
+            rows.add(row);
+        }
+        call = new SQLCall("SELECT * FROM EMPLOYEE");
+        call.setFields(fields);
+        call.setUsesRowReader(compileRowReaders);
+    }
+
+    @Benchmark
+    public Object testReadRows() throws SQLException {
+        return accessor.processResultSet(new EmulatedResultSet(rows), call, null, session);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.model.orm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * Employee of the ORM benchmark model.
+ * The ids are assigned by the benchmarks, so the emulated database does not have to return sequence values.
+ */
+@Entity
+@Table(name = "ORM_EMPLOYEE")
+public class Employee {
+
+    @Id
+    private long id;
+    @Column(name = "F_NAME")
+    private String firstName;
+    @Column(name = "L_NAME")
+    private String lastName;
+    private long salary;
+    @Version
+    private int version;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "DEPT_ID")
+    private Department department;
+    @OneToMany(mappedBy = "owner", cascade = CascadeType.PERSIST)
+    private List<Phone> phones = new ArrayList<>();
+
+    public Employee() {
+    }
+
+    public Employee(long id, String firstName, String lastName, long salary) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.salary = salary;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public long getSalary() {
+        return salary;
+    }
+
+    public void setSalary(long salary) {
+        this.salary = salary;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Department getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(Department department) {
+        this.department = department;
+    }
+
+    public List<Phone> getPhones() {
+        return phones;
+    }
+
+    public Phone addPhone(Phone phone) {
+        phones.add(phone);
+        phone.setOwner(this);
+        return phone;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.orm;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Batch fetch of the phones of all the employees with the JOIN, EXISTS and IN batch types.
+ * The shared cache is disabled, so the employees and their phones are built from the rows on every read.
+ * The IN batch size is the number of employees, so the phones are read by a single query like the other types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ORMBatchFetchBenchmark {
+
+    @Param({ORMDatabase.DERBY, ORMDatabase.EMULATED})
+    public String database;
+
+    @Param({"JOIN", "EXISTS", "IN"})
+    public String batchType;
+
+    private EntityManagerFactory emf;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PersistenceUnitProperties.CACHE_SHARED_DEFAULT, "false");
+        emf = ORMDatabase.createEntityManagerFactory(database, properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ORMDatabase.close(emf);
+    }
+
+    @Benchmark
+    public int testBatchFetch() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            TypedQuery<Employee> query = em.createQuery("SELECT e FROM Employee e", Employee.class);
+            query.setHint(QueryHints.BATCH, "e.phones");
+            query.setHint(QueryHints.BATCH_TYPE, batchType);
+            query.setHint(QueryHints.BATCH_SIZE, ORMDatabase.NO_OF_EMPLOYEES);
+            int phones = 0;
+            for (Employee employee : query.getResultList()) {
+                phones += employee.getPhones().size();
+            }
+            return phones;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.orm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Root;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Criteria queries of the same structure built again for each execution, as by a repository,
+ * translated and prepared each time or reused from the criteria query cache
+ * ("eclipselink.jpa.criteria-query-cache.size").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ORMCriteriaBenchmark {
+
+    @Param({ORMDatabase.DERBY, ORMDatabase.EMULATED})
+    public String database;
+
+    @Param({"false", "true"})
+    public boolean criteriaQueryCache;
+
+    private EntityManagerFactory emf;
+    private long departmentId;
+
+    @Setup
+    public void setup() {
+        emf = ORMDatabase.createEntityManagerFactory(database,
+                Map.of(PersistenceUnitProperties.CRITERIA_QUERY_CACHE_SIZE, criteriaQueryCache ? "200" : "0"));
+        // Warm the cache.
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.createQuery("SELECT e FROM Employee e", Employee.class).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ORMDatabase.close(emf);
+    }
+
+    /**
+     * The employees of a department earning more than a salary, by last name.
+     */
+    private TypedQuery<Employee> createEmployeesQuery(EntityManager em) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
+        Root<Employee> employee = cq.from(Employee.class);
+        ParameterExpression<Long> department = cb.parameter(Long.class, "department");
+        cq.where(cb.equal(employee.get("department").get("id"), department), cb.greaterThan(employee.get("salary"), 0L));
+        cq.orderBy(cb.asc(employee.get("lastName")));
+        departmentId = (departmentId % ORMDatabase.NO_OF_DEPARTMENTS) + 1;
+        return em.createQuery(cq).setParameter(department, departmentId);
+    }
+
+    @Benchmark
+    public List<Employee> testQuery() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return createEmployeesQuery(em).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+}
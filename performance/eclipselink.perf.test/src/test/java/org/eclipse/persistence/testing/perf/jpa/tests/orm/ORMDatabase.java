@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.orm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import org.eclipse.persistence.config.BatchWriting;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Department;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Employee;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Phone;
+import org.eclipse.persistence.testing.tests.performance.emulateddb.EmulatedDriver;
+
+/**
+ * Database of the ORM benchmarks, the "orm-performance" persistence unit is deployed on an embedded in-memory
+ * Derby database ("Derby"), or on the EmulatedDriver of the core test framework wrapping it ("Emulated").
+ * The emulated database reads a query from Derby once and then replays the rows recorded for its SQL string,
+ * whatever the parameters, and does not execute the writes. It measures EclipseLink without the JDBC driver,
+ * the benchmarks only repeat queries with the same parameters so the replayed rows are the rows of the database.
+ * Each benchmark runs in its own fork, so the in-memory database and the recorded rows are not shared.
+ */
+public final class ORMDatabase {
+
+    public static final String DERBY = "Derby";
+    public static final String EMULATED = "Emulated";
+
+    public static final int NO_OF_DEPARTMENTS = 10;
+    public static final int NO_OF_EMPLOYEES = 1000;
+    public static final int NO_OF_PHONES = 2;
+
+    /** First id of the objects inserted by the benchmarks, the populated ids are below. */
+    public static final long FIRST_NEW_ID = 1_000_000;
+
+    private static final String PERSISTENCE_UNIT = "orm-performance";
+    private static final String URL = "jdbc:derby:memory:orm-performance;create=true";
+
+    private ORMDatabase() {
+    }
+
+    /**
+     * Return the properties to deploy the persistence unit on the database.
+     */
+    public static Map<String, Object> getProperties(String database) {
+        Map<String, Object> properties = new HashMap<>();
+        if (EMULATED.equals(database)) {
+            properties.put(PersistenceUnitProperties.JDBC_DRIVER, EmulatedDriver.class.getName());
+            properties.put(PersistenceUnitProperties.JDBC_URL, "emulate:" + URL);
+        } else if (DERBY.equals(database)) {
+            properties.put(PersistenceUnitProperties.JDBC_DRIVER, "org.apache.derby.jdbc.EmbeddedDriver");
+            properties.put(PersistenceUnitProperties.JDBC_URL, URL);
+        } else {
+            throw new IllegalArgumentException("Unknown database: " + database);
+        }
+        properties.put(PersistenceUnitProperties.JDBC_USER, "app");
+        properties.put(PersistenceUnitProperties.JDBC_PASSWORD, "app");
+        properties.put(PersistenceUnitProperties.DDL_GENERATION, PersistenceUnitProperties.DROP_AND_CREATE);
+        properties.put(PersistenceUnitProperties.DDL_GENERATION_MODE, PersistenceUnitProperties.DDL_DATABASE_GENERATION);
+        properties.put(PersistenceUnitProperties.BATCH_WRITING, BatchWriting.JDBC);
+        properties.put(PersistenceUnitProperties.LOGGING_LEVEL, "WARNING");
+        return properties;
+    }
+
+    /**
+     * Deploy the persistence unit with the properties on the database and populate it.
+     * The emulation is turned on once the tables are created and populated.
+     */
+    public static EntityManagerFactory createEntityManagerFactory(String database, Map<String, Object> properties) {
+        Map<String, Object> allProperties = getProperties(database);
+        allProperties.putAll(properties);
+        EmulatedDriver.emulate = false;
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, allProperties);
+        populate(emf);
+        EmulatedDriver.emulate = EMULATED.equals(database);
+        return emf;
+    }
+
+    public static void close(EntityManagerFactory emf) {
+        if (emf != null) {
+            emf.close();
+        }
+        EmulatedDriver.emulate = false;
+    }
+
+    /**
+     * Persist the departments with their employees and the phones of the employees.
+     * The ids of the departments, the employees and the phones start at 1 and are consecutive.
+     */
+    private static void populate(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Department[] departments = new Department[NO_OF_DEPARTMENTS];
+            for (int index = 0; index < NO_OF_DEPARTMENTS; index++) {
+                departments[index] = new Department(index + 1, "Department " + index);
+                em.persist(departments[index]);
+            }
+            long phoneId = 1;
+            for (int index = 0; index < NO_OF_EMPLOYEES; index++) {
+                Employee employee = new Employee(index + 1, "First " + index, "Last " + index, 50000 + index);
+                Department department = departments[index % NO_OF_DEPARTMENTS];
+                employee.setDepartment(department);
+                department.getEmployees().add(employee);
+                for (int phone = 0; phone < NO_OF_PHONES; phone++) {
+                    employee.addPhone(new Phone(phoneId, (phone == 0) ? "Work" : "Home", "613555" + phoneId));
+                    phoneId++;
+                }
+                em.persist(employee);
+            }
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+}
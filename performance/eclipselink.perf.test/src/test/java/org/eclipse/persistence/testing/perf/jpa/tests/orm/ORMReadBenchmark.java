@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.orm;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Read paths with the shared cache: find by id once the cache is warm, a ReadAllQuery of all the employees
+ * and a join fetch of the phones of the employees of a department.
+ * The queries read the rows from the database and build the objects from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ORMReadBenchmark {
+
+    @Param({ORMDatabase.DERBY, ORMDatabase.EMULATED})
+    public String database;
+
+    private EntityManagerFactory emf;
+    private long id;
+
+    @Setup
+    public void setup() {
+        emf = ORMDatabase.createEntityManagerFactory(database, Collections.emptyMap());
+        // Warm the cache.
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.createQuery("SELECT e FROM Employee e", Employee.class).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ORMDatabase.close(emf);
+    }
+
+    @Benchmark
+    public Employee testFindWarmCache() {
+        id = (id % ORMDatabase.NO_OF_EMPLOYEES) + 1;
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.find(Employee.class, id);
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<Employee> testReadAll() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT e FROM Employee e", Employee.class).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<Employee> testJoinFetch() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery("SELECT DISTINCT e FROM Employee e JOIN FETCH e.phones WHERE e.department.id = 1", Employee.class)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.orm;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.testing.tests.performance.emulateddb.EmulatedDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Startup of the "orm-performance" persistence unit: the deployment of a new factory, with its metadata processed
+ * from the annotations, or with the project retrieved from the file of the "java-serialization" project cache
+ * stored by a previous startup and validated by the hash of the persistence unit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ORMStartupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean projectCache;
+
+    private File file;
+    private Map<String, Object> properties;
+
+    @Setup
+    public void setup() throws IOException {
+        properties = ORMDatabase.getProperties(ORMDatabase.DERBY);
+        properties.put(PersistenceUnitProperties.DDL_GENERATION, PersistenceUnitProperties.NONE);
+        EmulatedDriver.emulate = false;
+        if (projectCache) {
+            file = File.createTempFile("orm-performance", ".project");
+            file.delete();
+            properties.put(PersistenceUnitProperties.PROJECT_CACHE, "java-serialization");
+            properties.put(PersistenceUnitProperties.PROJECT_CACHE_FILE, file.getAbsolutePath());
+            properties.put(PersistenceUnitProperties.PROJECT_CACHE_VALIDATION, "hash");
+            // The first startup processes the metadata and stores the project.
+            testStartup();
+            if (!file.exists()) {
+                throw new IllegalStateException("The project was not cached in " + file);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public void testStartup() {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("orm-performance", new HashMap<>(properties));
+        try {
+            // Deploy the persistence unit.
+            emf.createEntityManager().close();
+        } finally {
+            emf.close();
+        }
+    }
+}
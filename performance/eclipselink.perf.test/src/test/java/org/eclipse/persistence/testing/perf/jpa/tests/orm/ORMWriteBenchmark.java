@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.orm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.config.SessionCustomizer;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.changetracking.DeferredChangeDetectionPolicy;
+import org.eclipse.persistence.descriptors.changetracking.ObjectChangePolicy;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Department;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Employee;
+import org.eclipse.persistence.testing.perf.jpa.model.orm.Phone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Commit of a unit of work with batch writing: the insert of new employees with a phone,
+ * and the update of the salary of the employees of a department, which is the change detection
+ * of the managed employees and the merge of the changes into the shared cache.
+ * The change detection is compared with "Attribute" change tracking, woven by the agent,
+ * and "Deferred" change detection comparing the employees with their backup clones.
+ * The agent weaves the classes with the properties of persistence.xml, so the deferred change detection
+ * is set by a session customizer instead of the "eclipselink.weaving.changetracking" property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ORMWriteBenchmark {
+
+    private static final int NO_OF_INSERTS = 100;
+
+    @Param({ORMDatabase.DERBY, ORMDatabase.EMULATED})
+    public String database;
+
+    @Param({"Attribute", "Deferred"})
+    public String changeTracking;
+
+    private EntityManagerFactory emf;
+    private long nextId = ORMDatabase.FIRST_NEW_ID;
+
+    /**
+     * Use the deferred change detection for all the entities.
+     */
+    public static class DeferredChangeDetectionCustomizer implements SessionCustomizer {
+        @Override
+        public void customize(Session session) {
+            for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+                descriptor.setObjectChangePolicy(new DeferredChangeDetectionPolicy());
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Map<String, Object> properties = new HashMap<>();
+        if ("Deferred".equals(changeTracking)) {
+            properties.put(PersistenceUnitProperties.SESSION_CUSTOMIZER, DeferredChangeDetectionCustomizer.class.getName());
+        }
+        emf = ORMDatabase.createEntityManagerFactory(database, properties);
+        ObjectChangePolicy policy = JpaHelper.getServerSession(emf).getDescriptor(Employee.class).getObjectChangePolicy();
+        if (policy.isAttributeChangeTrackingPolicy() != "Attribute".equals(changeTracking)) {
+            throw new IllegalStateException("Employee uses " + policy.getClass().getSimpleName()
+                    + ", attribute change tracking requires the weaving agent (-javaagent:eclipselink.jar)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ORMDatabase.close(emf);
+    }
+
+    /**
+     * Remove the employees inserted by the iteration, so the database does not grow during the benchmark.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteInserted() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM Phone p WHERE p.id >= :id").setParameter("id", ORMDatabase.FIRST_NEW_ID).executeUpdate();
+            em.createQuery("DELETE FROM Employee e WHERE e.id >= :id").setParameter("id", ORMDatabase.FIRST_NEW_ID).executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public long testInsert() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            // No null values, the emulated statements do not support the parameter meta-data used to bind them.
+            Department department = em.getReference(Department.class, 1L);
+            for (int index = 0; index < NO_OF_INSERTS; index++) {
+                long id = nextId++;
+                Employee employee = new Employee(id, "First " + id, "Last " + id, 50000);
+                employee.setDepartment(department);
+                employee.addPhone(new Phone(id, "Work", "613555" + id));
+                em.persist(employee);
+            }
+            em.getTransaction().commit();
+            return nextId;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<Employee> testUpdate() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            List<Employee> employees = em.createQuery("SELECT e FROM Employee e WHERE e.department.id = 1", Employee.class).getResultList();
+            for (Employee employee : employees) {
+                employee.setSalary(employee.getSalary() + 1);
+            }
+            em.getTransaction().commit();
+            return employees;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.profiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.tools.profiler.MetricsProfiler;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the overhead of the session profiler on the operations profiled while executing a query,
+ * with no profiler, the PerformanceMonitor and the MetricsProfiler, from concurrent threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionProfilerBenchmark {
+
+    public static final int THREADS = 8;
+
+    @Param({"None", "PerformanceMonitor", "MetricsProfiler"})
+    public String profiler;
+
+    private AbstractSession session;
+
+    @Setup
+    public void prepare() {
+        session = (AbstractSession)new Project(new DatabaseLogin()).createDatabaseSession();
+        if ("PerformanceMonitor".equals(profiler)) {
+            session.setProfiler(new PerformanceMonitor());
+        } else if ("MetricsProfiler".equals(profiler)) {
+            session.setProfiler(new MetricsProfiler());
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testProfileOperations() {
+        session.startOperationProfile(SessionProfiler.SqlPrepare);
+        session.endOperationProfile(SessionProfiler.SqlPrepare);
+        session.startOperationProfile(SessionProfiler.StatementExecute);
+        session.endOperationProfile(SessionProfiler.StatementExecute);
+        session.startOperationProfile(SessionProfiler.RowFetch);
+        session.endOperationProfile(SessionProfiler.RowFetch);
+        session.incrementProfile(SessionProfiler.CacheHits);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial implementation
+package org.eclipse.persistence.testing.perf.sessions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.dynamic.DynamicClassLoader;
+import org.eclipse.persistence.dynamic.DynamicTypeBuilder;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the sequential and the parallel ("eclipselink.deploy.parallel-descriptor-initialization")
+ * initialization of the descriptors of a synthetic model of a thousand entities on login.
+ * The entities are related in chains of one to one mappings, each chain is a group of descriptors
+ * initialized independently of the other groups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DescriptorInitializationBenchmark {
+
+    private static final int ENTITIES = 1000;
+    private static final int ATTRIBUTES = 10;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /** The number of entities related to each other. */
+    @Param({"1", "10", "100"})
+    public int groupSize;
+
+    private Class<?>[] classes;
+    private DatabaseSessionImpl session;
+
+    @Setup
+    public void createClasses() {
+        DynamicClassLoader loader = new DynamicClassLoader(getClass().getClassLoader());
+        classes = new Class<?>[ENTITIES];
+        for (int index = 0; index < ENTITIES; index++) {
+            classes[index] = loader.createDynamicClass("model.Entity" + index);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createSession() {
+        DynamicTypeBuilder[] builders = new DynamicTypeBuilder[ENTITIES];
+        for (int index = 0; index < ENTITIES; index++) {
+            builders[index] = new DynamicTypeBuilder(classes[index], null, "ENTITY" + index);
+            builders[index].setPrimaryKeyFields("ID");
+            builders[index].addDirectMapping("id", long.class, "ID");
+            for (int attribute = 0; attribute < ATTRIBUTES; attribute++) {
+                builders[index].addDirectMapping("attribute" + attribute, String.class, "ATTRIBUTE" + attribute);
+            }
+        }
+        Project project = new Project(new DatabaseLogin());
+        for (int index = 0; index < ENTITIES; index++) {
+            if (((index + 1) % groupSize) != 0 && (index + 1) < ENTITIES) {
+                builders[index].addOneToOneMapping("next", builders[index + 1].getType(), "NEXT_ID");
+            }
+            project.addDescriptor(builders[index].getType().getDescriptor());
+        }
+        session = (DatabaseSessionImpl)project.createDatabaseSession();
+        session.setLogLevel(SessionLog.OFF);
+        session.setShouldInitializeDescriptorsInParallel(parallel);
+    }
+
+    @Benchmark
+    public void testInitializeDescriptors() {
+        session.initializeDescriptors();
+    }
+}